@@ -5,9 +5,11 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableCaching // Add this annotation to enable caching support
 @EnableAsync
+@EnableScheduling
 @SpringBootApplication
 @ComponentScan(basePackages = {"com.webapp.bankingportal"})
 public class BankingportalApplication {
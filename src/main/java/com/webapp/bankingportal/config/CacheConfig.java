@@ -1,6 +1,5 @@
 package com.webapp.bankingportal.config;
 
-import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.cache.CacheManager;
@@ -19,7 +18,6 @@ public class CacheConfig {
     @Bean
     public CacheManager cacheManager() {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCacheNames(List.of("otpAttempts")); // Define the cache names
         cacheManager.setCaffeine(caffeineConfig());
         return cacheManager;
     }
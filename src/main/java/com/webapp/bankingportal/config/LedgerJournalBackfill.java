@@ -0,0 +1,99 @@
+package com.webapp.bankingportal.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.service.DatabaseLockService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * One-off seeding of the ledger journal from existing history. Posts both
+ * sides of every recorded transaction, then carries over whatever part of each
+ * cached balance the history does not explain as an opening-balance posting
+ * against the cash ledger, so the journal and the snapshots agree from the
+ * start. Runs before the web server accepts traffic, on one node at a time
+ * under a database lock, and is a no-op once the journal holds any entry.
+ */
+@Component
+public class LedgerJournalBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerJournalBackfill.class);
+
+    private static final String BACKFILL_LOCK = "ledger-journal-backfill";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseLockService databaseLockService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${migration.lock-timeout-seconds:600}")
+    private long lockTimeoutSeconds;
+
+    // Depending on the minor-units migration guarantees the ledger columns are already converted
+    public LedgerJournalBackfill(JdbcTemplate jdbcTemplate, DatabaseLockService databaseLockService,
+            PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory,
+            LedgerMinorUnitsMigration ledgerMinorUnitsMigration) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseLockService = databaseLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    public void backfill() {
+        if (journalSeeded()) {
+            return;
+        }
+
+        if (!databaseLockService.runExclusively(BACKFILL_LOCK, lockTimeoutSeconds, this::seedJournal)) {
+            throw new IllegalStateException("Timed out waiting for another node to seed the ledger journal");
+        }
+    }
+
+    private void seedJournal() {
+        // Another node may have seeded the journal while this one waited for the lock
+        if (journalSeeded()) {
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Debit side: the source account, or the cash ledger for money coming in
+            int entries = jdbcTemplate.update("INSERT INTO journal_entry (transaction_id, account_id, amount_minor, created_at) "
+                    + "SELECT t.id, CASE WHEN t.transaction_type IN ('CASH_DEPOSIT', 'CASH_CREDIT') "
+                    + "THEN NULL ELSE t.source_account_id END, -t.amount_minor, COALESCE(t.transaction_date, NOW()) "
+                    + "FROM transaction t WHERE t.source_account_id IS NOT NULL");
+            // Credit side: the source account for money coming in, the target for transfers, otherwise cash
+            entries += jdbcTemplate.update("INSERT INTO journal_entry (transaction_id, account_id, amount_minor, created_at) "
+                    + "SELECT t.id, CASE WHEN t.transaction_type IN ('CASH_DEPOSIT', 'CASH_CREDIT') "
+                    + "THEN t.source_account_id WHEN t.transaction_type = 'CASH_TRANSFER' THEN t.target_account_id "
+                    + "ELSE NULL END, t.amount_minor, COALESCE(t.transaction_date, NOW()) "
+                    + "FROM transaction t WHERE t.source_account_id IS NOT NULL");
+
+            String openingBalances = "SELECT a.id AS account_id, a.balance_minor "
+                    + "+ COALESCE((SELECT SUM(s.balance_minor) FROM account_balance_shard s WHERE s.account_id = a.id), 0) "
+                    + "- COALESCE((SELECT SUM(j.amount_minor) FROM journal_entry j WHERE j.account_id = a.id), 0) AS amount "
+                    + "FROM account a";
+            // Cash side first, while the account sums do not yet include the opening entries
+            entries += jdbcTemplate.update("INSERT INTO journal_entry (transaction_id, account_id, amount_minor, created_at) "
+                    + "SELECT NULL, NULL, -o.amount, NOW() FROM (" + openingBalances + ") o WHERE o.amount <> 0");
+            entries += jdbcTemplate.update("INSERT INTO journal_entry (transaction_id, account_id, amount_minor, created_at) "
+                    + "SELECT NULL, o.account_id, o.amount, NOW() FROM (" + openingBalances + ") o WHERE o.amount <> 0");
+
+            if (entries > 0) {
+                log.info("Seeded the ledger journal with {} entries", entries);
+            }
+        });
+    }
+
+    private boolean journalSeeded() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM journal_entry LIMIT 1) j",
+                Integer.class);
+        return existing != null && existing > 0;
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.webapp.bankingportal.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.webapp.bankingportal.service.DatabaseLockService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * One-off migration of the ledger from floating-point major units to long
+ * minor units. Hibernate's schema update adds the new *_minor columns but
+ * never drops or converts old ones, so the legacy values are copied over here
+ * and the legacy columns removed. Runs before the web server accepts traffic,
+ * on one node at a time under a database lock, and is a no-op once the legacy
+ * columns are gone.
+ */
+@Component
+public class LedgerMinorUnitsMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerMinorUnitsMigration.class);
+
+    private static final String MIGRATION_LOCK = "ledger-minor-units-migration";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseLockService databaseLockService;
+
+    @Value("${migration.lock-timeout-seconds:600}")
+    private long lockTimeoutSeconds;
+
+    // Depending on the EntityManagerFactory guarantees the schema update has already run
+    public LedgerMinorUnitsMigration(JdbcTemplate jdbcTemplate, DatabaseLockService databaseLockService,
+            EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseLockService = databaseLockService;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!columnExists("account", "balance") && !columnExists("transaction", "amount")) {
+            return;
+        }
+
+        boolean migrated = databaseLockService.runExclusively(MIGRATION_LOCK, lockTimeoutSeconds, () -> {
+            migrateColumn("account", "balance", "balance_minor");
+            migrateColumn("transaction", "amount", "amount_minor");
+        });
+        if (!migrated) {
+            throw new IllegalStateException("Timed out waiting for another node to migrate the ledger to minor units");
+        }
+    }
+
+    private void migrateColumn(String table, String legacyColumn, String minorColumn) {
+        // Checked under the lock: another node may have migrated the column while this one waited
+        if (!columnExists(table, legacyColumn)) {
+            return;
+        }
+
+        log.info("Migrating {}.{} to minor units in {}.{}", table, legacyColumn, table, minorColumn);
+        // Idempotent: re-running after an interrupted migration copies the same values again
+        int rows = jdbcTemplate.update("UPDATE `" + table + "` SET " + minorColumn
+                + " = ROUND(" + legacyColumn + " * 100)");
+        jdbcTemplate.execute("ALTER TABLE `" + table + "` DROP COLUMN " + legacyColumn);
+        log.info("Migrated {} rows of {}", rows, table);
+    }
+
+    private boolean columnExists(String table, String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns "
+                        + "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?",
+                Integer.class, table, column);
+        return count != null && count > 0;
+    }
+
+}
@@ -0,0 +1,48 @@
+package com.webapp.bankingportal.config;
+
+import java.util.Properties;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.webapp.bankingportal.service.PooledJavaMailSender;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailConfig {
+
+    // A hung SMTP server must not hold a pooled connection forever; spring.mail.properties can override these
+    private static final String CONNECTION_TIMEOUT_MS = "10000";
+    private static final String TIMEOUT_MS = "30000";
+
+    @Bean
+    public PooledJavaMailSender mailSender(MailProperties mailProperties, MeterRegistry meterRegistry,
+            @Value("${mail.pool.size:4}") int poolSize,
+            @Value("${mail.pool.borrow-timeout-ms:10000}") long borrowTimeoutMs,
+            @Value("${mail.pool.max-idle-ms:30000}") long maxIdleMs) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(meterRegistry, poolSize, borrowTimeoutMs, maxIdleMs);
+        sender.setHost(mailProperties.getHost());
+        if (mailProperties.getPort() != null) {
+            sender.setPort(mailProperties.getPort());
+        }
+        sender.setUsername(mailProperties.getUsername());
+        sender.setPassword(mailProperties.getPassword());
+        sender.setProtocol(mailProperties.getProtocol());
+        if (mailProperties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+        }
+
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.setProperty("mail.smtp.connectiontimeout", CONNECTION_TIMEOUT_MS);
+        javaMailProperties.setProperty("mail.smtp.timeout", TIMEOUT_MS);
+        javaMailProperties.setProperty("mail.smtp.writetimeout", TIMEOUT_MS);
+        javaMailProperties.putAll(mailProperties.getProperties());
+        sender.setJavaMailProperties(javaMailProperties);
+        return sender;
+    }
+}
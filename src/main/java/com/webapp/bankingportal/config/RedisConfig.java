@@ -7,9 +7,15 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import com.webapp.bankingportal.service.CacheServiceImpl;
+import com.webapp.bankingportal.service.TokenRevocationServiceImpl;
+
 @Configuration
 public class RedisConfig {
 
@@ -31,4 +37,34 @@ public class RedisConfig {
 
         return template;
     }
+
+    /**
+     * Raw-bytes template for {@link CacheServiceImpl}, which encodes values
+     * itself with the codec of each {@link com.webapp.bankingportal.type.CacheKeyType}.
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> cacheRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+
+        return template;
+    }
+
+    /**
+     * Delivers near-cache invalidations and token revocations published by
+     * other nodes. The container resubscribes on its own after a Redis outage.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+            CacheServiceImpl cacheService, TokenRevocationServiceImpl tokenRevocationService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheService, new ChannelTopic(CacheServiceImpl.INVALIDATION_CHANNEL));
+        container.addMessageListener(tokenRevocationService,
+                new ChannelTopic(TokenRevocationServiceImpl.REVOCATION_CHANNEL));
+        return container;
+    }
 }
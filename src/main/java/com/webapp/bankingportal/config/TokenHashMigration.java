@@ -0,0 +1,94 @@
+package com.webapp.bankingportal.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.webapp.bankingportal.service.DatabaseLockService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * One-off migration of stored login tokens from the raw JWT to its SHA-256.
+ * Hibernate's schema update adds token_hash but never drops the old unique
+ * token column, so existing sessions are hashed in place here and the column
+ * removed. It also creates the unique index on token_hash, which the schema
+ * update cannot add while existing rows share an empty hash. One node
+ * migrates while the others wait on a database lock, and it is a no-op once
+ * the column is gone and the index exists.
+ */
+@Component
+public class TokenHashMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenHashMigration.class);
+
+    private static final String MIGRATION_LOCK = "token-hash-migration";
+    private static final String TOKEN_HASH_INDEX = "uk_token_hash";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseLockService databaseLockService;
+
+    @Value("${migration.lock-timeout-seconds:600}")
+    private long lockTimeoutSeconds;
+
+    // Depending on the EntityManagerFactory guarantees the schema update has already run
+    public TokenHashMigration(JdbcTemplate jdbcTemplate, DatabaseLockService databaseLockService,
+            EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseLockService = databaseLockService;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!columnExists("token", "token") && indexExists("token", TOKEN_HASH_INDEX)) {
+            return;
+        }
+
+        if (!databaseLockService.runExclusively(MIGRATION_LOCK, lockTimeoutSeconds, this::hashStoredTokens)) {
+            throw new IllegalStateException("Timed out waiting for another node to hash the stored tokens");
+        }
+    }
+
+    private void hashStoredTokens() {
+        // Checked under the lock: another node may have finished the migration while this one waited
+        boolean legacyColumn = columnExists("token", "token");
+        if (legacyColumn) {
+            log.info("Replacing stored tokens with their SHA-256 hashes");
+            // token_hash is added NOT NULL, so MySQL fills existing rows with '' rather than NULL; every row
+            // still carrying its token is hashed. SHA2 yields the same lowercase hex as HashUtil.sha256Hex
+            int rows = jdbcTemplate.update("UPDATE token SET token_hash = SHA2(token, 256) WHERE token IS NOT NULL");
+            log.info("Hashed {} stored tokens", rows);
+        }
+
+        if (!indexExists("token", TOKEN_HASH_INDEX)) {
+            // Rows left without a hash can never be looked up, and would keep the unique index from being built
+            int orphans = jdbcTemplate.update("DELETE FROM token WHERE token_hash = ''");
+            jdbcTemplate.execute("ALTER TABLE token ADD CONSTRAINT " + TOKEN_HASH_INDEX + " UNIQUE (token_hash)");
+            log.info("Created {}, removing {} stored tokens without a hash", TOKEN_HASH_INDEX, orphans);
+        }
+
+        if (legacyColumn) {
+            jdbcTemplate.execute("ALTER TABLE token DROP COLUMN token");
+        }
+    }
+
+    private boolean columnExists(String table, String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns "
+                        + "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?",
+                Integer.class, table, column);
+        return count != null && count > 0;
+    }
+
+    private boolean indexExists(String table, String index) {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics "
+                        + "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ?",
+                Integer.class, table, index);
+        return count != null && count > 0;
+    }
+
+}
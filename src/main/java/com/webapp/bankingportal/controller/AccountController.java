@@ -112,22 +112,38 @@ public class AccountController {
 */
 package com.webapp.bankingportal.controller;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import com.webapp.bankingportal.dto.*;
+import com.webapp.bankingportal.exception.FundTransferException;
+import com.webapp.bankingportal.exception.InsufficientBalanceException;
+import com.webapp.bankingportal.exception.InvalidAmountException;
+import com.webapp.bankingportal.exception.InvalidPinException;
+import com.webapp.bankingportal.exception.LedgerOutcomeUnknownException;
+import com.webapp.bankingportal.exception.NotFoundException;
 import com.webapp.bankingportal.exception.UnauthorizedException;
 import com.webapp.bankingportal.service.AccountService;
 import com.webapp.bankingportal.service.TransactionService;
-import com.webapp.bankingportal.service.CacheService;
-import com.webapp.bankingportal.type.CacheKeyType;
+import com.webapp.bankingportal.service.IdempotencyService;
 import com.webapp.bankingportal.util.ApiMessages;
 import com.webapp.bankingportal.util.JsonUtil;
 import com.webapp.bankingportal.util.LoggedinUser;
+import com.webapp.bankingportal.util.BulkTransferParser;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/account")
@@ -137,14 +153,17 @@ public class AccountController {
     
     private final AccountService accountService;
     private final TransactionService transactionService;
-    private final CacheService cacheService;
+    private final IdempotencyService idempotencyService;
+
+    @Value("${bulk-transfer.idempotent-max-body-size:1048576}")
+    private int idempotentBulkTransferMaxBodySize;
 
     public AccountController(AccountService accountService, 
                             TransactionService transactionService,
-                            CacheService cacheService) {
+                            IdempotencyService idempotencyService) {
         this.accountService = accountService;
         this.transactionService = transactionService;
-        this.cacheService = cacheService;
+        this.idempotencyService = idempotencyService;
     }
 
     @GetMapping("/pin/check")
@@ -197,220 +216,176 @@ public class AccountController {
     }
 	*/
     
+    /**
+     * The idempotent endpoints answer business rejections with a 400 that is
+     * stored and replayed for the key. Anything else, such as a lock timeout
+     * or a saturated hashing pool, propagates to the exception handler, which
+     * releases the key so the client can retry.
+     */
     @PostMapping("/pin/create")
-    public ResponseEntity<?> createPIN(@RequestBody PinRequest pinRequest) {
-        try {
-            log.info("Creating PIN for account: {}", LoggedinUser.getAccountNumber());
-            
-            // Tạm thời bỏ qua cache check nếu Redis lỗi
+    public ResponseEntity<?> createPIN(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody PinRequest pinRequest) {
+        String accountNumber = LoggedinUser.getAccountNumber();
+        return idempotencyService.execute(accountNumber, idempotencyKey, "pin/create", pinRequest, () -> {
             try {
-                String idempotencyKey = LoggedinUser.getAccountNumber() + 
-                                       ":pin-create:" + 
-                                       pinRequest.hashCode();
-                
-                if (cacheService.exists(CacheKeyType.IDEMPOTENCY, idempotencyKey)) {
-                    log.warn("Duplicate PIN creation request for account: {}", 
-                            LoggedinUser.getAccountNumber());
-                    return ResponseEntity.status(HttpStatus.CONFLICT)
+                log.info("Creating PIN for account: {}", accountNumber);
+
+                // Kiểm tra PIN đã tồn tại chưa (từ database)
+                boolean pinExists = accountService.isPinCreated(accountNumber);
+                if (pinExists) {
+                    log.warn("PIN already exists for account: {}", accountNumber);
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                             .body(Map.of(
                                 "success", false,
-                                "message", "PIN creation request already processed"
+                                "message", "PIN already created for this account"
                             ));
                 }
-            } catch (Exception e) {
-                log.warn("Cache service unavailable, continuing without cache check");
-            }
-            
-            // Kiểm tra PIN đã tồn tại chưa (từ database)
-            boolean pinExists = accountService.isPinCreated(LoggedinUser.getAccountNumber());
-            if (pinExists) {
-                log.warn("PIN already exists for account: {}", LoggedinUser.getAccountNumber());
+
+                // Tạo PIN
+                accountService.createPin(
+                        accountNumber,
+                        pinRequest.password(),
+                        pinRequest.pin());
+
+                return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "message", ApiMessages.PIN_CREATION_SUCCESS.getMessage()
+                ));
+
+            } catch (UnauthorizedException e) {
+                log.error("PIN creation unauthorized: {}", e.getMessage());
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                         .body(Map.of(
                             "success", false,
-                            "message", "PIN already created for this account"
+                            "message", e.getMessage()
+                        ));
+            } catch (NotFoundException | InvalidPinException e) {
+                log.warn("Failed to create PIN: {}", e.getMessage());
+                return ResponseEntity.badRequest()
+                        .body(Map.of(
+                            "success", false,
+                            "message", "Failed to create PIN: " + e.getMessage()
                         ));
             }
-            
-            // Tạo PIN
-            accountService.createPin(
-                    LoggedinUser.getAccountNumber(),
-                    pinRequest.password(),
-                    pinRequest.pin());
-            
-            // Thử lưu cache nhưng không bắt lỗi
-            try {
-                String idempotencyKey = LoggedinUser.getAccountNumber() + 
-                                       ":pin-create:" + 
-                                       pinRequest.hashCode();
-                cacheService.put(CacheKeyType.IDEMPOTENCY, "processed", 300, idempotencyKey);
-            } catch (Exception e) {
-                log.warn("Failed to store in cache, but PIN creation successful");
-            }
-            
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "message", ApiMessages.PIN_CREATION_SUCCESS.getMessage()
-            ));
-            
-        } catch (UnauthorizedException e) {
-            log.error("PIN creation unauthorized: {}", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of(
-                        "success", false,
-                        "message", e.getMessage()
-                    ));
-        } catch (Exception e) {
-            log.error("Failed to create PIN", e);
-            return ResponseEntity.badRequest()
-                    .body(Map.of(
-                        "success", false,
-                        "message", "Failed to create PIN: " + e.getMessage()
-                    ));
-        }
+        });
     }
     
     @PostMapping("/pin/update")
-    public ResponseEntity<?> updatePIN(@RequestBody PinUpdateRequest pinUpdateRequest) {
-        try {
-            String idempotencyKey = generateIdempotencyKey("pin/update", pinUpdateRequest);
-            
-            if (cacheService.exists(CacheKeyType.IDEMPOTENCY, idempotencyKey)) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
+    public ResponseEntity<?> updatePIN(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody PinUpdateRequest pinUpdateRequest) {
+        String accountNumber = LoggedinUser.getAccountNumber();
+        return idempotencyService.execute(accountNumber, idempotencyKey, "pin/update", pinUpdateRequest, () -> {
+            try {
+                accountService.updatePin(
+                        accountNumber,
+                        pinUpdateRequest.oldPin(),
+                        pinUpdateRequest.password(),
+                        pinUpdateRequest.newPin());
+
+                return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "message", ApiMessages.PIN_UPDATE_SUCCESS.getMessage()
+                ));
+
+            } catch (NotFoundException | UnauthorizedException | InvalidPinException e) {
+                log.warn("Failed to update PIN: {}", e.getMessage());
+                return ResponseEntity.badRequest()
                         .body(Map.of(
                             "success", false,
-                            "message", "PIN update request already processed"
+                            "message", e.getMessage()
                         ));
             }
-            
-            accountService.updatePin(
-                    LoggedinUser.getAccountNumber(),
-                    pinUpdateRequest.oldPin(),
-                    pinUpdateRequest.password(),
-                    pinUpdateRequest.newPin());
-            
-            cacheService.put(CacheKeyType.IDEMPOTENCY, "processed", 300, idempotencyKey);
-            
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "message", ApiMessages.PIN_UPDATE_SUCCESS.getMessage()
-            ));
-            
-        } catch (Exception e) {
-            log.error("Failed to update PIN", e);
-            return ResponseEntity.badRequest()
-                    .body(Map.of(
-                        "success", false,
-                        "message", e.getMessage()
-                    ));
-        }
+        });
     }
 
     @PostMapping("/deposit")
-    public ResponseEntity<?> cashDeposit(@RequestBody AmountRequest amountRequest) {
-        try {
-            String idempotencyKey = generateIdempotencyKey("deposit", amountRequest);
-            
-            if (cacheService.exists(CacheKeyType.IDEMPOTENCY, idempotencyKey)) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
+    public ResponseEntity<?> cashDeposit(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody AmountRequest amountRequest) {
+        String accountNumber = LoggedinUser.getAccountNumber();
+        return idempotencyService.execute(accountNumber, idempotencyKey, "deposit", amountRequest, () -> {
+            try {
+                accountService.cashDeposit(
+                        accountNumber,
+                        amountRequest.pin(),
+                        amountRequest.amount());
+
+                return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "message", ApiMessages.CASH_DEPOSIT_SUCCESS.getMessage()
+                ));
+
+            } catch (NotFoundException | UnauthorizedException | InvalidAmountException e) {
+                log.warn("Failed to deposit cash: {}", e.getMessage());
+                return ResponseEntity.badRequest()
                         .body(Map.of(
                             "success", false,
-                            "message", "Deposit request already processed"
+                            "message", e.getMessage()
                         ));
             }
-            
-            accountService.cashDeposit(
-                    LoggedinUser.getAccountNumber(),
-                    amountRequest.pin(),
-                    amountRequest.amount());
-            
-            cacheService.put(CacheKeyType.IDEMPOTENCY, "processed", 300, idempotencyKey);
-            
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "message", ApiMessages.CASH_DEPOSIT_SUCCESS.getMessage()
-            ));
-            
-        } catch (Exception e) {
-            log.error("Failed to deposit cash", e);
-            return ResponseEntity.badRequest()
-                    .body(Map.of(
-                        "success", false,
-                        "message", e.getMessage()
-                    ));
-        }
+        });
     }
 
     @PostMapping("/withdraw")
-    public ResponseEntity<?> cashWithdrawal(@RequestBody AmountRequest amountRequest) {
-        try {
-            String idempotencyKey = generateIdempotencyKey("withdraw", amountRequest);
-            
-            if (cacheService.exists(CacheKeyType.IDEMPOTENCY, idempotencyKey)) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
+    public ResponseEntity<?> cashWithdrawal(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody AmountRequest amountRequest) {
+        String accountNumber = LoggedinUser.getAccountNumber();
+        return idempotencyService.execute(accountNumber, idempotencyKey, "withdraw", amountRequest, () -> {
+            try {
+                accountService.cashWithdrawal(
+                        accountNumber,
+                        amountRequest.pin(),
+                        amountRequest.amount());
+
+                return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "message", ApiMessages.CASH_WITHDRAWAL_SUCCESS.getMessage()
+                ));
+
+            } catch (NotFoundException | UnauthorizedException | InvalidAmountException
+                    | InsufficientBalanceException e) {
+                log.warn("Failed to withdraw cash: {}", e.getMessage());
+                return ResponseEntity.badRequest()
                         .body(Map.of(
                             "success", false,
-                            "message", "Withdrawal request already processed"
+                            "message", e.getMessage()
                         ));
             }
-            
-            accountService.cashWithdrawal(
-                    LoggedinUser.getAccountNumber(),
-                    amountRequest.pin(),
-                    amountRequest.amount());
-            
-            cacheService.put(CacheKeyType.IDEMPOTENCY, "processed", 300, idempotencyKey);
-            
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "message", ApiMessages.CASH_WITHDRAWAL_SUCCESS.getMessage()
-            ));
-            
-        } catch (Exception e) {
-            log.error("Failed to withdraw cash", e);
-            return ResponseEntity.badRequest()
-                    .body(Map.of(
-                        "success", false,
-                        "message", e.getMessage()
-                    ));
-        }
+        });
     }
 
     @PostMapping("/fund-transfer")
-    public ResponseEntity<?> fundTransfer(@RequestBody FundTransferRequest fundTransferRequest) {
-        try {
-            String idempotencyKey = generateIdempotencyKey("fund-transfer", fundTransferRequest);
-            
-            if (cacheService.exists(CacheKeyType.IDEMPOTENCY, idempotencyKey)) {
-                return ResponseEntity.status(HttpStatus.CONFLICT)
+    public ResponseEntity<?> fundTransfer(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody FundTransferRequest fundTransferRequest) {
+        String accountNumber = LoggedinUser.getAccountNumber();
+        return idempotencyService.execute(accountNumber, idempotencyKey, "fund-transfer", fundTransferRequest, () -> {
+            try {
+                accountService.fundTransfer(
+                        accountNumber,
+                        fundTransferRequest.targetAccountNumber(),
+                        fundTransferRequest.pin(),
+                        fundTransferRequest.amount(),
+                        fundTransferRequest.category());
+
+                return ResponseEntity.ok(Map.of(
+                    "success", true,
+                    "message", ApiMessages.CASH_TRANSFER_SUCCESS.getMessage()
+                ));
+
+            } catch (NotFoundException | UnauthorizedException | InvalidAmountException
+                    | InsufficientBalanceException | FundTransferException e) {
+                log.warn("Failed to transfer funds: {}", e.getMessage());
+                return ResponseEntity.badRequest()
                         .body(Map.of(
                             "success", false,
-                            "message", "Fund transfer request already processed"
+                            "message", e.getMessage()
                         ));
             }
-            
-            accountService.fundTransfer(
-                    LoggedinUser.getAccountNumber(),
-                    fundTransferRequest.targetAccountNumber(),
-                    fundTransferRequest.pin(),
-                    fundTransferRequest.amount(),
-                    fundTransferRequest.category());
-            
-            cacheService.put(CacheKeyType.IDEMPOTENCY, "processed", 300, idempotencyKey);
-            
-            return ResponseEntity.ok(Map.of(
-                "success", true,
-                "message", ApiMessages.CASH_TRANSFER_SUCCESS.getMessage()
-            ));
-            
-        } catch (Exception e) {
-            log.error("Failed to transfer funds", e);
-            return ResponseEntity.badRequest()
-                    .body(Map.of(
-                        "success", false,
-                        "message", e.getMessage()
-                    ));
-        }
+        });
     }
 
     @GetMapping("/transactions")
@@ -420,6 +395,107 @@ public class AccountController {
         return ResponseEntity.ok(JsonUtil.toJson(transactions));
     }
     
+    /**
+     * Bulk fund transfer from the logged-in account. The body is streamed as
+     * JSON lines or CSV, the PIN comes in the {@code X-Account-Pin} header, and
+     * one JSON result per row is streamed back as each chunk completes.
+     *
+     * <p>With an {@code Idempotency-Key} the body has to be hashed before any
+     * row runs, so it is read whole, up to a size limit, and the results are
+     * sent in one piece once every chunk is done, then replayed to retries.
+     */
+    @PostMapping(value = "/bulk-transfer", consumes = { "application/x-ndjson", "text/csv" })
+    public void bulkTransfer(
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = "X-Account-Pin", required = false) String pin,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        boolean csv = request.getContentType().startsWith("text/csv");
+        String accountNumber = LoggedinUser.getAccountNumber();
+        if (idempotencyKey != null) {
+            idempotentBulkTransfer(accountNumber, idempotencyKey, pin, csv, request, response);
+            return;
+        }
+
+        BulkTransferParser rows = new BulkTransferParser(request.getReader(), csv);
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        // An invalid PIN throws before anything is written, so the usual error response still applies
+        accountService.bulkTransfer(accountNumber, pin, rows, results -> {
+            try {
+                PrintWriter writer = response.getWriter();
+                for (BulkTransferResult result : results) {
+                    writer.println(JsonUtil.toJson(result));
+                }
+                response.flushBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void idempotentBulkTransfer(String accountNumber, String idempotencyKey, String pin, boolean csv,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String body = readBody(request.getReader(), idempotentBulkTransferMaxBodySize);
+        if (body == null) {
+            writeResponse(response, ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(Map.of(
+                    "success", false,
+                    "message", String.format(ApiMessages.BULK_TRANSFER_TOO_LARGE_ERROR.getMessage(),
+                            idempotentBulkTransferMaxBodySize))));
+            return;
+        }
+
+        BulkTransferUpload upload = new BulkTransferUpload(request.getContentType(), pin, body);
+        writeResponse(response, idempotencyService.execute(accountNumber, idempotencyKey, "bulk-transfer", upload,
+                () -> applyBulkTransfer(accountNumber, pin, csv, body)));
+    }
+
+    private ResponseEntity<?> applyBulkTransfer(String accountNumber, String pin, boolean csv, String body) {
+        StringBuilder lines = new StringBuilder();
+        boolean[] applied = new boolean[1];
+        Consumer<List<BulkTransferResult>> collect = results -> {
+            applied[0] = true;
+            for (BulkTransferResult result : results) {
+                lines.append(JsonUtil.toJson(result)).append('\n');
+            }
+        };
+        try {
+            accountService.bulkTransfer(accountNumber, pin,
+                    new BulkTransferParser(new BufferedReader(new StringReader(body)), csv), collect);
+        } catch (RuntimeException e) {
+            if (applied[0]) {
+                // Earlier chunks are committed, so the key must not be released for the whole upload to rerun
+                throw new LedgerOutcomeUnknownException("Bulk transfer failed after some chunks were applied", e);
+            }
+            throw e;
+        }
+        return ResponseEntity.ok(lines.toString());
+    }
+
+    // Null when the body is longer than maxLength
+    private static String readBody(BufferedReader reader, int maxLength) throws IOException {
+        StringBuilder body = new StringBuilder();
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            body.append(buffer, 0, read);
+            if (body.length() > maxLength) {
+                return null;
+            }
+        }
+        return body.toString();
+    }
+
+    private static void writeResponse(HttpServletResponse response, ResponseEntity<?> entity) throws IOException {
+        response.setStatus(entity.getStatusCode().value());
+        entity.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        // Set after the headers, since a replayed response carries the JSON content type of other endpoints
+        response.setContentType(entity.getStatusCode().is2xxSuccessful() ? "application/x-ndjson" : "application/json");
+        response.setCharacterEncoding("UTF-8");
+        Object body = entity.getBody();
+        response.getWriter().write(body instanceof String text ? text : JsonUtil.toJson(body));
+    }
+
     @GetMapping("/send-statement")
     public ResponseEntity<String> sendBankStatement() {
         String accountNumber = LoggedinUser.getAccountNumber();
@@ -443,17 +519,4 @@ public class AccountController {
                     ));
         }
     }
-    
-    /**
-     * Tạo idempotency key
-     */
-    private String generateIdempotencyKey(String endpoint, Object request) {
-        String accountNumber = LoggedinUser.getAccountNumber();
-        int requestHash = request != null ? request.hashCode() : 0;
-        
-        return String.format("%s:%s:%d", 
-            accountNumber, 
-            endpoint, 
-            requestHash);
-    }
 }
\ No newline at end of file
@@ -1,13 +1,20 @@
 package com.webapp.bankingportal.controller;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.dto.TransactionFilter;
+import com.webapp.bankingportal.dto.TransactionPageDTO;
+import com.webapp.bankingportal.entity.TransactionType;
 import com.webapp.bankingportal.service.TransactionService;
 import com.webapp.bankingportal.util.LoggedinUser;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -28,6 +35,32 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
     
+    /**
+     * API for paginated transaction history, newest first. Pass the returned
+     * nextCursor back as cursor to fetch the following page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<TransactionPageDTO> getTransactionsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        String accountNumber = LoggedinUser.getAccountNumber();
+        TransactionType transactionType = type != null
+                ? TransactionType.valueOf(type.trim().toUpperCase(Locale.ROOT))
+                : null;
+        TransactionFilter filter = new TransactionFilter(transactionType, category, minAmount, maxAmount, from, to);
+
+        TransactionPageDTO page = transactionService
+                .getTransactionsPage(accountNumber, filter, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
     /**
      * API for line chart data
      */
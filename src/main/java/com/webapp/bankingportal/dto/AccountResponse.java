@@ -1,11 +1,14 @@
 package com.webapp.bankingportal.dto;
 
+import java.math.BigDecimal;
+
 import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.util.MoneyUtil;
 
 public class AccountResponse {
 
     private String accountNumber;
-    private double balance;
+    private BigDecimal balance;
     private String accountType;
     private String branch;
     private String ifscCode;
@@ -13,7 +16,7 @@ public class AccountResponse {
     public AccountResponse() {
     }
 
-    public AccountResponse(String accountNumber, double balance, String accountType, String branch, String ifscCode) {
+    public AccountResponse(String accountNumber, BigDecimal balance, String accountType, String branch, String ifscCode) {
         this.accountNumber = accountNumber;
         this.balance = balance;
         this.accountType = accountType;
@@ -23,7 +26,7 @@ public class AccountResponse {
 
     public AccountResponse(Account account) {
         this.accountNumber = account.getAccountNumber();
-        this.balance = account.getBalance();
+        this.balance = MoneyUtil.toMajorUnits(account.getBalance());
         this.accountType = account.getAccountType();
         this.branch = account.getBranch();
         this.ifscCode = account.getIfscCode();
@@ -37,11 +40,11 @@ public class AccountResponse {
         this.accountNumber = accountNumber;
     }
 
-    public double getBalance() {
+    public BigDecimal getBalance() {
         return balance;
     }
 
-    public void setBalance(double balance) {
+    public void setBalance(BigDecimal balance) {
         this.balance = balance;
     }
 
@@ -0,0 +1,23 @@
+package com.webapp.bankingportal.dto;
+
+/**
+ * Cacheable view of an account. Holds neither the balance, which is always
+ * read from the locked account row, nor the PIN hash, which is read from the
+ * database whenever a PIN is checked: evictions only reach the cache of the
+ * node that made the write, so a cached hash could outlive a PIN change.
+ */
+public record AccountSnapshot(
+        Long id,
+        String accountNumber,
+        String accountType,
+        String branch,
+        String ifscCode) {
+
+    @Override
+    public String toString() {
+        return "AccountSnapshot{" +
+                "id=" + id +
+                ", accountNumber='" + accountNumber + '\'' +
+                '}';
+    }
+}
@@ -1,4 +1,6 @@
 package com.webapp.bankingportal.dto;
 
-public record AmountRequest(String accountNumber, String pin, double amount) {
+import java.math.BigDecimal;
+
+public record AmountRequest(String accountNumber, String pin, BigDecimal amount) {
 }
@@ -0,0 +1,6 @@
+package com.webapp.bankingportal.dto;
+
+import java.math.BigDecimal;
+
+public record BulkTransferResult(int row, String targetAccountNumber, BigDecimal amount, boolean success, String message) {
+}
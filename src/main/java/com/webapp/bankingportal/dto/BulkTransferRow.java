@@ -0,0 +1,14 @@
+package com.webapp.bankingportal.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a bulk transfer body. {@code error} is set instead of the
+ * transfer fields when the line could not be parsed.
+ */
+public record BulkTransferRow(int row, String targetAccountNumber, BigDecimal amount, String category, String error) {
+
+    public static BulkTransferRow invalid(int row, String error) {
+        return new BulkTransferRow(row, null, null, null, error);
+    }
+}
@@ -0,0 +1,8 @@
+package com.webapp.bankingportal.dto;
+
+/**
+ * A whole bulk transfer upload, as hashed for its {@code Idempotency-Key}:
+ * the same rows sent as CSV and as JSON lines are different requests.
+ */
+public record BulkTransferUpload(String contentType, String pin, String body) {
+}
@@ -1,5 +1,7 @@
 package com.webapp.bankingportal.dto;
 
+import java.math.BigDecimal;
+
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class ChartDataDTO {
@@ -8,21 +10,21 @@ public class ChartDataDTO {
     private String date;
     
     @JsonProperty("deposit")
-    private double deposit;
+    private BigDecimal deposit;
     
     @JsonProperty("withdrawal")
-    private double withdrawal;
+    private BigDecimal withdrawal;
     
     @JsonProperty("transfer")
-    private double transfer;
+    private BigDecimal transfer;
     
     @JsonProperty("credit")
-    private double credit;
+    private BigDecimal credit;
     
     // Constructors
     public ChartDataDTO() {}
     
-    public ChartDataDTO(String date, double deposit, double withdrawal, double transfer, double credit) {
+    public ChartDataDTO(String date, BigDecimal deposit, BigDecimal withdrawal, BigDecimal transfer, BigDecimal credit) {
         this.date = date;
         this.deposit = deposit;
         this.withdrawal = withdrawal;
@@ -39,35 +41,35 @@ public class ChartDataDTO {
         this.date = date;
     }
     
-    public double getDeposit() {
+    public BigDecimal getDeposit() {
         return deposit;
     }
     
-    public void setDeposit(double deposit) {
+    public void setDeposit(BigDecimal deposit) {
         this.deposit = deposit;
     }
     
-    public double getWithdrawal() {
+    public BigDecimal getWithdrawal() {
         return withdrawal;
     }
     
-    public void setWithdrawal(double withdrawal) {
+    public void setWithdrawal(BigDecimal withdrawal) {
         this.withdrawal = withdrawal;
     }
     
-    public double getTransfer() {
+    public BigDecimal getTransfer() {
         return transfer;
     }
     
-    public void setTransfer(double transfer) {
+    public void setTransfer(BigDecimal transfer) {
         this.transfer = transfer;
     }
     
-    public double getCredit() {
+    public BigDecimal getCredit() {
         return credit;
     }
     
-    public void setCredit(double credit) {
+    public void setCredit(BigDecimal credit) {
         this.credit = credit;
     }
 }
\ No newline at end of file
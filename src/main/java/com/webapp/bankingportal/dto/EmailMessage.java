@@ -0,0 +1,4 @@
+package com.webapp.bankingportal.dto;
+
+public record EmailMessage(String to, String subject, String body, String text) {
+}
@@ -1,19 +1,20 @@
 package com.webapp.bankingportal.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
 public class ExpenseStatisticsDTO {
     
     @JsonProperty("totalDeposits")
-    private double totalDeposits;
+    private BigDecimal totalDeposits;
     
     @JsonProperty("totalWithdrawals")
-    private double totalWithdrawals;
+    private BigDecimal totalWithdrawals;
     
     @JsonProperty("netBalance")
-    private double netBalance; // deposits - withdrawals
+    private BigDecimal netBalance; // deposits - withdrawals
     
     @JsonProperty("monthlyData")
     private List<MonthlyExpenseData> monthlyData;
@@ -25,39 +26,39 @@ public class ExpenseStatisticsDTO {
     private List<WeeklyExpenseData> weeklyData;
     
     @JsonProperty("categoryData")
-    private Map<String, Double> categoryData;
+    private Map<String, BigDecimal> categoryData;
     
     // Constructors
     public ExpenseStatisticsDTO() {}
     
-    public ExpenseStatisticsDTO(double totalDeposits, double totalWithdrawals, double netBalance) {
+    public ExpenseStatisticsDTO(BigDecimal totalDeposits, BigDecimal totalWithdrawals, BigDecimal netBalance) {
         this.totalDeposits = totalDeposits;
         this.totalWithdrawals = totalWithdrawals;
         this.netBalance = netBalance;
     }
     
     // Getters and Setters
-    public double getTotalDeposits() {
+    public BigDecimal getTotalDeposits() {
         return totalDeposits;
     }
     
-    public void setTotalDeposits(double totalDeposits) {
+    public void setTotalDeposits(BigDecimal totalDeposits) {
         this.totalDeposits = totalDeposits;
     }
     
-    public double getTotalWithdrawals() {
+    public BigDecimal getTotalWithdrawals() {
         return totalWithdrawals;
     }
     
-    public void setTotalWithdrawals(double totalWithdrawals) {
+    public void setTotalWithdrawals(BigDecimal totalWithdrawals) {
         this.totalWithdrawals = totalWithdrawals;
     }
     
-    public double getNetBalance() {
+    public BigDecimal getNetBalance() {
         return netBalance;
     }
     
-    public void setNetBalance(double netBalance) {
+    public void setNetBalance(BigDecimal netBalance) {
         this.netBalance = netBalance;
     }
     
@@ -85,11 +86,11 @@ public class ExpenseStatisticsDTO {
         this.weeklyData = weeklyData;
     }
     
-    public Map<String, Double> getCategoryData() {
+    public Map<String, BigDecimal> getCategoryData() {
         return categoryData;
     }
     
-    public void setCategoryData(Map<String, Double> categoryData) {
+    public void setCategoryData(Map<String, BigDecimal> categoryData) {
         this.categoryData = categoryData;
     }
     
@@ -102,25 +103,25 @@ public class ExpenseStatisticsDTO {
         private int year;
         
         @JsonProperty("deposits")
-        private double deposits;
+        private BigDecimal deposits = BigDecimal.ZERO;
         
         @JsonProperty("withdrawals")
-        private double withdrawals;
+        private BigDecimal withdrawals = BigDecimal.ZERO;
         
         @JsonProperty("netBalance")
-        private double netBalance;
+        private BigDecimal netBalance = BigDecimal.ZERO;
         
         @JsonProperty("categoryData")
-        private Map<String, Double> categoryData;
+        private Map<String, BigDecimal> categoryData;
         
         public MonthlyExpenseData() {}
         
-        public MonthlyExpenseData(String month, int year, double deposits, double withdrawals) {
+        public MonthlyExpenseData(String month, int year, BigDecimal deposits, BigDecimal withdrawals) {
             this.month = month;
             this.year = year;
             this.deposits = deposits;
             this.withdrawals = withdrawals;
-            this.netBalance = deposits - withdrawals;
+            this.netBalance = deposits.subtract(withdrawals);
         }
         
         // Getters and Setters
@@ -140,33 +141,33 @@ public class ExpenseStatisticsDTO {
             this.year = year;
         }
         
-        public double getDeposits() {
+        public BigDecimal getDeposits() {
             return deposits;
         }
         
-        public void setDeposits(double deposits) {
+        public void setDeposits(BigDecimal deposits) {
             this.deposits = deposits;
-            this.netBalance = this.deposits - this.withdrawals;
+            this.netBalance = this.deposits.subtract(this.withdrawals);
         }
         
-        public double getWithdrawals() {
+        public BigDecimal getWithdrawals() {
             return withdrawals;
         }
         
-        public void setWithdrawals(double withdrawals) {
+        public void setWithdrawals(BigDecimal withdrawals) {
             this.withdrawals = withdrawals;
-            this.netBalance = this.deposits - this.withdrawals;
+            this.netBalance = this.deposits.subtract(this.withdrawals);
         }
         
-        public double getNetBalance() {
+        public BigDecimal getNetBalance() {
             return netBalance;
         }
         
-        public Map<String, Double> getCategoryData() {
+        public Map<String, BigDecimal> getCategoryData() {
             return categoryData;
         }
         
-        public void setCategoryData(Map<String, Double> categoryData) {
+        public void setCategoryData(Map<String, BigDecimal> categoryData) {
             this.categoryData = categoryData;
         }
     }
@@ -176,24 +177,24 @@ public class ExpenseStatisticsDTO {
         private String date;
         
         @JsonProperty("deposits")
-        private double deposits;
+        private BigDecimal deposits = BigDecimal.ZERO;
         
         @JsonProperty("withdrawals")
-        private double withdrawals;
+        private BigDecimal withdrawals = BigDecimal.ZERO;
         
         @JsonProperty("netBalance")
-        private double netBalance;
+        private BigDecimal netBalance = BigDecimal.ZERO;
         
         @JsonProperty("categoryData")
-        private Map<String, Double> categoryData;
+        private Map<String, BigDecimal> categoryData;
         
         public DailyExpenseData() {}
         
-        public DailyExpenseData(String date, double deposits, double withdrawals) {
+        public DailyExpenseData(String date, BigDecimal deposits, BigDecimal withdrawals) {
             this.date = date;
             this.deposits = deposits;
             this.withdrawals = withdrawals;
-            this.netBalance = deposits - withdrawals;
+            this.netBalance = deposits.subtract(withdrawals);
         }
         
         // Getters and Setters
@@ -205,33 +206,33 @@ public class ExpenseStatisticsDTO {
             this.date = date;
         }
         
-        public double getDeposits() {
+        public BigDecimal getDeposits() {
             return deposits;
         }
         
-        public void setDeposits(double deposits) {
+        public void setDeposits(BigDecimal deposits) {
             this.deposits = deposits;
-            this.netBalance = this.deposits - this.withdrawals;
+            this.netBalance = this.deposits.subtract(this.withdrawals);
         }
         
-        public double getWithdrawals() {
+        public BigDecimal getWithdrawals() {
             return withdrawals;
         }
         
-        public void setWithdrawals(double withdrawals) {
+        public void setWithdrawals(BigDecimal withdrawals) {
             this.withdrawals = withdrawals;
-            this.netBalance = this.deposits - this.withdrawals;
+            this.netBalance = this.deposits.subtract(this.withdrawals);
         }
         
-        public double getNetBalance() {
+        public BigDecimal getNetBalance() {
             return netBalance;
         }
         
-        public Map<String, Double> getCategoryData() {
+        public Map<String, BigDecimal> getCategoryData() {
             return categoryData;
         }
         
-        public void setCategoryData(Map<String, Double> categoryData) {
+        public void setCategoryData(Map<String, BigDecimal> categoryData) {
             this.categoryData = categoryData;
         }
     }
@@ -241,24 +242,24 @@ public class ExpenseStatisticsDTO {
         private String week; // e.g., "Week 1, Jan 2024"
         
         @JsonProperty("deposits")
-        private double deposits;
+        private BigDecimal deposits = BigDecimal.ZERO;
         
         @JsonProperty("withdrawals")
-        private double withdrawals;
+        private BigDecimal withdrawals = BigDecimal.ZERO;
         
         @JsonProperty("netBalance")
-        private double netBalance;
+        private BigDecimal netBalance = BigDecimal.ZERO;
         
         @JsonProperty("categoryData")
-        private Map<String, Double> categoryData;
+        private Map<String, BigDecimal> categoryData;
         
         public WeeklyExpenseData() {}
         
-        public WeeklyExpenseData(String week, double deposits, double withdrawals) {
+        public WeeklyExpenseData(String week, BigDecimal deposits, BigDecimal withdrawals) {
             this.week = week;
             this.deposits = deposits;
             this.withdrawals = withdrawals;
-            this.netBalance = deposits - withdrawals;
+            this.netBalance = deposits.subtract(withdrawals);
         }
         
         // Getters and Setters
@@ -270,33 +271,33 @@ public class ExpenseStatisticsDTO {
             this.week = week;
         }
         
-        public double getDeposits() {
+        public BigDecimal getDeposits() {
             return deposits;
         }
         
-        public void setDeposits(double deposits) {
+        public void setDeposits(BigDecimal deposits) {
             this.deposits = deposits;
-            this.netBalance = this.deposits - this.withdrawals;
+            this.netBalance = this.deposits.subtract(this.withdrawals);
         }
         
-        public double getWithdrawals() {
+        public BigDecimal getWithdrawals() {
             return withdrawals;
         }
         
-        public void setWithdrawals(double withdrawals) {
+        public void setWithdrawals(BigDecimal withdrawals) {
             this.withdrawals = withdrawals;
-            this.netBalance = this.deposits - this.withdrawals;
+            this.netBalance = this.deposits.subtract(this.withdrawals);
         }
         
-        public double getNetBalance() {
+        public BigDecimal getNetBalance() {
             return netBalance;
         }
         
-        public Map<String, Double> getCategoryData() {
+        public Map<String, BigDecimal> getCategoryData() {
             return categoryData;
         }
         
-        public void setCategoryData(Map<String, Double> categoryData) {
+        public void setCategoryData(Map<String, BigDecimal> categoryData) {
             this.categoryData = categoryData;
         }
     }
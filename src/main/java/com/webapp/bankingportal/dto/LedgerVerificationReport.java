@@ -0,0 +1,114 @@
+package com.webapp.bankingportal.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of comparing every cached account balance with the sum of its
+ * journal entries.
+ */
+public class LedgerVerificationReport {
+
+    private long accountsChecked;
+    private long entriesScanned;
+    // Sum of every journal entry, zero when each posting is balanced
+    private BigDecimal journalTotal = BigDecimal.ZERO;
+    private List<AccountMismatch> mismatches = new ArrayList<>();
+    private int repaired;
+
+    public LedgerVerificationReport() {
+    }
+
+    public boolean isBalanced() {
+        return journalTotal.signum() == 0 && mismatches.isEmpty();
+    }
+
+    public long getAccountsChecked() {
+        return accountsChecked;
+    }
+
+    public void setAccountsChecked(long accountsChecked) {
+        this.accountsChecked = accountsChecked;
+    }
+
+    public long getEntriesScanned() {
+        return entriesScanned;
+    }
+
+    public void setEntriesScanned(long entriesScanned) {
+        this.entriesScanned = entriesScanned;
+    }
+
+    public BigDecimal getJournalTotal() {
+        return journalTotal;
+    }
+
+    public void setJournalTotal(BigDecimal journalTotal) {
+        this.journalTotal = journalTotal;
+    }
+
+    public List<AccountMismatch> getMismatches() {
+        return mismatches;
+    }
+
+    public void setMismatches(List<AccountMismatch> mismatches) {
+        this.mismatches = mismatches;
+    }
+
+    public int getRepaired() {
+        return repaired;
+    }
+
+    public void setRepaired(int repaired) {
+        this.repaired = repaired;
+    }
+
+    public static class AccountMismatch {
+        private String accountNumber;
+        private BigDecimal snapshotBalance;
+        private BigDecimal journalBalance;
+
+        public AccountMismatch() {
+        }
+
+        public AccountMismatch(String accountNumber, BigDecimal snapshotBalance, BigDecimal journalBalance) {
+            this.accountNumber = accountNumber;
+            this.snapshotBalance = snapshotBalance;
+            this.journalBalance = journalBalance;
+        }
+
+        public String getAccountNumber() {
+            return accountNumber;
+        }
+
+        public void setAccountNumber(String accountNumber) {
+            this.accountNumber = accountNumber;
+        }
+
+        public BigDecimal getSnapshotBalance() {
+            return snapshotBalance;
+        }
+
+        public void setSnapshotBalance(BigDecimal snapshotBalance) {
+            this.snapshotBalance = snapshotBalance;
+        }
+
+        public BigDecimal getJournalBalance() {
+            return journalBalance;
+        }
+
+        public void setJournalBalance(BigDecimal journalBalance) {
+            this.journalBalance = journalBalance;
+        }
+
+        @Override
+        public String toString() {
+            return "AccountMismatch{" +
+                    "accountNumber='" + accountNumber + '\'' +
+                    ", snapshotBalance=" + snapshotBalance +
+                    ", journalBalance=" + journalBalance +
+                    '}';
+        }
+    }
+}
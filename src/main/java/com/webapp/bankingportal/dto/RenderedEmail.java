@@ -0,0 +1,4 @@
+package com.webapp.bankingportal.dto;
+
+public record RenderedEmail(String html, String text) {
+}
@@ -1,24 +1,27 @@
 package com.webapp.bankingportal.dto;
 
+import java.math.BigDecimal;
 import java.util.Date;
 
 import com.webapp.bankingportal.entity.Account;
 import com.webapp.bankingportal.entity.Transaction;
 import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.util.MoneyUtil;
 
 public class TransactionDTO {
 
     private Long id;
-    private double amount;
+    private BigDecimal amount;
     private TransactionType transactionType;
     private Date transactionDate;
     private String sourceAccountNumber;
     private String targetAccountNumber;
+    private String category;
 
     public TransactionDTO() {
     }
 
-    public TransactionDTO(Long id, double amount, TransactionType transactionType, Date transactionDate, String sourceAccountNumber, String targetAccountNumber) {
+    public TransactionDTO(Long id, BigDecimal amount, TransactionType transactionType, Date transactionDate, String sourceAccountNumber, String targetAccountNumber) {
         this.id = id;
         this.amount = amount;
         this.transactionType = transactionType;
@@ -29,7 +32,7 @@ public class TransactionDTO {
 
     public TransactionDTO(Transaction transaction) {
         this.id = transaction.getId();
-        this.amount = transaction.getAmount();
+        this.amount = MoneyUtil.toMajorUnits(transaction.getAmount());
         this.transactionType = transaction.getTransactionType();
         this.transactionDate = transaction.getTransactionDate();
         this.sourceAccountNumber = transaction.getSourceAccount().getAccountNumber();
@@ -41,6 +44,7 @@ public class TransactionDTO {
         }
 
         this.targetAccountNumber = targetAccountNumber;
+        this.category = transaction.getCategory();
     }
 
     public Long getId() {
@@ -51,11 +55,11 @@ public class TransactionDTO {
         this.id = id;
     }
 
-    public double getAmount() {
+    public BigDecimal getAmount() {
         return amount;
     }
 
-    public void setAmount(double amount) {
+    public void setAmount(BigDecimal amount) {
         this.amount = amount;
     }
 
@@ -91,6 +95,14 @@ public class TransactionDTO {
         this.targetAccountNumber = targetAccountNumber;
     }
 
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
     @Override
     public String toString() {
         return "TransactionDTO{" +
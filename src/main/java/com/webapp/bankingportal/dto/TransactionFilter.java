@@ -0,0 +1,10 @@
+package com.webapp.bankingportal.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.webapp.bankingportal.entity.TransactionType;
+
+public record TransactionFilter(TransactionType type, String category, BigDecimal minAmount, BigDecimal maxAmount,
+        LocalDate fromDate, LocalDate toDate) {
+}
@@ -0,0 +1,50 @@
+package com.webapp.bankingportal.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class TransactionPageDTO {
+
+    @JsonProperty("transactions")
+    private List<TransactionDTO> transactions;
+
+    @JsonProperty("nextCursor")
+    private String nextCursor; // null when there are no more pages
+
+    @JsonProperty("hasMore")
+    private boolean hasMore;
+
+    public TransactionPageDTO() {
+    }
+
+    public TransactionPageDTO(List<TransactionDTO> transactions, String nextCursor) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    public List<TransactionDTO> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionDTO> transactions) {
+        this.transactions = transactions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
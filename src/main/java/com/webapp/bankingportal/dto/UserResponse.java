@@ -29,6 +29,18 @@ public class UserResponse {
         this.accountType = user.getAccount().getAccountType();
     }
 
+    public UserResponse(UserSnapshot user) {
+        this.name = user.name();
+        this.email = user.email();
+        this.countryCode = user.countryCode();
+        this.phoneNumber = user.phoneNumber();
+        this.address = user.address();
+        this.accountNumber = user.accountNumber();
+        this.ifscCode = user.ifscCode();
+        this.branch = user.branch();
+        this.accountType = user.accountType();
+    }
+
     public String getName() {
         return name;
     }
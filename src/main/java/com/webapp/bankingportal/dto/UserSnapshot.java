@@ -0,0 +1,28 @@
+package com.webapp.bankingportal.dto;
+
+/**
+ * Cacheable view of a user and the fixed details of their account, keyed by
+ * account number. The password hash is deliberately left out; it is read
+ * from the database whenever a password is checked.
+ */
+public record UserSnapshot(
+        Long id,
+        String accountNumber,
+        String name,
+        String email,
+        String countryCode,
+        String phoneNumber,
+        String address,
+        String accountType,
+        String branch,
+        String ifscCode) {
+
+    @Override
+    public String toString() {
+        return "UserSnapshot{" +
+                "id=" + id +
+                ", accountNumber='" + accountNumber + '\'' +
+                ", email='" + email + '\'' +
+                '}';
+    }
+}
@@ -30,7 +30,13 @@ public class Account {
     private String accountType = "Savings";
 
     private String accountStatus;
-    private double balance;
+
+    // Minor units (cents)
+    @Column(name = "balance_minor")
+    private long balance;
+
+    // Number of credit shards for hot accounts, 0 when sharding is disabled
+    private int balanceShardCount;
     private String branch = "NIT";
     private String ifscCode = "NIT001";
     private String Pin;
@@ -78,14 +84,22 @@ public class Account {
         this.accountStatus = accountStatus;
     }
 
-    public double getBalance() {
+    public long getBalance() {
         return balance;
     }
 
-    public void setBalance(double balance) {
+    public void setBalance(long balance) {
         this.balance = balance;
     }
 
+    public int getBalanceShardCount() {
+        return balanceShardCount;
+    }
+
+    public void setBalanceShardCount(int balanceShardCount) {
+        this.balanceShardCount = balanceShardCount;
+    }
+
     public String getBranch() {
         return branch;
     }
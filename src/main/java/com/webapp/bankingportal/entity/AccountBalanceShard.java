@@ -0,0 +1,95 @@
+package com.webapp.bankingportal.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One slice of the not yet consolidated credits of a hot account. Credits are
+ * spread across the shards so concurrent transfers into the account do not
+ * serialize on its row; the account's real balance is its own balance plus
+ * the sum of its shards.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_balance_shard_account_index",
+        columnNames = { "account_id", "shard_index" }))
+public class AccountBalanceShard {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "shard_index", nullable = false)
+    private int shardIndex;
+
+    // Minor units (cents)
+    @Column(name = "balance_minor")
+    private long balance;
+
+    public AccountBalanceShard() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public void setShardIndex(int shardIndex) {
+        this.shardIndex = shardIndex;
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+
+    public void setBalance(long balance) {
+        this.balance = balance;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        AccountBalanceShard that = (AccountBalanceShard) o;
+
+        return id != null ? id.equals(that.id) : that.id == null;
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountBalanceShard{" +
+                "id=" + id +
+                ", accountId=" + accountId +
+                ", shardIndex=" + shardIndex +
+                ", balance=" + balance +
+                '}';
+    }
+}
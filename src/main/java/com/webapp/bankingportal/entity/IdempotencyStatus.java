@@ -0,0 +1,6 @@
+package com.webapp.bankingportal.entity;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
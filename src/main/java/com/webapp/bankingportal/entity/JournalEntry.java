@@ -0,0 +1,113 @@
+package com.webapp.bankingportal.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * One side of a double-entry posting in the append-only ledger journal. Every
+ * posting writes a debit and a credit entry whose amounts sum to zero, and an
+ * account's balance is the sum of its entries. Rows are never updated or
+ * deleted; {@link Account#getBalance()} is a cached snapshot of that sum.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_journal_account", columnList = "account_id, id"),
+        @Index(name = "idx_journal_transaction", columnList = "transaction_id")
+})
+public class JournalEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // The ledger transaction this entry posts, null for opening balances carried over from snapshots
+    @Column(name = "transaction_id", updatable = false)
+    private Long transactionId;
+
+    // Null for the bank's cash ledger, the counterparty of deposits and withdrawals
+    @Column(name = "account_id", updatable = false)
+    private Long accountId;
+
+    // Signed minor units (cents): positive credits the account, negative debits it
+    @Column(name = "amount_minor", nullable = false, updatable = false)
+    private long amount;
+
+    @Column(nullable = false, updatable = false)
+    private Date createdAt;
+
+    public JournalEntry() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        JournalEntry that = (JournalEntry) o;
+
+        return id != null ? id.equals(that.id) : that.id == null;
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalEntry{" +
+                "id=" + id +
+                ", transactionId=" + transactionId +
+                ", accountId=" + accountId +
+                ", amount=" + amount +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -0,0 +1,7 @@
+package com.webapp.bankingportal.entity;
+
+public enum OutboxEmailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
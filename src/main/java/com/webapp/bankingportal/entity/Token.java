@@ -7,26 +7,41 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
+/**
+ * A login session. Only a hash of the JWT is stored, so a leaked table does
+ * not hand out usable tokens, and lookups hit a fixed-width unique index.
+ */
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_token_hash", columnNames = "token_hash"),
+        indexes = @Index(name = "idx_token_expiry_at", columnList = "expiry_at"))
 public class Token {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // SHA-256 of the JWT, see HashUtil.sha256Hex
     @NotEmpty
-    @Column(unique = true)
-    private String token;
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
+    // The jti claim, kept so an evicted session can be revoked; null for tokens issued without one
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
 
     @NotNull
     private Date createdAt = new Date();
 
     @NotNull
+    @Column(name = "expiry_at")
     private Date expiryAt;
 
     @NotNull
@@ -37,8 +52,9 @@ public class Token {
     public Token() {
     }
 
-    public Token(String token, Date expiryAt, Account account) {
-        this.token = token;
+    public Token(String tokenHash, String tokenId, Date expiryAt, Account account) {
+        this.tokenHash = tokenHash;
+        this.tokenId = tokenId;
         this.expiryAt = expiryAt;
         this.account = account;
     }
@@ -51,12 +67,20 @@ public class Token {
         this.id = id;
     }
 
-    public String getToken() {
-        return token;
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    public String getTokenId() {
+        return tokenId;
     }
 
-    public void setToken(String token) {
-        this.token = token;
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
     }
 
     public Date getCreatedAt() {
@@ -102,7 +126,7 @@ public class Token {
     public String toString() {
         return "Token{" +
                 "id=" + id +
-                ", token='" + token + '\'' +
+                ", tokenId='" + tokenId + '\'' +
                 ", expiryAt=" + expiryAt +
                 '}';
     }
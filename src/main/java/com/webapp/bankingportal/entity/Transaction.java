@@ -2,21 +2,32 @@ package com.webapp.bankingportal.entity;
 
 import java.util.Date;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = {
+        // Keyset pagination and date-range aggregation per account, newest first
+        @Index(name = "idx_transaction_source_date", columnList = "source_account_id, transaction_date, id"),
+        @Index(name = "idx_transaction_target_date", columnList = "target_account_id, transaction_date, id")
+})
 public class Transaction {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
-    private double amount;
+
+    // Minor units (cents)
+    @Column(name = "amount_minor")
+    private long amount;
 
     @Enumerated(EnumType.STRING)
     private TransactionType transactionType;
@@ -44,11 +55,11 @@ public class Transaction {
         this.id = id;
     }
 
-    public double getAmount() {
+    public long getAmount() {
         return amount;
     }
 
-    public void setAmount(double amount) {
+    public void setAmount(long amount) {
         this.amount = amount;
     }
 
@@ -0,0 +1,148 @@
+package com.webapp.bankingportal.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Running totals of the transactions touching one account on one day, per
+ * type and category. Maintained in the same database transaction as every
+ * ledger write so the analytics endpoints never have to scan raw history.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_rollup_account_day_type_category",
+        columnNames = { "account_id", "rollup_date", "transaction_type", "category", "incoming" }))
+public class TransactionDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private TransactionType transactionType;
+
+    // Empty string for uncategorised transactions so the unique key stays effective
+    @Column(nullable = false)
+    private String category = "";
+
+    // True when the account was the target of a transfer, false when it originated the transaction
+    @Column(nullable = false)
+    private boolean incoming;
+
+    // Minor units (cents)
+    @Column(name = "total_minor")
+    private long total;
+
+    private long transactionCount;
+
+    public TransactionDailyRollup() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(Long accountId) {
+        this.accountId = accountId;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public void setTransactionType(TransactionType transactionType) {
+        this.transactionType = transactionType;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public boolean isIncoming() {
+        return incoming;
+    }
+
+    public void setIncoming(boolean incoming) {
+        this.incoming = incoming;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        TransactionDailyRollup that = (TransactionDailyRollup) o;
+
+        return id != null ? id.equals(that.id) : that.id == null;
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionDailyRollup{" +
+                "id=" + id +
+                ", accountId=" + accountId +
+                ", rollupDate=" + rollupDate +
+                ", transactionType=" + transactionType +
+                ", category='" + category + '\'' +
+                ", incoming=" + incoming +
+                ", total=" + total +
+                ", transactionCount=" + transactionCount +
+                '}';
+    }
+}
@@ -0,0 +1,18 @@
+package com.webapp.bankingportal.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the caller stopped waiting for a ledger posting after it was
+ * handed to the database, so it may still commit. Unlike other failures this
+ * does not mean nothing was written, and the request must not simply be run
+ * again.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class LedgerOutcomeUnknownException extends RuntimeException {
+
+    public LedgerOutcomeUnknownException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
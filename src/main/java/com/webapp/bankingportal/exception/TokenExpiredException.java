@@ -0,0 +1,8 @@
+package com.webapp.bankingportal.exception;
+
+public class TokenExpiredException extends InvalidTokenException {
+
+    public TokenExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,43 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.AccountBalanceShard;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface AccountBalanceShardRepository extends JpaRepository<AccountBalanceShard, Long> {
+
+    /**
+     * Adds a credit to one shard, creating the shard on first use. Only the
+     * shard row is locked, never the account row.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account_balance_shard (account_id, shard_index, balance_minor) "
+            + "VALUES (:accountId, :shardIndex, :amount) "
+            + "ON DUPLICATE KEY UPDATE balance_minor = balance_minor + VALUES(balance_minor)",
+            nativeQuery = true)
+    int addToShard(@Param("accountId") Long accountId, @Param("shardIndex") int shardIndex,
+            @Param("amount") long amount);
+
+    /**
+     * Locks every shard of the account in shard order, for settling.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AccountBalanceShard s WHERE s.accountId = :accountId ORDER BY s.shardIndex")
+    List<AccountBalanceShard> findByAccountIdForUpdate(@Param("accountId") Long accountId);
+
+    @Query("SELECT COALESCE(SUM(s.balance), 0) FROM AccountBalanceShard s WHERE s.accountId = :accountId")
+    long sumBalanceByAccountId(@Param("accountId") Long accountId);
+
+    @Query("SELECT DISTINCT s.accountId FROM AccountBalanceShard s WHERE s.balance <> 0")
+    List<Long> findAccountIdsWithUnsettledBalance();
+}
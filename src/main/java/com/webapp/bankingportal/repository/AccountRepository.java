@@ -1,13 +1,89 @@
 package com.webapp.bankingportal.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.webapp.bankingportal.dto.AccountSnapshot;
 import com.webapp.bankingportal.entity.Account;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
     Account findByAccountNumber(String accountNumber);
 
+    /**
+     * Reads the snapshot straight into a DTO, so no managed Account is left in
+     * the persistence context ahead of a later locking read.
+     */
+    @Query("SELECT new com.webapp.bankingportal.dto.AccountSnapshot("
+            + "a.id, a.accountNumber, a.accountType, a.branch, a.ifscCode) "
+            + "FROM Account a WHERE a.accountNumber = :accountNumber")
+    Optional<AccountSnapshot> findSnapshotByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("SELECT a.id FROM Account a ORDER BY a.id")
+    List<Long> findAllIds();
+
+    @Query("SELECT a.id FROM Account a WHERE a.id > :id ORDER BY a.id")
+    List<Long> findIdsAfter(@Param("id") long id);
+
+    @Query("SELECT a.id FROM Account a WHERE a.accountNumber = :accountNumber")
+    Long findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Locks many accounts in one statement and returns their current balances.
+     * Rows are locked in ascending id order, the same order single-account
+     * paths use, so batches cannot deadlock against them. Scalar results never
+     * come from the persistence context, so they cannot be stale.
+     */
+    @Query(value = "SELECT id AS id, balance_minor AS balance FROM account WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<LockedBalance> lockBalances(@Param("ids") Collection<Long> ids);
+
+    /**
+     * The encoded PIN, read fresh for every PIN check rather than cached.
+     * Null when no PIN has been created.
+     */
+    @Query("SELECT a.Pin FROM Account a WHERE a.id = :id")
+    String findPinById(@Param("id") Long id);
+
+    @Query("SELECT a.balanceShardCount FROM Account a WHERE a.id = :id")
+    int findBalanceShardCountById(@Param("id") Long id);
+
+    @Query("SELECT a.id AS id, a.accountNumber AS accountNumber, a.balanceShardCount AS balanceShardCount "
+            + "FROM Account a WHERE a.accountNumber IN :accountNumbers")
+    List<AccountRef> findRefsByAccountNumberIn(@Param("accountNumbers") Collection<String> accountNumbers);
+
+    interface LockedBalance {
+        Long getId();
+
+        Long getBalance();
+    }
+
+    interface AccountRef {
+        Long getId();
+
+        String getAccountNumber();
+
+        int getBalanceShardCount();
+    }
+
+    /**
+     * Loads the account with SELECT ... FOR UPDATE, holding the row lock until
+     * the surrounding transaction ends. The account must not already be loaded
+     * in the current persistence context, otherwise the stale managed instance
+     * is returned.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Account findByIdForUpdate(@Param("id") Long id);
+
 }
@@ -0,0 +1,38 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.BackfillProgress;
+
+@Repository
+public interface BackfillProgressRepository extends JpaRepository<BackfillProgress, String> {
+
+    /**
+     * Creates the backfill's progress row on its first run; a no-op once it
+     * exists, so a resumed backfill keeps its position.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO backfill_progress (name, last_id, completed, updated_at) "
+            + "VALUES (:name, 0, false, :now)", nativeQuery = true)
+    int start(@Param("name") String name, @Param("now") Date now);
+
+    @Query("SELECT p.completed FROM BackfillProgress p WHERE p.name = :name")
+    Boolean findCompletedByName(@Param("name") String name);
+
+    @Query("SELECT p.lastId FROM BackfillProgress p WHERE p.name = :name")
+    long findLastIdByName(@Param("name") String name);
+
+    @Modifying
+    @Query("UPDATE BackfillProgress p SET p.lastId = :lastId, p.updatedAt = :now WHERE p.name = :name")
+    int advance(@Param("name") String name, @Param("lastId") long lastId, @Param("now") Date now);
+
+    @Modifying
+    @Query("UPDATE BackfillProgress p SET p.completed = true, p.updatedAt = :now WHERE p.name = :name")
+    int complete(@Param("name") String name, @Param("now") Date now);
+}
@@ -0,0 +1,87 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.IdempotencyRecord;
+import com.webapp.bankingportal.entity.IdempotencyStatus;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    /**
+     * Claims the key for the account. The unique key makes this atomic: it
+     * returns 1 for the one caller that inserted the row and 0 for everyone
+     * else.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO idempotency_record "
+            + "(account_number, idempotency_key, request_hash, status, created_at, expires_at) "
+            + "VALUES (:accountNumber, :idempotencyKey, :requestHash, 'IN_PROGRESS', :now, :expiresAt)",
+            nativeQuery = true)
+    int reserve(@Param("accountNumber") String accountNumber, @Param("idempotencyKey") String idempotencyKey,
+            @Param("requestHash") String requestHash, @Param("now") Date now, @Param("expiresAt") Date expiresAt);
+
+    /**
+     * Reads the record as a projection rather than an entity, so polling an
+     * in-flight key always sees fresh column values instead of an instance
+     * cached in an open persistence context.
+     */
+    @Query("SELECT r.id AS id, r.requestHash AS requestHash, r.status AS status, "
+            + "r.responseStatus AS responseStatus, r.responseBody AS responseBody, r.expiresAt AS expiresAt "
+            + "FROM IdempotencyRecord r "
+            + "WHERE r.accountNumber = :accountNumber AND r.idempotencyKey = :idempotencyKey")
+    RecordState findState(@Param("accountNumber") String accountNumber,
+            @Param("idempotencyKey") String idempotencyKey);
+
+    /**
+     * Stores the response of a reservation. A reclaimed key gets a new row, so
+     * the id fences out an owner whose lease ran out: it returns 0 for them.
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = com.webapp.bankingportal.entity.IdempotencyStatus.COMPLETED, "
+            + "r.responseStatus = :responseStatus, r.responseBody = :responseBody, r.expiresAt = :expiresAt "
+            + "WHERE r.id = :id AND r.status = com.webapp.bankingportal.entity.IdempotencyStatus.IN_PROGRESS")
+    int complete(@Param("id") Long id, @Param("responseStatus") int responseStatus,
+            @Param("responseBody") String responseBody, @Param("expiresAt") Date expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.expiresAt = :expiresAt "
+            + "WHERE r.id = :id AND r.status = com.webapp.bankingportal.entity.IdempotencyStatus.IN_PROGRESS")
+    int renewLease(@Param("id") Long id, @Param("expiresAt") Date expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id")
+    int deleteRecordById(@Param("id") Long id);
+
+    /**
+     * Deletes the record only if it has expired, so exactly one of several
+     * callers racing to reclaim an abandoned key succeeds.
+     */
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.expiresAt < :now")
+    int deleteByIdIfExpired(@Param("id") Long id, @Param("now") Date now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Date now);
+
+    interface RecordState {
+        Long getId();
+
+        String getRequestHash();
+
+        IdempotencyStatus getStatus();
+
+        Integer getResponseStatus();
+
+        String getResponseBody();
+
+        Date getExpiresAt();
+    }
+}
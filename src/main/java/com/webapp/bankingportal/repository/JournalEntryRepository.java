@@ -0,0 +1,31 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.JournalEntry;
+
+@Repository
+public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long> {
+
+    /**
+     * Appends both entries of a posting in a single statement. A null account
+     * id stands for the bank's cash ledger.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO journal_entry (transaction_id, account_id, amount_minor, created_at) "
+            + "VALUES (:transactionId, :debitAccountId, -:amount, :createdAt), "
+            + "(:transactionId, :creditAccountId, :amount, :createdAt)",
+            nativeQuery = true)
+    int appendPosting(@Param("transactionId") Long transactionId,
+            @Param("debitAccountId") Long debitAccountId, @Param("creditAccountId") Long creditAccountId,
+            @Param("amount") long amount, @Param("createdAt") Date createdAt);
+
+    @Query("SELECT COALESCE(SUM(j.amount), 0) FROM JournalEntry j WHERE j.accountId = :accountId")
+    long sumAmountByAccountId(@Param("accountId") Long accountId);
+}
@@ -1,14 +1,30 @@
 package com.webapp.bankingportal.repository;
 
+import java.time.LocalDateTime;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.webapp.bankingportal.entity.OtpInfo;
 
 @Repository
 public interface OtpInfoRepository extends JpaRepository<OtpInfo, Long> {
 
-    OtpInfo findByAccountNumberAndOtp(String accountNumber, String otp);
-
     OtpInfo findByAccountNumber(String accountNumber);
+
+    /**
+     * Deletes the account's OTP if it matches and was generated after
+     * {@code notBefore}. A single statement, so two concurrent attempts with
+     * the same OTP cannot both succeed.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OtpInfo o WHERE o.accountNumber = :accountNumber AND o.otp = :otp "
+            + "AND o.generatedAt > :notBefore")
+    int deleteValid(@Param("accountNumber") String accountNumber, @Param("otp") String otp,
+            @Param("notBefore") LocalDateTime notBefore);
 }
@@ -0,0 +1,63 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.entity.OutboxEmail;
+
+@Repository
+public interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    /**
+     * Locks up to {@code limit} due rows, oldest first. Rows locked by another
+     * node's claim are skipped rather than waited for, so dispatchers on
+     * several nodes never block each other or claim the same email.
+     */
+    @Query(value = "SELECT id FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") Date now, @Param("limit") int limit);
+
+    /**
+     * Claims the locked rows: counts the attempt and hides them from other
+     * dispatchers until the lease ends, after which a crashed claim is retried.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEmail e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :leaseUntil "
+            + "WHERE e.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("leaseUntil") Date leaseUntil);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEmail e SET e.status = com.webapp.bankingportal.entity.OutboxEmailStatus.SENT, "
+            + "e.sentAt = :sentAt, e.body = NULL, e.textBody = NULL, e.lastError = NULL WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") Date sentAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEmail e SET e.nextAttemptAt = :nextAttemptAt, e.lastError = :error WHERE e.id = :id")
+    int reschedule(@Param("id") Long id, @Param("nextAttemptAt") Date nextAttemptAt, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEmail e SET e.status = com.webapp.bankingportal.entity.OutboxEmailStatus.FAILED, "
+            + "e.body = NULL, e.textBody = NULL, e.lastError = :error WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+
+    /**
+     * Deletes at most {@code limit} rows that were sent or gave up before
+     * {@code cutoff}.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM email_outbox WHERE status <> 'PENDING' AND created_at < :cutoff LIMIT :limit",
+            nativeQuery = true)
+    int deleteFinishedBefore(@Param("cutoff") Date cutoff, @Param("limit") int limit);
+}
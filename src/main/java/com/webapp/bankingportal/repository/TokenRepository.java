@@ -1,17 +1,61 @@
 package com.webapp.bankingportal.repository;
 
+import java.util.Date;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.webapp.bankingportal.entity.Account;
 import com.webapp.bankingportal.entity.Token;
+import com.webapp.bankingportal.util.HashUtil;
 
 @Repository
 public interface TokenRepository extends JpaRepository<Token, Long> {
 
-    Token findByToken(String token);
+    Token findByTokenHash(String tokenHash);
+
+    default Token findByToken(String token) {
+        return token == null ? null : findByTokenHash(HashUtil.sha256Hex(token));
+    }
 
     Token[] findAllByAccount(Account account);
 
-    void deleteByToken(String token);
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Token t WHERE t.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    default void deleteByToken(String token) {
+        if (token != null) {
+            deleteByTokenHash(HashUtil.sha256Hex(token));
+        }
+    }
+
+    /**
+     * Sessions of the account, newest first.
+     */
+    @Query("SELECT t.id AS id, t.tokenId AS tokenId, t.expiryAt AS expiryAt FROM Token t "
+            + "WHERE t.account.id = :accountId ORDER BY t.id DESC")
+    List<SessionRef> findSessionsByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Deletes at most {@code limit} expired tokens, so a large backlog is
+     * purged in short transactions that never hold many row locks.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM token WHERE expiry_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") Date now, @Param("limit") int limit);
+
+    interface SessionRef {
+        Long getId();
+
+        String getTokenId();
+
+        Date getExpiryAt();
+    }
 }
@@ -0,0 +1,158 @@
+package com.webapp.bankingportal.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.TransactionDailyRollup;
+import com.webapp.bankingportal.entity.TransactionType;
+
+@Repository
+public interface TransactionDailyRollupRepository extends JpaRepository<TransactionDailyRollup, Long> {
+
+    /**
+     * Adds {@code count} transactions totalling {@code amount} to their rollup
+     * row, creating the row on first use. Atomic on the unique key, so
+     * concurrent writers never lose an update.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO transaction_daily_rollup "
+            + "(account_id, rollup_date, transaction_type, category, incoming, total_minor, transaction_count) "
+            + "VALUES (:accountId, :rollupDate, :transactionType, :category, :incoming, :amount, :count) "
+            + "ON DUPLICATE KEY UPDATE total_minor = total_minor + VALUES(total_minor), "
+            + "transaction_count = transaction_count + VALUES(transaction_count)",
+            nativeQuery = true)
+    int addTransactions(@Param("accountId") Long accountId, @Param("rollupDate") LocalDate rollupDate,
+            @Param("transactionType") String transactionType, @Param("category") String category,
+            @Param("incoming") boolean incoming, @Param("amount") long amount, @Param("count") long count);
+
+    @Modifying
+    @Query("DELETE FROM TransactionDailyRollup r WHERE r.accountId = :accountId")
+    int deleteByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Locks the account's rollup rows, and the gap where new ones would go,
+     * so no writer can add to the account's rollup until the caller commits.
+     */
+    @Query(value = "SELECT id FROM transaction_daily_rollup WHERE account_id = :accountId FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockByAccountId(@Param("accountId") Long accountId);
+
+    /**
+     * Rollup rows of the transactions the account originated, computed from
+     * raw history.
+     */
+    @Query("SELECT cast(t.transactionDate as LocalDate) AS rollupDate, t.transactionType AS transactionType, "
+            + "coalesce(t.category, '') AS category, SUM(t.amount) AS total, COUNT(t) AS transactionCount "
+            + "FROM Transaction t "
+            + "WHERE t.sourceAccount.id = :accountId "
+            + "AND t.transactionDate IS NOT NULL AND t.transactionType IS NOT NULL "
+            + "GROUP BY cast(t.transactionDate as LocalDate), t.transactionType, coalesce(t.category, '')")
+    List<HistoryTotal> sumOutgoingHistory(@Param("accountId") Long accountId);
+
+    /**
+     * Rollup rows of the transfers the account received, computed from raw
+     * history.
+     */
+    @Query("SELECT cast(t.transactionDate as LocalDate) AS rollupDate, t.transactionType AS transactionType, "
+            + "coalesce(t.category, '') AS category, SUM(t.amount) AS total, COUNT(t) AS transactionCount "
+            + "FROM Transaction t "
+            + "WHERE t.targetAccount.id = :accountId "
+            + "AND t.transactionDate IS NOT NULL AND t.transactionType IS NOT NULL "
+            + "GROUP BY cast(t.transactionDate as LocalDate), t.transactionType, coalesce(t.category, '')")
+    List<HistoryTotal> sumIncomingHistory(@Param("accountId") Long accountId);
+
+    /**
+     * Distinct calendar years in which the account has at least one transaction.
+     */
+    @Query("SELECT year(r.rollupDate) FROM TransactionDailyRollup r "
+            + "WHERE r.accountId = :accountId "
+            + "GROUP BY year(r.rollupDate)")
+    List<Integer> findTransactionYears(@Param("accountId") Long accountId);
+
+    /**
+     * Per-day, per-type totals of every transaction touching the account.
+     */
+    @Query("SELECT r.rollupDate AS rollupDate, r.transactionType AS transactionType, SUM(r.total) AS total "
+            + "FROM TransactionDailyRollup r "
+            + "WHERE r.accountId = :accountId "
+            + "GROUP BY r.rollupDate, r.transactionType")
+    List<DailyTypeTotal> sumDailyTotalsByType(@Param("accountId") Long accountId);
+
+    /**
+     * Per-day, per-type totals of every transaction touching the account within
+     * {@code [from, to)}.
+     */
+    @Query("SELECT r.rollupDate AS rollupDate, r.transactionType AS transactionType, SUM(r.total) AS total "
+            + "FROM TransactionDailyRollup r "
+            + "WHERE r.accountId = :accountId AND r.rollupDate >= :from AND r.rollupDate < :to "
+            + "GROUP BY r.rollupDate, r.transactionType")
+    List<DailyTypeTotal> sumDailyTotalsByTypeBetween(@Param("accountId") Long accountId,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Per-month totals of every transaction touching the account within
+     * {@code [from, to)}.
+     */
+    @Query("SELECT month(r.rollupDate) AS txMonth, SUM(r.total) AS total "
+            + "FROM TransactionDailyRollup r "
+            + "WHERE r.accountId = :accountId AND r.rollupDate >= :from AND r.rollupDate < :to "
+            + "GROUP BY month(r.rollupDate)")
+    List<MonthlyTotal> sumMonthlyTotalsBetween(@Param("accountId") Long accountId,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Per-day, per-type, per-category totals of categorised transactions
+     * originated by the account within {@code [from, to)}.
+     */
+    @Query("SELECT r.rollupDate AS rollupDate, r.transactionType AS transactionType, "
+            + "r.category AS category, r.total AS total "
+            + "FROM TransactionDailyRollup r "
+            + "WHERE r.accountId = :accountId AND r.incoming = false AND r.transactionType IN :types "
+            + "AND r.rollupDate >= :from AND r.rollupDate < :to AND TRIM(r.category) <> ''")
+    List<DailyCategoryTotal> findDailyCategoryTotalsBetween(@Param("accountId") Long accountId,
+            @Param("types") Collection<TransactionType> types,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    interface DailyTypeTotal {
+        LocalDate getRollupDate();
+
+        TransactionType getTransactionType();
+
+        Long getTotal();
+    }
+
+    interface HistoryTotal {
+        LocalDate getRollupDate();
+
+        TransactionType getTransactionType();
+
+        String getCategory();
+
+        Long getTotal();
+
+        Long getTransactionCount();
+    }
+
+    interface MonthlyTotal {
+        Integer getTxMonth();
+
+        Long getTotal();
+    }
+
+    interface DailyCategoryTotal {
+        LocalDate getRollupDate();
+
+        TransactionType getTransactionType();
+
+        String getCategory();
+
+        Long getTotal();
+    }
+}
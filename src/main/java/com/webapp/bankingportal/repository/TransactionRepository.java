@@ -8,7 +8,7 @@ import org.springframework.stereotype.Repository;
 import com.webapp.bankingportal.entity.Transaction;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom {
     // Add any custom query methods here, if needed
 
     List<Transaction> findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(String sourceAccountNumber,
@@ -0,0 +1,18 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.dto.TransactionFilter;
+
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} transactions touching the account, newest
+     * first, that match the filter and come strictly after the
+     * {@code (afterDate, afterId)} keyset position. Pass {@code null} for both
+     * to start from the newest transaction.
+     */
+    List<TransactionDTO> findPage(Long accountId, TransactionFilter filter, Date afterDate, Long afterId, int limit);
+}
@@ -0,0 +1,162 @@
+package com.webapp.bankingportal.repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.dto.TransactionFilter;
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.util.MoneyUtil;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    // The order of both keyset queries: transaction_date, then id, descending
+    private static final Comparator<TransactionDTO> NEWEST_FIRST = Comparator
+            .comparing(TransactionDTO::getTransactionDate, Comparator.comparingLong(Date::getTime))
+            .thenComparing(TransactionDTO::getId)
+            .reversed();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * An account's history is the union of the transactions it sent and
+     * received. Matching both sides in one query with an OR cannot be served
+     * by either (account, transaction_date, id) index, so MySQL would sort
+     * the whole history for every page. Instead each side is read with its
+     * own index-ordered keyset query, limited to the page size, and the two
+     * already sorted results are merged.
+     */
+    @Override
+    public List<TransactionDTO> findPage(Long accountId, TransactionFilter filter, Date afterDate, Long afterId,
+            int limit) {
+        List<TransactionDTO> sent = findSidePage("sourceAccount", accountId, filter, afterDate, afterId, limit);
+        List<TransactionDTO> received = findSidePage("targetAccount", accountId, filter, afterDate, afterId, limit);
+
+        List<TransactionDTO> transactions = new ArrayList<>(Math.min(limit, sent.size() + received.size()));
+        int i = 0;
+        int j = 0;
+        while (transactions.size() < limit && (i < sent.size() || j < received.size())) {
+            if (j == received.size()) {
+                transactions.add(sent.get(i++));
+            } else if (i == sent.size()) {
+                transactions.add(received.get(j++));
+            } else {
+                int order = NEWEST_FIRST.compare(sent.get(i), received.get(j));
+                if (order == 0) {
+                    // A transaction both sent and received by the account appears on both sides
+                    transactions.add(sent.get(i++));
+                    j++;
+                } else {
+                    transactions.add(order < 0 ? sent.get(i++) : received.get(j++));
+                }
+            }
+        }
+        return transactions;
+    }
+
+    private List<TransactionDTO> findSidePage(String side, Long accountId, TransactionFilter filter, Date afterDate,
+            Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Transaction> transaction = query.from(Transaction.class);
+        Join<Transaction, Account> source = transaction.join("sourceAccount", JoinType.LEFT);
+        Join<Transaction, Account> target = transaction.join("targetAccount", JoinType.LEFT);
+
+        Path<Long> id = transaction.get("id");
+        Path<Date> transactionDate = transaction.get("transactionDate");
+        Path<Long> amount = transaction.get("amount");
+        Path<TransactionType> transactionType = transaction.get("transactionType");
+        Path<String> category = transaction.get("category");
+
+        List<Predicate> predicates = new ArrayList<>();
+        // Compared on the foreign key column itself, the leading column of the side's index
+        predicates.add(cb.equal(transaction.get(side).get("id"), accountId));
+        predicates.add(cb.isNotNull(transactionDate));
+
+        if (filter.type() != null) {
+            predicates.add(cb.equal(transactionType, filter.type()));
+        }
+        if (filter.category() != null) {
+            predicates.add(cb.equal(category, filter.category()));
+        }
+        // Amounts are stored in minor units; round the bounds inwards
+        if (filter.minAmount() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(amount,
+                    toMinorUnits(filter.minAmount(), RoundingMode.CEILING)));
+        }
+        if (filter.maxAmount() != null) {
+            predicates.add(cb.lessThanOrEqualTo(amount,
+                    toMinorUnits(filter.maxAmount(), RoundingMode.FLOOR)));
+        }
+        if (filter.fromDate() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(transactionDate, startOfDay(filter.fromDate())));
+        }
+        if (filter.toDate() != null) {
+            // toDate is inclusive
+            predicates.add(cb.lessThan(transactionDate, startOfDay(filter.toDate().plusDays(1))));
+        }
+
+        // Keyset position: strictly older than the last row of the previous page
+        if (afterDate != null && afterId != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(transactionDate, afterDate),
+                    cb.and(cb.equal(transactionDate, afterDate), cb.lessThan(id, afterId))));
+        }
+
+        query.multiselect(id, amount, transactionType, transactionDate, category,
+                source.get("accountNumber"), target.get("accountNumber"))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(transactionDate), cb.desc(id));
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<TransactionDTO> transactions = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            String targetAccountNumber = row.get(6, String.class);
+            TransactionDTO dto = new TransactionDTO(
+                    row.get(0, Long.class),
+                    MoneyUtil.toMajorUnits(row.get(1, Long.class)),
+                    row.get(2, TransactionType.class),
+                    row.get(3, Date.class),
+                    row.get(5, String.class),
+                    targetAccountNumber != null ? targetAccountNumber : "N/A");
+            dto.setCategory(row.get(4, String.class));
+            transactions.add(dto);
+        }
+        return transactions;
+    }
+
+    private static long toMinorUnits(BigDecimal amount, RoundingMode roundingMode) {
+        try {
+            return MoneyUtil.toMinorUnits(amount, roundingMode);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid amount filter: " + amount);
+        }
+    }
+
+    private static Date startOfDay(LocalDate day) {
+        return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
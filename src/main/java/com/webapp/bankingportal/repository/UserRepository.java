@@ -3,8 +3,13 @@ package com.webapp.bankingportal.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.webapp.bankingportal.dto.UserSnapshot;
 import com.webapp.bankingportal.entity.User;
 
 @Repository
@@ -15,4 +20,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByPhoneNumber(String phoneNumber);
 
     Optional<User> findByAccountAccountNumber(String accountNumber);
+
+    @Query("SELECT new com.webapp.bankingportal.dto.UserSnapshot("
+            + "u.id, a.accountNumber, u.name, u.email, u.countryCode, u.phoneNumber, u.address, "
+            + "a.accountType, a.branch, a.ifscCode) "
+            + "FROM User u JOIN u.account a WHERE a.accountNumber = :accountNumber")
+    Optional<UserSnapshot> findSnapshotByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    /**
+     * The encoded password, read fresh for every password check rather than
+     * cached.
+     */
+    @Query("SELECT u.password FROM User u JOIN u.account a WHERE a.accountNumber = :accountNumber")
+    Optional<String> findPasswordByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password "
+            + "WHERE u.id = (SELECT a.user.id FROM Account a WHERE a.accountNumber = :accountNumber)")
+    int updatePasswordByAccountNumber(@Param("accountNumber") String accountNumber,
+            @Param("password") String password);
 }
@@ -6,7 +6,7 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -29,11 +29,11 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
     private final TokenService tokenService;
 
-    public JwtAuthenticationFilter(UserDetailsService userDetailsService, TokenService tokenService) {
-        this.userDetailsService = userDetailsService;
+    public JwtAuthenticationFilter(PrincipalCache principalCache, TokenService tokenService) {
+        this.principalCache = principalCache;
         this.tokenService = tokenService;
     }
 
@@ -76,19 +76,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = requestTokenHeader.substring(7);
-        String username = null;
+        UserDetails userDetails;
 
         try {
+            // Verify the signature first: it needs no I/O and rejects forged tokens early
+            VerifiedToken verifiedToken = tokenService.verifyToken(token);
             tokenService.validateToken(token);
-            username = tokenService.getUsernameFromToken(token);
+            userDetails = principalCache.getPrincipal(verifiedToken);
 
-        } catch (InvalidTokenException e) {
+        } catch (InvalidTokenException | UsernameNotFoundException e) {
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED,
                     e.getMessage());
             return;
         }
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                 userDetails, null, userDetails.getAuthorities());
 
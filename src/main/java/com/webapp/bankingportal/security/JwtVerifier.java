@@ -0,0 +1,85 @@
+package com.webapp.bankingportal.security;
+
+import java.security.Key;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.webapp.bankingportal.exception.InvalidTokenException;
+import com.webapp.bankingportal.exception.TokenExpiredException;
+import com.webapp.bankingportal.util.ApiMessages;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Verifies JWT signatures and expiry. The signing key and the parser are
+ * built once; the parser is immutable and shared by all request threads.
+ * Within an HTTP request the last verified token is remembered, so the
+ * filter and the services behind it parse each token only once.
+ */
+@Component
+public class JwtVerifier {
+
+    private static final String VERIFIED_TOKEN_ATTRIBUTE = JwtVerifier.class.getName() + ".VERIFIED_TOKEN";
+
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    public JwtVerifier(@Value("${jwt.secret}") String secret) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    public Key getSigningKey() {
+        return signingKey;
+    }
+
+    public VerifiedToken verify(String token) throws InvalidTokenException {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            Object verified = attributes.getAttribute(VERIFIED_TOKEN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (verified instanceof VerifiedToken verifiedToken && verifiedToken.token().equals(token)) {
+                return verifiedToken;
+            }
+        }
+
+        VerifiedToken verifiedToken = parse(token);
+        if (attributes != null) {
+            attributes.setAttribute(VERIFIED_TOKEN_ATTRIBUTE, verifiedToken, RequestAttributes.SCOPE_REQUEST);
+        }
+        return verifiedToken;
+    }
+
+    private VerifiedToken parse(String token) throws InvalidTokenException {
+        try {
+            return new VerifiedToken(token, parser.parseClaimsJws(token).getBody());
+
+        } catch (ExpiredJwtException e) {
+            throw new TokenExpiredException(ApiMessages.TOKEN_EXPIRED_ERROR.getMessage());
+
+        } catch (UnsupportedJwtException e) {
+            throw new InvalidTokenException(ApiMessages.TOKEN_UNSUPPORTED_ERROR.getMessage());
+
+        } catch (MalformedJwtException e) {
+            throw new InvalidTokenException(ApiMessages.TOKEN_MALFORMED_ERROR.getMessage());
+
+        } catch (SignatureException e) {
+            throw new InvalidTokenException(ApiMessages.TOKEN_SIGNATURE_INVALID_ERROR.getMessage());
+
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException(ApiMessages.TOKEN_EMPTY_ERROR.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.webapp.bankingportal.security;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Resolves the principal of an authenticated request.
+ *
+ * <p>By default the principal is built from the verified token alone: the
+ * subject is the account number and requests carry no authorities, so no
+ * lookup is needed. With {@code security.principal-cache.enabled} the user is
+ * loaded instead, so requests of a deleted account fail, and kept for a short
+ * TTL. The cache is local to the node; it is evicted on password change here
+ * and the TTL bounds staleness everywhere else.
+ */
+@Component
+public class PrincipalCache {
+
+    private static final long MAXIMUM_SIZE = 10_000;
+
+    private final UserDetailsService userDetailsService;
+    private final boolean enabled;
+    private final Cache<String, UserDetails> cache;
+
+    public PrincipalCache(UserDetailsService userDetailsService,
+            @Value("${security.principal-cache.enabled:false}") boolean enabled,
+            @Value("${security.principal-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.userDetailsService = userDetailsService;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * @throws org.springframework.security.core.userdetails.UsernameNotFoundException
+     *         If the cache is enabled and the account no longer exists.
+     */
+    public UserDetails getPrincipal(VerifiedToken verifiedToken) {
+        String accountNumber = verifiedToken.subject();
+        if (!enabled) {
+            return User.withUsername(accountNumber)
+                    .password("")
+                    .authorities(List.of())
+                    .build();
+        }
+        return cache.get(accountNumber, userDetailsService::loadUserByUsername);
+    }
+
+    public void evict(String accountNumber) {
+        cache.invalidate(accountNumber);
+    }
+
+}
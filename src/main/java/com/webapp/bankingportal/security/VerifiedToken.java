@@ -0,0 +1,30 @@
+package com.webapp.bankingportal.security;
+
+import java.util.Date;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * A token whose signature and expiry have been checked, with its claims.
+ */
+public record VerifiedToken(String token, Claims claims) {
+
+    /**
+     * The {@code jti} claim, or null for tokens issued without one.
+     */
+    public String id() {
+        return claims.getId();
+    }
+
+    public String subject() {
+        return claims.getSubject();
+    }
+
+    public Date issuedAt() {
+        return claims.getIssuedAt();
+    }
+
+    public Date expiration() {
+        return claims.getExpiration();
+    }
+}
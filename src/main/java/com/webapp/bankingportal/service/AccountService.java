@@ -1,5 +1,12 @@
 package com.webapp.bankingportal.service;
 
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.webapp.bankingportal.dto.BulkTransferResult;
+import com.webapp.bankingportal.dto.BulkTransferRow;
 import com.webapp.bankingportal.entity.Account;
 import com.webapp.bankingportal.entity.User;
 
@@ -9,9 +16,10 @@ public interface AccountService {
 	public boolean isPinCreated(String accountNumber) ;
 	public void createPin(String accountNumber, String password, String pin) ;
 	public void updatePin(String accountNumber, String oldPIN, String password, String newPIN);
-	public void cashDeposit(String accountNumber, String pin, double amount);
-	public void cashWithdrawal(String accountNumber, String pin, double amount);
-	public void fundTransfer(String sourceAccountNumber, String targetAccountNumber, String pin, double amount, String category);
+	public void cashDeposit(String accountNumber, String pin, BigDecimal amount);
+	public void cashWithdrawal(String accountNumber, String pin, BigDecimal amount);
+	public void fundTransfer(String sourceAccountNumber, String targetAccountNumber, String pin, BigDecimal amount, String category);
+	public void bulkTransfer(String sourceAccountNumber, String pin, Iterator<BulkTransferRow> rows, Consumer<List<BulkTransferResult>> chunkResults);
 	
 	
 }
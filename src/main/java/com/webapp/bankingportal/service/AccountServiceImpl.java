@@ -1,14 +1,29 @@
 package com.webapp.bankingportal.service;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.webapp.bankingportal.dto.AccountSnapshot;
+import com.webapp.bankingportal.dto.BulkTransferResult;
+import com.webapp.bankingportal.dto.BulkTransferRow;
 import com.webapp.bankingportal.entity.Account;
 import com.webapp.bankingportal.entity.Transaction;
 import com.webapp.bankingportal.entity.TransactionType;
@@ -21,7 +36,9 @@ import com.webapp.bankingportal.exception.NotFoundException;
 import com.webapp.bankingportal.exception.UnauthorizedException;
 import com.webapp.bankingportal.repository.AccountRepository;
 import com.webapp.bankingportal.repository.TransactionRepository;
+import com.webapp.bankingportal.repository.UserRepository;
 import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.MoneyUtil;
 import com.webapp.bankingportal.exception.UnauthorizedException;
 
 import org.slf4j.Logger;
@@ -32,19 +49,56 @@ public class AccountServiceImpl implements AccountService {
 
     private static final Logger log = LoggerFactory.getLogger(AccountServiceImpl.class);
 
+    private static final BigDecimal AMOUNT_STEP = BigDecimal.valueOf(100);
+    private static final BigDecimal AMOUNT_LIMIT = BigDecimal.valueOf(100000);
+
     @Autowired
     private final AccountRepository accountRepository;
     @Autowired
     private final PasswordEncoder passwordEncoder;
     @Autowired
     private final TransactionRepository transactionRepository;
+    @Autowired
+    private final TransactionRollupService transactionRollupService;
+    @Autowired
+    private final BalanceShardService balanceShardService;
+    @Autowired
+    private final LedgerJournalService ledgerJournalService;
+    @Autowired
+    private final LedgerBatchExecutor ledgerBatchExecutor;
+    @Autowired
+    private final LedgerBatchWriter ledgerBatchWriter;
+    @Autowired
+    private final AccountSnapshotService accountSnapshotService;
+    @Autowired
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${bulk-transfer.chunk-size:100}")
+    private int bulkTransferChunkSize;
 
     public AccountServiceImpl(AccountRepository accountRepository,
                               PasswordEncoder passwordEncoder,
-                              TransactionRepository transactionRepository) {
+                              TransactionRepository transactionRepository,
+                              TransactionRollupService transactionRollupService,
+                              BalanceShardService balanceShardService,
+                              LedgerJournalService ledgerJournalService,
+                              LedgerBatchExecutor ledgerBatchExecutor,
+                              LedgerBatchWriter ledgerBatchWriter,
+                              AccountSnapshotService accountSnapshotService,
+                              UserRepository userRepository,
+                              PlatformTransactionManager transactionManager) {
         this.accountRepository = accountRepository;
         this.passwordEncoder = passwordEncoder;
         this.transactionRepository = transactionRepository;
+        this.transactionRollupService = transactionRollupService;
+        this.balanceShardService = balanceShardService;
+        this.ledgerJournalService = ledgerJournalService;
+        this.ledgerBatchExecutor = ledgerBatchExecutor;
+        this.ledgerBatchWriter = ledgerBatchWriter;
+        this.accountSnapshotService = accountSnapshotService;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -52,7 +106,7 @@ public class AccountServiceImpl implements AccountService {
         log.info("Creating account for user: {}", user.getEmail());
         Account account = new Account();
         account.setAccountNumber(generateUniqueAccountNumber());
-        account.setBalance(0.0);
+        account.setBalance(0L);
         account.setUser(user);
         Account savedAccount = accountRepository.save(account);
         log.info("Account created successfully: {}", savedAccount.getAccountNumber());
@@ -62,13 +116,7 @@ public class AccountServiceImpl implements AccountService {
     @Override
     public boolean isPinCreated(String accountNumber) {
         log.debug("Checking if PIN is created for account: {}", accountNumber);
-        Account account = accountRepository.findByAccountNumber(accountNumber);
-        if (account == null) {
-            log.warn("Account not found: {}", accountNumber);
-            throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
-        }
-
-        return account.getPin() != null;
+        return accountRepository.findPinById(findAccountId(accountNumber)) != null;
     }
 
     private String generateUniqueAccountNumber() {
@@ -84,14 +132,17 @@ public class AccountServiceImpl implements AccountService {
     }
 
     private void validatePin(String accountNumber, String pin) {
-        log.debug("Validating PIN for account: {}", accountNumber);
-        Account account = accountRepository.findByAccountNumber(accountNumber);
-        if (account == null) {
-            log.warn("Account not found: {}", accountNumber);
-            throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
-        }
+        validatePin(findAccount(accountNumber), pin);
+    }
 
-        if (account.getPin() == null) {
+    // The hash is read from the database, never the cache, so a changed PIN takes effect on every node at once
+    private void validatePin(AccountSnapshot account, String pin) {
+        validatePin(account.accountNumber(), accountRepository.findPinById(account.id()), pin);
+    }
+
+    private void validatePin(String accountNumber, String encodedPin, String pin) {
+        log.debug("Validating PIN for account: {}", accountNumber);
+        if (encodedPin == null) {
             log.warn("PIN not created for account: {}", accountNumber);
             throw new UnauthorizedException(ApiMessages.PIN_NOT_CREATED.getMessage());
         }
@@ -101,7 +152,7 @@ public class AccountServiceImpl implements AccountService {
             throw new UnauthorizedException(ApiMessages.PIN_EMPTY_ERROR.getMessage());
         }
 
-        if (!passwordEncoder.matches(pin, account.getPin())) {
+        if (!passwordEncoder.matches(pin, encodedPin)) {
             log.warn("Invalid PIN for account: {}", accountNumber);
             throw new UnauthorizedException(ApiMessages.PIN_INVALID_ERROR.getMessage());
         }
@@ -109,18 +160,17 @@ public class AccountServiceImpl implements AccountService {
 
     private void validatePassword(String accountNumber, String password) {
         log.debug("Validating password for account: {}", accountNumber);
-        Account account = accountRepository.findByAccountNumber(accountNumber);
-        if (account == null) {
+        String encodedPassword = userRepository.findPasswordByAccountNumber(accountNumber).orElseThrow(() -> {
             log.warn("Account not found: {}", accountNumber);
-            throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
-        }
+            return new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
+        });
 
         if (password == null || password.isEmpty()) {
             log.warn("Password is empty for account: {}", accountNumber);
             throw new UnauthorizedException(ApiMessages.PASSWORD_EMPTY_ERROR.getMessage());
         }
 
-        if (!passwordEncoder.matches(password, account.getUser().getPassword())) {
+        if (!passwordEncoder.matches(password, encodedPassword)) {
             log.warn("Invalid password for account: {}", accountNumber);
             throw new UnauthorizedException(ApiMessages.PASSWORD_INVALID_ERROR.getMessage());
         }
@@ -176,116 +226,345 @@ public class AccountServiceImpl implements AccountService {
         log.info("PIN updated successfully for account: {}", accountNumber);
     }
 
-    private void validateAmount(double amount) {
+    /**
+     * Validates an amount in major units and returns it in minor units.
+     */
+    private long validateAmount(BigDecimal amount) {
         log.debug("Validating amount: {}", amount);
-        if (amount <= 0) {
+        if (amount == null) {
+            log.warn("Amount is missing");
+            throw new InvalidAmountException(ApiMessages.AMOUNT_INVALID_ERROR.getMessage());
+        }
+
+        if (amount.signum() <= 0) {
             log.warn("Amount is negative or zero: {}", amount);
             throw new InvalidAmountException(ApiMessages.AMOUNT_NEGATIVE_ERROR.getMessage());
         }
 
-        if (amount % 100 != 0) {
+        if (!MoneyUtil.hasValidScale(amount)) {
+            log.warn("Amount has too many decimal places: {}", amount);
+            throw new InvalidAmountException(ApiMessages.AMOUNT_PRECISION_ERROR.getMessage());
+        }
+
+        if (amount.remainder(AMOUNT_STEP).signum() != 0) {
             log.warn("Amount is not multiple of 100: {}", amount);
             throw new InvalidAmountException(ApiMessages.AMOUNT_NOT_MULTIPLE_OF_100_ERROR.getMessage());
         }
 
-        if (amount > 100000) {
+        if (amount.compareTo(AMOUNT_LIMIT) > 0) {
             log.warn("Amount exceeds limit: {}", amount);
             throw new InvalidAmountException(ApiMessages.AMOUNT_EXCEED_100_000_ERROR.getMessage());
         }
+
+        return MoneyUtil.toMinorUnits(amount);
+    }
+
+    /**
+     * Resolves the account id without loading the entity, so the subsequent
+     * locking read is the first load in this persistence context.
+     */
+    private Long findAccountId(String accountNumber) {
+        return findAccount(accountNumber).id();
+    }
+
+    /**
+     * Snapshots never carry a balance, so they are safe to read without a lock.
+     */
+    private AccountSnapshot findAccount(String accountNumber) {
+        return accountSnapshotService.findAccount(accountNumber).orElseThrow(() -> {
+            log.warn("Account not found: {}", accountNumber);
+            return new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
+        });
+    }
+
+    /**
+     * Returns the balance available for a debit of the given amount. Pending
+     * shard credits are only settled into the locked account when its own
+     * balance falls short, so most debits never touch the shard rows.
+     */
+    private long availableBalance(Account account, long amountMinor) {
+        if (account.getBalance() < amountMinor) {
+            balanceShardService.settle(account);
+        }
+        return account.getBalance();
     }
 
-    @Transactional
+    /**
+     * Ledger writes run in their own transaction, or are handed to the group
+     * commit executor when batching is enabled. Either way the PIN and amount
+     * are validated up front, without locks, so no row lock is held while the
+     * PIN hash is checked; only the balance check runs under the lock.
+     */
     @Override
-    public void cashDeposit(String accountNumber, String pin, double amount) {
+    public void cashDeposit(String accountNumber, String pin, BigDecimal amount) {
+        if (ledgerBatchExecutor.isEnabled()) {
+            log.info("Batched cash deposit request for account: {}, amount: {}", accountNumber, amount);
+            AccountSnapshot account = findAccount(accountNumber);
+            validatePin(account, pin);
+            long amountMinor = validateAmount(amount);
+            ledgerBatchExecutor.execute(TransactionType.CASH_DEPOSIT, account.id(), null, 0, amountMinor, null);
+            log.info("Cash deposit successful for account: {}", accountNumber);
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> applyCashDeposit(accountNumber, pin, amount));
+    }
+
+    @Override
+    public void cashWithdrawal(String accountNumber, String pin, BigDecimal amount) {
+        if (ledgerBatchExecutor.isEnabled()) {
+            log.info("Batched cash withdrawal request for account: {}, amount: {}", accountNumber, amount);
+            AccountSnapshot account = findAccount(accountNumber);
+            validatePin(account, pin);
+            long amountMinor = validateAmount(amount);
+            ledgerBatchExecutor.execute(TransactionType.CASH_WITHDRAWAL, account.id(), null, 0, amountMinor, null);
+            log.info("Cash withdrawal successful for account: {}", accountNumber);
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(status -> applyCashWithdrawal(accountNumber, pin, amount));
+    }
+
+    @Override
+    public void fundTransfer(String sourceAccountNumber, String targetAccountNumber, String pin, BigDecimal amount, String category) {
+        if (ledgerBatchExecutor.isEnabled()) {
+            log.info("Batched fund transfer request from account: {} to account: {}, amount: {}, category: {}", sourceAccountNumber, targetAccountNumber, amount, category);
+            AccountSnapshot sourceAccount = findAccount(sourceAccountNumber);
+            validatePin(sourceAccount, pin);
+            long amountMinor = validateAmount(amount);
+
+            if (sourceAccountNumber.equals(targetAccountNumber)) {
+                log.warn("Source and target accounts are the same: {}", sourceAccountNumber);
+                throw new FundTransferException(ApiMessages.CASH_TRANSFER_SAME_ACCOUNT_ERROR.getMessage());
+            }
+
+            Long targetAccountId = findAccountId(targetAccountNumber);
+            int targetShardCount = accountRepository.findBalanceShardCountById(targetAccountId);
+            ledgerBatchExecutor.execute(TransactionType.CASH_TRANSFER, sourceAccount.id(), targetAccountId,
+                    targetShardCount, amountMinor, category);
+            log.info("Fund transfer successful from account: {} to account: {}, amount: {}, category: {}", sourceAccountNumber, targetAccountNumber, amount, category);
+            return;
+        }
+
+        transactionTemplate.executeWithoutResult(
+                status -> applyFundTransfer(sourceAccountNumber, targetAccountNumber, pin, amount, category));
+    }
+
+    private void applyCashDeposit(String accountNumber, String pin, BigDecimal amount) {
         log.info("Cash deposit request for account: {}, amount: {}", accountNumber, amount);
-        validatePin(accountNumber, pin);
-        validateAmount(amount);
+        AccountSnapshot snapshot = findAccount(accountNumber);
+        validatePin(snapshot, pin);
+        long amountMinor = validateAmount(amount);
+        Account account = accountRepository.findByIdForUpdate(snapshot.id());
 
-        Account account = accountRepository.findByAccountNumber(accountNumber);
-        double currentBalance = account.getBalance();
-        double newBalance = currentBalance + amount;
+        long currentBalance = account.getBalance();
+        long newBalance = currentBalance + amountMinor;
         account.setBalance(newBalance);
         accountRepository.save(account);
 
         Transaction transaction = new Transaction();
-        transaction.setAmount(amount);
+        transaction.setAmount(amountMinor);
         transaction.setTransactionType(TransactionType.CASH_DEPOSIT);
         transaction.setTransactionDate(new Date());
         transaction.setSourceAccount(account);
         transactionRepository.save(transaction);
-        log.info("Cash deposit successful for account: {}, new balance: {}", accountNumber, newBalance);
+        ledgerJournalService.post(transaction);
+        transactionRollupService.recordTransaction(transaction);
+        log.info("Cash deposit successful for account: {}, new balance: {}", accountNumber,
+                MoneyUtil.toMajorUnits(newBalance));
     }
 
-    @Transactional
-    @Override
-    public void cashWithdrawal(String accountNumber, String pin, double amount) {
+    private void applyCashWithdrawal(String accountNumber, String pin, BigDecimal amount) {
         log.info("Cash withdrawal request for account: {}, amount: {}", accountNumber, amount);
-        validatePin(accountNumber, pin);
-        validateAmount(amount);
-
-        Account account = accountRepository.findByAccountNumber(accountNumber);
-        double currentBalance = account.getBalance();
-        if (currentBalance < amount) {
-            log.warn("Insufficient balance for account: {}, balance: {}, requested: {}", accountNumber, currentBalance, amount);
+        AccountSnapshot snapshot = findAccount(accountNumber);
+        validatePin(snapshot, pin);
+        long amountMinor = validateAmount(amount);
+        Account account = accountRepository.findByIdForUpdate(snapshot.id());
+
+        long currentBalance = availableBalance(account, amountMinor);
+        if (currentBalance < amountMinor) {
+            log.warn("Insufficient balance for account: {}, balance: {}, requested: {}", accountNumber,
+                    MoneyUtil.toMajorUnits(currentBalance), amount);
             throw new InsufficientBalanceException(ApiMessages.BALANCE_INSUFFICIENT_ERROR.getMessage());
         }
 
-        double newBalance = currentBalance - amount;
+        long newBalance = currentBalance - amountMinor;
         account.setBalance(newBalance);
         accountRepository.save(account);
 
         Transaction transaction = new Transaction();
-        transaction.setAmount(amount);
+        transaction.setAmount(amountMinor);
         transaction.setTransactionType(TransactionType.CASH_WITHDRAWAL);
         transaction.setTransactionDate(new Date());
         transaction.setSourceAccount(account);
         transactionRepository.save(transaction);
-        log.info("Cash withdrawal successful for account: {}, new balance: {}", accountNumber, newBalance);
+        ledgerJournalService.post(transaction);
+        transactionRollupService.recordTransaction(transaction);
+        log.info("Cash withdrawal successful for account: {}, new balance: {}", accountNumber,
+                MoneyUtil.toMajorUnits(newBalance));
     }
 
-    @Transactional
-    @Override
-    public void fundTransfer(String sourceAccountNumber, String targetAccountNumber, String pin, double amount, String category) {
+    private void applyFundTransfer(String sourceAccountNumber, String targetAccountNumber, String pin, BigDecimal amount, String category) {
         log.info("Fund transfer request from account: {} to account: {}, amount: {}, category: {}", sourceAccountNumber, targetAccountNumber, amount, category);
-        validatePin(sourceAccountNumber, pin);
-        validateAmount(amount);
+        AccountSnapshot sourceSnapshot = findAccount(sourceAccountNumber);
+        validatePin(sourceSnapshot, pin);
+        long amountMinor = validateAmount(amount);
+
+        Long sourceAccountId = sourceSnapshot.id();
+        Long targetAccountId = accountSnapshotService.findAccount(targetAccountNumber)
+                .map(AccountSnapshot::id)
+                .orElse(null);
+        boolean distinctTarget = targetAccountId != null && !targetAccountId.equals(sourceAccountId);
+        int targetShardCount = distinctTarget ? accountRepository.findBalanceShardCountById(targetAccountId) : 0;
+
+        // Lock both rows in ascending id order so opposing transfers cannot deadlock.
+        // A sharded target is credited through a shard row, so its account row is never locked.
+        Account sourceAccount;
+        Account targetAccount = null;
+        if (!distinctTarget) {
+            sourceAccount = accountRepository.findByIdForUpdate(sourceAccountId);
+        } else if (targetShardCount > 0) {
+            sourceAccount = accountRepository.findByIdForUpdate(sourceAccountId);
+            targetAccount = accountRepository.getReferenceById(targetAccountId);
+        } else if (sourceAccountId < targetAccountId) {
+            sourceAccount = accountRepository.findByIdForUpdate(sourceAccountId);
+            targetAccount = accountRepository.findByIdForUpdate(targetAccountId);
+        } else {
+            targetAccount = accountRepository.findByIdForUpdate(targetAccountId);
+            sourceAccount = accountRepository.findByIdForUpdate(sourceAccountId);
+        }
 
         if (sourceAccountNumber.equals(targetAccountNumber)) {
             log.warn("Source and target accounts are the same: {}", sourceAccountNumber);
             throw new FundTransferException(ApiMessages.CASH_TRANSFER_SAME_ACCOUNT_ERROR.getMessage());
         }
 
-        Account targetAccount = accountRepository.findByAccountNumber(targetAccountNumber);
         if (targetAccount == null) {
             log.warn("Target account not found: {}", targetAccountNumber);
             throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
         }
 
-        Account sourceAccount = accountRepository.findByAccountNumber(sourceAccountNumber);
-        double sourceBalance = sourceAccount.getBalance();
-        if (sourceBalance < amount) {
-            log.warn("Insufficient balance for transfer from account: {}, balance: {}, requested: {}", sourceAccountNumber, sourceBalance, amount);
+        long sourceBalance = availableBalance(sourceAccount, amountMinor);
+        if (sourceBalance < amountMinor) {
+            log.warn("Insufficient balance for transfer from account: {}, balance: {}, requested: {}", sourceAccountNumber,
+                    MoneyUtil.toMajorUnits(sourceBalance), amount);
             throw new InsufficientBalanceException(ApiMessages.BALANCE_INSUFFICIENT_ERROR.getMessage());
         }
 
-        double newSourceBalance = sourceBalance - amount;
+        long newSourceBalance = sourceBalance - amountMinor;
         sourceAccount.setBalance(newSourceBalance);
         accountRepository.save(sourceAccount);
 
-        double targetBalance = targetAccount.getBalance();
-        double newTargetBalance = targetBalance + amount;
-        targetAccount.setBalance(newTargetBalance);
-        accountRepository.save(targetAccount);
+        if (targetShardCount > 0) {
+            balanceShardService.credit(targetAccountId, targetShardCount, amountMinor);
+        } else {
+            long targetBalance = targetAccount.getBalance();
+            long newTargetBalance = targetBalance + amountMinor;
+            targetAccount.setBalance(newTargetBalance);
+            accountRepository.save(targetAccount);
+        }
 
         Transaction transaction = new Transaction();
-        transaction.setAmount(amount);
+        transaction.setAmount(amountMinor);
         transaction.setTransactionType(TransactionType.CASH_TRANSFER);
         transaction.setTransactionDate(new Date());
         transaction.setSourceAccount(sourceAccount);
         transaction.setTargetAccount(targetAccount);
         transaction.setCategory(category);
         transactionRepository.save(transaction);
+        ledgerJournalService.post(transaction);
+        transactionRollupService.recordTransaction(transaction);
         log.info("Fund transfer successful from account: {} to account: {}, amount: {}, category: {}", sourceAccountNumber, targetAccountNumber, amount, category);
     }
 
+    /**
+     * Transfers to many targets from one source. The PIN is checked once up
+     * front; rows are then read lazily and applied in chunks, each chunk in a
+     * single batched transaction. Results are handed to {@code chunkResults}
+     * chunk by chunk, in row order, so the caller can stream them back.
+     */
+    @Override
+    public void bulkTransfer(String sourceAccountNumber, String pin, Iterator<BulkTransferRow> rows,
+            Consumer<List<BulkTransferResult>> chunkResults) {
+        log.info("Bulk transfer request from account: {}", sourceAccountNumber);
+        AccountSnapshot sourceAccount = findAccount(sourceAccountNumber);
+        validatePin(sourceAccount, pin);
+
+        List<BulkTransferRow> chunk = new ArrayList<>(bulkTransferChunkSize);
+        int rowCount = 0;
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            rowCount++;
+            if (chunk.size() == bulkTransferChunkSize) {
+                chunkResults.accept(applyBulkTransferChunk(sourceAccount, chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunkResults.accept(applyBulkTransferChunk(sourceAccount, chunk));
+        }
+
+        log.info("Bulk transfer from account: {} processed {} rows", sourceAccountNumber, rowCount);
+    }
+
+    private List<BulkTransferResult> applyBulkTransferChunk(AccountSnapshot sourceAccount, List<BulkTransferRow> chunk) {
+        // Resolve every target of the chunk in one query
+        Set<String> targetAccountNumbers = new HashSet<>();
+        for (BulkTransferRow row : chunk) {
+            if (row.error() == null && row.targetAccountNumber() != null) {
+                targetAccountNumbers.add(row.targetAccountNumber());
+            }
+        }
+        Map<String, AccountRepository.AccountRef> targets = new HashMap<>();
+        if (!targetAccountNumbers.isEmpty()) {
+            for (AccountRepository.AccountRef target : accountRepository.findRefsByAccountNumberIn(targetAccountNumbers)) {
+                targets.put(target.getAccountNumber(), target);
+            }
+        }
+
+        BulkTransferResult[] results = new BulkTransferResult[chunk.size()];
+        List<LedgerPosting> postings = new ArrayList<>(chunk.size());
+        List<Integer> postingRows = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            BulkTransferRow row = chunk.get(i);
+            try {
+                if (row.error() != null) {
+                    throw new IllegalArgumentException(row.error());
+                }
+
+                long amountMinor = validateAmount(row.amount());
+                if (sourceAccount.accountNumber().equals(row.targetAccountNumber())) {
+                    throw new FundTransferException(ApiMessages.CASH_TRANSFER_SAME_ACCOUNT_ERROR.getMessage());
+                }
+
+                AccountRepository.AccountRef target = targets.get(row.targetAccountNumber());
+                if (target == null) {
+                    throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
+                }
+
+                postings.add(new LedgerPosting(TransactionType.CASH_TRANSFER, sourceAccount.id(), target.getId(),
+                        target.getBalanceShardCount(), amountMinor, row.category()));
+                postingRows.add(i);
+            } catch (IllegalArgumentException | InvalidAmountException | FundTransferException | NotFoundException e) {
+                results[i] = bulkTransferResult(row, false, e.getMessage());
+            }
+        }
+
+        if (!postings.isEmpty()) {
+            ledgerBatchWriter.write(postings);
+        }
+        for (int i = 0; i < postings.size(); i++) {
+            BulkTransferRow row = chunk.get(postingRows.get(i));
+            RuntimeException failure = postings.get(i).getFailure();
+            results[postingRows.get(i)] = failure != null
+                    ? bulkTransferResult(row, false, failure.getMessage())
+                    : bulkTransferResult(row, true, ApiMessages.BULK_TRANSFER_ROW_SUCCESS.getMessage());
+        }
+        return Arrays.asList(results);
+    }
+
+    private static BulkTransferResult bulkTransferResult(BulkTransferRow row, boolean success, String message) {
+        return new BulkTransferResult(row.row(), row.targetAccountNumber(), row.amount(), success, message);
+    }
+
 }
@@ -0,0 +1,30 @@
+package com.webapp.bankingportal.service;
+
+import java.util.Optional;
+
+import com.webapp.bankingportal.dto.AccountSnapshot;
+import com.webapp.bankingportal.dto.UserSnapshot;
+
+/**
+ * Read-through lookups of account and user snapshots by account number.
+ * Within an HTTP request each snapshot is loaded at most once; across
+ * requests it is shared through the cache until a write evicts it.
+ */
+public interface AccountSnapshotService {
+
+    Optional<AccountSnapshot> findAccount(String accountNumber);
+
+    Optional<UserSnapshot> findUser(String accountNumber);
+
+    /**
+     * Must be called after every write to a field held by the account
+     * snapshot. Evicts immediately and again once the surrounding
+     * transaction completes.
+     */
+    void evictAccount(String accountNumber);
+
+    /**
+     * Must be called after every write to a field held by the user snapshot.
+     */
+    void evictUser(String accountNumber);
+}
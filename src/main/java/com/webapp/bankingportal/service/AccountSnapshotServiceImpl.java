@@ -0,0 +1,148 @@
+package com.webapp.bankingportal.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.webapp.bankingportal.dto.AccountSnapshot;
+import com.webapp.bankingportal.dto.UserSnapshot;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.UserRepository;
+import com.webapp.bankingportal.type.CacheKeyType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Service
+public class AccountSnapshotServiceImpl implements AccountSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountSnapshotServiceImpl.class);
+
+    private static final String IDENTITY_MAP_ATTRIBUTE = AccountSnapshotServiceImpl.class.getName() + ".IDENTITY_MAP";
+
+    private final AccountRepository accountRepository;
+    private final UserRepository userRepository;
+    private final CacheService cacheService;
+
+    // Bumped on every eviction. A load that overlaps an eviction does not
+    // populate the cache, so a snapshot read just before a write cannot be
+    // stored just after the write evicted it. The guard is per node: another
+    // node can still store a stale snapshot for up to the cache TTL, which is
+    // why snapshots never hold PIN or password hashes.
+    private final AtomicLong evictions = new AtomicLong();
+
+    public AccountSnapshotServiceImpl(AccountRepository accountRepository, UserRepository userRepository,
+            CacheService cacheService) {
+        this.accountRepository = accountRepository;
+        this.userRepository = userRepository;
+        this.cacheService = cacheService;
+    }
+
+    @Override
+    public Optional<AccountSnapshot> findAccount(String accountNumber) {
+        return lookup(CacheKeyType.ACCOUNT, AccountSnapshot.class, accountNumber,
+                () -> accountRepository.findSnapshotByAccountNumber(accountNumber));
+    }
+
+    @Override
+    public Optional<UserSnapshot> findUser(String accountNumber) {
+        return lookup(CacheKeyType.USER, UserSnapshot.class, accountNumber,
+                () -> userRepository.findSnapshotByAccountNumber(accountNumber));
+    }
+
+    @Override
+    public void evictAccount(String accountNumber) {
+        evict(CacheKeyType.ACCOUNT, accountNumber);
+    }
+
+    @Override
+    public void evictUser(String accountNumber) {
+        evict(CacheKeyType.USER, accountNumber);
+    }
+
+    private <T> Optional<T> lookup(CacheKeyType cacheKeyType, Class<T> clazz, String accountNumber,
+            Supplier<Optional<T>> loader) {
+        if (accountNumber == null) {
+            return Optional.empty();
+        }
+
+        String key = cacheKeyType.generateKey(accountNumber);
+        Map<String, Object> identityMap = identityMap();
+        if (identityMap != null) {
+            Object value = identityMap.get(key);
+            if (clazz.isInstance(value)) {
+                return Optional.of(clazz.cast(value));
+            }
+        }
+
+        Optional<T> snapshot = cacheService.get(cacheKeyType, clazz, accountNumber);
+        if (snapshot.isEmpty()) {
+            long evictionsBeforeLoad = evictions.get();
+            // Missing accounts are not cached, so a new account is visible at once
+            snapshot = loader.get();
+            if (snapshot.isPresent() && evictions.get() == evictionsBeforeLoad) {
+                cacheService.put(cacheKeyType, snapshot.get(), accountNumber);
+            }
+        }
+
+        if (identityMap != null && snapshot.isPresent()) {
+            identityMap.put(key, snapshot.get());
+        }
+        return snapshot;
+    }
+
+    private void evict(CacheKeyType cacheKeyType, String accountNumber) {
+        if (accountNumber == null) {
+            return;
+        }
+
+        log.debug("Evicting {} snapshot for account: {}", cacheKeyType, accountNumber);
+        evictions.incrementAndGet();
+        Map<String, Object> identityMap = identityMap();
+        if (identityMap != null) {
+            identityMap.remove(cacheKeyType.generateKey(accountNumber));
+        }
+        cacheService.delete(cacheKeyType, accountNumber);
+
+        // A concurrent reader may cache the pre-commit row, and a rollback may leave
+        // an uncommitted one behind, so evict again once the transaction is over
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictions.incrementAndGet();
+                    cacheService.delete(cacheKeyType, accountNumber);
+                }
+            });
+        }
+    }
+
+    /**
+     * Snapshots already loaded by the current HTTP request, or null outside of
+     * one. Request handling is single-threaded, so a plain map suffices.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> identityMap() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+
+        Map<String, Object> identityMap = (Map<String, Object>) attributes.getAttribute(IDENTITY_MAP_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (identityMap == null) {
+            identityMap = new HashMap<>();
+            attributes.setAttribute(IDENTITY_MAP_ATTRIBUTE, identityMap, RequestAttributes.SCOPE_REQUEST);
+        }
+        return identityMap;
+    }
+
+}
@@ -2,7 +2,6 @@ package com.webapp.bankingportal.service;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +13,7 @@ import com.webapp.bankingportal.dto.OtpVerificationRequest;
 import com.webapp.bankingportal.dto.ResetPasswordRequest;
 import com.webapp.bankingportal.entity.PasswordResetToken;
 import com.webapp.bankingportal.entity.User;
+import com.webapp.bankingportal.exception.ServiceUnavailableException;
 import com.webapp.bankingportal.repository.PasswordResetTokenRepository;
 import com.webapp.bankingportal.util.ApiMessages;
 
@@ -126,6 +126,8 @@ public class AuthServiceImpl implements AuthService {
                 log.error("Password reset failed for identifier: {}", resetPasswordRequest.identifier());
                 return ResponseEntity.internalServerError().body(ApiMessages.PASSWORD_RESET_FAILURE.getMessage());
             }
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error resetting password for user: {}", user.getEmail(), e);
             return ResponseEntity.internalServerError().body(ApiMessages.PASSWORD_RESET_FAILURE.getMessage());
@@ -138,19 +140,15 @@ public class AuthServiceImpl implements AuthService {
 
     private ResponseEntity<String> sendOtpEmail(User user, String accountNumber, String generatedOtp) {
         log.debug("Sending OTP email for password reset to: {}", user.getEmail());
-        CompletableFuture<Void> emailSendingFuture = otpService.sendOTPByEmail(user.getEmail(), user.getName(), accountNumber,
-                generatedOtp);
-
-        ResponseEntity<String> successResponse = ResponseEntity
-                .ok(String.format(ApiMessages.OTP_SENT_SUCCESS.getMessage(), user.getEmail()));
-        ResponseEntity<String> failureResponse = ResponseEntity.internalServerError()
-                .body(String.format(ApiMessages.OTP_SENT_FAILURE.getMessage(), user.getEmail()));
-
-        return emailSendingFuture.thenApply(result -> successResponse)
-                .exceptionally(e -> {
-                    log.error("Failed to send OTP email to: {}", user.getEmail(), e);
-                    return failureResponse;
-                }).join();
+        try {
+            otpService.sendOTPByEmail(user.getEmail(), user.getName(), accountNumber, generatedOtp);
+        } catch (RuntimeException e) {
+            log.error("Failed to queue OTP email to: {}", user.getEmail(), e);
+            return ResponseEntity.internalServerError()
+                    .body(String.format(ApiMessages.OTP_SENT_FAILURE.getMessage(), user.getEmail()));
+        }
+
+        return ResponseEntity.ok(String.format(ApiMessages.OTP_SENT_SUCCESS.getMessage(), user.getEmail()));
     }
 
     private void validateOtpRequest(OtpVerificationRequest otpVerificationRequest) {
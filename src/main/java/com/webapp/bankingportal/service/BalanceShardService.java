@@ -0,0 +1,18 @@
+package com.webapp.bankingportal.service;
+
+import com.webapp.bankingportal.entity.Account;
+
+public interface BalanceShardService {
+
+    void credit(Long accountId, int shardCount, long amount);
+
+    long getUnsettledBalance(Long accountId);
+
+    long settle(Account account);
+
+    long drainShards(Long accountId);
+
+    void configureSharding(String accountNumber, int shardCount);
+
+    int consolidateAll();
+}
@@ -0,0 +1,186 @@
+package com.webapp.bankingportal.service;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.AccountBalanceShard;
+import com.webapp.bankingportal.exception.NotFoundException;
+import com.webapp.bankingportal.repository.AccountBalanceShardRepository;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.util.ApiMessages;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Opt-in write sharding for hot accounts. Credits to an account with a
+ * non-zero shard count land on one of its shard rows instead of the account
+ * row; debits and the consolidation job fold the shards back into the account
+ * while holding the account lock.
+ *
+ * <p>An account opts in through {@code account.balance-shard.accounts}, a
+ * comma-separated list of {@code accountNumber=shardCount} pairs applied at
+ * startup; a count of zero turns sharding back off.
+ *
+ * <p>Lock order is always account rows first, then shard rows, which keeps
+ * settling and consolidation deadlock-free against plain transfers.
+ */
+@Service
+public class BalanceShardServiceImpl implements BalanceShardService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceShardServiceImpl.class);
+
+    public static final int MAX_SHARD_COUNT = 64;
+
+    private final AccountBalanceShardRepository shardRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${account.balance-shard.accounts:}")
+    private String configuredAccounts;
+
+    public BalanceShardServiceImpl(AccountBalanceShardRepository shardRepository,
+            AccountRepository accountRepository,
+            PlatformTransactionManager transactionManager) {
+        this.shardRepository = shardRepository;
+        this.accountRepository = accountRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Adds a credit to a randomly chosen shard. Runs inside the transfer's
+     * transaction so the credit commits or rolls back with the ledger row.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void credit(Long accountId, int shardCount, long amount) {
+        int shardIndex = ThreadLocalRandom.current().nextInt(shardCount);
+        shardRepository.addToShard(accountId, shardIndex, amount);
+    }
+
+    @Override
+    public long getUnsettledBalance(Long accountId) {
+        return shardRepository.sumBalanceByAccountId(accountId);
+    }
+
+    /**
+     * Moves every shard balance into the account. The caller must already hold
+     * the account's row lock, which keeps concurrent settles from double
+     * counting a shard.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public long settle(Account account) {
+        long settled = drainShards(account.getId());
+        if (settled != 0) {
+            account.setBalance(account.getBalance() + settled);
+            accountRepository.save(account);
+            log.debug("Settled {} minor units of shard credits into account: {}", settled,
+                    account.getAccountNumber());
+        }
+        return settled;
+    }
+
+    /**
+     * Empties every shard of the account and returns their sum, which the
+     * caller must add to the account's balance. Same locking contract as
+     * {@link #settle(Account)}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public long drainShards(Long accountId) {
+        long drained = 0;
+        for (AccountBalanceShard shard : shardRepository.findByAccountIdForUpdate(accountId)) {
+            drained += shard.getBalance();
+            shard.setBalance(0);
+        }
+        return drained;
+    }
+
+    /**
+     * Enables sharding with the given number of shards, or disables it with
+     * zero. Pending shard credits are settled first so the account row holds
+     * the full balance whenever the shard count changes.
+     */
+    @Transactional
+    @Override
+    public void configureSharding(String accountNumber, int shardCount) {
+        if (shardCount < 0 || shardCount > MAX_SHARD_COUNT) {
+            throw new IllegalArgumentException(
+                    "Shard count must be between 0 and " + MAX_SHARD_COUNT + ": " + shardCount);
+        }
+
+        Long accountId = accountRepository.findIdByAccountNumber(accountNumber);
+        if (accountId == null) {
+            log.warn("Account not found: {}", accountNumber);
+            throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
+        }
+
+        Account account = accountRepository.findByIdForUpdate(accountId);
+        settle(account);
+        account.setBalanceShardCount(shardCount);
+        accountRepository.save(account);
+        log.info("Balance sharding for account: {} set to {} shards", accountNumber, shardCount);
+    }
+
+    /**
+     * Applies the shard counts listed in {@code account.balance-shard.accounts}.
+     * Re-applying an unchanged count only settles the account, so every node
+     * can do this on startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void applyConfiguredSharding() {
+        for (String entry : configuredAccounts.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid account.balance-shard.accounts entry: " + entry.trim());
+            }
+            String accountNumber = parts[0].trim();
+            int shardCount = Integer.parseInt(parts[1].trim());
+            try {
+                transactionTemplate.executeWithoutResult(status -> configureSharding(accountNumber, shardCount));
+            } catch (NotFoundException e) {
+                // Already logged; one stale entry must not keep the others from applying
+            }
+        }
+    }
+
+    /**
+     * Folds every outstanding shard balance back into its account, one account
+     * per database transaction so the job never holds many account locks.
+     */
+    @Override
+    public int consolidateAll() {
+        List<Long> accountIds = shardRepository.findAccountIdsWithUnsettledBalance();
+        for (Long accountId : accountIds) {
+            transactionTemplate.executeWithoutResult(
+                    status -> settle(accountRepository.findByIdForUpdate(accountId)));
+        }
+
+        if (!accountIds.isEmpty()) {
+            log.debug("Consolidated balance shards of {} accounts", accountIds.size());
+        }
+        return accountIds.size();
+    }
+
+    @Scheduled(fixedDelayString = "${account.balance-shard.consolidation-interval-ms:60000}")
+    public void scheduledConsolidation() {
+        consolidateAll();
+    }
+
+}
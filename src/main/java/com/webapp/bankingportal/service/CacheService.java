@@ -1,6 +1,8 @@
 package com.webapp.bankingportal.service;
 
 import com.webapp.bankingportal.type.CacheKeyType;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CacheService {
@@ -16,4 +18,17 @@ public interface CacheService {
     void put(CacheKeyType cacheKeyType, Object value, long ttlSeconds, String... keyArguments);
 
     void delete(CacheKeyType cacheKeyType, String... keyArguments);
+
+    /**
+     * Multi-key variants for key types with a single placeholder: each key
+     * argument fills the placeholder of one key. Redis is hit at most once
+     * per call, with MGET for reads and a pipeline for writes.
+     */
+    <T> Map<String, T> getAll(CacheKeyType cacheKeyType, Class<T> clazz, Collection<String> keyArguments);
+
+    void putAll(CacheKeyType cacheKeyType, Map<String, ?> valuesByKeyArgument);
+
+    void putAll(CacheKeyType cacheKeyType, Map<String, ?> valuesByKeyArgument, long ttlSeconds);
+
+    void deleteAll(CacheKeyType cacheKeyType, Collection<String> keyArguments);
 }
@@ -1,28 +1,68 @@
 package com.webapp.bankingportal.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.webapp.bankingportal.type.CacheKeyType;
+import com.webapp.bankingportal.util.CacheValueCodec;
 import java.util.concurrent.TimeUnit;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Two-tier cache: a bounded Caffeine near cache (L1) in front of Redis (L2).
+ *
+ * <p>While Redis is healthy it is the source of truth. L1 only holds recently
+ * read or written entries for at most {@link #NEAR_CACHE_TTL_SECONDS}, and
+ * every write or delete is published on {@link #INVALIDATION_CHANNEL} so the
+ * other nodes drop their copy. When a Redis call fails the cache fails over to
+ * L1 alone, which then honours the full TTL of each entry, and a scheduled
+ * health check switches back once Redis answers again.
+ */
 @Service
-public class CacheServiceImpl implements CacheService {
+public class CacheServiceImpl implements CacheService, MessageListener {
 
     private static final Logger log = LoggerFactory.getLogger(CacheServiceImpl.class);
 
-    private final RedisTemplate<String, Object> redisTemplate;
-    private final Map<String, Object> localCache = new ConcurrentHashMap<>();
-    private boolean redisAvailable = true;
+    public static final String INVALIDATION_CHANNEL = "cache:invalidate";
+
+    private static final long LOCAL_MAXIMUM_SIZE = 10_000;
+    // Bounds how stale an L1 entry can get if an invalidation message is lost
+    private static final long NEAR_CACHE_TTL_SECONDS = 60;
 
-    public CacheServiceImpl(RedisTemplate<String, Object> redisTemplate) {
+    private final RedisTemplate<String, byte[]> redisTemplate;
+    private final Cache<String, LocalEntry> localCache;
+    private final AtomicBoolean redisAvailable = new AtomicBoolean(true);
+    // Lets a node ignore its own invalidation messages
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CacheServiceImpl(RedisTemplate<String, byte[]> redisTemplate) {
         this.redisTemplate = redisTemplate;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(LOCAL_MAXIMUM_SIZE)
+                .expireAfter(new LocalEntryExpiry())
+                .recordStats()
+                .build();
         // Kiểm tra Redis connection
         checkRedisConnection();
     }
@@ -32,26 +72,53 @@ public class CacheServiceImpl implements CacheService {
      */
     private void checkRedisConnection() {
         try {
-            redisTemplate.getConnectionFactory().getConnection().ping();
-            redisAvailable = true;
+            ping();
+            redisAvailable.set(true);
             log.info("Redis connection established successfully");
         } catch (Exception e) {
-            redisAvailable = false;
+            redisAvailable.set(false);
             log.warn("Redis is not available, falling back to local cache. Error: {}", e.getMessage());
         }
     }
 
+    /**
+     * Pings Redis and flips between Redis and local-only mode. Coming back
+     * from an outage clears L1, since invalidations published by other nodes
+     * while Redis was down never reached this one.
+     */
+    @Scheduled(fixedDelayString = "${cache.redis.health-check-interval-ms:5000}")
+    public void checkRedisHealth() {
+        try {
+            ping();
+        } catch (Exception e) {
+            markRedisUnavailable(e);
+            return;
+        }
+
+        if (redisAvailable.compareAndSet(false, true)) {
+            localCache.invalidateAll();
+            log.info("Redis connection recovered, switching back from local cache");
+        }
+    }
+
     @Override
     public boolean exists(CacheKeyType cacheKeyType, String... keyArguments) {
         try {
             String key = acquireKey(cacheKeyType, keyArguments);
-            
-            if (redisAvailable) {
-                Boolean exists = redisTemplate.hasKey(key);
-                return exists != null && exists;
-            } else {
-                return localCache.containsKey(key);
+
+            if (localCache.getIfPresent(key) != null) {
+                return true;
+            }
+
+            if (redisAvailable.get()) {
+                try {
+                    Boolean exists = redisTemplate.hasKey(key);
+                    return exists != null && exists;
+                } catch (Exception e) {
+                    markRedisUnavailable(e);
+                }
             }
+            return false;
         } catch (Exception e) {
             log.error("Error checking key existence in cache: {}", e.getMessage());
             return false;
@@ -62,14 +129,7 @@ public class CacheServiceImpl implements CacheService {
     public Optional<String> get(CacheKeyType cacheKeyType, String... keyArguments) {
         try {
             String key = acquireKey(cacheKeyType, keyArguments);
-            
-            if (redisAvailable) {
-                Object value = redisTemplate.opsForValue().get(key);
-                return Optional.ofNullable(value).map(Object::toString);
-            } else {
-                Object value = localCache.get(key);
-                return Optional.ofNullable(value).map(Object::toString);
-            }
+            return Optional.ofNullable(lookup(cacheKeyType, key)).map(Object::toString);
         } catch (Exception e) {
             log.error("Error retrieving value from cache: {}", e.getMessage());
             return Optional.empty();
@@ -80,14 +140,8 @@ public class CacheServiceImpl implements CacheService {
     public <T> Optional<T> get(CacheKeyType cacheKeyType, Class<T> clazz, String... keyArguments) {
         try {
             String key = acquireKey(cacheKeyType, keyArguments);
-            Object value;
-            
-            if (redisAvailable) {
-                value = redisTemplate.opsForValue().get(key);
-            } else {
-                value = localCache.get(key);
-            }
-            
+            Object value = lookup(cacheKeyType, key);
+
             if (value == null) {
                 return Optional.empty();
             }
@@ -96,7 +150,7 @@ public class CacheServiceImpl implements CacheService {
                 return Optional.of(clazz.cast(value));
             }
 
-            log.warn("Value type mismatch. Expected: {}, Actual: {}", 
+            log.warn("Value type mismatch. Expected: {}, Actual: {}",
                     clazz.getSimpleName(), value.getClass().getSimpleName());
             return Optional.empty();
         } catch (Exception e) {
@@ -114,24 +168,30 @@ public class CacheServiceImpl implements CacheService {
     public void put(CacheKeyType cacheKeyType, Object value, long ttlSeconds, String... keyArguments) {
         try {
             String key = acquireKey(cacheKeyType, keyArguments);
-            
-            if (redisAvailable) {
-                if (ttlSeconds > 0) {
-                    redisTemplate.opsForValue().set(key, value, ttlSeconds, TimeUnit.SECONDS);
-                } else {
-                    redisTemplate.opsForValue().set(key, value);
+
+            if (redisAvailable.get()) {
+                byte[] encoded = codec(cacheKeyType).encode(value);
+                try {
+                    if (ttlSeconds > 0) {
+                        redisTemplate.opsForValue().set(key, encoded, ttlSeconds, TimeUnit.SECONDS);
+                    } else {
+                        redisTemplate.opsForValue().set(key, encoded);
+                    }
+                    localCache.put(key, new LocalEntry(value, nearCacheTtl(ttlSeconds)));
+                    publishInvalidation(key);
+                    log.debug("Redis cache stored: key={}, ttl={}s", key, ttlSeconds);
+                    return;
+                } catch (Exception e) {
+                    markRedisUnavailable(e);
                 }
-                log.debug("Redis cache stored: key={}, ttl={}s", key, ttlSeconds);
-            } else {
-                // Local cache với cleanup đơn giản (không có TTL)
-                localCache.put(key, value);
-                log.debug("Local cache stored: key={}", key);
             }
-            
+
+            localCache.put(key, new LocalEntry(value, ttlSeconds));
+            log.debug("Local cache stored: key={}, ttl={}s", key, ttlSeconds);
+
         } catch (Exception e) {
             log.error("Error storing value in cache: {}", e.getMessage());
             // KHÔNG throw exception, chỉ log error
-            // throw new RuntimeException("Failed to store value in cache", e);
         }
     }
 
@@ -139,30 +199,292 @@ public class CacheServiceImpl implements CacheService {
     public void delete(CacheKeyType cacheKeyType, String... keyArguments) {
         try {
             String key = acquireKey(cacheKeyType, keyArguments);
-            
-            if (redisAvailable) {
-                redisTemplate.delete(key);
-                log.debug("Redis cache deleted: key={}", key);
-            } else {
-                localCache.remove(key);
-                log.debug("Local cache deleted: key={}", key);
+            localCache.invalidate(key);
+
+            if (redisAvailable.get()) {
+                try {
+                    redisTemplate.delete(key);
+                    publishInvalidation(key);
+                    log.debug("Redis cache deleted: key={}", key);
+                } catch (Exception e) {
+                    markRedisUnavailable(e);
+                }
             }
         } catch (Exception e) {
             log.error("Error deleting key from cache: {}", e.getMessage());
         }
     }
 
+    @Override
+    public <T> Map<String, T> getAll(CacheKeyType cacheKeyType, Class<T> clazz, Collection<String> keyArguments) {
+        Map<String, T> values = new LinkedHashMap<>();
+        try {
+            List<String> missedArguments = new ArrayList<>();
+            List<String> missedKeys = new ArrayList<>();
+            for (String keyArgument : keyArguments) {
+                String key = acquireKey(cacheKeyType, keyArgument);
+                LocalEntry local = localCache.getIfPresent(key);
+                if (local != null) {
+                    addIfInstance(values, keyArgument, local.value(), clazz);
+                } else {
+                    missedArguments.add(keyArgument);
+                    missedKeys.add(key);
+                }
+            }
+
+            if (missedKeys.isEmpty() || !redisAvailable.get()) {
+                return values;
+            }
+
+            List<byte[]> remote;
+            try {
+                remote = redisTemplate.opsForValue().multiGet(missedKeys);
+            } catch (Exception e) {
+                markRedisUnavailable(e);
+                return values;
+            }
+            if (remote == null) {
+                return values;
+            }
+
+            long ttlSeconds = nearCacheTtl(cacheKeyType.getTtlSeconds());
+            for (int i = 0; i < missedKeys.size(); i++) {
+                Object value = decode(cacheKeyType, missedKeys.get(i), remote.get(i));
+                if (value != null) {
+                    localCache.put(missedKeys.get(i), new LocalEntry(value, ttlSeconds));
+                    addIfInstance(values, missedArguments.get(i), value, clazz);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error retrieving values from cache: {}", e.getMessage());
+        }
+        return values;
+    }
+
+    @Override
+    public void putAll(CacheKeyType cacheKeyType, Map<String, ?> valuesByKeyArgument) {
+        putAll(cacheKeyType, valuesByKeyArgument, cacheKeyType.getTtlSeconds());
+    }
+
+    @Override
+    public void putAll(CacheKeyType cacheKeyType, Map<String, ?> valuesByKeyArgument, long ttlSeconds) {
+        try {
+            Map<String, Object> valuesByKey = new LinkedHashMap<>();
+            valuesByKeyArgument.forEach(
+                    (keyArgument, value) -> valuesByKey.put(acquireKey(cacheKeyType, keyArgument), value));
+
+            if (redisAvailable.get()) {
+                CacheValueCodec codec = codec(cacheKeyType);
+                Map<String, byte[]> encodedByKey = new LinkedHashMap<>();
+                valuesByKey.forEach((key, value) -> encodedByKey.put(key, codec.encode(value)));
+
+                try {
+                    // SETs and their invalidations go out in one round-trip
+                    redisTemplate.executePipelined(new SessionCallback<Object>() {
+                        @Override
+                        @SuppressWarnings("unchecked")
+                        public <K, V> Object execute(RedisOperations<K, V> operations) {
+                            RedisOperations<String, byte[]> pipeline = (RedisOperations<String, byte[]>) operations;
+                            encodedByKey.forEach((key, encoded) -> {
+                                if (ttlSeconds > 0) {
+                                    pipeline.opsForValue().set(key, encoded, ttlSeconds, TimeUnit.SECONDS);
+                                } else {
+                                    pipeline.opsForValue().set(key, encoded);
+                                }
+                                pipeline.convertAndSend(INVALIDATION_CHANNEL, invalidationMessage(key));
+                            });
+                            return null;
+                        }
+                    });
+                    valuesByKey.forEach((key, value) -> localCache.put(key,
+                            new LocalEntry(value, nearCacheTtl(ttlSeconds))));
+                    log.debug("Redis cache stored {} keys, ttl={}s", valuesByKey.size(), ttlSeconds);
+                    return;
+                } catch (Exception e) {
+                    markRedisUnavailable(e);
+                }
+            }
+
+            valuesByKey.forEach((key, value) -> localCache.put(key, new LocalEntry(value, ttlSeconds)));
+            log.debug("Local cache stored {} keys, ttl={}s", valuesByKey.size(), ttlSeconds);
+
+        } catch (Exception e) {
+            log.error("Error storing values in cache: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void deleteAll(CacheKeyType cacheKeyType, Collection<String> keyArguments) {
+        try {
+            List<String> keys = new ArrayList<>(keyArguments.size());
+            for (String keyArgument : keyArguments) {
+                keys.add(acquireKey(cacheKeyType, keyArgument));
+            }
+            localCache.invalidateAll(keys);
+
+            if (keys.isEmpty() || !redisAvailable.get()) {
+                return;
+            }
+
+            try {
+                // One multi-key DEL plus the invalidations, in one round-trip
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        RedisOperations<String, byte[]> pipeline = (RedisOperations<String, byte[]>) operations;
+                        pipeline.delete(keys);
+                        for (String key : keys) {
+                            pipeline.convertAndSend(INVALIDATION_CHANNEL, invalidationMessage(key));
+                        }
+                        return null;
+                    }
+                });
+                log.debug("Redis cache deleted {} keys", keys.size());
+            } catch (Exception e) {
+                markRedisUnavailable(e);
+            }
+        } catch (Exception e) {
+            log.error("Error deleting keys from cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the local copy of a key written or deleted by another node.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String invalidation = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = invalidation.indexOf(' ');
+        if (separator < 0 || invalidation.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+
+        localCache.invalidate(invalidation.substring(separator + 1));
+    }
+
+    private Object lookup(CacheKeyType cacheKeyType, String key) {
+        LocalEntry local = localCache.getIfPresent(key);
+        if (local != null) {
+            return local.value();
+        }
+
+        if (!redisAvailable.get()) {
+            return null;
+        }
+
+        byte[] encoded;
+        try {
+            encoded = redisTemplate.opsForValue().get(key);
+        } catch (Exception e) {
+            markRedisUnavailable(e);
+            return null;
+        }
+
+        Object value = decode(cacheKeyType, key, encoded);
+        if (value != null) {
+            localCache.put(key, new LocalEntry(value, nearCacheTtl(cacheKeyType.getTtlSeconds())));
+        }
+        return value;
+    }
+
+    /**
+     * Decodes a Redis value, treating bytes the key type's codec cannot read
+     * (for example a value written in an older format) as a miss.
+     */
+    private static Object decode(CacheKeyType cacheKeyType, String key, byte[] encoded) {
+        if (encoded == null) {
+            return null;
+        }
+
+        try {
+            return codec(cacheKeyType).decode(encoded);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring undecodable cache value: key={}, error={}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private static <T> void addIfInstance(Map<String, T> values, String keyArgument, Object value, Class<T> clazz) {
+        if (clazz.isInstance(value)) {
+            values.put(keyArgument, clazz.cast(value));
+        } else {
+            log.warn("Value type mismatch. Expected: {}, Actual: {}",
+                    clazz.getSimpleName(), value.getClass().getSimpleName());
+        }
+    }
+
+    private void publishInvalidation(String key) {
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, invalidationMessage(key));
+        } catch (Exception e) {
+            // The write itself succeeded; other nodes converge once their L1 entry expires
+            log.warn("Failed to publish cache invalidation for key={}: {}", key, e.getMessage());
+        }
+    }
+
+    private byte[] invalidationMessage(String key) {
+        return (nodeId + " " + key).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static CacheValueCodec codec(CacheKeyType cacheKeyType) {
+        return cacheKeyType.getCacheValueType().getCodec();
+    }
+
+    private void markRedisUnavailable(Exception e) {
+        if (redisAvailable.compareAndSet(true, false)) {
+            log.warn("Redis became unavailable, falling back to local cache. Error: {}", e.getMessage());
+        }
+    }
+
+    private void ping() {
+        redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+    }
+
+    private static long nearCacheTtl(long ttlSeconds) {
+        return ttlSeconds > 0 ? Math.min(ttlSeconds, NEAR_CACHE_TTL_SECONDS) : NEAR_CACHE_TTL_SECONDS;
+    }
+
+    private String acquireKey(CacheKeyType cacheKeyType, String keyArgument) {
+        if (cacheKeyType.getArgumentCount() == 1) {
+            return cacheKeyType.generateKey(keyArgument);
+        }
+        return acquireKey(cacheKeyType, new String[] { keyArgument });
+    }
+
     private String acquireKey(CacheKeyType cacheKeyType, String... keyArguments) {
         try {
             if (keyArguments == null || keyArguments.length == 0) {
                 return cacheKeyType.getKeyPattern();
             }
-            
-            return String.format(cacheKeyType.getKeyPattern(), (Object[]) keyArguments);
+
+            return cacheKeyType.generateKey(keyArguments);
         } catch (Exception e) {
             log.error("Error generating cache key: {}", e.getMessage());
-            return "cache:" + cacheKeyType.name() + ":" + 
+            return "cache:" + cacheKeyType.name() + ":" +
                    (keyArguments != null ? String.join(":", keyArguments) : "default");
         }
     }
-}
\ No newline at end of file
+
+    // A TTL of zero or less never expires, matching a Redis SET without EX
+    private record LocalEntry(Object value, long ttlSeconds) {
+    }
+
+    private static class LocalEntryExpiry implements Expiry<String, LocalEntry> {
+
+        @Override
+        public long expireAfterCreate(String key, LocalEntry entry, long currentTime) {
+            return entry.ttlSeconds() > 0 ? TimeUnit.SECONDS.toNanos(entry.ttlSeconds()) : Long.MAX_VALUE;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, LocalEntry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, LocalEntry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
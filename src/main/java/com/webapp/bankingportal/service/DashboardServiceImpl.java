@@ -2,15 +2,17 @@ package com.webapp.bankingportal.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.webapp.bankingportal.dto.AccountResponse;
 import com.webapp.bankingportal.dto.UserResponse;
+import com.webapp.bankingportal.dto.UserSnapshot;
 import com.webapp.bankingportal.entity.Account;
-import com.webapp.bankingportal.entity.User;
 import com.webapp.bankingportal.exception.NotFoundException;
 import com.webapp.bankingportal.repository.AccountRepository;
-import com.webapp.bankingportal.repository.UserRepository;
 import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.MoneyUtil;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,25 +23,36 @@ public class DashboardServiceImpl implements DashboardService {
     private static final Logger log = LoggerFactory.getLogger(DashboardServiceImpl.class);
 
     @Autowired
-    private final UserRepository userRepository;
+    private final AccountSnapshotService accountSnapshotService;
     @Autowired
     private final AccountRepository accountRepository;
+    @Autowired
+    private final BalanceShardService balanceShardService;
 
-    public DashboardServiceImpl(UserRepository userRepository, AccountRepository accountRepository) {
-        this.userRepository = userRepository;
+    public DashboardServiceImpl(AccountSnapshotService accountSnapshotService, AccountRepository accountRepository,
+            BalanceShardService balanceShardService) {
+        this.accountSnapshotService = accountSnapshotService;
         this.accountRepository = accountRepository;
+        this.balanceShardService = balanceShardService;
     }
 
     @Override
     public UserResponse getUserDetails(String accountNumber) {
         log.debug("Getting user details for account: {}", accountNumber);
-        User user = userRepository.findByAccountAccountNumber(accountNumber)
+        UserSnapshot user = accountSnapshotService.findUser(accountNumber)
                 .orElseThrow(() -> new NotFoundException(
                         String.format(ApiMessages.USER_NOT_FOUND_BY_ACCOUNT.getMessage(), accountNumber)));
 
         return new UserResponse(user);
     }
 
+    /**
+     * Reads the account row itself: the balance is never served from a
+     * snapshot. The row and the unsettled shards are read from one snapshot
+     * of the database, so a consolidation committing between the two reads
+     * cannot make the shard credits vanish or count twice.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     @Override
     public AccountResponse getAccountDetails(String accountNumber) {
         log.debug("Getting account details for account: {}", accountNumber);
@@ -49,7 +62,13 @@ public class DashboardServiceImpl implements DashboardService {
             throw new NotFoundException(String.format(ApiMessages.USER_NOT_FOUND_BY_ACCOUNT.getMessage(), accountNumber));
         }
 
-        return new AccountResponse(account);
+        // Hot accounts hold part of their balance in shard rows until consolidation
+        AccountResponse response = new AccountResponse(account);
+        long unsettled = balanceShardService.getUnsettledBalance(account.getId());
+        if (unsettled != 0) {
+            response.setBalance(MoneyUtil.toMajorUnits(account.getBalance() + unsettled));
+        }
+        return response;
     }
 
 }
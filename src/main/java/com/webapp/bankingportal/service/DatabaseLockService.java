@@ -0,0 +1,6 @@
+package com.webapp.bankingportal.service;
+
+public interface DatabaseLockService {
+
+    boolean runExclusively(String name, long timeoutSeconds, Runnable action);
+}
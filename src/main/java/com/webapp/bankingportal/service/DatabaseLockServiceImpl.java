@@ -0,0 +1,73 @@
+package com.webapp.bankingportal.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cluster-wide mutual exclusion on a MySQL named lock, for one-off jobs that
+ * every node would otherwise start at once. The lock belongs to the
+ * connection that took it, so that connection is held for the whole action
+ * and the lock is released when the action finishes or the connection dies.
+ */
+@Service
+public class DatabaseLockServiceImpl implements DatabaseLockService {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseLockServiceImpl.class);
+
+    private static final String LOCK_PREFIX = "bankingportal.";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DatabaseLockServiceImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Runs {@code action} while holding the named lock, waiting at most
+     * {@code timeoutSeconds} for it. Returns false without running the action
+     * when another node still holds the lock after that.
+     */
+    @Override
+    public boolean runExclusively(String name, long timeoutSeconds, Runnable action) {
+        String lockName = LOCK_PREFIX + name;
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            if (!acquire(connection, lockName, timeoutSeconds)) {
+                log.info("Lock {} still held elsewhere after {}s", lockName, timeoutSeconds);
+                return false;
+            }
+
+            try {
+                action.run();
+                return true;
+            } finally {
+                try (PreparedStatement release = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+                    release.setString(1, lockName);
+                    release.execute();
+                }
+            }
+        });
+        return Boolean.TRUE.equals(ran);
+    }
+
+    private static boolean acquire(Connection connection, String lockName, long timeoutSeconds)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            statement.setString(1, lockName);
+            statement.setLong(2, timeoutSeconds);
+            try (ResultSet result = statement.executeQuery()) {
+                // 1 when granted, 0 on timeout, NULL on error
+                return result.next() && result.getInt(1) == 1;
+            }
+        }
+    }
+
+}
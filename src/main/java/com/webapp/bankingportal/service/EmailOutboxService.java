@@ -0,0 +1,31 @@
+package com.webapp.bankingportal.service;
+
+import com.webapp.bankingportal.dto.RenderedEmail;
+
+/**
+ * Durable queue of outgoing emails. Callers return as soon as the email is
+ * stored; delivery, retries and backoff happen in the background.
+ */
+public interface EmailOutboxService {
+
+    /**
+     * Stores the email in its own transaction, committed when this returns,
+     * and wakes the dispatcher.
+     */
+    public void enqueue(String to, String subject, RenderedEmail content);
+
+    /**
+     * Claims and sends due emails in batches until none are left.
+     *
+     * @return The number of emails sent.
+     */
+    public int dispatchDue();
+
+    /**
+     * Deletes sent and abandoned emails past their retention, in bounded
+     * batches.
+     *
+     * @return The number of emails deleted.
+     */
+    public int purgeFinished();
+}
@@ -0,0 +1,245 @@
+package com.webapp.bankingportal.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.dto.EmailMessage;
+import com.webapp.bankingportal.dto.RenderedEmail;
+import com.webapp.bankingportal.entity.OutboxEmail;
+import com.webapp.bankingportal.repository.OutboxEmailRepository;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Outbox stored in {@code email_outbox}. A single dispatcher thread per node
+ * claims due rows in batches, splits each batch into chunks that are sent
+ * over one SMTP connection apiece on the async executor, then records the
+ * outcomes: sent rows are closed, failed ones rescheduled with exponential
+ * backoff and jitter until {@code max-attempts} is reached.
+ *
+ * <p>The dispatcher runs after every enqueue commits and on a fixed poll,
+ * which also picks up retries and rows whose claim lease ran out because a
+ * node died mid-send. Delivery is therefore at least once.
+ */
+@Service
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxServiceImpl.class);
+
+    private static final int PURGE_BATCH_SIZE = 1000;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEmailRepository outboxEmailRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    // One running drain plus at most one queued behind it: further wake-ups are covered by the queued one
+    private final ThreadPoolExecutor dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), runnable -> {
+                Thread thread = new Thread(runnable, "email-outbox");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.messages-per-connection:10}")
+    private int messagesPerConnection;
+
+    @Value("${email.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.backoff-initial-ms:5000}")
+    private long backoffInitialMs;
+
+    @Value("${email.outbox.backoff-max-ms:600000}")
+    private long backoffMaxMs;
+
+    @Value("${email.outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    @Value("${email.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    public EmailOutboxServiceImpl(OutboxEmailRepository outboxEmailRepository, EmailService emailService,
+            PlatformTransactionManager transactionManager) {
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void enqueue(String to, String subject, RenderedEmail content) {
+        log.debug("Queueing email to: {}, subject: {}", to, subject);
+        outboxEmailRepository.save(new OutboxEmail(to, subject, content.html(), content.text(), new Date()));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wakeUp();
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:2000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.purge-interval-ms:3600000}")
+    public void scheduledPurge() {
+        purgeFinished();
+    }
+
+    private void wakeUp() {
+        dispatcher.execute(() -> {
+            try {
+                dispatchDue();
+            } catch (RuntimeException e) {
+                log.error("Email outbox dispatch failed", e);
+            }
+        });
+    }
+
+    @Override
+    public int dispatchDue() {
+        int sent = 0;
+        List<OutboxEmail> batch;
+        do {
+            batch = claimBatch();
+            if (!batch.isEmpty()) {
+                sent += send(batch);
+            }
+        } while (batch.size() == batchSize);
+        return sent;
+    }
+
+    @Override
+    public int purgeFinished() {
+        Date cutoff = new Date(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(retentionHours));
+        int total = 0;
+        int deleted;
+        do {
+            deleted = outboxEmailRepository.deleteFinishedBefore(cutoff, PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+
+        if (total > 0) {
+            log.info("Purged {} finished outbox emails", total);
+        }
+        return total;
+    }
+
+    private List<OutboxEmail> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            Date now = new Date();
+            List<Long> ids = outboxEmailRepository.lockDueIds(now, batchSize);
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            outboxEmailRepository.lease(ids, new Date(now.getTime() + leaseMs));
+            return outboxEmailRepository.findAllById(ids);
+        });
+    }
+
+    private int send(List<OutboxEmail> batch) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(leaseMs);
+        // Each chunk goes out over one pooled SMTP connection, the chunks in parallel
+        List<List<OutboxEmail>> chunks = new ArrayList<>();
+        List<CompletableFuture<List<Exception>>> futures = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += messagesPerConnection) {
+            List<OutboxEmail> chunk = batch.subList(from, Math.min(from + messagesPerConnection, batch.size()));
+            chunks.add(chunk);
+            try {
+                futures.add(emailService.sendEmails(chunk.stream()
+                        .map(email -> new EmailMessage(email.getRecipient(), email.getSubject(), email.getBody(),
+                                email.getTextBody()))
+                        .toList()));
+            } catch (RuntimeException e) {
+                // Typically the async executor rejecting work while saturated
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        for (int i = 0; i < chunks.size(); i++) {
+            List<OutboxEmail> chunk = chunks.get(i);
+            try {
+                List<Exception> failures = futures.get(i)
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                for (int j = 0; j < chunk.size(); j++) {
+                    if (failures.get(j) == null) {
+                        sentIds.add(chunk.get(j).getId());
+                    } else {
+                        recordFailure(chunk.get(j), failures.get(j));
+                    }
+                }
+            } catch (ExecutionException e) {
+                chunk.forEach(email -> recordFailure(email, e.getCause()));
+            } catch (TimeoutException e) {
+                // Left claimed: the lease runs out and the emails are retried
+                log.warn("Sending {} outbox emails did not finish within their lease", chunk.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            outboxEmailRepository.markSent(sentIds, new Date());
+        }
+        return sentIds.size();
+    }
+
+    private void recordFailure(OutboxEmail email, Throwable cause) {
+        String error = cause == null ? "unknown" : String.valueOf(cause.getMessage());
+        if (error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        if (email.getAttempts() >= maxAttempts) {
+            log.error("Giving up on outbox email {} to {} after {} attempts: {}",
+                    email.getId(), email.getRecipient(), email.getAttempts(), error);
+            outboxEmailRepository.markFailed(email.getId(), error);
+            return;
+        }
+
+        long delay = backoffMillis(email.getAttempts());
+        log.warn("Outbox email {} failed on attempt {}, retrying in {} ms: {}",
+                email.getId(), email.getAttempts(), delay, error);
+        outboxEmailRepository.reschedule(email.getId(), new Date(System.currentTimeMillis() + delay), error);
+    }
+
+    // Exponential in the attempt number, capped, with jitter so a failed batch is not retried in lockstep
+    private long backoffMillis(int attempts) {
+        long backoff = Math.min(backoffMaxMs, backoffInitialMs << Math.min(Math.max(attempts - 1, 0), 30));
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+}
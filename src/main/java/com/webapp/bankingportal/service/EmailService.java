@@ -1,17 +1,25 @@
 package com.webapp.bankingportal.service;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.springframework.scheduling.annotation.Async;
 
+import com.webapp.bankingportal.dto.EmailMessage;
+
 public interface EmailService {
 
     @Async
     public CompletableFuture<Void> sendEmail(String to, String subject, String text);
 
-    public String getLoginEmailTemplate(String name, String loginTime, String loginLocation);
-
-    public String getOtpLoginEmailTemplate(String name, String accountNumber, String otp);
+    /**
+     * Sends the emails over one SMTP connection.
+     *
+     * @return One entry per email, in order: null when it was sent, otherwise
+     *         the reason it was not.
+     */
+    @Async
+    public CompletableFuture<List<Exception>> sendEmails(List<EmailMessage> emails);
 
     public String getBankStatementEmailTemplate(String name, String statementText);
 
@@ -1,14 +1,22 @@
 package com.webapp.bankingportal.service;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import com.webapp.bankingportal.dto.EmailMessage;
+
 import jakarta.activation.DataSource;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
@@ -33,13 +41,7 @@ public class EmailServiceImpl implements EmailService {
         CompletableFuture<Void> future = new CompletableFuture<Void>();
 
         try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
-            helper.setTo(to);
-            // From address is automatically set by Spring Boot based on your properties
-            helper.setSubject(subject);
-            helper.setText(text, true); // Set the second parameter to true to send HTML content
-            mailSender.send(message);
+            mailSender.send(createMessage(to, subject, text, null));
 
             log.info("Email sent successfully to: {}", to);
             future.complete(null);
@@ -53,54 +55,56 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    public String getLoginEmailTemplate(String name, String loginTime, String loginLocation) {
-        return "<div style=\"font-family: Helvetica, Arial, sans-serif; min-width: 320px; max-width: 1000px; margin: 0 auto; overflow: auto; line-height: 2; background-color: #f1f1f1; padding: 20px;\">"
-                + "<div style=\"margin: 50px auto; width: 100%; max-width: 600px; padding: 20px; background-color: #ffffff; border-radius: 8px; box-shadow: 0 0 20px rgba(0, 0, 0, 0.1);\">"
-                + "<div style=\"border-bottom: 1px solid #ddd; padding-bottom: 10px; text-align: center;\">"
-                + "<a href=\"https://onestopbank.netlify.app/\" style=\"text-decoration: none;\">"
-                + "<img src=\"https://onestopbank.netlify.app/assets/onestoplogo.jpg\" alt=\"OneStopBank\" style=\"height: 50px; margin-bottom: 10px;\">"
-                + "</a>" + "<h1 style=\"font-size: 1.8em; color: #3f51b5; margin: 10px 0;\">OneStopBank</h1>" + "</div>"
-                + "<div style=\"padding: 20px;\">" + "<p style=\"font-size: 1.2em; color: #333;\">Hi, " + name + ",</p>"
-                + "<p style=\"font-size: 1em; color: #333;\">A login attempt was made on your account at:</p>"
-                + "<p style=\"font-size: 1em; color: #555;\">Time: <strong style=\"color: #3f51b5;\">" + loginTime
-                + "</strong></p>"
-                + "<p style=\"font-size: 1em; color: #555;\">Location: <strong style=\"color: #3f51b5;\">"
-                + loginLocation + "</strong></p>"
-                + "<p style=\"font-size: 1em; color: #333;\">If this was you, no further action is required. If you suspect any unauthorized access, please change your password immediately and contact our support team.</p>"
-                + "<p style=\"font-size: 1em; color: #555;\">Regards,<br />The OneStopBank Team</p>" + "</div>"
-                + "<hr style=\"border: none; border-top: 1px solid #ddd; margin: 20px 0;\" />"
-                + "<div style=\"text-align: center; font-size: 0.9em; color: #888;\">"
-                + "<p>Need help? Contact our support team:</p>"
-                + "<p>Email: <a href=\"mailto:onestopbank@google.com\" style=\"color: #3f51b5; text-decoration: none;\">onestopbank@google.com</a></p>"
-                + "<div style=\"margin-top: 20px;\">"
-                + "<p style=\"font-size: 1em; color: #333;\">Show your support here ❤️</p>"
-                + "<a href=\"https://github.com/abhi9720/BankingPortal-API\" style=\"margin: 0 10px; color: #3f51b5; text-decoration: none;\">GitHub</a>"
-                + "</div>" + "</div>" + "</div>" + "</div>";
+    @Async
+    public CompletableFuture<List<Exception>> sendEmails(List<EmailMessage> emails) {
+        log.info("Sending {} emails", emails.size());
+        List<Exception> failures = new ArrayList<>(Collections.nCopies(emails.size(), null));
+        Map<MimeMessage, Integer> positions = new IdentityHashMap<>();
+        for (int i = 0; i < emails.size(); i++) {
+            EmailMessage email = emails.get(i);
+            try {
+                positions.put(createMessage(email.to(), email.subject(), email.body(), email.text()), i);
+            } catch (MessagingException e) {
+                failures.set(i, e);
+            }
+        }
+
+        try {
+            if (!positions.isEmpty()) {
+                mailSender.send(positions.keySet().toArray(MimeMessage[]::new));
+            }
+        } catch (MailSendException e) {
+            // Without per-message failures the connection itself failed, taking every message with it
+            if (e.getFailedMessages().isEmpty()) {
+                positions.values().forEach(i -> failures.set(i, e));
+            }
+            e.getFailedMessages().forEach((message, cause) -> failures.set(positions.get(message), cause));
+        } catch (MailException e) {
+            positions.values().forEach(i -> failures.set(i, e));
+        }
+
+        long failed = failures.stream().filter(f -> f != null).count();
+        if (failed > 0) {
+            log.error("Failed to send {} of {} emails", failed, emails.size());
+        } else {
+            log.info("Sent {} emails", emails.size());
+        }
+        return CompletableFuture.completedFuture(failures);
     }
 
-    @Override
-    public String getOtpLoginEmailTemplate(String name, String accountNumber, String otp) {
-        return "<div style=\"font-family: Helvetica, Arial, sans-serif; min-width: 320px; max-width: 1000px; margin: 0 auto; overflow: auto; line-height: 2; background-color: #f1f1f1; padding: 20px;\">"
-                + "<div style=\"margin: 50px auto; width: 100%; max-width: 600px; padding: 20px; background-color: #ffffff; border-radius: 8px; box-shadow: 0 0 20px rgba(0, 0, 0, 0.1);\">"
-                + "<div style=\"border-bottom: 1px solid #ddd; padding-bottom: 10px; text-align: center;\">"
-                + "<a href=\"https://onestopbank.netlify.app/\" style=\"text-decoration: none;\">"
-                + "<img src=\"https://onestopbank.netlify.app/assets/onestoplogo.jpg\" alt=\"OneStopBank\" style=\"height: 50px; margin-bottom: 10px;\">"
-                + "</a>" + "<h1 style=\"font-size: 1.8em; color: #3f51b5; margin: 10px 0;\">OneStopBank</h1>" + "</div>"
-                + "<div style=\"padding: 20px;\">" + "<p style=\"font-size: 1.2em; color: #333;\">Hi, " + name + ",</p>"
-                + "<p style=\"font-size: 1em; color: #555;\">Account Number: <strong style=\"color: #3f51b5;\">"
-                + accountNumber + "</strong></p>"
-                + "<p style=\"font-size: 1em; color: #333;\">Thank you for choosing OneStopBank. Use the following OTP to complete your login procedures. The OTP is valid for "
-                + OtpServiceImpl.OTP_EXPIRY_MINUTES + " minutes:</p>"
-                + "<h2 style=\"background: #3f51b5; margin: 20px 0; width: max-content; padding: 10px 20px; color: #fff; border-radius: 4px;\">"
-                + otp + "</h2>" + "<p style=\"font-size: 1em; color: #555;\">Regards,<br />The OneStopBank Team</p>"
-                + "</div>" + "<hr style=\"border: none; border-top: 1px solid #ddd; margin: 20px 0;\" />"
-                + "<div style=\"text-align: center; font-size: 0.9em; color: #888;\">"
-                + "<p>Need help? Contact our support team:</p>"
-                + "<p>Email: <a href=\"mailto:onestopbank@google.com\" style=\"color: #3f51b5; text-decoration: none;\">onestopbank@google.com</a></p>"
-                + "<div style=\"margin-top: 20px;\">"
-                + "<p style=\"font-size: 1em; color: #333;\">Show your support here ❤️</p>"
-                + "<a href=\"https://github.com/abhi9720/BankingPortal-API\" style=\"margin: 0 10px; color: #3f51b5; text-decoration: none;\">GitHub</a>"
-                + "</div>" + "</div>" + "</div>" + "</div>";
+    private MimeMessage createMessage(String to, String subject, String html, String text)
+            throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true);
+        helper.setTo(to);
+        // From address is automatically set by Spring Boot based on your properties
+        helper.setSubject(subject);
+        if (text != null) {
+            helper.setText(text, html); // multipart/alternative: clients without HTML show the text
+        } else {
+            helper.setText(html, true); // Set the second parameter to true to send HTML content
+        }
+        return message;
     }
 
     @Override
@@ -0,0 +1,15 @@
+package com.webapp.bankingportal.service;
+
+import com.webapp.bankingportal.dto.RenderedEmail;
+import com.webapp.bankingportal.type.EmailTemplateType;
+
+public interface EmailTemplateService {
+
+    /**
+     * Renders the HTML body and its plain-text alternative.
+     *
+     * @param values One per {@link EmailTemplateType#getVariables()}, in the
+     *               same order.
+     */
+    public RenderedEmail render(EmailTemplateType type, String... values);
+}
@@ -0,0 +1,77 @@
+package com.webapp.bankingportal.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import com.webapp.bankingportal.dto.RenderedEmail;
+import com.webapp.bankingportal.type.EmailTemplateType;
+import com.webapp.bankingportal.util.EmailTemplate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parses {@code templates/email/<name>.html} and {@code <name>.txt} for every
+ * {@link EmailTemplateType} at startup, so a missing file or a misspelled
+ * placeholder fails the application instead of an email. Each thread renders
+ * into its own reused buffer.
+ */
+@Service
+public class EmailTemplateServiceImpl implements EmailTemplateService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailTemplateServiceImpl.class);
+
+    private static final String TEMPLATE_LOCATION = "templates/email/";
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+    // A buffer grown past this by an unusually large value is dropped rather than kept for the thread's lifetime
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private final Map<EmailTemplateType, EmailTemplate> htmlTemplates = new EnumMap<>(EmailTemplateType.class);
+    private final Map<EmailTemplateType, EmailTemplate> textTemplates = new EnumMap<>(EmailTemplateType.class);
+    private final ThreadLocal<StringBuilder> buffers =
+            ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
+
+    public EmailTemplateServiceImpl() {
+        for (EmailTemplateType type : EmailTemplateType.values()) {
+            htmlTemplates.put(type, load(type, ".html", true));
+            textTemplates.put(type, load(type, ".txt", false));
+        }
+        log.info("Loaded {} email templates", htmlTemplates.size());
+    }
+
+    @Override
+    public RenderedEmail render(EmailTemplateType type, String... values) {
+        if (values.length != type.getVariables().size()) {
+            throw new IllegalArgumentException("Template " + type + " expects " + type.getVariables()
+                    + " but got " + values.length + " values");
+        }
+        return new RenderedEmail(render(htmlTemplates.get(type), values), render(textTemplates.get(type), values));
+    }
+
+    private String render(EmailTemplate template, String[] values) {
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+        template.renderTo(buffer, values);
+        String rendered = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            buffers.remove();
+        }
+        return rendered;
+    }
+
+    private static EmailTemplate load(EmailTemplateType type, String extension, boolean escapeHtml) {
+        ClassPathResource resource = new ClassPathResource(TEMPLATE_LOCATION + type.getTemplateName() + extension);
+        try (InputStream in = resource.getInputStream()) {
+            String source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return EmailTemplate.parse(source, type.getVariables(), escapeHtml);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid email template " + resource.getPath(), e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.webapp.bankingportal.service;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.ResponseEntity;
+
+public interface IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    public ResponseEntity<?> execute(String accountNumber, String idempotencyKey, String endpoint,
+            Object request, Supplier<ResponseEntity<?>> action);
+
+    public int purgeExpired();
+}
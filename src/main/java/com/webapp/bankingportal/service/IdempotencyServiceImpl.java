@@ -0,0 +1,283 @@
+package com.webapp.bankingportal.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.entity.IdempotencyStatus;
+import com.webapp.bankingportal.exception.LedgerOutcomeUnknownException;
+import com.webapp.bankingportal.repository.IdempotencyRecordRepository;
+import com.webapp.bankingportal.repository.IdempotencyRecordRepository.RecordState;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Durable idempotency for money-moving endpoints, keyed by the client's
+ * {@code Idempotency-Key} header and scoped to the logged-in account.
+ *
+ * <p>The first request reserves the key through the table's unique
+ * constraint, runs, and stores its response. Retries of a completed request
+ * get the stored response replayed; retries that arrive while the first is
+ * still running wait for it. A reservation is a lease, renewed while the
+ * request runs: if its owner dies without completing, the key can be
+ * reclaimed once the lease expires. A reclaimed key is a new row, so the
+ * owner that lost it can no longer store its response. A request whose
+ * ledger posting may still commit keeps its key, completed with a 409 that
+ * retries get replayed, instead of being run again.
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyServiceImpl.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long MAX_POLL_INTERVAL_MS = 200;
+    private static final String REQUEST_HASH_ALGORITHM = "HmacSHA256";
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    // Reservations must be visible to other requests immediately, whatever transaction the caller is in
+    private final TransactionTemplate requiresNewTemplate;
+    // Request bodies carry PINs and passwords, so the stored hash is keyed and cannot be brute-forced offline
+    private final SecretKeySpec requestHashKey;
+    private final ScheduledExecutorService leaseRenewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("${idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${idempotency.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMs;
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository idempotencyRecordRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${idempotency.request-hash-secret:${jwt.secret}}") String requestHashSecret) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.requestHashKey = new SecretKeySpec(requestHashSecret.getBytes(StandardCharsets.UTF_8),
+                REQUEST_HASH_ALGORITHM);
+        this.requiresNewTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        leaseRenewer.shutdownNow();
+    }
+
+    /**
+     * Runs {@code action} at most once per key. Requests without a key are
+     * run as-is. Only responses below 500 are stored; a server error or an
+     * exception releases the key so the client can retry, except a
+     * {@link LedgerOutcomeUnknownException}, which keeps it.
+     */
+    @Override
+    public ResponseEntity<?> execute(String accountNumber, String idempotencyKey, String endpoint,
+            Object request, Supplier<ResponseEntity<?>> action) {
+        if (idempotencyKey == null) {
+            return action.get();
+        }
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            return error(HttpStatus.BAD_REQUEST, ApiMessages.IDEMPOTENCY_KEY_INVALID.getMessage());
+        }
+
+        String requestHash = hashRequest(endpoint, request);
+        long deadline = System.currentTimeMillis() + waitTimeoutMs;
+        long pollInterval = 10;
+
+        while (true) {
+            Reservation reservation = reserve(accountNumber, idempotencyKey, requestHash);
+            RecordState record = reservation.record();
+            if (reservation.reserved()) {
+                return runAndRecord(record.getId(), action);
+            }
+
+            if (record == null) {
+                // Released or purged between the insert attempt and the read
+                continue;
+            }
+
+            if (!record.getRequestHash().equals(requestHash)) {
+                log.warn("Idempotency key reused with a different request for account: {}", accountNumber);
+                return error(HttpStatus.UNPROCESSABLE_ENTITY, ApiMessages.IDEMPOTENCY_KEY_REUSED.getMessage());
+            }
+
+            Date now = new Date();
+            if (record.getExpiresAt().before(now)) {
+                requiresNewTemplate.execute(
+                        status -> idempotencyRecordRepository.deleteByIdIfExpired(record.getId(), now));
+                continue;
+            }
+
+            if (record.getStatus() == IdempotencyStatus.COMPLETED) {
+                log.debug("Replaying response for idempotency key of account: {}", accountNumber);
+                return replay(record);
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                return error(HttpStatus.CONFLICT, ApiMessages.IDEMPOTENCY_KEY_IN_PROGRESS.getMessage());
+            }
+
+            try {
+                Thread.sleep(pollInterval);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return error(HttpStatus.CONFLICT, ApiMessages.IDEMPOTENCY_KEY_IN_PROGRESS.getMessage());
+            }
+            pollInterval = Math.min(pollInterval * 2, MAX_POLL_INTERVAL_MS);
+        }
+    }
+
+    @Override
+    public int purgeExpired() {
+        Integer purged = requiresNewTemplate.execute(
+                status -> idempotencyRecordRepository.deleteExpired(new Date()));
+        if (purged != null && purged > 0) {
+            log.debug("Purged {} expired idempotency records", purged);
+        }
+        return purged == null ? 0 : purged;
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:3600000}")
+    public void scheduledPurge() {
+        purgeExpired();
+    }
+
+    private Reservation reserve(String accountNumber, String idempotencyKey, String requestHash) {
+        return requiresNewTemplate.execute(status -> {
+            Date now = new Date();
+            Date leaseEnd = new Date(now.getTime() + leaseSeconds * 1000);
+            boolean reserved = idempotencyRecordRepository.reserve(
+                    accountNumber, idempotencyKey, requestHash, now, leaseEnd) == 1;
+            return new Reservation(reserved,
+                    idempotencyRecordRepository.findState(accountNumber, idempotencyKey));
+        });
+    }
+
+    private ResponseEntity<?> runAndRecord(Long recordId, Supplier<ResponseEntity<?>> action) {
+        // Renew well before the lease runs out, so a slow request is never run a second time alongside itself
+        long renewIntervalMs = Math.max(1, leaseSeconds * 1000 / 3);
+        ScheduledFuture<?> renewal = leaseRenewer.scheduleWithFixedDelay(() -> renewLease(recordId),
+                renewIntervalMs, renewIntervalMs, TimeUnit.MILLISECONDS);
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (LedgerOutcomeUnknownException e) {
+            // The posting may still commit, so releasing the key would let a retry move the money twice
+            markOutcomeUnknown(recordId);
+            throw e;
+        } catch (RuntimeException e) {
+            release(recordId);
+            throw e;
+        } finally {
+            renewal.cancel(false);
+        }
+
+        if (response.getStatusCode().is5xxServerError()) {
+            release(recordId);
+            return response;
+        }
+
+        complete(recordId, response);
+        return response;
+    }
+
+    private void complete(Long recordId, ResponseEntity<?> response) {
+        Object body = response.getBody();
+        String responseBody = body == null || body instanceof String ? (String) body : JsonUtil.toJson(body);
+        Date retentionEnd = new Date(System.currentTimeMillis() + ttlSeconds * 1000);
+        Integer completed = requiresNewTemplate.execute(status -> idempotencyRecordRepository.complete(
+                recordId, response.getStatusCode().value(), responseBody, retentionEnd));
+        if (completed == null || completed == 0) {
+            log.error("Idempotency record {} was reclaimed before its response could be stored", recordId);
+        }
+    }
+
+    private void renewLease(Long recordId) {
+        try {
+            Date leaseEnd = new Date(System.currentTimeMillis() + leaseSeconds * 1000);
+            Integer renewed = requiresNewTemplate.execute(
+                    status -> idempotencyRecordRepository.renewLease(recordId, leaseEnd));
+            if (renewed == null || renewed == 0) {
+                log.warn("Idempotency record {} is no longer held, lease not renewed", recordId);
+            }
+        } catch (RuntimeException e) {
+            // Retried on the next tick; the lease covers a few missed renewals
+            log.warn("Failed to renew lease of idempotency record {}: {}", recordId, e.getMessage());
+        }
+    }
+
+    // Stored as the key's response, so every retry is refused for the retention period
+    private void markOutcomeUnknown(Long recordId) {
+        try {
+            complete(recordId, error(HttpStatus.CONFLICT, ApiMessages.IDEMPOTENCY_KEY_OUTCOME_UNKNOWN.getMessage()));
+        } catch (RuntimeException e) {
+            // The reservation is left as it is and stays held until its lease runs out
+            log.error("Failed to mark idempotency record {} as outcome unknown: {}", recordId, e.getMessage());
+        }
+    }
+
+    private void release(Long recordId) {
+        requiresNewTemplate.execute(status -> idempotencyRecordRepository.deleteRecordById(recordId));
+    }
+
+    private static ResponseEntity<?> replay(RecordState record) {
+        return ResponseEntity.status(record.getResponseStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true")
+                .body(record.getResponseBody());
+    }
+
+    private static ResponseEntity<?> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status).body(Map.of(
+                "success", false,
+                "message", message));
+    }
+
+    private String hashRequest(String endpoint, Object request) {
+        try {
+            Mac mac = Mac.getInstance(REQUEST_HASH_ALGORITHM);
+            mac.init(requestHashKey);
+            mac.update(endpoint.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) '\n');
+            mac.update(String.valueOf(JsonUtil.toJson(request)).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(mac.doFinal());
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Reservation(boolean reserved, RecordState record) {
+    }
+
+}
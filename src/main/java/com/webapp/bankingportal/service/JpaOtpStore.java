@@ -0,0 +1,50 @@
+package com.webapp.bankingportal.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.entity.OtpInfo;
+import com.webapp.bankingportal.repository.OtpInfoRepository;
+
+/**
+ * OTPs in the {@code otp_info} table, one row per account. Used when
+ * {@code otp.store=jpa}, and by {@link RedisOtpStore} while Redis is
+ * unreachable.
+ */
+@Service
+public class JpaOtpStore implements OtpStore {
+
+    private final OtpInfoRepository otpInfoRepository;
+
+    public JpaOtpStore(OtpInfoRepository otpInfoRepository) {
+        this.otpInfoRepository = otpInfoRepository;
+    }
+
+    @Override
+    @Transactional
+    public String issue(String accountNumber, String newOtp, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        OtpInfo otpInfo = otpInfoRepository.findByAccountNumber(accountNumber);
+        if (otpInfo == null) {
+            otpInfoRepository.save(new OtpInfo(accountNumber, newOtp, now));
+            return newOtp;
+        }
+
+        // The row is reused rather than deleted, since account numbers are unique
+        if (otpInfo.getGeneratedAt().isBefore(now.minus(ttl))) {
+            otpInfo.setOtp(newOtp);
+        }
+        otpInfo.setGeneratedAt(now);
+        otpInfoRepository.save(otpInfo);
+        return otpInfo.getOtp();
+    }
+
+    @Override
+    public boolean consume(String accountNumber, String otp, Duration ttl) {
+        return otpInfoRepository.deleteValid(accountNumber, otp, LocalDateTime.now().minus(ttl)) > 0;
+    }
+
+}
@@ -0,0 +1,258 @@
+package com.webapp.bankingportal.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.exception.LedgerOutcomeUnknownException;
+import com.webapp.bankingportal.exception.ServiceUnavailableException;
+import com.webapp.bankingportal.util.ApiMessages;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Optional group-commit engine for ledger postings. Callers hand over postings
+ * that already passed every balance-independent check; a single worker
+ * collects them for a short window and applies the whole batch in one
+ * database transaction through {@link LedgerBatchWriter}. Each caller blocks
+ * for its own outcome, but never unboundedly: a full queue or a posting the
+ * worker has not picked up in time is refused with a 503, and postings still
+ * queued when the worker exits are failed rather than left waiting. A caller
+ * that stops waiting once the worker has claimed its posting gets a
+ * {@link LedgerOutcomeUnknownException}, since the posting may still commit.
+ */
+@Service
+public class LedgerBatchExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerBatchExecutor.class);
+
+    private final LedgerBatchWriter ledgerBatchWriter;
+
+    @Value("${ledger.batching.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ledger.batching.window-ms:5}")
+    private long windowMs;
+
+    @Value("${ledger.batching.max-batch-size:200}")
+    private int maxBatchSize;
+
+    @Value("${ledger.batching.submit-timeout-ms:1000}")
+    private long submitTimeoutMs;
+
+    @Value("${ledger.batching.result-timeout-ms:30000}")
+    private long resultTimeoutMs;
+
+    private BlockingQueue<PendingPosting> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    public LedgerBatchExecutor(LedgerBatchWriter ledgerBatchWriter) {
+        this.ledgerBatchWriter = ledgerBatchWriter;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        // Bounded so a stalled database pushes back on callers instead of growing the heap
+        queue = new LinkedBlockingQueue<>(maxBatchSize * 16);
+        running = true;
+        worker = new Thread(this::run, "ledger-batch");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Ledger batching enabled, window: {} ms, max batch size: {}", windowMs, maxBatchSize);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(10));
+        // The worker fails what is left when it exits; this covers a worker stuck past the join timeout
+        failQueued();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Submits a validated posting and waits until the batch holding it has
+     * committed. Rethrows the posting's own failure, if any, and throws
+     * {@link LedgerOutcomeUnknownException} if it stops waiting after the
+     * worker claimed the posting.
+     */
+    public void execute(TransactionType transactionType, Long sourceAccountId, Long targetAccountId,
+            int targetShardCount, long amount, String category) {
+        if (!running) {
+            throw new IllegalStateException("Ledger batching is not running");
+        }
+
+        PendingPosting pending = new PendingPosting(new LedgerPosting(transactionType, sourceAccountId,
+                targetAccountId, targetShardCount, amount, category));
+        try {
+            if (!queue.offer(pending, submitTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Ledger batch queue is full, refusing posting");
+                throw new ServiceUnavailableException(ApiMessages.LEDGER_BUSY_ERROR.getMessage());
+            }
+            if (!running && pending.claim()) {
+                // Queued after the worker exited and drained the queue, so nothing would ever pick it up
+                throw new IllegalStateException("Ledger batching has shut down");
+            }
+            await(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (pending.claim()) {
+                throw new IllegalStateException("Interrupted while submitting a ledger posting", e);
+            }
+            throw new LedgerOutcomeUnknownException("Interrupted while a ledger posting was being applied", e);
+        }
+    }
+
+    private void await(PendingPosting pending) throws InterruptedException {
+        try {
+            try {
+                pending.result().get(resultTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (pending.claim()) {
+                    // Never picked up by the worker, and now it never will be: nothing was written
+                    log.warn("Ledger posting was not picked up within {} ms, giving up", resultTimeoutMs);
+                    throw new ServiceUnavailableException(ApiMessages.LEDGER_BUSY_ERROR.getMessage());
+                }
+                // Its batch is being written; that transaction is bounded by the database's own timeouts
+                pending.result().get(resultTimeoutMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Ledger posting failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new LedgerOutcomeUnknownException(
+                    "Ledger posting outcome unknown after " + 2 * resultTimeoutMs + " ms", e);
+        }
+    }
+
+    private void run() {
+        List<PendingPosting> batch = new ArrayList<>(maxBatchSize);
+        long windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        try {
+            while (running) {
+                try {
+                    batch.add(queue.take());
+                    long deadline = System.nanoTime() + windowNanos;
+                    while (batch.size() < maxBatchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        PendingPosting next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                } catch (InterruptedException e) {
+                    // Shutting down: finish whatever was already collected, running is now false
+                }
+
+                if (!batch.isEmpty()) {
+                    process(batch);
+                    batch.clear();
+                }
+            }
+        } catch (Throwable e) {
+            log.error("Ledger batch worker stopped unexpectedly", e);
+            throw e;
+        } finally {
+            running = false;
+            for (PendingPosting pending : batch) {
+                fail(pending);
+            }
+            failQueued();
+        }
+    }
+
+    private void process(List<PendingPosting> batch) {
+        List<PendingPosting> claimed = new ArrayList<>(batch.size());
+        List<LedgerPosting> postings = new ArrayList<>(batch.size());
+        for (PendingPosting pending : batch) {
+            // Skips postings whose caller already gave up waiting
+            if (pending.claim()) {
+                claimed.add(pending);
+                postings.add(pending.posting());
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        try {
+            ledgerBatchWriter.write(postings);
+        } catch (Throwable e) {
+            log.error("Ledger batch of {} postings could not be applied", claimed.size(), e);
+            RuntimeException failure = e instanceof RuntimeException runtimeException ? runtimeException
+                    : new IllegalStateException("Ledger batch could not be applied", e);
+            for (PendingPosting pending : claimed) {
+                pending.posting().setFailure(failure);
+            }
+        }
+
+        for (PendingPosting pending : claimed) {
+            RuntimeException failure = pending.posting().getFailure();
+            if (failure != null) {
+                pending.result().completeExceptionally(failure);
+            } else {
+                pending.result().complete(null);
+            }
+        }
+    }
+
+    private void failQueued() {
+        List<PendingPosting> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        for (PendingPosting posting : pending) {
+            fail(posting);
+        }
+    }
+
+    private static void fail(PendingPosting pending) {
+        if (pending.claim()) {
+            pending.result().completeExceptionally(new IllegalStateException("Ledger batching has shut down"));
+        }
+    }
+
+    /**
+     * The worker and a caller that stops waiting race to claim the posting;
+     * whoever claims it first decides whether it is written.
+     */
+    private record PendingPosting(LedgerPosting posting, CompletableFuture<Void> result, AtomicBoolean claimed) {
+
+        PendingPosting(LedgerPosting posting) {
+            this(posting, new CompletableFuture<>(), new AtomicBoolean());
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+}
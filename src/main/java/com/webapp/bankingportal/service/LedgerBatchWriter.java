@@ -0,0 +1,233 @@
+package com.webapp.bankingportal.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.exception.InsufficientBalanceException;
+import com.webapp.bankingportal.exception.NotFoundException;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.util.ApiMessages;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies many validated postings in one database transaction:
+ * <ul>
+ * <li>all involved account rows are locked with one statement, in id order,</li>
+ * <li>balances are updated in memory and each account is written once, in one JDBC batch,</li>
+ * <li>transaction and journal rows are written as JDBC batches,</li>
+ * <li>rollup rows and hot-account shards are upserted once per key.</li>
+ * </ul>
+ * A posting rejected for insufficient balance does not affect the others; if
+ * the transaction itself fails, the postings are retried one by one so each
+ * still gets its own outcome.
+ */
+@Service
+public class LedgerBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerBatchWriter.class);
+
+    private static final String INSERT_TRANSACTION_SQL = "INSERT INTO transaction "
+            + "(amount_minor, transaction_type, transaction_date, source_account_id, target_account_id, category) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final AccountRepository accountRepository;
+    private final BalanceShardService balanceShardService;
+    private final LedgerJournalService ledgerJournalService;
+    private final TransactionRollupService transactionRollupService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public LedgerBatchWriter(AccountRepository accountRepository,
+            BalanceShardService balanceShardService,
+            LedgerJournalService ledgerJournalService,
+            TransactionRollupService transactionRollupService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.balanceShardService = balanceShardService;
+        this.ledgerJournalService = ledgerJournalService;
+        this.transactionRollupService = transactionRollupService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Applies the postings and records each one's outcome on the posting.
+     */
+    public void write(List<LedgerPosting> postings) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(postings));
+        } catch (RuntimeException e) {
+            if (postings.size() > 1) {
+                log.warn("Ledger batch of {} postings failed, retrying them one by one", postings.size(), e);
+                for (LedgerPosting posting : postings) {
+                    write(List.of(posting));
+                }
+                return;
+            }
+            postings.get(0).setFailure(e);
+        }
+    }
+
+    private void apply(List<LedgerPosting> postings) {
+        // Sharded targets are credited through their shards and never locked
+        Set<Long> lockIds = new TreeSet<>();
+        for (LedgerPosting posting : postings) {
+            posting.setFailure(null);
+            lockIds.add(posting.getSourceAccountId());
+            if (posting.getTargetAccountId() != null && posting.getTargetShardCount() == 0) {
+                lockIds.add(posting.getTargetAccountId());
+            }
+        }
+
+        // Balances change in memory only; each changed account is written once at the end
+        Map<Long, Long> balances = new HashMap<>();
+        for (AccountRepository.LockedBalance locked : accountRepository.lockBalances(lockIds)) {
+            balances.put(locked.getId(), locked.getBalance());
+        }
+        Set<Long> changed = new TreeSet<>();
+
+        Date now = new Date();
+        List<Transaction> transactions = new ArrayList<>(postings.size());
+        Map<Long, Long> shardCredits = new HashMap<>();
+        Map<Long, Integer> shardCounts = new HashMap<>();
+        for (LedgerPosting posting : postings) {
+            Long sourceId = posting.getSourceAccountId();
+            Long targetId = posting.getTargetAccountId();
+            boolean shardedTarget = targetId != null && posting.getTargetShardCount() > 0;
+            if (!balances.containsKey(sourceId) || (targetId != null && !shardedTarget && !balances.containsKey(targetId))) {
+                posting.setFailure(new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage()));
+                continue;
+            }
+
+            long amount = posting.getAmount();
+            if (posting.getTransactionType() == TransactionType.CASH_DEPOSIT) {
+                balances.merge(sourceId, amount, Long::sum);
+            } else {
+                if (balances.get(sourceId) < amount) {
+                    balances.merge(sourceId, balanceShardService.drainShards(sourceId), Long::sum);
+                    changed.add(sourceId);
+                }
+                if (balances.get(sourceId) < amount) {
+                    posting.setFailure(new InsufficientBalanceException(
+                            ApiMessages.BALANCE_INSUFFICIENT_ERROR.getMessage()));
+                    continue;
+                }
+
+                balances.merge(sourceId, -amount, Long::sum);
+                if (shardedTarget) {
+                    shardCredits.merge(targetId, amount, Long::sum);
+                    shardCounts.put(targetId, posting.getTargetShardCount());
+                } else if (targetId != null) {
+                    balances.merge(targetId, amount, Long::sum);
+                    changed.add(targetId);
+                }
+            }
+            changed.add(sourceId);
+
+            // The rows are written with JDBC, the accounts are only needed for their ids
+            Transaction transaction = new Transaction();
+            transaction.setAmount(amount);
+            transaction.setTransactionType(posting.getTransactionType());
+            transaction.setTransactionDate(now);
+            transaction.setSourceAccount(accountRepository.getReferenceById(sourceId));
+            transaction.setTargetAccount(targetId != null ? accountRepository.getReferenceById(targetId) : null);
+            transaction.setCategory(posting.getCategory());
+            transactions.add(transaction);
+        }
+
+        if (!changed.isEmpty()) {
+            updateBalances(changed, balances);
+        }
+        if (transactions.isEmpty()) {
+            return;
+        }
+
+        insertTransactions(transactions);
+        ledgerJournalService.postAll(transactions);
+        transactionRollupService.recordTransactions(transactions);
+        for (Map.Entry<Long, Long> credit : shardCredits.entrySet()) {
+            balanceShardService.credit(credit.getKey(), shardCounts.get(credit.getKey()), credit.getValue());
+        }
+        log.debug("Applied ledger batch of {} postings, {} rejected", transactions.size(),
+                postings.size() - transactions.size());
+    }
+
+    private void updateBalances(Set<Long> accountIds, Map<Long, Long> balances) {
+        List<Long> ids = new ArrayList<>(accountIds);
+        jdbcTemplate.batchUpdate("UPDATE account SET balance_minor = ? WHERE id = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, balances.get(ids.get(i)));
+                        ps.setLong(2, ids.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return ids.size();
+                    }
+                });
+    }
+
+    /**
+     * Writes the transaction rows as one JDBC batch and copies the generated
+     * ids back, which the journal entries reference.
+     */
+    private void insertTransactions(List<Transaction> transactions) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_TRANSACTION_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Transaction transaction = transactions.get(i);
+                        ps.setLong(1, transaction.getAmount());
+                        ps.setString(2, transaction.getTransactionType().name());
+                        ps.setTimestamp(3, new Timestamp(transaction.getTransactionDate().getTime()));
+                        ps.setLong(4, transaction.getSourceAccount().getId());
+                        if (transaction.getTargetAccount() == null) {
+                            ps.setNull(5, Types.BIGINT);
+                        } else {
+                            ps.setLong(5, transaction.getTargetAccount().getId());
+                        }
+                        ps.setString(6, transaction.getCategory());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return transactions.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < transactions.size(); i++) {
+            Number id = (Number) keys.get(i).values().iterator().next();
+            transactions.get(i).setId(id.longValue());
+        }
+    }
+
+}
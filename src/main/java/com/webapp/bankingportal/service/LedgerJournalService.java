@@ -0,0 +1,15 @@
+package com.webapp.bankingportal.service;
+
+import java.util.List;
+
+import com.webapp.bankingportal.dto.LedgerVerificationReport;
+import com.webapp.bankingportal.entity.Transaction;
+
+public interface LedgerJournalService {
+
+    void post(Transaction transaction);
+
+    void postAll(List<Transaction> transactions);
+
+    LedgerVerificationReport verify(boolean repair);
+}
@@ -0,0 +1,283 @@
+package com.webapp.bankingportal.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.dto.LedgerVerificationReport;
+import com.webapp.bankingportal.dto.LedgerVerificationReport.AccountMismatch;
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.repository.AccountBalanceShardRepository;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.JournalEntryRepository;
+import com.webapp.bankingportal.util.MoneyUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Service
+public class LedgerJournalServiceImpl implements LedgerJournalService {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerJournalServiceImpl.class);
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final AccountRepository accountRepository;
+    private final AccountBalanceShardRepository shardRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ledger.verify.on-startup:false}")
+    private boolean verifyOnStartup;
+
+    public LedgerJournalServiceImpl(JournalEntryRepository journalEntryRepository,
+            AccountRepository accountRepository,
+            AccountBalanceShardRepository shardRepository,
+            JdbcTemplate jdbcTemplate,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager) {
+        this.journalEntryRepository = journalEntryRepository;
+        this.accountRepository = accountRepository;
+        this.shardRepository = shardRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // MySQL Connector/J streams rows one at a time instead of buffering the whole result
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Must run inside the transaction that persists the ledger row, so the
+     * journal, the raw history and the cached balances commit together.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void post(Transaction transaction) {
+        journalEntryRepository.appendPosting(transaction.getId(), debitAccountId(transaction),
+                creditAccountId(transaction), transaction.getAmount(), transaction.getTransactionDate());
+    }
+
+    /**
+     * Appends the entries of many persisted transactions as one JDBC batch.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void postAll(List<Transaction> transactions) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO journal_entry (transaction_id, account_id, amount_minor, created_at) VALUES (?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        // Even rows are debits, odd rows the matching credits
+                        Transaction transaction = transactions.get(i / 2);
+                        boolean debit = i % 2 == 0;
+                        Long accountId = debit ? debitAccountId(transaction) : creditAccountId(transaction);
+                        ps.setLong(1, transaction.getId());
+                        if (accountId == null) {
+                            ps.setNull(2, Types.BIGINT);
+                        } else {
+                            ps.setLong(2, accountId);
+                        }
+                        ps.setLong(3, debit ? -transaction.getAmount() : transaction.getAmount());
+                        ps.setTimestamp(4, new Timestamp(transaction.getTransactionDate().getTime()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return transactions.size() * 2;
+                    }
+                });
+    }
+
+    // A null account id stands for the bank's cash ledger
+    private static Long debitAccountId(Transaction transaction) {
+        switch (transaction.getTransactionType()) {
+            case CASH_DEPOSIT:
+            case CASH_CREDIT:
+                return null;
+            case CASH_WITHDRAWAL:
+            case CASH_TRANSFER:
+                return transaction.getSourceAccount().getId();
+            default:
+                throw new IllegalArgumentException("Unsupported transaction type: " + transaction.getTransactionType());
+        }
+    }
+
+    private static Long creditAccountId(Transaction transaction) {
+        switch (transaction.getTransactionType()) {
+            case CASH_DEPOSIT:
+            case CASH_CREDIT:
+                return transaction.getSourceAccount().getId();
+            case CASH_WITHDRAWAL:
+                return null;
+            case CASH_TRANSFER:
+                return transaction.getTargetAccount().getId();
+            default:
+                throw new IllegalArgumentException("Unsupported transaction type: " + transaction.getTransactionType());
+        }
+    }
+
+    /**
+     * Streams the whole journal once, ordered by account, and compares each
+     * account's running sum with its cached balance plus unsettled shards.
+     * Differences seen during the scan may be in-flight postings, so each one
+     * is re-checked under the account lock before it is reported and, when
+     * {@code repair} is set, the cached balance is rewritten from the journal.
+     */
+    @Override
+    public LedgerVerificationReport verify(boolean repair) {
+        log.info("Verifying account balances against the ledger journal");
+        Map<Long, Long> snapshots = new HashMap<>();
+        streamingJdbcTemplate.query("SELECT a.id, a.balance_minor + COALESCE("
+                + "(SELECT SUM(s.balance_minor) FROM account_balance_shard s WHERE s.account_id = a.id), 0) "
+                + "FROM account a",
+                rs -> {
+                    snapshots.put(rs.getLong(1), rs.getLong(2));
+                });
+
+        JournalScan scan = new JournalScan(snapshots);
+        streamingJdbcTemplate.query("SELECT account_id, amount_minor FROM journal_entry ORDER BY account_id",
+                rs -> {
+                    long accountId = rs.getLong(1);
+                    scan.accept(rs.wasNull() ? null : accountId, rs.getLong(2));
+                });
+        scan.finish();
+
+        LedgerVerificationReport report = new LedgerVerificationReport();
+        report.setAccountsChecked(snapshots.size());
+        report.setEntriesScanned(scan.entries);
+        report.setJournalTotal(MoneyUtil.toMajorUnits(scan.total));
+
+        List<AccountMismatch> mismatches = new ArrayList<>();
+        for (Long accountId : scan.candidates) {
+            AccountMismatch mismatch = transactionTemplate.execute(status -> recheckAccount(accountId, repair));
+            if (mismatch != null) {
+                mismatches.add(mismatch);
+            }
+        }
+        report.setMismatches(mismatches);
+        report.setRepaired(repair ? mismatches.size() : 0);
+
+        if (report.isBalanced()) {
+            log.info("Ledger verified: {} accounts, {} journal entries", report.getAccountsChecked(),
+                    report.getEntriesScanned());
+        } else {
+            log.warn("Ledger verification found journal total {} and {} mismatched accounts{}",
+                    report.getJournalTotal(), mismatches.size(), repair ? " (repaired)" : "");
+        }
+        return report;
+    }
+
+    /**
+     * Compares one account under its row lock. The lock is taken before any
+     * other read, so the journal and shard sums see every settle committed
+     * before it and sharded credits land in both sums or neither.
+     */
+    private AccountMismatch recheckAccount(Long accountId, boolean repair) {
+        Account account = accountRepository.findByIdForUpdate(accountId);
+        if (account == null) {
+            return null;
+        }
+
+        long journalBalance = journalEntryRepository.sumAmountByAccountId(accountId);
+        long unsettled = shardRepository.sumBalanceByAccountId(accountId);
+        long snapshotBalance = account.getBalance() + unsettled;
+        if (snapshotBalance == journalBalance) {
+            return null;
+        }
+
+        log.warn("Balance of account: {} is {} but its journal sums to {}", account.getAccountNumber(),
+                MoneyUtil.toMajorUnits(snapshotBalance), MoneyUtil.toMajorUnits(journalBalance));
+        if (repair) {
+            account.setBalance(journalBalance - unsettled);
+            accountRepository.save(account);
+        }
+        return new AccountMismatch(account.getAccountNumber(), MoneyUtil.toMajorUnits(snapshotBalance),
+                MoneyUtil.toMajorUnits(journalBalance));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyIfEnabled() {
+        if (verifyOnStartup) {
+            verify(false);
+        }
+    }
+
+    /**
+     * Running state of the journal stream. Entries arrive grouped by account,
+     * so only the current account's sum is held in memory.
+     */
+    private static class JournalScan {
+        private final Map<Long, Long> snapshots;
+        private final List<Long> candidates = new ArrayList<>();
+        private final Set<Long> seen = new HashSet<>();
+        private long entries;
+        private long total;
+        private Long currentAccountId;
+        private long currentSum;
+
+        JournalScan(Map<Long, Long> snapshots) {
+            this.snapshots = snapshots;
+        }
+
+        void accept(Long accountId, long amount) {
+            entries++;
+            total += amount;
+            if (accountId == null) {
+                return;
+            }
+
+            if (!accountId.equals(currentAccountId)) {
+                finishAccount();
+                currentAccountId = accountId;
+                currentSum = 0;
+            }
+            currentSum += amount;
+        }
+
+        void finish() {
+            finishAccount();
+            // Accounts with a balance but no journal entries at all
+            for (Map.Entry<Long, Long> snapshot : snapshots.entrySet()) {
+                if (snapshot.getValue() != 0 && !seen.contains(snapshot.getKey())) {
+                    candidates.add(snapshot.getKey());
+                }
+            }
+        }
+
+        private void finishAccount() {
+            if (currentAccountId == null) {
+                return;
+            }
+
+            seen.add(currentAccountId);
+            Long snapshot = snapshots.get(currentAccountId);
+            if (snapshot == null || snapshot != currentSum) {
+                candidates.add(currentAccountId);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.webapp.bankingportal.service;
+
+import com.webapp.bankingportal.entity.TransactionType;
+
+/**
+ * A deposit, withdrawal or transfer that already passed every
+ * balance-independent check and waits to be applied by
+ * {@link LedgerBatchWriter}. After the write, {@link #getFailure()} holds the
+ * reason the posting was rejected, or null when it committed.
+ */
+public class LedgerPosting {
+
+    private final TransactionType transactionType;
+    private final Long sourceAccountId;
+    private final Long targetAccountId;
+    // Shard count of the target when the posting was validated, 0 for an unsharded target
+    private final int targetShardCount;
+    // Minor units (cents)
+    private final long amount;
+    private final String category;
+    private RuntimeException failure;
+
+    public LedgerPosting(TransactionType transactionType, Long sourceAccountId, Long targetAccountId,
+            int targetShardCount, long amount, String category) {
+        this.transactionType = transactionType;
+        this.sourceAccountId = sourceAccountId;
+        this.targetAccountId = targetAccountId;
+        this.targetShardCount = targetShardCount;
+        this.amount = amount;
+        this.category = category;
+    }
+
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public Long getSourceAccountId() {
+        return sourceAccountId;
+    }
+
+    public Long getTargetAccountId() {
+        return targetAccountId;
+    }
+
+    public int getTargetShardCount() {
+        return targetShardCount;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    public void setFailure(RuntimeException failure) {
+        this.failure = failure;
+    }
+}
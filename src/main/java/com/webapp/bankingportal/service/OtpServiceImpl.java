@@ -1,19 +1,16 @@
 package com.webapp.bankingportal.service;
 
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.Random;
-import java.util.concurrent.CompletableFuture;
+import java.security.SecureRandom;
+import java.time.Duration;
 
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
-import com.webapp.bankingportal.entity.OtpInfo;
+import com.webapp.bankingportal.dto.RenderedEmail;
 import com.webapp.bankingportal.exception.AccountDoesNotExistException;
 import com.webapp.bankingportal.exception.InvalidOtpException;
 import com.webapp.bankingportal.exception.OtpRetryLimitExceededException;
-import com.webapp.bankingportal.repository.OtpInfoRepository;
+import com.webapp.bankingportal.type.CacheKeyType;
+import com.webapp.bankingportal.type.EmailTemplateType;
 import com.webapp.bankingportal.util.ValidationUtil;
 import com.webapp.bankingportal.util.ApiMessages;
 
@@ -27,23 +24,26 @@ public class OtpServiceImpl implements OtpService {
 
     public static final int OTP_ATTEMPTS_LIMIT = 3;
     public static final int OTP_EXPIRY_MINUTES = 5;
-    public static final int OTP_RESET_WAITING_TIME_MINUTES = 10;
-    public static final int OTP_RETRY_LIMIT_WINDOW_MINUTES = 15;
+    public static final int OTP_VERIFICATION_ATTEMPTS_LIMIT = 5;
 
-    private final CacheManager cacheManager;
-    private final EmailService emailService;
-    private final OtpInfoRepository otpInfoRepository;
-    private final ValidationUtil validationUtil;
+    private static final Duration OTP_TTL = Duration.ofMinutes(OTP_EXPIRY_MINUTES);
+    private static final SecureRandom RANDOM = new SecureRandom();
 
-    private LocalDateTime otpLimitReachedTime = null;
+    private final EmailOutboxService emailOutboxService;
+    private final EmailTemplateService emailTemplateService;
+    private final OtpStore otpStore;
+    private final RateLimiterService rateLimiterService;
+    private final ValidationUtil validationUtil;
 
-    public OtpServiceImpl(CacheManager cacheManager,
-                         EmailService emailService,
-                         OtpInfoRepository otpInfoRepository,
+    public OtpServiceImpl(EmailOutboxService emailOutboxService,
+                         EmailTemplateService emailTemplateService,
+                         OtpStore otpStore,
+                         RateLimiterService rateLimiterService,
                          ValidationUtil validationUtil) {
-        this.cacheManager = cacheManager;
-        this.emailService = emailService;
-        this.otpInfoRepository = otpInfoRepository;
+        this.emailOutboxService = emailOutboxService;
+        this.emailTemplateService = emailTemplateService;
+        this.otpStore = otpStore;
+        this.rateLimiterService = rateLimiterService;
         this.validationUtil = validationUtil;
     }
 
@@ -55,147 +55,51 @@ public class OtpServiceImpl implements OtpService {
             throw new AccountDoesNotExistException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
         }
 
-        OtpInfo existingOtpInfo = otpInfoRepository.findByAccountNumber(accountNumber);
-        if (existingOtpInfo == null) {
-            incrementOtpAttempts(accountNumber);
-            return generateNewOTP(accountNumber);
-        }
-
-        validateOtpWithinRetryLimit(existingOtpInfo);
-
-        if (isOtpExpired(existingOtpInfo)) {
-            log.debug("Existing OTP expired, generating new OTP for account: {}", accountNumber);
-            return generateNewOTP(accountNumber);
-        }
-
-        // Existing OTP is not expired
-        existingOtpInfo.setGeneratedAt(LocalDateTime.now());
-        incrementOtpAttempts(accountNumber);
-        log.info("Reusing existing OTP for account: {}", accountNumber);
-        return existingOtpInfo.getOtp();
-    }
-
-    private void validateOtpWithinRetryLimit(OtpInfo otpInfo) {
-        if (!isOtpRetryLimitExceeded(otpInfo)) {
-            return;
-        }
-
-        LocalDateTime now = LocalDateTime.now();
-
-        if (otpLimitReachedTime == null) {
-            otpLimitReachedTime = now;
-        }
-
-        long waitingMinutes = OTP_RESET_WAITING_TIME_MINUTES - otpLimitReachedTime.until(now, ChronoUnit.MINUTES);
-
-        log.warn("OTP retry limit exceeded for account: {}, waiting minutes: {}", otpInfo.getAccountNumber(), waitingMinutes);
-        throw new OtpRetryLimitExceededException(
-                String.format(ApiMessages.OTP_GENERATION_LIMIT_EXCEEDED.getMessage(), waitingMinutes));
-    }
-
-    private boolean isOtpRetryLimitExceeded(OtpInfo otpInfo) {
-        int attempts = getOtpAttempts(otpInfo.getAccountNumber());
-        if (attempts < OTP_ATTEMPTS_LIMIT) {
-            return false;
-        }
-
-        if (isOtpResetWaitingTimeExceeded()) {
-            resetOtpAttempts(otpInfo.getAccountNumber());
-            return false;
-        }
-
-        LocalDateTime now = LocalDateTime.now();
-
-        return otpInfo.getGeneratedAt().isAfter(now.minusMinutes(OTP_RETRY_LIMIT_WINDOW_MINUTES));
-    }
-
-    private boolean isOtpResetWaitingTimeExceeded() {
-        LocalDateTime now = LocalDateTime.now();
-        return otpLimitReachedTime != null
-                && otpLimitReachedTime.isBefore(now.minusMinutes(OTP_RESET_WAITING_TIME_MINUTES));
-    }
-
-    private void incrementOtpAttempts(String accountNumber) {
-        if (!validationUtil.doesAccountExist(accountNumber)) {
-            throw new AccountDoesNotExistException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
-        }
-
-        Cache cache = cacheManager.getCache("otpAttempts");
-        if (cache != null) {
-            cache.put(accountNumber, getOtpAttempts(accountNumber) + 1);
-        }
-    }
-
-    private void resetOtpAttempts(String accountNumber) {
-        log.debug("Resetting OTP attempts for account: {}", accountNumber);
-        otpLimitReachedTime = null;
-        Cache cache = cacheManager.getCache("otpAttempts");
-        if (cache != null) {
-            cache.put(accountNumber, 0);
+        // Every request counts, whether it issues a new OTP or resends the current one
+        RateLimiterService.Decision decision = rateLimiterService.tryAcquire(
+                CacheKeyType.OTP_GENERATION_ATTEMPT, accountNumber, OTP_ATTEMPTS_LIMIT);
+        if (!decision.allowed()) {
+            log.warn("OTP retry limit exceeded for account: {}, waiting minutes: {}",
+                    accountNumber, decision.retryAfterMinutes());
+            throw new OtpRetryLimitExceededException(String.format(
+                    ApiMessages.OTP_GENERATION_LIMIT_EXCEEDED.getMessage(), decision.retryAfterMinutes()));
         }
-    }
 
-    private int getOtpAttempts(String accountNumber) {
-        int otpAttempts = 0;
-        Cache cache = cacheManager.getCache("otpAttempts");
-        if (cache == null) {
-            return otpAttempts;
-        }
-
-        Integer value = cache.get(accountNumber, Integer.class);
-        if (value != null) {
-            otpAttempts = value;
-        }
-
-        return otpAttempts;
-    }
-
-    private String generateNewOTP(String accountNumber) {
-        log.debug("Generating new OTP for account: {}", accountNumber);
-        Random random = new Random();
-        int otpValue = 100_000 + random.nextInt(900_000);
-        String otp = String.valueOf(otpValue);
-
-        otpInfoRepository.save(new OtpInfo(accountNumber, otp, LocalDateTime.now()));
-        log.info("New OTP generated for account: {}", accountNumber);
+        // An unexpired OTP is sent again, with its lifetime restarted
+        String newOtp = String.valueOf(100_000 + RANDOM.nextInt(900_000));
+        String otp = otpStore.issue(accountNumber, newOtp, OTP_TTL);
+        log.info("{} OTP for account: {}", otp.equals(newOtp) ? "New" : "Reusing existing", accountNumber);
         return otp;
     }
 
     @Override
-    public CompletableFuture<Void> sendOTPByEmail(String email, String name, String accountNumber, String otp) {
-        log.info("Sending OTP by email to: {} for account: {}", email, accountNumber);
-        String emailText = emailService.getOtpLoginEmailTemplate(name, "xxx" + accountNumber.substring(3), otp);
-        return emailService.sendEmail(email, ApiMessages.EMAIL_SUBJECT_OTP.getMessage(), emailText);
+    public void sendOTPByEmail(String email, String name, String accountNumber, String otp) {
+        log.info("Queueing OTP email to: {} for account: {}", email, accountNumber);
+        RenderedEmail content = emailTemplateService.render(EmailTemplateType.OTP_LOGIN,
+                name, "xxx" + accountNumber.substring(3), otp, String.valueOf(OTP_EXPIRY_MINUTES));
+        emailOutboxService.enqueue(email, ApiMessages.EMAIL_SUBJECT_OTP.getMessage(), content);
     }
 
     @Override
     public boolean validateOTP(String accountNumber, String otp) {
         log.debug("Validating OTP for account: {}", accountNumber);
-        OtpInfo otpInfo = otpInfoRepository.findByAccountNumberAndOtp(accountNumber, otp);
-        if (otpInfo == null) {
-            log.warn("Invalid OTP for account: {}", accountNumber);
-            throw new InvalidOtpException(ApiMessages.OTP_INVALID_ERROR.getMessage());
+        RateLimiterService.Decision decision = rateLimiterService.tryAcquire(
+                CacheKeyType.OTP_VERIFICATION_ATTEMPT, accountNumber, OTP_VERIFICATION_ATTEMPTS_LIMIT);
+        if (!decision.allowed()) {
+            log.warn("OTP verification limit exceeded for account: {}", accountNumber);
+            throw new OtpRetryLimitExceededException(String.format(
+                    ApiMessages.OTP_VERIFICATION_LIMIT_EXCEEDED.getMessage(), decision.retryAfterMinutes()));
         }
 
-        boolean isValid = !isOtpExpired(otpInfo);
-        if (isValid) {
-            log.info("OTP validated successfully for account: {}", accountNumber);
-        } else {
-            log.warn("OTP expired for account: {}", accountNumber);
-        }
-        return isValid;
-    }
-
-    private boolean isOtpExpired(OtpInfo otpInfo) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime generatedAt = otpInfo.getGeneratedAt();
-        boolean expired = generatedAt.isBefore(now.minusMinutes(OTP_EXPIRY_MINUTES));
-        if (expired) {
-            log.debug("OTP expired, deleting from repository for account: {}", otpInfo.getAccountNumber());
-            otpInfoRepository.delete(otpInfo);
+        // Expired OTPs are gone from the store, so they fail the same way as wrong ones
+        if (!otpStore.consume(accountNumber, otp, OTP_TTL)) {
+            log.warn("Invalid or expired OTP for account: {}", accountNumber);
+            throw new InvalidOtpException(ApiMessages.OTP_INVALID_ERROR.getMessage());
         }
 
-        return expired;
+        rateLimiterService.reset(CacheKeyType.OTP_VERIFICATION_ATTEMPT, accountNumber);
+        log.info("OTP validated successfully for account: {}", accountNumber);
+        return true;
     }
 
 }
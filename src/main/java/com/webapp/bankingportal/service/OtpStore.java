@@ -0,0 +1,23 @@
+package com.webapp.bankingportal.service;
+
+import java.time.Duration;
+
+/**
+ * Holds the one active OTP of each account until it is used or expires.
+ */
+public interface OtpStore {
+
+    /**
+     * Returns the account's active OTP and restarts its lifetime, or stores
+     * {@code newOtp} if there is none.
+     */
+    public String issue(String accountNumber, String newOtp, Duration ttl);
+
+    /**
+     * Deletes the account's OTP if it is unexpired and equal to {@code otp},
+     * as one atomic step, so an OTP can be used at most once.
+     *
+     * @return Whether the OTP matched.
+     */
+    public boolean consume(String accountNumber, String otp, Duration ttl);
+}
@@ -0,0 +1,18 @@
+package com.webapp.bankingportal.service;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * The application's {@link PasswordEncoder}. BCrypt work for passwords and
+ * PINs runs on a small dedicated pool instead of the request thread, and
+ * callers are turned away with
+ * {@link com.webapp.bankingportal.exception.ServiceUnavailableException}
+ * once that pool and its queue are full.
+ */
+public interface PasswordHashingService extends PasswordEncoder {
+
+    /**
+     * The BCrypt work factor new hashes are created with.
+     */
+    public int getStrength();
+}
@@ -0,0 +1,191 @@
+package com.webapp.bankingportal.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.webapp.bankingportal.exception.ServiceUnavailableException;
+import com.webapp.bankingportal.util.ApiMessages;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs BCrypt on a fixed pool with a bounded queue. Work that finds both full
+ * is rejected at once, so a login storm costs a fast 503 rather than a
+ * request thread stuck behind hundreds of hashes.
+ *
+ * <p>The work factor is calibrated at startup: the highest strength within
+ * {@code [min-strength, max-strength]} whose hash still fits in
+ * {@code target-millis} on this hardware. Stored hashes below that strength
+ * are upgraded on the next successful login, but only while the pool has no
+ * backlog.
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingServiceImpl.class);
+
+    private static final String CALIBRATION_INPUT = "calibration-input";
+
+    private final ThreadPoolExecutor executor;
+    private final BCryptPasswordEncoder encoder;
+    private final int strength;
+    private final long timeoutMillis;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejected;
+
+    public PasswordHashingServiceImpl(MeterRegistry meterRegistry,
+            @Value("${security.hashing.pool-size:0}") int poolSize,
+            @Value("${security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.hashing.timeout-ms:5000}") long timeoutMillis,
+            @Value("${security.hashing.min-strength:10}") int minStrength,
+            @Value("${security.hashing.max-strength:14}") int maxStrength,
+            @Value("${security.hashing.target-millis:100}") long targetMillis) {
+        if (minStrength > maxStrength) {
+            throw new IllegalArgumentException("security.hashing.min-strength must not exceed max-strength");
+        }
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.strength = calibrate(minStrength, maxStrength, targetMillis);
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.timeoutMillis = timeoutMillis;
+
+        this.encodeTimer = Timer.builder("security.hashing.duration")
+                .description("Time spent computing a BCrypt hash")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("security.hashing.duration")
+                .description("Time spent computing a BCrypt hash")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("security.hashing.queue.wait")
+                .description("Time hashing work waits for a free hashing thread")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("security.hashing.rejected")
+                .description("Hashing work turned away because the pool and its queue were full")
+                .register(meterRegistry);
+        Gauge.builder("security.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Hashing work waiting for a free hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("security.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing threads currently computing a hash")
+                .register(meterRegistry);
+        Gauge.builder("security.hashing.strength", this, PasswordHashingServiceImpl::getStrength)
+                .description("BCrypt work factor of new hashes")
+                .register(meterRegistry);
+
+        log.info("Password hashing on {} threads, queue capacity: {}, BCrypt strength: {}",
+                threads, queueCapacity, strength);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(encodeTimer, () -> encoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (!encoder.upgradeEncoding(encodedPassword)) {
+            return false;
+        }
+        // A rehash is one more hash on top of the login's own: leave it for a quieter login
+        return executor.getQueue().isEmpty();
+    }
+
+    private <T> T execute(Timer timer, Supplier<T> work) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.record(work);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing saturated, queue depth: {}", executor.getQueue().size());
+            throw new ServiceUnavailableException(ApiMessages.PASSWORD_HASHING_BUSY_ERROR.getMessage(), e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            log.warn("Password hashing timed out after {} ms", timeoutMillis);
+            throw new ServiceUnavailableException(ApiMessages.PASSWORD_HASHING_BUSY_ERROR.getMessage(), e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static int calibrate(int minStrength, int maxStrength, long targetMillis) {
+        if (targetMillis <= 0 || minStrength == maxStrength) {
+            return minStrength;
+        }
+
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        // The first hash pays for class loading and JIT warm-up
+        probe.encode(CALIBRATION_INPUT);
+        long start = System.nanoTime();
+        probe.encode(CALIBRATION_INPUT);
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        // Every extra point of strength doubles the cost
+        int calibrated = minStrength;
+        while (calibrated < maxStrength && millis * 2 <= targetMillis) {
+            calibrated++;
+            millis *= 2;
+        }
+        return calibrated;
+    }
+
+}
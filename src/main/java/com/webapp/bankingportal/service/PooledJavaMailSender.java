@@ -0,0 +1,231 @@
+package com.webapp.bankingportal.service;
+
+import java.util.Date;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link JavaMailSenderImpl} that keeps up to {@code poolSize} authenticated
+ * SMTP connections open between sends instead of connecting, negotiating TLS
+ * and logging in for every call. All messages of one
+ * {@code send(MimeMessage...)} go over a single borrowed connection.
+ *
+ * <p>Connections idle for longer than {@code maxIdleMillis} are closed rather
+ * than reused, since servers drop them after a while. When a send fails and
+ * the connection turns out to be dead, the message is retried once on a new
+ * connection.
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl {
+
+    private static final Logger log = LoggerFactory.getLogger(PooledJavaMailSender.class);
+
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    private final long borrowTimeoutMillis;
+    private final long maxIdleMillis;
+    private final Semaphore permits;
+    // Most recently returned first: the freshest connection is the least likely to have been dropped
+    private final Deque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+
+    private final Counter connectionsOpened;
+    private final Counter connectionsReused;
+    private final Counter connectionsDiscarded;
+    private final Timer sendSuccess;
+    private final Timer sendFailure;
+
+    public PooledJavaMailSender(MeterRegistry meterRegistry, int poolSize, long borrowTimeoutMillis,
+            long maxIdleMillis) {
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.maxIdleMillis = maxIdleMillis;
+        this.permits = new Semaphore(poolSize, true);
+
+        this.connectionsOpened = meterRegistry.counter("mail.smtp.connections", "event", "opened");
+        this.connectionsReused = meterRegistry.counter("mail.smtp.connections", "event", "reused");
+        this.connectionsDiscarded = meterRegistry.counter("mail.smtp.connections", "event", "discarded");
+        this.sendSuccess = meterRegistry.timer("mail.smtp.send", "outcome", "success");
+        this.sendFailure = meterRegistry.timer("mail.smtp.send", "outcome", "failure");
+        Gauge.builder("mail.smtp.connections.idle", idle, Deque::size).register(meterRegistry);
+        Gauge.builder("mail.smtp.connections.active", permits, p -> poolSize - p.availablePermits())
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() {
+        PooledConnection connection;
+        while ((connection = idle.pollFirst()) != null) {
+            discard(connection);
+        }
+    }
+
+    @Override
+    protected void doSend(@NonNull MimeMessage[] mimeMessages, @Nullable Object[] originalMessages)
+            throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        PooledConnection connection = borrow();
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                Object original = originalMessages != null ? originalMessages[i] : mimeMessages[i];
+                long start = System.nanoTime();
+                try {
+                    sendMessage(connection, mimeMessages[i]);
+                    sendSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                } catch (MessagingException ex) {
+                    sendFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    failedMessages.put(original, ex);
+                    if (connection.transport == null) {
+                        // Reconnecting failed as well, so the rest of the batch would too
+                        for (int j = i + 1; j < mimeMessages.length; j++) {
+                            failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], ex);
+                        }
+                        break;
+                    }
+                }
+            }
+        } finally {
+            release(connection);
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    private void sendMessage(PooledConnection connection, MimeMessage mimeMessage) throws MessagingException {
+        prepareMimeMessage(mimeMessage);
+        Address[] addresses = mimeMessage.getAllRecipients();
+        Address[] recipients = addresses != null ? addresses : new Address[0];
+
+        try {
+            connection.transport.sendMessage(mimeMessage, recipients);
+        } catch (MessagingException ex) {
+            if (connection.transport.isConnected()) {
+                // Rejected by the server; the connection itself is fine
+                throw ex;
+            }
+
+            log.warn("SMTP connection lost, reconnecting: {}", ex.getMessage());
+            discard(connection);
+            connection.transport = connectTransport();
+            connectionsOpened.increment();
+            connection.transport.sendMessage(mimeMessage, recipients);
+        }
+    }
+
+    private void prepareMimeMessage(MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            // Preserve an explicitly specified message id
+            mimeMessage.setHeader(HEADER_MESSAGE_ID, messageId);
+        }
+    }
+
+    private PooledConnection borrow() {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new MailSendException("No SMTP connection available within " + borrowTimeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for an SMTP connection", e);
+        }
+
+        try {
+            long now = System.currentTimeMillis();
+            PooledConnection connection;
+            while ((connection = idle.pollFirst()) != null) {
+                if (now - connection.lastUsed <= maxIdleMillis) {
+                    connectionsReused.increment();
+                    return connection;
+                }
+                discard(connection);
+            }
+
+            connection = new PooledConnection(connectTransport());
+            connectionsOpened.increment();
+            return connection;
+        } catch (AuthenticationFailedException ex) {
+            permits.release();
+            throw new MailAuthenticationException(ex);
+        } catch (MessagingException ex) {
+            permits.release();
+            throw new MailSendException("Mail server connection failed", ex);
+        } catch (RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    private void release(PooledConnection connection) {
+        try {
+            if (connection.transport != null) {
+                connection.lastUsed = System.currentTimeMillis();
+                idle.offerFirst(connection);
+            }
+
+            // Stale connections collect at the tail while the fresher ones cover the load
+            PooledConnection oldest;
+            while ((oldest = idle.peekLast()) != null
+                    && System.currentTimeMillis() - oldest.lastUsed > maxIdleMillis
+                    && idle.removeLastOccurrence(oldest)) {
+                discard(oldest);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection connection) {
+        Transport transport = connection.transport;
+        connection.transport = null;
+        if (transport == null) {
+            return;
+        }
+
+        connectionsDiscarded.increment();
+        try {
+            transport.close();
+        } catch (MessagingException ex) {
+            log.debug("Failed to close SMTP connection: {}", ex.getMessage());
+        }
+    }
+
+    private static final class PooledConnection {
+
+        private Transport transport;
+        private long lastUsed;
+
+        PooledConnection(Transport transport) {
+            this.transport = transport;
+            this.lastUsed = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.webapp.bankingportal.service;
+
+import com.webapp.bankingportal.type.CacheKeyType;
+
+/**
+ * Per-subject sliding-window rate limits shared by every node. The window of
+ * a limit is the TTL of its {@link CacheKeyType}.
+ */
+public interface RateLimiterService {
+
+    /**
+     * Records one attempt for the subject unless it already made
+     * {@code limit} attempts within the window. Rejected attempts are not
+     * recorded.
+     */
+    public Decision tryAcquire(CacheKeyType cacheKeyType, String subject, int limit);
+
+    /**
+     * Forgets every attempt of the subject, e.g. after a successful login.
+     */
+    public void reset(CacheKeyType cacheKeyType, String subject);
+
+    /**
+     * @param remaining        Attempts left in the current window.
+     * @param retryAfterMillis When rejected, how long until the oldest
+     *                         attempt leaves the window.
+     */
+    record Decision(boolean allowed, int remaining, long retryAfterMillis) {
+
+        /**
+         * Wait in whole minutes, rounded up, for user-facing messages.
+         */
+        public long retryAfterMinutes() {
+            return (retryAfterMillis + 59_999) / 60_000;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.webapp.bankingportal.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.webapp.bankingportal.type.CacheKeyType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sliding-window log per subject: a Redis sorted set of attempt timestamps,
+ * trimmed, counted and appended by one Lua script so concurrent attempts on
+ * any number of nodes are serialised by Redis. Timestamps come from the Redis
+ * clock, so node clock skew cannot stretch or shrink a window.
+ *
+ * <p>While Redis is unreachable each node enforces the same limits on its own
+ * attempts in memory. That is weaker across many nodes, but never unlimited,
+ * and a scheduled health check switches back once Redis answers again.
+ */
+@Service
+public class RateLimiterServiceImpl implements RateLimiterService {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiterServiceImpl.class);
+
+    private static final long LOCAL_MAXIMUM_SIZE = 100_000;
+
+    // Returns {allowed, remaining, retryAfterMillis}
+    private static final RedisScript<List> SLIDING_WINDOW_SCRIPT = new DefaultRedisScript<>("""
+            redis.replicate_commands()
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - window)
+            local count = redis.call('ZCARD', KEYS[1])
+            if count < limit then
+                redis.call('ZADD', KEYS[1], now, ARGV[3])
+                redis.call('PEXPIRE', KEYS[1], window)
+                return {1, limit - count - 1, 0}
+            end
+            local oldest = redis.call('ZRANGE', KEYS[1], 0, 0, 'WITHSCORES')
+            return {0, 0, tonumber(oldest[2]) + window - now}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<String, LocalWindow> localWindows;
+    private final AtomicBoolean redisAvailable = new AtomicBoolean(true);
+    // Members of a sorted set must be unique, even for attempts in the same millisecond
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public RateLimiterServiceImpl(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.localWindows = Caffeine.newBuilder()
+                .maximumSize(LOCAL_MAXIMUM_SIZE)
+                .expireAfter(new LocalWindowExpiry())
+                .build();
+        checkRedisHealth();
+    }
+
+    @Scheduled(fixedDelayString = "${cache.redis.health-check-interval-ms:5000}")
+    public void checkRedisHealth() {
+        try {
+            redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+        } catch (Exception e) {
+            markRedisUnavailable(e);
+            return;
+        }
+
+        if (redisAvailable.compareAndSet(false, true)) {
+            log.info("Redis connection recovered, rate limits are shared again");
+        }
+    }
+
+    @Override
+    public Decision tryAcquire(CacheKeyType cacheKeyType, String subject, int limit) {
+        String key = cacheKeyType.generateKey(subject);
+        long windowMillis = TimeUnit.SECONDS.toMillis(cacheKeyType.getTtlSeconds());
+
+        if (redisAvailable.get()) {
+            try {
+                List<?> result = redisTemplate.execute(SLIDING_WINDOW_SCRIPT, List.of(key),
+                        String.valueOf(limit), String.valueOf(windowMillis),
+                        nodeId + ":" + sequence.incrementAndGet());
+                if (result != null && result.size() == 3) {
+                    return new Decision(toLong(result.get(0)) == 1, (int) toLong(result.get(1)),
+                            toLong(result.get(2)));
+                }
+                log.warn("Unexpected rate limit script result for {}: {}", key, result);
+            } catch (Exception e) {
+                markRedisUnavailable(e);
+            }
+        }
+
+        return tryAcquireLocally(key, limit, windowMillis);
+    }
+
+    @Override
+    public void reset(CacheKeyType cacheKeyType, String subject) {
+        String key = cacheKeyType.generateKey(subject);
+        localWindows.invalidate(key);
+        if (redisAvailable.get()) {
+            try {
+                redisTemplate.delete(key);
+            } catch (Exception e) {
+                markRedisUnavailable(e);
+            }
+        }
+    }
+
+    private Decision tryAcquireLocally(String key, int limit, long windowMillis) {
+        Decision[] decision = new Decision[1];
+        localWindows.asMap().compute(key, (k, window) -> {
+            LocalWindow current = window != null ? window : new LocalWindow(windowMillis);
+            decision[0] = current.tryAcquire(System.currentTimeMillis(), limit);
+            return current;
+        });
+        return decision[0];
+    }
+
+    private void markRedisUnavailable(Exception e) {
+        if (redisAvailable.compareAndSet(true, false)) {
+            log.warn("Redis became unavailable, enforcing rate limits per node. Error: {}", e.getMessage());
+        }
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(value.toString());
+    }
+
+    /**
+     * Attempt timestamps of one subject, oldest first. Only touched inside
+     * {@code compute}, which holds the entry's lock.
+     */
+    private static final class LocalWindow {
+
+        private final long windowMillis;
+        private final Deque<Long> attempts = new ArrayDeque<>();
+
+        LocalWindow(long windowMillis) {
+            this.windowMillis = windowMillis;
+        }
+
+        Decision tryAcquire(long now, int limit) {
+            while (!attempts.isEmpty() && attempts.peekFirst() <= now - windowMillis) {
+                attempts.pollFirst();
+            }
+
+            if (attempts.size() < limit) {
+                attempts.addLast(now);
+                return new Decision(true, limit - attempts.size(), 0);
+            }
+            return new Decision(false, 0, attempts.peekFirst() + windowMillis - now);
+        }
+    }
+
+    // An entry lives one window past its latest attempt, like the PEXPIRE in the script
+    private static class LocalWindowExpiry implements Expiry<String, LocalWindow> {
+
+        @Override
+        public long expireAfterCreate(String key, LocalWindow window, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(window.windowMillis);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, LocalWindow window, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, window, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, LocalWindow window, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
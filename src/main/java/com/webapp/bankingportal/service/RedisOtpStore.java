@@ -0,0 +1,139 @@
+package com.webapp.bankingportal.service;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import com.webapp.bankingportal.type.CacheKeyType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * OTPs as Redis strings under {@link CacheKeyType#OTP}, expired by Redis
+ * itself, so the OTP path never touches MySQL. Both operations are Lua
+ * scripts: reading and refreshing an active OTP cannot race with a second
+ * issue, and a successful check deletes the OTP in the same step.
+ *
+ * <p>When a Redis call fails the request falls back to {@link JpaOtpStore}.
+ * An OTP issued there stays live for one TTL, so for that long every node
+ * must also check the table on a Redis miss. The node that fell back cannot
+ * tell the others while Redis is down: it checks the table itself for one
+ * TTL, and its next successful Redis call sets the shared
+ * {@link CacheKeyType#OTP_FALLBACK} marker for whatever remains of that TTL.
+ * Nodes check the table only while the marker or their own window is live.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "otp.store", havingValue = "redis", matchIfMissing = true)
+public class RedisOtpStore implements OtpStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisOtpStore.class);
+
+    // One OTP is active per account; the second key argument names that slot
+    private static final String ACTIVE_SLOT = "active";
+
+    private static final String FALLBACK_KEY = CacheKeyType.OTP_FALLBACK.generateKey();
+
+    // Consume results: the OTP matched, or it missed while the fallback marker is set
+    private static final long MATCHED = 1;
+    private static final long MISSED_DURING_FALLBACK = 2;
+
+    // Extends the fallback marker (KEYS[2]) to the given number of milliseconds, never shortening it
+    private static final String PUBLISH_FALLBACK = """
+            local fallback = tonumber(ARGV[%1$d])
+            if fallback > 0 and redis.call('PTTL', KEYS[2]) < fallback then
+                redis.call('SET', KEYS[2], '1', 'PX', ARGV[%1$d])
+            end
+            """;
+
+    private static final RedisScript<String> ISSUE_SCRIPT = new DefaultRedisScript<>(
+            PUBLISH_FALLBACK.formatted(3) + """
+            local current = redis.call('GET', KEYS[1])
+            if current then
+                redis.call('PEXPIRE', KEYS[1], ARGV[2])
+                return current
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return ARGV[1]
+            """, String.class);
+
+    private static final RedisScript<Long> CONSUME_SCRIPT = new DefaultRedisScript<>(
+            PUBLISH_FALLBACK.formatted(2) + """
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('DEL', KEYS[1])
+                return 1
+            end
+            if redis.call('EXISTS', KEYS[2]) == 1 then
+                return 2
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final JpaOtpStore fallback;
+    // Epoch millis until which OTPs this node issued to the database may still be live
+    private volatile long fallbackUntil;
+
+    public RedisOtpStore(StringRedisTemplate redisTemplate, JpaOtpStore fallback) {
+        this.redisTemplate = redisTemplate;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public String issue(String accountNumber, String newOtp, Duration ttl) {
+        try {
+            String otp = redisTemplate.execute(ISSUE_SCRIPT, List.of(key(accountNumber), FALLBACK_KEY),
+                    newOtp, String.valueOf(ttl.toMillis()), String.valueOf(remainingFallbackMillis()));
+            if (otp != null) {
+                return otp;
+            }
+        } catch (Exception e) {
+            log.warn("Could not store OTP in Redis, using the database: {}", e.getMessage());
+        }
+
+        extendFallback(ttl);
+        return fallback.issue(accountNumber, newOtp, ttl);
+    }
+
+    @Override
+    public boolean consume(String accountNumber, String otp, Duration ttl) {
+        try {
+            long remainingFallback = remainingFallbackMillis();
+            Long result = redisTemplate.execute(CONSUME_SCRIPT, List.of(key(accountNumber), FALLBACK_KEY), otp,
+                    String.valueOf(remainingFallback));
+            if (result != null && result == MATCHED) {
+                return true;
+            }
+            if ((result == null || result != MISSED_DURING_FALLBACK) && remainingFallback == 0) {
+                return false;
+            }
+        } catch (Exception e) {
+            log.warn("Could not check OTP in Redis, using the database: {}", e.getMessage());
+        }
+
+        return fallback.consume(accountNumber, otp, ttl);
+    }
+
+    private void extendFallback(Duration ttl) {
+        long until = System.currentTimeMillis() + ttl.toMillis();
+        if (until > fallbackUntil) {
+            fallbackUntil = until;
+        }
+    }
+
+    private long remainingFallbackMillis() {
+        return Math.max(0, fallbackUntil - System.currentTimeMillis());
+    }
+
+    private static String key(String accountNumber) {
+        return CacheKeyType.OTP.generateKey(accountNumber, ACTIVE_SLOT);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.webapp.bankingportal.service;
+
+import java.util.Date;
+
+/**
+ * Denylist of revoked token ids ({@code jti}). Tokens are valid until they
+ * expire unless revoked, so checking a token needs no database I/O.
+ */
+public interface TokenRevocationService {
+
+    /**
+     * Revokes the token on every node. The entry is dropped once
+     * {@code expiresAt} has passed, since the token is rejected from then on
+     * anyway.
+     */
+    void revoke(String tokenId, Date expiresAt);
+
+    boolean isRevoked(String tokenId);
+}
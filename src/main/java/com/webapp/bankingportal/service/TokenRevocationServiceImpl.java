@@ -0,0 +1,160 @@
+package com.webapp.bankingportal.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.webapp.bankingportal.util.BloomFilter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Revoked token ids live in a Redis sorted set scored by token expiry, which
+ * is the shared source of truth. Every node keeps an in-memory copy: an exact
+ * map fronted by a Bloom filter, so the common case of a token that was never
+ * revoked is answered by a few bit probes. Revocations reach the other nodes
+ * through {@link #REVOCATION_CHANNEL}; a periodic refresh reloads the set to
+ * catch messages lost while Redis was unreachable.
+ */
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService, MessageListener {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationServiceImpl.class);
+
+    public static final String REVOCATION_CHANNEL = "token:revoked";
+    static final String DENYLIST_KEY = "token:denylist";
+
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private final StringRedisTemplate redisTemplate;
+    private final int expectedRevocations;
+
+    // Token id -> expiry in epoch millis
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // Revocations not yet written to Redis because it was unreachable
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+
+    public TokenRevocationServiceImpl(StringRedisTemplate redisTemplate,
+            @Value("${token.revocation.expected-revocations:100000}") int expectedRevocations) {
+        this.redisTemplate = redisTemplate;
+        this.expectedRevocations = expectedRevocations;
+        this.bloomFilter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_PROBABILITY);
+        refresh();
+    }
+
+    @Override
+    public void revoke(String tokenId, Date expiresAt) {
+        long expiry = expiresAt.getTime();
+        if (expiry <= System.currentTimeMillis()) {
+            return;
+        }
+
+        addLocal(tokenId, expiry);
+        if (!publish(tokenId, expiry)) {
+            pending.put(tokenId, expiry);
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        if (!bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        return revoked.containsKey(tokenId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator <= 0) {
+            log.warn("Ignoring malformed revocation message: {}", body);
+            return;
+        }
+
+        try {
+            addLocal(body.substring(0, separator), Long.parseLong(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed revocation message: {}", body);
+        }
+    }
+
+    /**
+     * Retries revocations that could not be written to Redis, drops expired
+     * entries and merges the shared set into the local copy. The Bloom filter
+     * cannot forget entries, so it is rebuilt whenever any were dropped.
+     */
+    @Scheduled(fixedDelayString = "${token.revocation.refresh-interval-ms:60000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+
+        for (Iterator<Map.Entry<String, Long>> it = pending.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<String, Long> entry = it.next();
+            if (entry.getValue() <= now || publish(entry.getKey(), entry.getValue())) {
+                it.remove();
+            }
+        }
+
+        boolean dropped = revoked.values().removeIf(expiry -> expiry <= now);
+        if (dropped) {
+            rebuildBloomFilter();
+        }
+
+        try {
+            redisTemplate.opsForZSet().removeRangeByScore(DENYLIST_KEY, Double.NEGATIVE_INFINITY, now);
+            Set<TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                    .rangeByScoreWithScores(DENYLIST_KEY, now, Double.POSITIVE_INFINITY);
+            if (entries != null) {
+                for (TypedTuple<String> entry : entries) {
+                    if (entry.getValue() != null && entry.getScore() != null) {
+                        addLocal(entry.getValue(), entry.getScore().longValue());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not refresh the token denylist from Redis, using the local copy: {}", e.getMessage());
+        }
+    }
+
+    private boolean publish(String tokenId, long expiry) {
+        try {
+            redisTemplate.opsForZSet().add(DENYLIST_KEY, tokenId, expiry);
+            redisTemplate.convertAndSend(REVOCATION_CHANNEL, tokenId + ":" + expiry);
+            return true;
+        } catch (Exception e) {
+            log.warn("Could not publish revocation of token {}, will retry: {}", tokenId, e.getMessage());
+            return false;
+        }
+    }
+
+    // Revocations are rare, so filter writes share the rebuild lock and only reads stay lock-free
+    private synchronized void addLocal(String tokenId, long expiry) {
+        revoked.put(tokenId, expiry);
+        bloomFilter.put(tokenId);
+        // Grow the filter before it fills up and its false positive rate climbs
+        if (revoked.size() > expectedRevocations && revoked.size() % expectedRevocations == 0) {
+            rebuildBloomFilter();
+        }
+    }
+
+    private synchronized void rebuildBloomFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2),
+                FALSE_POSITIVE_PROBABILITY);
+        revoked.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+    }
+
+}
@@ -4,18 +4,33 @@ import java.util.Date;
 import java.util.function.Function;
 
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 import com.webapp.bankingportal.exception.InvalidTokenException;
+import com.webapp.bankingportal.security.VerifiedToken;
 
 import io.jsonwebtoken.Claims;
 
-public interface TokenService extends UserDetailsService {
+public interface TokenService extends UserDetailsService, UserDetailsPasswordService {
 
     public String generateToken(UserDetails userDetails);
 
     public String generateToken(UserDetails userDetails, Date expiry);
 
+    /**
+     * Generates a token with a unique {@code jti}, stores it and returns it.
+     * Such tokens are checked against the revocation denylist instead of the
+     * token table.
+     */
+    public String issueToken(UserDetails userDetails) throws InvalidTokenException;
+
+    /**
+     * Checks the signature and expiry of the token and returns its claims.
+     * Parses the token at most once per HTTP request.
+     */
+    public VerifiedToken verifyToken(String token) throws InvalidTokenException;
+
     public String getUsernameFromToken(String token) throws InvalidTokenException;
 
     public Date getExpirationDateFromToken(String token) throws InvalidTokenException;
@@ -28,4 +43,11 @@ public interface TokenService extends UserDetailsService {
     public void validateToken(String token) throws InvalidTokenException;
 
     public void invalidateToken(String token);
+
+    /**
+     * Deletes stored tokens that have expired, in bounded batches.
+     *
+     * @return The number of tokens deleted.
+     */
+    public int purgeExpiredTokens();
 }
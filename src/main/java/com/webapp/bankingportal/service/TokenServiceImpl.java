@@ -1,28 +1,36 @@
 package com.webapp.bankingportal.service;
 
+import static org.springframework.security.core.userdetails.User.withUserDetails;
 import static org.springframework.security.core.userdetails.User.withUsername;
 
-import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 import java.util.function.Function;
 
-import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.webapp.bankingportal.dto.AccountSnapshot;
 import com.webapp.bankingportal.entity.Token;
-import com.webapp.bankingportal.entity.User;
 import com.webapp.bankingportal.exception.InvalidTokenException;
+import com.webapp.bankingportal.exception.TokenExpiredException;
 import com.webapp.bankingportal.repository.AccountRepository;
 import com.webapp.bankingportal.repository.TokenRepository;
 import com.webapp.bankingportal.repository.UserRepository;
+import com.webapp.bankingportal.security.JwtVerifier;
+import com.webapp.bankingportal.security.VerifiedToken;
 import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.HashUtil;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,102 +40,112 @@ public class TokenServiceImpl implements TokenService {
 
     private static final Logger log = LoggerFactory.getLogger(TokenServiceImpl.class);
 
-    @Value("${jwt.secret}")
-    private String secret;
-
     @Value("${jwt.expiration}")
     private long expiration;
 
-    private final UserRepository userRepository;
+    @Value("${token.max-per-account:5}")
+    private int maxTokensPerAccount;
+
+    @Value("${token.purge-batch-size:1000}")
+    private int purgeBatchSize;
+
     private final TokenRepository tokenRepository;
     private final AccountRepository accountRepository;
-
-    public TokenServiceImpl(UserRepository userRepository, TokenRepository tokenRepository, AccountRepository accountRepository) {
-        this.userRepository = userRepository;
+    private final UserRepository userRepository;
+    private final AccountSnapshotService accountSnapshotService;
+    private final JwtVerifier jwtVerifier;
+    private final TokenRevocationService tokenRevocationService;
+    private final TransactionTemplate transactionTemplate;
+
+    public TokenServiceImpl(TokenRepository tokenRepository, AccountRepository accountRepository,
+            UserRepository userRepository, AccountSnapshotService accountSnapshotService, JwtVerifier jwtVerifier,
+            TokenRevocationService tokenRevocationService, PlatformTransactionManager transactionManager) {
         this.tokenRepository = tokenRepository;
         this.accountRepository = accountRepository;
+        this.userRepository = userRepository;
+        this.accountSnapshotService = accountSnapshotService;
+        this.jwtVerifier = jwtVerifier;
+        this.tokenRevocationService = tokenRevocationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
     public String getUsernameFromToken(String token) throws InvalidTokenException {
-        return getClaimFromToken(token, Claims::getSubject);
+        return verifyToken(token).subject();
     }
 
     @Override
     public String generateToken(UserDetails userDetails) {
         log.info("Generating token for user: " + userDetails.getUsername());
         return doGenerateToken(userDetails,
-                new Date(System.currentTimeMillis() + expiration));
+                new Date(System.currentTimeMillis() + expiration), null);
     }
 
     @Override
     public String generateToken(UserDetails userDetails, Date expiry) {
         log.info("Generating token for user: " + userDetails.getUsername());
-        return doGenerateToken(userDetails, expiry);
+        return doGenerateToken(userDetails, expiry, null);
     }
-    private Key key() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+
+    @Override
+    public String issueToken(UserDetails userDetails) throws InvalidTokenException {
+        log.info("Issuing token for user: " + userDetails.getUsername());
+        String token = doGenerateToken(userDetails,
+                new Date(System.currentTimeMillis() + expiration), UUID.randomUUID().toString());
+        saveToken(token);
+        return token;
     }
-    private String doGenerateToken(UserDetails userDetails, Date expiry) {
+
+    private String doGenerateToken(UserDetails userDetails, Date expiry, String tokenId) {
         return Jwts.builder().setSubject(userDetails.getUsername())
+                .setId(tokenId)
                 .setIssuedAt(new Date())
                 .setExpiration(expiry)
-                .signWith(key(), SignatureAlgorithm.HS512).compact();
+                .signWith(jwtVerifier.getSigningKey(), SignatureAlgorithm.HS512).compact();
     }
 
     @Override
     public UserDetails loadUserByUsername(String accountNumber) throws UsernameNotFoundException {
-        User user = userRepository.findByAccountAccountNumber(accountNumber)
+        // Read from the database rather than the snapshot cache, so a changed password applies at once
+        String password = userRepository.findPasswordByAccountNumber(accountNumber)
                 .orElseThrow(() -> new UsernameNotFoundException(
                         String.format(ApiMessages.USER_NOT_FOUND_BY_ACCOUNT.getMessage(), accountNumber)));
 
-        return withUsername(accountNumber).password(user.getPassword()).build();
+        return withUsername(accountNumber).password(password).build();
+    }
+
+    /**
+     * Called by the authentication provider after a successful login whose
+     * stored hash is weaker than the current work factor.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        String accountNumber = user.getUsername();
+        log.info("Upgrading password hash for account: {}", accountNumber);
+        userRepository.updatePasswordByAccountNumber(accountNumber, newPassword);
+        return withUserDetails(user).password(newPassword).build();
     }
 
     @Override
     public Date getExpirationDateFromToken(String token)
             throws InvalidTokenException {
-        return getClaimFromToken(token, Claims::getExpiration);
+        return verifyToken(token).expiration();
     }
 
     @Override
     public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver)
             throws InvalidTokenException {
-        Claims claims = getAllClaimsFromToken(token);
-        return claimsResolver.apply(claims);
-    }
-    private JwtParser parser() {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build();
+        return claimsResolver.apply(verifyToken(token).claims());
     }
-    private Claims getAllClaimsFromToken(String token) throws InvalidTokenException {
+
+    @Override
+    public VerifiedToken verifyToken(String token) throws InvalidTokenException {
         try {
-           // return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
-            return Jwts.parserBuilder()
-                    .setSigningKey(key())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-          //  return parser().parseClaimsJws(token).getBody();
-        } catch (ExpiredJwtException e) {
+            return jwtVerifier.verify(token);
+        } catch (TokenExpiredException e) {
             // Delete expired token
             invalidateToken(token);
-
-            throw new InvalidTokenException(ApiMessages.TOKEN_EXPIRED_ERROR.getMessage());
-
-        } catch (UnsupportedJwtException e) {
-            throw new InvalidTokenException(ApiMessages.TOKEN_UNSUPPORTED_ERROR.getMessage());
-
-        } catch (MalformedJwtException e) {
-            throw new InvalidTokenException(ApiMessages.TOKEN_MALFORMED_ERROR.getMessage());
-
-        } catch (SignatureException e) {
-            throw new InvalidTokenException(ApiMessages.TOKEN_SIGNATURE_INVALID_ERROR.getMessage());
-
-        } catch (IllegalArgumentException e) {
-            throw new InvalidTokenException(ApiMessages.TOKEN_EMPTY_ERROR.getMessage());
+            throw e;
         }
     }
 
@@ -137,32 +155,98 @@ public class TokenServiceImpl implements TokenService {
             throw new InvalidTokenException(ApiMessages.TOKEN_ALREADY_EXISTS_ERROR.getMessage());
         }
 
-        com.webapp.bankingportal.entity.Account account = accountRepository.findByAccountNumber(
-                getUsernameFromToken(token));
+        VerifiedToken verifiedToken = verifyToken(token);
+        String accountNumber = verifiedToken.subject();
+        AccountSnapshot account = accountSnapshotService.findAccount(accountNumber)
+                .orElseThrow(() -> new InvalidTokenException(ApiMessages.TOKEN_INVALID_ERROR.getMessage()));
 
-        log.info("Saving token for account: " + account.getAccountNumber());
+        log.info("Saving token for account: " + accountNumber);
 
         Token tokenObj = new Token(
-                token,
-                getExpirationDateFromToken(token),
-                account);
+                HashUtil.sha256Hex(token),
+                verifiedToken.id(),
+                verifiedToken.expiration(),
+                accountRepository.getReferenceById(account.id()));
 
         tokenRepository.save(tokenObj);
+        evictExcessSessions(account.id());
+    }
+
+    /**
+     * Keeps at most {@code token.max-per-account} sessions per account by
+     * ending the oldest ones. Tokens with a jti are revoked as well, since the
+     * stored row is not consulted when they are validated.
+     */
+    private void evictExcessSessions(Long accountId) {
+        List<TokenRepository.SessionRef> sessions = tokenRepository.findSessionsByAccountId(accountId);
+        if (sessions.size() <= maxTokensPerAccount) {
+            return;
+        }
+
+        List<TokenRepository.SessionRef> evicted = sessions.subList(maxTokensPerAccount, sessions.size());
+        for (TokenRepository.SessionRef session : evicted) {
+            if (session.getTokenId() != null) {
+                tokenRevocationService.revoke(session.getTokenId(), session.getExpiryAt());
+            }
+        }
+        tokenRepository.deleteAllByIdInBatch(evicted.stream().map(TokenRepository.SessionRef::getId).toList());
+        log.info("Evicted {} oldest sessions of account id {}", evicted.size(), accountId);
     }
 
     @Override
     public void validateToken(String token) throws InvalidTokenException {
-        if (tokenRepository.findByToken(token) == null) {
-            throw new InvalidTokenException(ApiMessages.TOKEN_NOT_FOUND_ERROR.getMessage());
+        VerifiedToken verifiedToken = verifyToken(token);
+        if (verifiedToken.id() == null) {
+            // Tokens without a jti predate the denylist; only the stored copy proves they are live
+            if (tokenRepository.findByToken(token) == null) {
+                throw new InvalidTokenException(ApiMessages.TOKEN_NOT_FOUND_ERROR.getMessage());
+            }
+            return;
+        }
+
+        if (tokenRevocationService.isRevoked(verifiedToken.id())) {
+            throw new InvalidTokenException(ApiMessages.TOKEN_REVOKED_ERROR.getMessage());
         }
     }
 
     @Override
     @Transactional
     public void invalidateToken(String token) {
+        try {
+            VerifiedToken verifiedToken = jwtVerifier.verify(token);
+            if (verifiedToken.id() != null) {
+                tokenRevocationService.revoke(verifiedToken.id(), verifiedToken.expiration());
+            }
+        } catch (InvalidTokenException e) {
+            // Expired or forged tokens are rejected by verification, no revocation needed
+        }
+
         if (tokenRepository.findByToken(token) != null) {
             tokenRepository.deleteByToken(token);
         }
     }
 
+    @Override
+    public int purgeExpiredTokens() {
+        Date now = new Date();
+        int purged = 0;
+        int batch;
+        do {
+            Integer deleted = transactionTemplate.execute(
+                    status -> tokenRepository.deleteExpired(now, purgeBatchSize));
+            batch = deleted == null ? 0 : deleted;
+            purged += batch;
+        } while (batch == purgeBatchSize);
+
+        if (purged > 0) {
+            log.info("Purged {} expired tokens", purged);
+        }
+        return purged;
+    }
+
+    @Scheduled(fixedDelayString = "${token.purge-interval-ms:3600000}")
+    public void scheduledPurge() {
+        purgeExpiredTokens();
+    }
+
 }
@@ -0,0 +1,16 @@
+package com.webapp.bankingportal.service;
+
+import java.util.List;
+
+import com.webapp.bankingportal.entity.Transaction;
+
+public interface TransactionRollupService {
+
+    void recordTransaction(Transaction transaction);
+
+    void recordTransactions(List<Transaction> transactions);
+
+    void rebuildAccount(Long accountId);
+
+    int rebuildAll();
+}
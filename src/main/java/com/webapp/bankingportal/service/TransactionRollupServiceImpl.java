@@ -0,0 +1,218 @@
+package com.webapp.bankingportal.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.BackfillProgressRepository;
+import com.webapp.bankingportal.repository.TransactionDailyRollupRepository;
+import com.webapp.bankingportal.repository.TransactionDailyRollupRepository.HistoryTotal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Service
+public class TransactionRollupServiceImpl implements TransactionRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionRollupServiceImpl.class);
+
+    private static final String BACKFILL = "transaction-rollup-backfill";
+
+    private final TransactionDailyRollupRepository rollupRepository;
+    private final AccountRepository accountRepository;
+    private final BackfillProgressRepository backfillProgressRepository;
+    private final DatabaseLockService databaseLockService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${rollup.backfill.on-startup:true}")
+    private boolean backfillOnStartup;
+
+    // Once set the backfill is never needed again, so later runs skip even the progress lookup
+    private volatile boolean backfillCompleted;
+
+    public TransactionRollupServiceImpl(TransactionDailyRollupRepository rollupRepository,
+            AccountRepository accountRepository,
+            BackfillProgressRepository backfillProgressRepository,
+            DatabaseLockService databaseLockService,
+            PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.accountRepository = accountRepository;
+        this.backfillProgressRepository = backfillProgressRepository;
+        this.databaseLockService = databaseLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Must run inside the transaction that persists the ledger row, so the
+     * rollup and the raw history commit or roll back together.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void recordTransaction(Transaction transaction) {
+        recordTransactions(List.of(transaction));
+    }
+
+    /**
+     * Batched variant of {@link #recordTransaction(Transaction)}: transactions
+     * landing on the same rollup row are summed first, so each row is upserted
+     * once per call.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Override
+    public void recordTransactions(List<Transaction> transactions) {
+        Map<RollupKey, long[]> totals = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            LocalDate day = transaction.getTransactionDate().toInstant()
+                    .atZone(ZoneId.systemDefault()).toLocalDate();
+            String type = transaction.getTransactionType().name();
+            String category = transaction.getCategory() != null ? transaction.getCategory() : "";
+
+            Account source = transaction.getSourceAccount();
+            if (source != null) {
+                add(totals, new RollupKey(source.getId(), day, type, category, false), transaction.getAmount());
+            }
+
+            Account target = transaction.getTargetAccount();
+            if (target != null) {
+                add(totals, new RollupKey(target.getId(), day, type, category, true), transaction.getAmount());
+            }
+        }
+
+        for (Map.Entry<RollupKey, long[]> entry : totals.entrySet()) {
+            RollupKey key = entry.getKey();
+            long[] total = entry.getValue();
+            rollupRepository.addTransactions(key.accountId(), key.day(), key.type(), key.category(), key.incoming(),
+                    total[0], total[1]);
+        }
+    }
+
+    private static void add(Map<RollupKey, long[]> totals, RollupKey key, long amount) {
+        long[] total = totals.computeIfAbsent(key, k -> new long[2]);
+        total[0] += amount;
+        total[1]++;
+    }
+
+    /**
+     * Replaces the account's rollup with one recomputed from raw history.
+     * Every writer locks the account row, or for a credit to a sharded
+     * account the account's rollup rows, before adding to the rollup; holding
+     * both means no writer is half way through, and any that start wait until
+     * the rebuilt rows are committed, then add their own delta on top.
+     */
+    @Transactional
+    @Override
+    public void rebuildAccount(Long accountId) {
+        accountRepository.findByIdForUpdate(accountId);
+        rollupRepository.lockByAccountId(accountId);
+
+        // Plain reads rather than INSERT ... SELECT, whose locking read of the history would
+        // wait on a sharded credit that is itself waiting for the rollup lock taken above
+        List<HistoryTotal> outgoing = rollupRepository.sumOutgoingHistory(accountId);
+        List<HistoryTotal> incoming = rollupRepository.sumIncomingHistory(accountId);
+
+        int deleted = rollupRepository.deleteByAccountId(accountId);
+        for (HistoryTotal total : outgoing) {
+            insert(accountId, total, false);
+        }
+        for (HistoryTotal total : incoming) {
+            insert(accountId, total, true);
+        }
+        log.debug("Rebuilt rollup for account id: {}, removed {} rows, inserted {} rows", accountId, deleted,
+                outgoing.size() + incoming.size());
+    }
+
+    private void insert(Long accountId, HistoryTotal total, boolean incoming) {
+        rollupRepository.addTransactions(accountId, total.getRollupDate(), total.getTransactionType().name(),
+                total.getCategory(), incoming, total.getTotal(), total.getTransactionCount());
+    }
+
+    /**
+     * Rebuilds the rollup of every account from raw history, one account per
+     * database transaction so a large backfill never holds long-running locks.
+     */
+    @Override
+    public int rebuildAll() {
+        log.info("Rebuilding transaction rollups from history");
+        int accounts = 0;
+        for (Long accountId : accountRepository.findAllIds()) {
+            transactionTemplate.executeWithoutResult(status -> rebuildAccount(accountId));
+            accounts++;
+        }
+        log.info("Rebuilt transaction rollups for {} accounts", accounts);
+        return accounts;
+    }
+
+    /**
+     * Backfills the rollup from history until the backfill is recorded as
+     * complete. Accounts are rebuilt in id order and each one commits the
+     * progress with its rows, so a node stopped part-way leaves the backfill
+     * to resume after the last rebuilt account rather than looking done.
+     * Nodes race for a database lock: the winner backfills, the others skip
+     * rather than rebuild the same accounts a second time.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfIncomplete() {
+        if (!backfillOnStartup || backfillCompleted) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(backfillProgressRepository.findCompletedByName(BACKFILL))) {
+            backfillCompleted = true;
+            return;
+        }
+
+        if (!databaseLockService.runExclusively(BACKFILL, 0, this::resumeBackfill)) {
+            log.info("Transaction rollup backfill is running on another node");
+        }
+    }
+
+    // Picks up a backfill abandoned by a node that stopped part-way, without waiting for the next restart
+    @Scheduled(fixedDelayString = "${rollup.backfill.retry-interval-ms:600000}",
+            initialDelayString = "${rollup.backfill.retry-interval-ms:600000}")
+    public void scheduledBackfill() {
+        backfillIfIncomplete();
+    }
+
+    private void resumeBackfill() {
+        transactionTemplate.executeWithoutResult(status -> backfillProgressRepository.start(BACKFILL, new Date()));
+        // Checked under the lock, so a node that waited behind a finished backfill sees it done
+        if (Boolean.TRUE.equals(backfillProgressRepository.findCompletedByName(BACKFILL))) {
+            backfillCompleted = true;
+            return;
+        }
+
+        long lastId = backfillProgressRepository.findLastIdByName(BACKFILL);
+        log.info("Backfilling transaction rollups from history, starting after account id: {}", lastId);
+        int accounts = 0;
+        for (Long accountId : accountRepository.findIdsAfter(lastId)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                rebuildAccount(accountId);
+                backfillProgressRepository.advance(BACKFILL, accountId, new Date());
+            });
+            accounts++;
+        }
+        transactionTemplate.executeWithoutResult(status -> backfillProgressRepository.complete(BACKFILL, new Date()));
+        backfillCompleted = true;
+        log.info("Backfilled transaction rollups for {} accounts", accounts);
+    }
+
+    private record RollupKey(Long accountId, LocalDate day, String type, String category, boolean incoming) {
+    }
+
+}
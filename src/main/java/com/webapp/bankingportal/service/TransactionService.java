@@ -1,6 +1,8 @@
 package com.webapp.bankingportal.service;
 
 import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.dto.TransactionFilter;
+import com.webapp.bankingportal.dto.TransactionPageDTO;
 import com.webapp.bankingportal.dto.ExpenseStatisticsDTO;
 import java.util.List;
 import java.util.Map;
@@ -8,6 +10,8 @@ import java.util.Map;
 public interface TransactionService {
     
     List<TransactionDTO> getAllTransactionsByAccountNumber(String accountNumber);
+
+    TransactionPageDTO getTransactionsPage(String accountNumber, TransactionFilter filter, String cursor, int size);
     
     // Thêm các methods mới
     Map<String, Object> getTransactionChartData(String accountNumber, Integer year, String month);
@@ -1,25 +1,40 @@
 package com.webapp.bankingportal.service;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
-import java.util.HashMap;
-import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Locale;
-import java.text.SimpleDateFormat;
 
 import com.webapp.bankingportal.repository.AccountRepository;
 import org.springframework.stereotype.Service;
 
 import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.dto.TransactionFilter;
+import com.webapp.bankingportal.dto.TransactionPageDTO;
 import com.webapp.bankingportal.dto.ChartDataDTO;
 import com.webapp.bankingportal.dto.ExpenseStatisticsDTO;
 import com.webapp.bankingportal.entity.Account;
 import com.webapp.bankingportal.entity.Transaction;
 import com.webapp.bankingportal.entity.TransactionType;
 import com.webapp.bankingportal.mapper.TransactionMapper;
+import com.webapp.bankingportal.repository.TransactionDailyRollupRepository;
+import com.webapp.bankingportal.repository.TransactionDailyRollupRepository.DailyCategoryTotal;
+import com.webapp.bankingportal.repository.TransactionDailyRollupRepository.DailyTypeTotal;
+import com.webapp.bankingportal.repository.TransactionDailyRollupRepository.MonthlyTotal;
 import com.webapp.bankingportal.repository.TransactionRepository;
+import com.webapp.bankingportal.util.MoneyUtil;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,17 +44,29 @@ public class TransactionServiceImpl implements TransactionService {
 
 	private static final Logger log = LoggerFactory.getLogger(TransactionServiceImpl.class);
 
+	private static final String[] MONTH_NAMES = { "January", "February", "March", "April", "May", "June",
+			"July", "August", "September", "October", "November", "December" };
+
+	private static final int MAX_PAGE_SIZE = 100;
+
+	// Transactions that count towards expense statistics (transfers only when outgoing)
+	private static final Set<TransactionType> EXPENSE_TRANSACTION_TYPES = EnumSet.of(
+			TransactionType.CASH_DEPOSIT, TransactionType.CASH_WITHDRAWAL, TransactionType.CASH_TRANSFER);
+
 	private final TransactionRepository transactionRepository;
 	private final TransactionMapper transactionMapper = new TransactionMapper();
 	private final EmailService emailService;
 	private final AccountRepository accountRepository;
+	private final TransactionDailyRollupRepository rollupRepository;
 
 	public TransactionServiceImpl(TransactionRepository transactionRepository,
 			EmailService emailService,
-			AccountRepository accountRepository) {
+			AccountRepository accountRepository,
+			TransactionDailyRollupRepository rollupRepository) {
 		this.transactionRepository = transactionRepository;
 		this.emailService = emailService;
 		this.accountRepository = accountRepository;
+		this.rollupRepository = rollupRepository;
 	}
 
 	@Override
@@ -48,7 +75,7 @@ public class TransactionServiceImpl implements TransactionService {
 		List<Transaction> transactions = transactionRepository
 				.findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(accountNumber, accountNumber);
 
-		List<TransactionDTO> transactionDTOs = transactions.parallelStream()
+		List<TransactionDTO> transactionDTOs = transactions.stream()
 				.map(transactionMapper::toDto)
 				.sorted((t1, t2) -> t2.getTransactionDate().compareTo(t1.getTransactionDate()))
 				.collect(Collectors.toList());
@@ -57,6 +84,45 @@ public class TransactionServiceImpl implements TransactionService {
 		return transactionDTOs;
 	}
 
+	@Override
+	public TransactionPageDTO getTransactionsPage(String accountNumber, TransactionFilter filter, String cursor,
+			int size) {
+		log.debug("Getting transactions page for account: {}, filter: {}, cursor: {}, size: {}",
+				accountNumber, filter, cursor, size);
+		if (size < 1) {
+			throw new IllegalArgumentException("Page size must be greater than 0");
+		}
+		int pageSize = Math.min(size, MAX_PAGE_SIZE);
+
+		Date afterDate = null;
+		Long afterId = null;
+		if (cursor != null && !cursor.isEmpty()) {
+			long[] position = decodeCursor(cursor);
+			afterDate = new Date(position[0]);
+			afterId = position[1];
+		}
+
+		Long accountId = findAccountId(accountNumber);
+		if (accountId == null) {
+			return new TransactionPageDTO(new ArrayList<>(), null);
+		}
+
+		// Fetch one extra row to know whether another page follows
+		List<TransactionDTO> transactions = transactionRepository.findPage(accountId, filter, afterDate, afterId,
+				pageSize + 1);
+
+		String nextCursor = null;
+		if (transactions.size() > pageSize) {
+			transactions = new ArrayList<>(transactions.subList(0, pageSize));
+			TransactionDTO last = transactions.get(pageSize - 1);
+			nextCursor = encodeCursor(last.getTransactionDate().getTime(), last.getId());
+		}
+
+		log.debug("Returning {} transactions for account: {}, hasMore: {}", transactions.size(), accountNumber,
+				nextCursor != null);
+		return new TransactionPageDTO(transactions, nextCursor);
+	}
+
 	public void sendBankStatementByEmail(String accountNumber) {
 		log.info("Sending bank statement by email for account: {}", accountNumber);
 		if (accountNumber == null || accountNumber.trim().isEmpty()) {
@@ -89,84 +155,71 @@ public class TransactionServiceImpl implements TransactionService {
 	public Map<String, Object> getTransactionChartData(String accountNumber, Integer year, String month) {
 		log.debug("Getting chart data for account: {}, year: {}, month: {}", accountNumber, year, month);
 
-		// Get all transactions for the account
-		List<Transaction> transactions = transactionRepository
-				.findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(accountNumber, accountNumber);
+		int monthFilter = 0;
+		if (month != null && !month.trim().isEmpty()) {
+			monthFilter = toMonthNumber(month.trim());
+		}
 
-		// Filter transactions by year and month if provided
-		List<Transaction> filteredTransactions = transactions.stream()
-				.filter(txn -> {
-					if (txn.getTransactionDate() == null)
-						return false;
-
-					Calendar cal = Calendar.getInstance();
-					cal.setTime(txn.getTransactionDate());
-
-					// Filter by year if provided
-					if (year != null && cal.get(Calendar.YEAR) != year) {
-						return false;
-					}
-
-					// Filter by month if provided
-					if (month != null && !month.trim().isEmpty()) {
-						String monthName = new SimpleDateFormat("MMMM", Locale.ENGLISH)
-								.format(txn.getTransactionDate());
-						if (!monthName.equalsIgnoreCase(month.trim())) {
-							return false;
-						}
-					}
-
-					return true;
-				})
-				.collect(Collectors.toList());
+		// Read pre-aggregated daily totals, restricted to the requested period
+		List<DailyTypeTotal> dailyTotals = List.of();
+		Long accountId = findAccountId(accountNumber);
+		if (accountId != null && monthFilter >= 0) {
+			if (year == null) {
+				dailyTotals = rollupRepository.sumDailyTotalsByType(accountId);
+			} else if (monthFilter > 0) {
+				dailyTotals = rollupRepository.sumDailyTotalsByTypeBetween(accountId,
+						startOfMonth(year, monthFilter), startOfMonth(year, monthFilter + 1));
+			} else {
+				dailyTotals = rollupRepository.sumDailyTotalsByTypeBetween(accountId,
+						startOfYear(year), startOfYear(year + 1));
+			}
+		}
 
-		// Group transactions by date
-		Map<String, ChartDataDTO> chartDataMap = new HashMap<>();
-		SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+		// Group transactions by date: deposit, withdrawal, transfer and credit totals in minor units
+		Map<String, long[]> dailyAmounts = new TreeMap<>();
 
-		for (Transaction txn : filteredTransactions) {
-			if (txn.getTransactionDate() == null || txn.getTransactionType() == null) {
+		for (DailyTypeTotal dailyTotal : dailyTotals) {
+			// Month without year matches that month in every year
+			if (monthFilter > 0 && dailyTotal.getRollupDate().getMonthValue() != monthFilter) {
 				continue;
 			}
 
-			String dateKey = dateFormat.format(txn.getTransactionDate());
-			ChartDataDTO chartData = chartDataMap.getOrDefault(dateKey,
-					new ChartDataDTO(dateKey, 0.0, 0.0, 0.0, 0.0));
+			long[] amounts = dailyAmounts.computeIfAbsent(dailyTotal.getRollupDate().toString(),
+					key -> new long[4]);
 
-			// Determine if this transaction is for the account (incoming or outgoing)
-			boolean isSourceAccount = txn.getSourceAccount() != null &&
-					accountNumber.equals(txn.getSourceAccount().getAccountNumber());
-
-			double amount = txn.getAmount();
+			long amount = dailyTotal.getTotal();
 
 			// Add amounts based on transaction type
-			switch (txn.getTransactionType()) {
+			switch (dailyTotal.getTransactionType()) {
 				case CASH_DEPOSIT:
-					chartData.setDeposit(chartData.getDeposit() + amount);
+					amounts[0] += amount;
 					break;
 				case CASH_WITHDRAWAL:
-					chartData.setWithdrawal(chartData.getWithdrawal() + amount);
+					amounts[1] += amount;
 					break;
 				case CASH_TRANSFER:
 					// Count transfer for both incoming and outgoing
-					chartData.setTransfer(chartData.getTransfer() + amount);
+					amounts[2] += amount;
 					break;
 				case CASH_CREDIT:
-					chartData.setCredit(chartData.getCredit() + amount);
+					amounts[3] += amount;
 					break;
 			}
-
-			chartDataMap.put(dateKey, chartData);
 		}
 
-		// Convert to sorted list
-		List<ChartDataDTO> chartDataList = new ArrayList<>(chartDataMap.values());
-		chartDataList.sort((a, b) -> a.getDate().compareTo(b.getDate()));
+		// Already sorted by date
+		List<ChartDataDTO> chartDataList = new ArrayList<>(dailyAmounts.size());
+		for (Map.Entry<String, long[]> entry : dailyAmounts.entrySet()) {
+			long[] amounts = entry.getValue();
+			chartDataList.add(new ChartDataDTO(entry.getKey(),
+					MoneyUtil.toMajorUnits(amounts[0]), MoneyUtil.toMajorUnits(amounts[1]),
+					MoneyUtil.toMajorUnits(amounts[2]), MoneyUtil.toMajorUnits(amounts[3])));
+		}
 
 		// Build response
 		Map<String, Object> response = new HashMap<>();
 		response.put("data", chartDataList);
-		response.put("labels", chartDataList.stream().map(ChartDataDTO::getDate).collect(Collectors.toList()));
+		response.put("labels", new ArrayList<>(dailyAmounts.keySet()));
 
 		log.debug("Returning {} chart data points", chartDataList.size());
 		return response;
@@ -176,19 +229,13 @@ public class TransactionServiceImpl implements TransactionService {
 	public List<Integer> getAvailableYears(String accountNumber) {
 		log.debug("Getting available years for account: {}", accountNumber);
 
-		List<Transaction> transactions = transactionRepository
-				.findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(accountNumber, accountNumber);
+		Long accountId = findAccountId(accountNumber);
+		if (accountId == null) {
+			return new ArrayList<>();
+		}
 
-		List<Integer> years = transactions.stream()
-				.filter(txn -> txn.getTransactionDate() != null)
-				.map(txn -> {
-					Calendar cal = Calendar.getInstance();
-					cal.setTime(txn.getTransactionDate());
-					return cal.get(Calendar.YEAR);
-				})
-				.distinct()
-				.sorted((a, b) -> b.compareTo(a)) // Sort descending (most recent first)
-				.collect(Collectors.toList());
+		List<Integer> years = new ArrayList<>(rollupRepository.findTransactionYears(accountId));
+		years.sort(Comparator.reverseOrder()); // Sort descending (most recent first)
 
 		log.debug("Found {} distinct years", years.size());
 		return years;
@@ -198,52 +245,28 @@ public class TransactionServiceImpl implements TransactionService {
 	public Map<String, Object> getMonthlySummary(String accountNumber, Integer year) {
 		log.debug("Getting monthly summary for account: {}, year: {}", accountNumber, year);
 
-		// Default to current year if not provided - use final variable for lambda
-		final int targetYear = (year == null) ? Calendar.getInstance().get(Calendar.YEAR) : year;
-
-		// Get all transactions for the account
-		List<Transaction> transactions = transactionRepository
-				.findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(accountNumber, accountNumber);
-
-		// Filter by year
-		List<Transaction> filteredTransactions = transactions.stream()
-				.filter(txn -> {
-					if (txn.getTransactionDate() == null)
-						return false;
-					Calendar cal = Calendar.getInstance();
-					cal.setTime(txn.getTransactionDate());
-					return cal.get(Calendar.YEAR) == targetYear;
-				})
-				.collect(Collectors.toList());
-
-		// Initialize monthly totals (12 months)
-		String[] monthNames = { "January", "February", "March", "April", "May", "June",
-				"July", "August", "September", "October", "November", "December" };
-
-		Map<String, Double> monthlyTotals = new HashMap<>();
-		for (String monthName : monthNames) {
-			monthlyTotals.put(monthName, 0.0);
-		}
+		// Default to current year if not provided
+		final int targetYear = (year == null) ? Year.now().getValue() : year;
 
-		// Calculate totals per month
-		for (Transaction txn : filteredTransactions) {
-			Calendar cal = Calendar.getInstance();
-			cal.setTime(txn.getTransactionDate());
-			int monthIndex = cal.get(Calendar.MONTH);
-			String monthName = monthNames[monthIndex];
+		// Initialize monthly totals (12 months), in minor units
+		long[] monthlyTotals = new long[MONTH_NAMES.length];
 
-			double amount = txn.getAmount();
-			monthlyTotals.put(monthName, monthlyTotals.get(monthName) + amount);
+		Long accountId = findAccountId(accountNumber);
+		if (accountId != null) {
+			for (MonthlyTotal monthlyTotal : rollupRepository.sumMonthlyTotalsBetween(accountId,
+					startOfYear(targetYear), startOfYear(targetYear + 1))) {
+				monthlyTotals[monthlyTotal.getTxMonth() - 1] += monthlyTotal.getTotal();
+			}
 		}
 
 		// Build response
 		Map<String, Object> response = new HashMap<>();
 		response.put("year", targetYear);
-		response.put("labels", monthNames);
+		response.put("labels", MONTH_NAMES.clone());
 
-		List<Double> amounts = new ArrayList<>();
-		for (String monthName : monthNames) {
-			amounts.add(monthlyTotals.get(monthName));
+		List<BigDecimal> amounts = new ArrayList<>();
+		for (long monthlyTotal : monthlyTotals) {
+			amounts.add(MoneyUtil.toMajorUnits(monthlyTotal));
 		}
 		response.put("amounts", amounts);
 
@@ -256,210 +279,182 @@ public class TransactionServiceImpl implements TransactionService {
 		log.debug("Getting expense statistics for account: {}, year: {}", accountNumber, year);
 
 		// Default to current year if not provided
-		final int targetYear = (year == null) ? Calendar.getInstance().get(Calendar.YEAR) : year;
-
-		// Get all transactions for the account
-		List<Transaction> transactions = transactionRepository
-				.findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(accountNumber, accountNumber);
-
-		// Filter by year and include only transactions with categories
-		List<Transaction> filteredTransactions = transactions.stream()
-				.filter(txn -> {
-					if (txn.getTransactionDate() == null || txn.getTransactionType() == null) {
-						return false;
-					}
-
-					Calendar cal = Calendar.getInstance();
-					cal.setTime(txn.getTransactionDate());
-
-					// Filter by year
-					if (cal.get(Calendar.YEAR) != targetYear) {
-						return false;
-					}
-
-					// Only include transactions with categories
-					if (txn.getCategory() == null || txn.getCategory().trim().isEmpty()) {
-						return false;
-					}
-
-					// Include deposits with category
-					if (txn.getTransactionType() == TransactionType.CASH_DEPOSIT) {
-						return true;
-					}
-
-					// Include withdrawals with category
-					if (txn.getTransactionType() == TransactionType.CASH_WITHDRAWAL) {
-						return true;
-					}
-
-					// Include outgoing transfers (where account is source) with category
-					if (txn.getTransactionType() == TransactionType.CASH_TRANSFER &&
-							txn.getSourceAccount() != null &&
-							txn.getSourceAccount().getAccountNumber().equals(accountNumber)) {
-						return true;
-					}
-
-					return false;
-				})
-				.collect(Collectors.toList());
-
-		// Calculate totals based on transactions with categories
-		double totalDeposits = 0.0;
-		double totalWithdrawals = 0.0;
-
-		for (Transaction txn : filteredTransactions) {
-			if (txn.getTransactionType() == TransactionType.CASH_DEPOSIT) {
-				totalDeposits += txn.getAmount();
-			} else if (txn.getTransactionType() == TransactionType.CASH_WITHDRAWAL) {
-				totalWithdrawals += txn.getAmount();
-			} else if (txn.getTransactionType() == TransactionType.CASH_TRANSFER &&
-					txn.getSourceAccount() != null &&
-					txn.getSourceAccount().getAccountNumber().equals(accountNumber)) {
-				// Outgoing transfers count as expenses
-				totalWithdrawals += txn.getAmount();
-			}
+		final int targetYear = (year == null) ? Year.now().getValue() : year;
+
+		// Categorised deposits, withdrawals and outgoing transfers, pre-aggregated per day and category
+		List<DailyCategoryTotal> dailyTotals = List.of();
+		Long accountId = findAccountId(accountNumber);
+		if (accountId != null) {
+			dailyTotals = rollupRepository.findDailyCategoryTotalsBetween(accountId, EXPENSE_TRANSACTION_TYPES,
+					startOfYear(targetYear), startOfYear(targetYear + 1));
 		}
 
-		double netBalance = totalDeposits - totalWithdrawals;
-
-		// Build monthly data
-		String[] monthNames = { "January", "February", "March", "April", "May", "June",
-				"July", "August", "September", "October", "November", "December" };
+		// Accumulate in minor units, converted once when building the response
+		long totalDeposits = 0;
+		long totalWithdrawals = 0;
 
-		Map<String, ExpenseStatisticsDTO.MonthlyExpenseData> monthlyDataMap = new HashMap<>();
-		for (String monthName : monthNames) {
-			monthlyDataMap.put(monthName, new ExpenseStatisticsDTO.MonthlyExpenseData(monthName, targetYear, 0.0, 0.0));
+		ExpenseTotals[] monthlyTotals = new ExpenseTotals[MONTH_NAMES.length];
+		for (int i = 0; i < monthlyTotals.length; i++) {
+			monthlyTotals[i] = new ExpenseTotals();
 		}
 
-		for (Transaction txn : filteredTransactions) {
-			Calendar cal = Calendar.getInstance();
-			cal.setTime(txn.getTransactionDate());
-			int monthIndex = cal.get(Calendar.MONTH);
-			String monthName = monthNames[monthIndex];
-
-			ExpenseStatisticsDTO.MonthlyExpenseData monthlyData = monthlyDataMap.get(monthName);
-
-			// Add to category data for this month
-			if (monthlyData.getCategoryData() == null) {
-				monthlyData.setCategoryData(new HashMap<>());
-			}
-			String category = txn.getCategory();
-
-			if (txn.getTransactionType() == TransactionType.CASH_DEPOSIT) {
-				monthlyData.setDeposits(monthlyData.getDeposits() + txn.getAmount());
-				monthlyData.getCategoryData().put(category,
-						monthlyData.getCategoryData().getOrDefault(category, 0.0) + txn.getAmount());
-			} else if (txn.getTransactionType() == TransactionType.CASH_WITHDRAWAL) {
-				monthlyData.setWithdrawals(monthlyData.getWithdrawals() + txn.getAmount());
-				monthlyData.getCategoryData().put(category,
-						monthlyData.getCategoryData().getOrDefault(category, 0.0) + txn.getAmount());
-			} else if (txn.getTransactionType() == TransactionType.CASH_TRANSFER &&
-					txn.getSourceAccount() != null &&
-					txn.getSourceAccount().getAccountNumber().equals(accountNumber)) {
-				monthlyData.setWithdrawals(monthlyData.getWithdrawals() + txn.getAmount());
-				monthlyData.getCategoryData().put(category,
-						monthlyData.getCategoryData().getOrDefault(category, 0.0) + txn.getAmount());
+		Map<String, ExpenseTotals> dailyTotalsByDate = new TreeMap<>();
+		Map<String, ExpenseTotals> weeklyTotals = new HashMap<>();
+		Map<String, Long> categoryTotals = new HashMap<>();
+		Calendar cal = Calendar.getInstance();
+
+		for (DailyCategoryTotal dailyTotal : dailyTotals) {
+			LocalDate day = dailyTotal.getRollupDate();
+			int monthIndex = day.getMonthValue() - 1;
+			String category = dailyTotal.getCategory();
+			long amount = dailyTotal.getTotal();
+			// Withdrawals and outgoing transfers both count as expenses
+			boolean isDeposit = dailyTotal.getTransactionType() == TransactionType.CASH_DEPOSIT;
+
+			if (isDeposit) {
+				totalDeposits += amount;
+			} else {
+				totalWithdrawals += amount;
 			}
-		}
-
-		List<ExpenseStatisticsDTO.MonthlyExpenseData> monthlyDataList = new ArrayList<>(monthlyDataMap.values());
 
-		// Build daily data
-		Map<String, ExpenseStatisticsDTO.DailyExpenseData> dailyDataMap = new HashMap<>();
-		SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+			// Monthly data
+			monthlyTotals[monthIndex].add(isDeposit, category, amount);
 
-		for (Transaction txn : filteredTransactions) {
-			String dateKey = dateFormat.format(txn.getTransactionDate());
-			ExpenseStatisticsDTO.DailyExpenseData dailyData = dailyDataMap.getOrDefault(dateKey,
-					new ExpenseStatisticsDTO.DailyExpenseData(dateKey, 0.0, 0.0));
+			// Daily data
+			dailyTotalsByDate.computeIfAbsent(day.toString(), key -> new ExpenseTotals())
+					.add(isDeposit, category, amount);
 
-			// Add to category data for this day
-			if (dailyData.getCategoryData() == null) {
-				dailyData.setCategoryData(new HashMap<>());
-			}
-			String category = txn.getCategory();
-
-			if (txn.getTransactionType() == TransactionType.CASH_DEPOSIT) {
-				dailyData.setDeposits(dailyData.getDeposits() + txn.getAmount());
-				dailyData.getCategoryData().put(category,
-						dailyData.getCategoryData().getOrDefault(category, 0.0) + txn.getAmount());
-			} else if (txn.getTransactionType() == TransactionType.CASH_WITHDRAWAL) {
-				dailyData.setWithdrawals(dailyData.getWithdrawals() + txn.getAmount());
-				dailyData.getCategoryData().put(category,
-						dailyData.getCategoryData().getOrDefault(category, 0.0) + txn.getAmount());
-			} else if (txn.getTransactionType() == TransactionType.CASH_TRANSFER &&
-					txn.getSourceAccount() != null &&
-					txn.getSourceAccount().getAccountNumber().equals(accountNumber)) {
-				dailyData.setWithdrawals(dailyData.getWithdrawals() + txn.getAmount());
-				dailyData.getCategoryData().put(category,
-						dailyData.getCategoryData().getOrDefault(category, 0.0) + txn.getAmount());
-			}
+			// Weekly data
+			cal.clear();
+			cal.set(targetYear, monthIndex, day.getDayOfMonth());
+			String weekKey = "Week " + cal.get(Calendar.WEEK_OF_YEAR) + ", " + MONTH_NAMES[monthIndex] + " "
+					+ targetYear;
+			weeklyTotals.computeIfAbsent(weekKey, key -> new ExpenseTotals())
+					.add(isDeposit, category, amount);
 
-			dailyDataMap.put(dateKey, dailyData);
+			// Category data (all transactions with categories)
+			categoryTotals.merge(category, amount, Long::sum);
 		}
 
-		List<ExpenseStatisticsDTO.DailyExpenseData> dailyDataList = new ArrayList<>(dailyDataMap.values());
-		dailyDataList.sort((a, b) -> a.getDate().compareTo(b.getDate()));
-
-		// Build weekly data
-		Map<String, ExpenseStatisticsDTO.WeeklyExpenseData> weeklyDataMap = new HashMap<>();
-
-		for (Transaction txn : filteredTransactions) {
-			Calendar cal = Calendar.getInstance();
-			cal.setTime(txn.getTransactionDate());
-			int weekOfYear = cal.get(Calendar.WEEK_OF_YEAR);
-			String monthName = monthNames[cal.get(Calendar.MONTH)];
-			String weekKey = "Week " + weekOfYear + ", " + monthName + " " + targetYear;
-
-			ExpenseStatisticsDTO.WeeklyExpenseData weeklyData = weeklyDataMap.getOrDefault(weekKey,
-					new ExpenseStatisticsDTO.WeeklyExpenseData(weekKey, 0.0, 0.0));
-
-			// Add to category data for this week
-			if (weeklyData.getCategoryData() == null) {
-				weeklyData.setCategoryData(new HashMap<>());
-			}
-			String category = txn.getCategory();
-
-			if (txn.getTransactionType() == TransactionType.CASH_DEPOSIT) {
-				weeklyData.setDeposits(weeklyData.getDeposits() + txn.getAmount());
-				weeklyData.getCategoryData().put(category,
-						weeklyData.getCategoryData().getOrDefault(category, 0.0) + txn.getAmount());
-			} else if (txn.getTransactionType() == TransactionType.CASH_WITHDRAWAL) {
-				weeklyData.setWithdrawals(weeklyData.getWithdrawals() + txn.getAmount());
-				weeklyData.getCategoryData().put(category,
-						weeklyData.getCategoryData().getOrDefault(category, 0.0) + txn.getAmount());
-			} else if (txn.getTransactionType() == TransactionType.CASH_TRANSFER &&
-					txn.getSourceAccount() != null &&
-					txn.getSourceAccount().getAccountNumber().equals(accountNumber)) {
-				weeklyData.setWithdrawals(weeklyData.getWithdrawals() + txn.getAmount());
-				weeklyData.getCategoryData().put(category,
-						weeklyData.getCategoryData().getOrDefault(category, 0.0) + txn.getAmount());
+		List<ExpenseStatisticsDTO.MonthlyExpenseData> monthlyDataList = new ArrayList<>();
+		for (int i = 0; i < monthlyTotals.length; i++) {
+			ExpenseTotals totals = monthlyTotals[i];
+			ExpenseStatisticsDTO.MonthlyExpenseData monthlyData = new ExpenseStatisticsDTO.MonthlyExpenseData(
+					MONTH_NAMES[i], targetYear, MoneyUtil.toMajorUnits(totals.deposits),
+					MoneyUtil.toMajorUnits(totals.withdrawals));
+			if (!totals.categories.isEmpty()) {
+				monthlyData.setCategoryData(toMajorUnits(totals.categories));
 			}
+			monthlyDataList.add(monthlyData);
+		}
 
-			weeklyDataMap.put(weekKey, weeklyData);
+		List<ExpenseStatisticsDTO.DailyExpenseData> dailyDataList = new ArrayList<>();
+		for (Map.Entry<String, ExpenseTotals> entry : dailyTotalsByDate.entrySet()) {
+			ExpenseTotals totals = entry.getValue();
+			ExpenseStatisticsDTO.DailyExpenseData dailyData = new ExpenseStatisticsDTO.DailyExpenseData(
+					entry.getKey(), MoneyUtil.toMajorUnits(totals.deposits),
+					MoneyUtil.toMajorUnits(totals.withdrawals));
+			dailyData.setCategoryData(toMajorUnits(totals.categories));
+			dailyDataList.add(dailyData);
 		}
 
-		List<ExpenseStatisticsDTO.WeeklyExpenseData> weeklyDataList = new ArrayList<>(weeklyDataMap.values());
+		List<ExpenseStatisticsDTO.WeeklyExpenseData> weeklyDataList = new ArrayList<>();
+		for (Map.Entry<String, ExpenseTotals> entry : weeklyTotals.entrySet()) {
+			ExpenseTotals totals = entry.getValue();
+			ExpenseStatisticsDTO.WeeklyExpenseData weeklyData = new ExpenseStatisticsDTO.WeeklyExpenseData(
+					entry.getKey(), MoneyUtil.toMajorUnits(totals.deposits),
+					MoneyUtil.toMajorUnits(totals.withdrawals));
+			weeklyData.setCategoryData(toMajorUnits(totals.categories));
+			weeklyDataList.add(weeklyData);
+		}
 		weeklyDataList.sort((a, b) -> a.getWeek().compareTo(b.getWeek()));
 
-		// Build category data (all transactions with categories)
-		Map<String, Double> categoryDataMap = new HashMap<>();
-		for (Transaction txn : filteredTransactions) {
-			String category = txn.getCategory();
-			categoryDataMap.put(category, categoryDataMap.getOrDefault(category, 0.0) + txn.getAmount());
-		}
+		long netBalance = totalDeposits - totalWithdrawals;
 
 		// Build response
-		ExpenseStatisticsDTO statistics = new ExpenseStatisticsDTO(totalDeposits, totalWithdrawals, netBalance);
+		ExpenseStatisticsDTO statistics = new ExpenseStatisticsDTO(MoneyUtil.toMajorUnits(totalDeposits),
+				MoneyUtil.toMajorUnits(totalWithdrawals), MoneyUtil.toMajorUnits(netBalance));
 		statistics.setMonthlyData(monthlyDataList);
 		statistics.setDailyData(dailyDataList);
 		statistics.setWeeklyData(weeklyDataList);
-		statistics.setCategoryData(categoryDataMap);
+		statistics.setCategoryData(toMajorUnits(categoryTotals));
 
 		log.debug("Expense statistics calculated: deposits={}, withdrawals={}, netBalance={}, categories={}",
-				totalDeposits, totalWithdrawals, netBalance, categoryDataMap.size());
+				totalDeposits, totalWithdrawals, netBalance, categoryTotals.size());
 
 		return statistics;
 	}
 
-}
\ No newline at end of file
+	/**
+	 * Deposit, withdrawal and per-category totals of one period, in minor units.
+	 */
+	private static final class ExpenseTotals {
+		private long deposits;
+		private long withdrawals;
+		private final Map<String, Long> categories = new HashMap<>();
+
+		void add(boolean isDeposit, String category, long amount) {
+			if (isDeposit) {
+				deposits += amount;
+			} else {
+				withdrawals += amount;
+			}
+			categories.merge(category, amount, Long::sum);
+		}
+	}
+
+	private static Map<String, BigDecimal> toMajorUnits(Map<String, Long> amounts) {
+		Map<String, BigDecimal> converted = new HashMap<>();
+		amounts.forEach((key, amount) -> converted.put(key, MoneyUtil.toMajorUnits(amount)));
+		return converted;
+	}
+
+	/**
+	 * Cursors are opaque to clients: base64url of "transactionDateMillis:id".
+	 */
+	private static String encodeCursor(long transactionDateMillis, long id) {
+		String position = transactionDateMillis + ":" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	private static long[] decodeCursor(String cursor) {
+		try {
+			String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+			int separator = position.indexOf(':');
+			return new long[] { Long.parseLong(position.substring(0, separator)),
+					Long.parseLong(position.substring(separator + 1)) };
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Invalid cursor: " + cursor);
+		}
+	}
+
+	private Long findAccountId(String accountNumber) {
+		Account account = accountRepository.findByAccountNumber(accountNumber);
+		if (account == null) {
+			log.warn("Account not found: {}", accountNumber);
+			return null;
+		}
+		return account.getId();
+	}
+
+	/**
+	 * Returns 1-12 for an English month name, or -1 if the name is not recognised.
+	 */
+	private static int toMonthNumber(String monthName) {
+		for (int i = 0; i < MONTH_NAMES.length; i++) {
+			if (MONTH_NAMES[i].equalsIgnoreCase(monthName)) {
+				return i + 1;
+			}
+		}
+		return -1;
+	}
+
+	private static LocalDate startOfYear(int year) {
+		return LocalDate.of(year, 1, 1);
+	}
+
+	private static LocalDate startOfMonth(int year, int month) {
+		return startOfYear(year).plusMonths(month - 1L);
+	}
+
+}
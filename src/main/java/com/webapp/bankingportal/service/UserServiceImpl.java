@@ -1,7 +1,7 @@
 package com.webapp.bankingportal.service;
 
 import java.sql.Timestamp;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -21,9 +21,14 @@ import com.webapp.bankingportal.dto.UserResponse;
 import com.webapp.bankingportal.entity.User;
 import com.webapp.bankingportal.exception.InvalidTokenException;
 import com.webapp.bankingportal.exception.PasswordResetException;
+import com.webapp.bankingportal.exception.ServiceUnavailableException;
+import com.webapp.bankingportal.exception.TooManyRequestsException;
 import com.webapp.bankingportal.exception.UnauthorizedException;
 import com.webapp.bankingportal.exception.UserInvalidException;
 import com.webapp.bankingportal.repository.UserRepository;
+import com.webapp.bankingportal.security.PrincipalCache;
+import com.webapp.bankingportal.type.CacheKeyType;
+import com.webapp.bankingportal.type.EmailTemplateType;
 import com.webapp.bankingportal.util.JsonUtil;
 import com.webapp.bankingportal.util.LoggedinUser;
 import com.webapp.bankingportal.util.ValidationUtil;
@@ -39,12 +44,18 @@ public class UserServiceImpl implements UserService {
 
     private static final Logger log = LoggerFactory.getLogger(UserServiceImpl.class);
 
+    public static final int LOGIN_ATTEMPTS_LIMIT = 5;
+
     private final AccountService accountService;
+    private final AccountSnapshotService accountSnapshotService;
     private final AuthenticationManager authenticationManager;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
+    private final EmailTemplateService emailTemplateService;
     private final GeolocationService geolocationService;
     private final OtpService otpService;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final RateLimiterService rateLimiterService;
     private final TokenService tokenService;
     private final UserDetailsService userDetailsService;
     private final UserRepository userRepository;
@@ -52,21 +63,29 @@ public class UserServiceImpl implements UserService {
     
     @Autowired
     public UserServiceImpl(AccountService accountService,
+                          AccountSnapshotService accountSnapshotService,
                           AuthenticationManager authenticationManager,
-                          EmailService emailService,
+                          EmailOutboxService emailOutboxService,
+                          EmailTemplateService emailTemplateService,
                           GeolocationService geolocationService,
                           OtpService otpService,
                           PasswordEncoder passwordEncoder,
+                          PrincipalCache principalCache,
+                          RateLimiterService rateLimiterService,
                           TokenService tokenService,
                           UserDetailsService userDetailsService,
                           UserRepository userRepository,
                           ValidationUtil validationUtil) {
         this.accountService = accountService;
+        this.accountSnapshotService = accountSnapshotService;
         this.authenticationManager = authenticationManager;
-        this.emailService = emailService;
+        this.emailOutboxService = emailOutboxService;
+        this.emailTemplateService = emailTemplateService;
         this.geolocationService = geolocationService;
         this.otpService = otpService;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.rateLimiterService = rateLimiterService;
         this.tokenService = tokenService;
         this.userDetailsService = userDetailsService;
         this.userRepository = userRepository;
@@ -133,9 +152,13 @@ public class UserServiceImpl implements UserService {
         log.info("Resetting password for user: {}", user.getEmail());
         try {
             user.setPassword(passwordEncoder.encode(newPassword));
-            userRepository.save(user);
+            saveUser(user);
+            principalCache.evict(user.getAccount().getAccountNumber());
             log.info("Password reset successfully for user: {}", user.getEmail());
             return true;
+        } catch (ServiceUnavailableException e) {
+            // The hashing pool is saturated: answered with 503 so the client retries
+            throw e;
         } catch (Exception e) {
             log.error("Failed to reset password for user: {}", user.getEmail(), e);
             throw new PasswordResetException(ApiMessages.PASSWORD_RESET_FAILURE.getMessage(), e);
@@ -156,7 +179,11 @@ public class UserServiceImpl implements UserService {
     @Override
     public User saveUser(User user) {
         log.debug("Saving user: {}", user.getEmail());
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        if (savedUser.getAccount() != null) {
+            accountSnapshotService.evictUser(savedUser.getAccount().getAccountNumber());
+        }
+        return savedUser;
     }
 
     @Override
@@ -208,40 +235,44 @@ public class UserServiceImpl implements UserService {
     private User authenticateUser(LoginRequest loginRequest) {
         log.debug("Authenticating user with identifier: {}", loginRequest.identifier());
         User user = getUserByIdentifier(loginRequest.identifier());
-        String accountNumber = user.getAccount().getAccountNumber();
-        authenticationManager
-                .authenticate(new UsernamePasswordAuthenticationToken(accountNumber, loginRequest.password()));
+        authenticateUser(user.getAccount().getAccountNumber(), loginRequest.password());
         return user;
     }
 
     private void authenticateUser(String accountNumber, String password) {
         log.debug("Authenticating user with account number: {}", accountNumber);
+        // Checked before hashing, so guessing runs cost no BCrypt work once limited
+        RateLimiterService.Decision decision = rateLimiterService.tryAcquire(
+                CacheKeyType.LOGIN_ATTEMPT, accountNumber, LOGIN_ATTEMPTS_LIMIT);
+        if (!decision.allowed()) {
+            log.warn("Login attempt limit exceeded for account: {}", accountNumber);
+            throw new TooManyRequestsException(
+                    String.format(ApiMessages.LOGIN_ATTEMPT_LIMIT_EXCEEDED.getMessage(), decision.retryAfterMinutes()),
+                    TimeUnit.MILLISECONDS.toSeconds(decision.retryAfterMillis() + 999));
+        }
+
         authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(accountNumber, password));
+        rateLimiterService.reset(CacheKeyType.LOGIN_ATTEMPT, accountNumber);
     }
 
     private String generateAndSaveToken(String accountNumber) throws InvalidTokenException {
         log.debug("Generating and saving token for account: {}", accountNumber);
         UserDetails userDetails = userDetailsService.loadUserByUsername(accountNumber);
-        String token = tokenService.generateToken(userDetails);
-        tokenService.saveToken(token);
-        return token;
+        return tokenService.issueToken(userDetails);
     }
 
     private ResponseEntity<String> sendOtpEmail(User user, String otp) {
         log.debug("Sending OTP email to: {}", user.getEmail());
-        CompletableFuture<Void> emailSendingFuture = otpService.sendOTPByEmail(
-                user.getEmail(), user.getName(), user.getAccount().getAccountNumber(), otp);
-
-        ResponseEntity<String> successResponse = ResponseEntity
-                .ok(String.format(ApiMessages.OTP_SENT_SUCCESS.getMessage(), user.getEmail()));
-        ResponseEntity<String> failureResponse = ResponseEntity.internalServerError()
-                .body(String.format(ApiMessages.OTP_SENT_FAILURE.getMessage(), user.getEmail()));
-
-        return emailSendingFuture.thenApply(result -> successResponse)
-                .exceptionally(e -> {
-                    log.error("Failed to send OTP email to: {}", user.getEmail(), e);
-                    return failureResponse;
-                }).join();
+        // Delivery happens from the outbox; the response only waits for the row to commit
+        try {
+            otpService.sendOTPByEmail(user.getEmail(), user.getName(), user.getAccount().getAccountNumber(), otp);
+        } catch (RuntimeException e) {
+            log.error("Failed to queue OTP email to: {}", user.getEmail(), e);
+            return ResponseEntity.internalServerError()
+                    .body(String.format(ApiMessages.OTP_SENT_FAILURE.getMessage(), user.getEmail()));
+        }
+
+        return ResponseEntity.ok(String.format(ApiMessages.OTP_SENT_SUCCESS.getMessage(), user.getEmail()));
     }
 
     private void validateOtpRequest(OtpVerificationRequest request) {
@@ -299,45 +330,29 @@ public class UserServiceImpl implements UserService {
 
     private void sendLoginNotification(User user, String ip) {
         log.debug("Sending login notification for user: {} from IP: {}", user.getEmail(), ip);
-        
-        // Chạy bất đồng bộ, không chờ kết quả
-        CompletableFuture.runAsync(() -> {
-            try {
-                sendLoginNotificationAsync(user, ip).join();
-            } catch (Exception e) {
-                log.warn("Login notification failed for user: {}", user.getEmail(), e);
-            }
-        });
-    }
-
-    private CompletableFuture<Boolean> sendLoginNotificationAsync(User user, String ip) {
-        log.debug("Sending login notification for user: {} from IP: {}", user.getEmail(), ip);
+        String email = user.getEmail();
+        String name = user.getName();
         String loginTime = new Timestamp(System.currentTimeMillis()).toString();
 
-        return geolocationService.getGeolocation(ip)
-                .thenComposeAsync(geolocationResponse -> {
-                    // SỬA: Sử dụng method helper từ DTO
-                    String loginLocation = geolocationResponse.getFormattedLocation();
-                    return sendLoginEmail(user, loginTime, loginLocation);
-                })
-                .exceptionallyComposeAsync(throwable -> {
-                    log.warn("Failed to get geolocation for IP: {}, using Unknown location", ip, throwable);
-                    return sendLoginEmail(user, loginTime, "Unknown location");
-                });
-    }
-
-    private CompletableFuture<Boolean> sendLoginEmail(User user, String loginTime, String loginLocation) {
-        log.debug("Sending login email to: {}", user.getEmail());
-        String emailText = emailService.getLoginEmailTemplate(user.getName(), loginTime, loginLocation);
-        return emailService.sendEmail(user.getEmail(), ApiMessages.EMAIL_SUBJECT_LOGIN.getMessage(), emailText)
-                .thenApplyAsync(result -> {
-                    log.info("Login email sent successfully to: {}", user.getEmail());
-                    return true;
-                })
-                .exceptionally(ex -> {
-                    log.error("Failed to send login email to: {}", user.getEmail(), ex);
-                    return false;
-                });
+        // The login response waits for neither the lookup nor the email
+        try {
+            geolocationService.getGeolocation(ip)
+                    .thenApply(geolocationResponse -> geolocationResponse.getFormattedLocation())
+                    .exceptionally(throwable -> {
+                        log.warn("Failed to get geolocation for IP: {}, using Unknown location", ip, throwable);
+                        return "Unknown location";
+                    })
+                    .thenAccept(loginLocation -> emailOutboxService.enqueue(email,
+                            ApiMessages.EMAIL_SUBJECT_LOGIN.getMessage(),
+                            emailTemplateService.render(EmailTemplateType.LOGIN, name, loginTime, loginLocation)))
+                    .exceptionally(throwable -> {
+                        log.error("Failed to queue login email to: {}", email, throwable);
+                        return null;
+                    });
+        } catch (RuntimeException e) {
+            // The async executor is saturated; the login itself must not fail
+            log.warn("Login notification skipped for user: {}", email, e);
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -38,23 +38,43 @@ public enum CacheKeyType {
 */
 package com.webapp.bankingportal.type;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public enum CacheKeyType {
     
     // SỬA: Đảm bảo số lượng %s khớp với số arguments
-    IDEMPOTENCY("idempotency:%s", 300), // 1 argument
+    IDEMPOTENCY("idempotency:%s", 300, CacheValueType.JSON), // 1 argument
     
     // Các cache key khác
-    USER("user:%s", 3600),              // 1 argument
-    ACCOUNT("account:%s", 1800),        // 1 argument
-    OTP("otp:%s:%s", 600),              // 2 arguments
-    LOGIN_ATTEMPT("login:attempt:%s", 900); // 1 argument
+    USER("user:%s", 3600, CacheValueType.BINARY),              // 1 argument
+    ACCOUNT("account:%s", 1800, CacheValueType.BINARY),        // 1 argument
+    OTP("otp:%s:%s", 600, CacheValueType.STRING),              // 2 arguments
+    // Set while OTPs issued to the database during a Redis outage may still be live
+    OTP_FALLBACK("otp:fallback", 600, CacheValueType.STRING),  // no arguments
+
+    // Rate limit windows of RateLimiterService: the TTL is the window length
+    LOGIN_ATTEMPT("login:attempt:%s", 900, CacheValueType.BINARY), // 1 argument
+    OTP_GENERATION_ATTEMPT("otp:generation:attempt:%s", 900, CacheValueType.STRING), // 1 argument
+    OTP_VERIFICATION_ATTEMPT("otp:verification:attempt:%s", 900, CacheValueType.STRING); // 1 argument
     
     private final String keyPattern;
     private final long ttlSeconds;
+    private final CacheValueType cacheValueType;
+    // The pattern split around its %s placeholders, so keys are built without String.format
+    private final String[] segments;
+    private final int segmentsLength;
     
-    CacheKeyType(String keyPattern, long ttlSeconds) {
+    CacheKeyType(String keyPattern, long ttlSeconds, CacheValueType cacheValueType) {
         this.keyPattern = keyPattern;
         this.ttlSeconds = ttlSeconds;
+        this.cacheValueType = cacheValueType;
+        this.segments = compile(keyPattern);
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.segmentsLength = length;
     }
     
     public String getKeyPattern() {
@@ -64,8 +84,74 @@ public enum CacheKeyType {
     public long getTtlSeconds() {
         return ttlSeconds;
     }
+
+    public CacheValueType getCacheValueType() {
+        return cacheValueType;
+    }
     
+    public int getArgumentCount() {
+        return segments.length - 1;
+    }
+
+    /**
+     * Same result as {@code String.format(keyPattern, arguments)} for the
+     * {@code %s} patterns used here. Extra arguments are ignored, as with
+     * String.format.
+     *
+     * @throws IllegalArgumentException If there are fewer arguments than
+     *                                  placeholders.
+     */
     public String generateKey(String... arguments) {
-        return String.format(keyPattern, (Object[]) arguments);
+        int argumentCount = segments.length - 1;
+        if (arguments.length < argumentCount) {
+            throw new IllegalArgumentException(
+                    name() + " key needs " + argumentCount + " arguments, got " + arguments.length);
+        }
+
+        int length = segmentsLength;
+        for (int i = 0; i < argumentCount; i++) {
+            length += arguments[i] == null ? 4 : arguments[i].length();
+        }
+
+        StringBuilder key = new StringBuilder(length).append(segments[0]);
+        for (int i = 0; i < argumentCount; i++) {
+            key.append(arguments[i]).append(segments[i + 1]);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Single-argument form, which skips the varargs array for the common
+     * one-placeholder key types.
+     */
+    public String generateKey(String argument) {
+        if (segments.length != 2) {
+            return generateKey(new String[] { argument });
+        }
+        return segments[0] + argument + segments[1];
+    }
+
+    private static String[] compile(String keyPattern) {
+        List<String> segments = new ArrayList<>();
+        StringBuilder segment = new StringBuilder();
+        for (int i = 0; i < keyPattern.length(); i++) {
+            char c = keyPattern.charAt(i);
+            if (c != '%') {
+                segment.append(c);
+                continue;
+            }
+
+            char conversion = i + 1 < keyPattern.length() ? keyPattern.charAt(++i) : ' ';
+            if (conversion == '%') {
+                segment.append('%');
+            } else if (conversion == 's') {
+                segments.add(segment.toString());
+                segment.setLength(0);
+            } else {
+                throw new IllegalStateException("Unsupported cache key pattern: " + keyPattern);
+            }
+        }
+        segments.add(segment.toString());
+        return segments.toArray(new String[0]);
     }
 }
\ No newline at end of file
@@ -1,7 +1,36 @@
 package com.webapp.bankingportal.type;
 
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import com.webapp.bankingportal.util.CacheValueCodec;
+import com.webapp.bankingportal.util.CompactCacheValueCodec;
+import com.webapp.bankingportal.util.CompressingCacheValueCodec;
+
 public enum CacheValueType {
-    STRING,
-    JSON,
+    // Raw UTF-8, for values that are always strings
+    STRING(CacheValueCodec.of(
+            value -> value.toString().getBytes(StandardCharsets.UTF_8),
+            bytes -> new String(bytes, StandardCharsets.UTF_8))),
+    // Self-describing JSON with type metadata, readable with redis-cli
+    JSON(jsonCodec()),
+    // Compact tagged binary, deflated from 512 bytes up
+    BINARY(new CompressingCacheValueCodec(new CompactCacheValueCodec(), 512)),
     ;
+
+    private final CacheValueCodec codec;
+
+    CacheValueType(CacheValueCodec codec) {
+        this.codec = codec;
+    }
+
+    public CacheValueCodec getCodec() {
+        return codec;
+    }
+
+    private static CacheValueCodec jsonCodec() {
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+        return CacheValueCodec.of(serializer::serialize, serializer::deserialize);
+    }
 }
@@ -0,0 +1,26 @@
+package com.webapp.bankingportal.type;
+
+import java.util.List;
+
+public enum EmailTemplateType {
+
+    // Values are passed to EmailTemplateService.render in the order declared here
+    LOGIN("login", "name", "loginTime", "loginLocation"),
+    OTP_LOGIN("otp-login", "name", "accountNumber", "otp", "expiryMinutes");
+
+    private final String templateName;
+    private final List<String> variables;
+
+    EmailTemplateType(String templateName, String... variables) {
+        this.templateName = templateName;
+        this.variables = List.of(variables);
+    }
+
+    public String getTemplateName() {
+        return templateName;
+    }
+
+    public List<String> getVariables() {
+        return variables;
+    }
+}
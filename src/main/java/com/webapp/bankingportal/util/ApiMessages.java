@@ -6,7 +6,11 @@ public enum ApiMessages {
     AMOUNT_INVALID_ERROR("Invalid amount"),
     AMOUNT_NEGATIVE_ERROR("Amount must be greater than 0"),
     AMOUNT_NOT_MULTIPLE_OF_100_ERROR("Amount must be in multiples of 100"),
+    AMOUNT_PRECISION_ERROR("Amount cannot have more than 2 decimal places"),
     BALANCE_INSUFFICIENT_ERROR("Insufficient balance"),
+    BULK_TRANSFER_ROW_INVALID("Invalid row: %s"),
+    BULK_TRANSFER_ROW_SUCCESS("Fund transferred successfully"),
+    BULK_TRANSFER_TOO_LARGE_ERROR("Bulk transfers sent with an Idempotency-Key are limited to %d characters"),
     CASH_DEPOSIT_SUCCESS("{\"msg\": \"Cash deposited successfully\"}"),
     CASH_TRANSFER_SAME_ACCOUNT_ERROR("Source and target account cannot be the same"),
     CASH_TRANSFER_SUCCESS("{\"msg\": \"Fund transferred successfully\"}"),
@@ -14,14 +18,23 @@ public enum ApiMessages {
     EMAIL_SUBJECT_LOGIN("New login to OneStopBank"),
     EMAIL_SUBJECT_OTP("OTP Verification"),
     GEOLOCATION_FAILED("Failed to get geolocation for IP: %s"),
+    IDEMPOTENCY_KEY_INVALID("Idempotency-Key must be between 1 and 255 characters"),
+    IDEMPOTENCY_KEY_IN_PROGRESS("A request with this Idempotency-Key is still being processed"),
+    IDEMPOTENCY_KEY_OUTCOME_UNKNOWN("The outcome of the request with this Idempotency-Key is unknown, check the transaction history before retrying"),
+    IDEMPOTENCY_KEY_REUSED("Idempotency-Key was already used for a different request"),
     IDENTIFIER_MISSING_ERROR("Missing identifier"),
+    LEDGER_BUSY_ERROR("Too many transactions are being processed, please try again shortly"),
+    LEDGER_OUTCOME_UNKNOWN_ERROR("The transaction may or may not have been applied, check the transaction history before retrying"),
+    LOGIN_ATTEMPT_LIMIT_EXCEEDED("Too many login attempts. Please try again after %d minutes"),
     OTP_GENERATION_LIMIT_EXCEEDED("OTP generation limit exceeded. Please try again after %d minutes"),
     OTP_INVALID_ERROR("Invalid OTP"),
     OTP_MISSING_ERROR("Missing OTP"),
     OTP_SENT_FAILURE("{\"message\": \"Failed to send OTP to: %s\"}"),
     OTP_SENT_SUCCESS("{\"message\": \"OTP sent successfully to: %s\"}"),
+    OTP_VERIFICATION_LIMIT_EXCEEDED("OTP verification limit exceeded. Please try again after %d minutes"),
     PASSWORD_CONTAINS_WHITESPACE_ERROR("Password cannot contain any whitespace characters"),
     PASSWORD_EMPTY_ERROR("Password cannot be empty"),
+    PASSWORD_HASHING_BUSY_ERROR("Too many requests are being processed, please try again shortly"),
     PASSWORD_INVALID_ERROR("Invalid password"),
     PASSWORD_REQUIREMENTS_ERROR("Password must contain at least %s"),
     PASSWORD_RESET_FAILURE("Failed to reset password"),
@@ -44,6 +57,7 @@ public enum ApiMessages {
     TOKEN_ISSUED_SUCCESS("{ \"token\": \"%s\" }"),
     TOKEN_MALFORMED_ERROR("Token is malformed"),
     TOKEN_NOT_FOUND_ERROR("Token not found"),
+    TOKEN_REVOKED_ERROR("Token has been revoked"),
     TOKEN_SIGNATURE_INVALID_ERROR("Token signature is invalid"),
     TOKEN_UNSUPPORTED_ERROR("Token is not supported"),
     USER_ADDRESS_EMPTY_ERROR("Address cannot be empty"),
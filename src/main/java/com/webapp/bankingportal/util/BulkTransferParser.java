@@ -0,0 +1,135 @@
+package com.webapp.bankingportal.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.webapp.bankingportal.dto.BulkTransferRow;
+
+/**
+ * Reads a bulk transfer body one line at a time, so arbitrarily large uploads
+ * are never held in memory. Two formats are accepted:
+ * <ul>
+ * <li>JSON lines: {@code {"targetAccountNumber": "...", "amount": 100, "category": "..."}}</li>
+ * <li>CSV: {@code targetAccountNumber,amount[,category]}, with an optional header line</li>
+ * </ul>
+ * Blank lines are skipped. A malformed line becomes an invalid row rather than
+ * failing the whole upload.
+ */
+public class BulkTransferParser implements Iterator<BulkTransferRow> {
+
+    private static final String CSV_HEADER_PREFIX = "targetAccountNumber";
+
+    // Keeps decimal amounts exact instead of going through double
+    private static final ObjectReader JSON_READER = JsonUtil.objectMapper.reader()
+            .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private final BufferedReader reader;
+    private final boolean csv;
+    private int lineNumber;
+    private int row;
+    private BulkTransferRow next;
+
+    public BulkTransferParser(BufferedReader reader, boolean csv) {
+        this.reader = reader;
+        this.csv = csv;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readRow();
+        }
+        return next != null;
+    }
+
+    @Override
+    public BulkTransferRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        BulkTransferRow row = next;
+        next = null;
+        return row;
+    }
+
+    private BulkTransferRow readRow() {
+        String line;
+        try {
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.isBlank() || (csv && lineNumber == 1 && line.trim().startsWith(CSV_HEADER_PREFIX)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        row++;
+        return csv ? parseCsv(line) : parseJson(line);
+    }
+
+    private BulkTransferRow parseCsv(String line) {
+        // The category is the last column and may itself contain commas
+        String[] columns = line.split(",", 3);
+        if (columns.length < 2) {
+            return invalid("expected targetAccountNumber,amount[,category]");
+        }
+
+        BigDecimal amount = parseAmount(columns[1].trim());
+        if (amount == null) {
+            return invalid("amount is not a number");
+        }
+
+        String category = columns.length > 2 && !columns[2].isBlank() ? columns[2].trim() : null;
+        return new BulkTransferRow(row, columns[0].trim(), amount, category, null);
+    }
+
+    private BulkTransferRow parseJson(String line) {
+        JsonNode node;
+        try {
+            node = JSON_READER.readTree(line);
+        } catch (JsonProcessingException e) {
+            return invalid("malformed JSON");
+        }
+
+        if (node == null || !node.isObject()) {
+            return invalid("expected a JSON object");
+        }
+
+        JsonNode amountNode = node.get("amount");
+        BigDecimal amount = amountNode == null || amountNode.isNull() ? null
+                : amountNode.isNumber() ? amountNode.decimalValue() : parseAmount(amountNode.asText());
+        if (amountNode != null && !amountNode.isNull() && amount == null) {
+            return invalid("amount is not a number");
+        }
+
+        return new BulkTransferRow(row, text(node, "targetAccountNumber"), amount, text(node, "category"), null);
+    }
+
+    private BulkTransferRow invalid(String reason) {
+        return BulkTransferRow.invalid(row, String.format(ApiMessages.BULK_TRANSFER_ROW_INVALID.getMessage(), reason));
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static BigDecimal parseAmount(String value) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.webapp.bankingportal.util;
+
+import java.util.function.Function;
+
+/**
+ * Turns cached values into the bytes stored in Redis and back. Each
+ * {@link com.webapp.bankingportal.type.CacheValueType} supplies one codec, and
+ * each {@link com.webapp.bankingportal.type.CacheKeyType} picks its value type.
+ */
+public interface CacheValueCodec {
+
+    byte[] encode(Object value);
+
+    Object decode(byte[] bytes);
+
+    public static CacheValueCodec of(Function<Object, byte[]> encoder, Function<byte[], Object> decoder) {
+        return new CacheValueCodec() {
+            @Override
+            public byte[] encode(Object value) {
+                return encoder.apply(value);
+            }
+
+            @Override
+            public Object decode(byte[] bytes) {
+                return decoder.apply(bytes);
+            }
+        };
+    }
+
+}
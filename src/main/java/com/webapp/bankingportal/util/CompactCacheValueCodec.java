@@ -0,0 +1,147 @@
+package com.webapp.bankingportal.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compact tagged binary encoding for cached values. Scalars are written as a
+ * one-byte tag followed by their value, with integers as zigzag varints, so a
+ * counter or a short string costs a few bytes instead of a JSON document with
+ * type metadata. Any other object is written as its class name once followed
+ * by plain JSON without per-field type information.
+ */
+public class CompactCacheValueCodec implements CacheValueCodec {
+
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_LONG = 2;
+    private static final byte TAG_INTEGER = 3;
+    private static final byte TAG_TRUE = 4;
+    private static final byte TAG_FALSE = 5;
+    private static final byte TAG_BYTES = 6;
+    private static final byte TAG_DECIMAL = 7;
+    private static final byte TAG_OBJECT = 8;
+
+    // Only our own types are instantiated by name; anything else decodes as generic maps and lists
+    private static final String TRUSTED_PACKAGE = "com.webapp.bankingportal.";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    @Override
+    public byte[] encode(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32);
+
+        if (value instanceof String string) {
+            out.write(TAG_STRING);
+            out.writeBytes(string.getBytes(StandardCharsets.UTF_8));
+        } else if (value instanceof Long number) {
+            out.write(TAG_LONG);
+            writeVarLong(out, number);
+        } else if (value instanceof Integer number) {
+            out.write(TAG_INTEGER);
+            writeVarLong(out, number);
+        } else if (value instanceof Boolean bool) {
+            out.write(bool ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof byte[] bytes) {
+            out.write(TAG_BYTES);
+            out.writeBytes(bytes);
+        } else if (value instanceof BigDecimal decimal) {
+            out.write(TAG_DECIMAL);
+            writeVarLong(out, decimal.scale());
+            out.writeBytes(decimal.unscaledValue().toByteArray());
+        } else {
+            out.write(TAG_OBJECT);
+            byte[] className = value.getClass().getName().getBytes(StandardCharsets.UTF_8);
+            writeVarLong(out, className.length);
+            out.writeBytes(className);
+            try {
+                objectMapper.writeValue(out, value);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        byte tag = in.get();
+
+        switch (tag) {
+            case TAG_STRING:
+                return new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8);
+            case TAG_LONG:
+                return readVarLong(in);
+            case TAG_INTEGER:
+                return (int) readVarLong(in);
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_BYTES:
+                return remaining(in);
+            case TAG_DECIMAL:
+                int scale = (int) readVarLong(in);
+                return new BigDecimal(new BigInteger(remaining(in)), scale);
+            case TAG_OBJECT:
+                byte[] className = new byte[(int) readVarLong(in)];
+                in.get(className);
+                return readObject(new String(className, StandardCharsets.UTF_8), remaining(in));
+            default:
+                throw new IllegalArgumentException("Unknown cache value tag: " + tag);
+        }
+    }
+
+    private static Object readObject(String className, byte[] json) {
+        try {
+            if (className.startsWith(TRUSTED_PACKAGE)) {
+                return objectMapper.readValue(json, Class.forName(className));
+            }
+            return objectMapper.readValue(json, Object.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Unknown cached type: " + className, e);
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        // Zigzag keeps small negative numbers short too
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.write((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.write((int) zigzag);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long zigzag = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            zigzag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    private static byte[] remaining(ByteBuffer in) {
+        byte[] bytes = new byte[in.remaining()];
+        in.get(bytes);
+        return bytes;
+    }
+
+}
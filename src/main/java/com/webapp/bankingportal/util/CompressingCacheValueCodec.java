@@ -0,0 +1,99 @@
+package com.webapp.bankingportal.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflates the output of another codec once it grows past a size threshold.
+ * A one-byte header records whether the payload is compressed, so small hot
+ * values pay no CPU for compression and large ones cost less memory and
+ * network in Redis.
+ */
+public class CompressingCacheValueCodec implements CacheValueCodec {
+
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+
+    private final CacheValueCodec delegate;
+    private final int threshold;
+
+    public CompressingCacheValueCodec(CacheValueCodec delegate, int threshold) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        byte[] encoded = delegate.encode(value);
+        if (encoded.length >= threshold) {
+            byte[] deflated = deflate(encoded);
+            // Incompressible payloads are kept raw rather than grown
+            if (deflated.length < encoded.length) {
+                return withHeader(DEFLATED, deflated);
+            }
+        }
+        return withHeader(RAW, encoded);
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        byte[] payload = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 1, payload, 0, payload.length);
+
+        switch (bytes[0]) {
+            case RAW:
+                return delegate.decode(payload);
+            case DEFLATED:
+                return delegate.decode(inflate(payload));
+            default:
+                throw new IllegalArgumentException("Unknown cache value header: " + bytes[0]);
+        }
+    }
+
+    private static byte[] withHeader(byte header, byte[] payload) {
+        byte[] bytes = new byte[payload.length + 1];
+        bytes[0] = header;
+        System.arraycopy(payload, 0, bytes, 1, payload.length);
+        return bytes;
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 2);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && inflater.needsInput()) {
+                    throw new IllegalArgumentException("Truncated compressed cache value");
+                }
+                out.write(buffer, 0, inflated);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt compressed cache value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
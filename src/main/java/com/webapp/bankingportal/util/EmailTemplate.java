@@ -0,0 +1,91 @@
+package com.webapp.bankingportal.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template parsed once into literal text and {@code {{name}}} placeholder
+ * slots. Placeholder names are resolved to argument positions at parse time,
+ * so rendering is a single pass appending into the caller's buffer. HTML
+ * templates escape every value as it is appended.
+ */
+public final class EmailTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // literals[i] precedes slots[i]; the last literal follows the last slot
+    private final String[] literals;
+    private final int[] slots;
+    private final boolean escapeHtml;
+
+    private EmailTemplate(String[] literals, int[] slots, boolean escapeHtml) {
+        this.literals = literals;
+        this.slots = slots;
+        this.escapeHtml = escapeHtml;
+    }
+
+    /**
+     * @throws IllegalArgumentException If a placeholder is not closed or not
+     *                                  one of {@code variables}.
+     */
+    public static EmailTemplate parse(String source, List<String> variables, boolean escapeHtml) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = source.indexOf(OPEN, position)) >= 0) {
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+
+            String name = source.substring(open + OPEN.length(), close).trim();
+            int slot = variables.indexOf(name);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Unknown placeholder: " + name);
+            }
+
+            literals.add(source.substring(position, open));
+            slots.add(slot);
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+
+        return new EmailTemplate(literals.toArray(String[]::new),
+                slots.stream().mapToInt(Integer::intValue).toArray(), escapeHtml);
+    }
+
+    /**
+     * Appends the template with {@code values} in the positions of the
+     * variables it was parsed with. A null value renders as nothing.
+     */
+    public void renderTo(StringBuilder out, String[] values) {
+        out.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            String value = values[slots[i]];
+            if (value != null) {
+                if (escapeHtml) {
+                    appendEscaped(out, value);
+                } else {
+                    out.append(value);
+                }
+            }
+            out.append(literals[i + 1]);
+        }
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
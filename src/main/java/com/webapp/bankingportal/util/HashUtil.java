@@ -0,0 +1,25 @@
+package com.webapp.bankingportal.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public class HashUtil {
+
+    private HashUtil() {
+    }
+
+    /**
+     * Lowercase hex SHA-256 of the UTF-8 bytes of {@code value}; always 64
+     * characters, and equal to MySQL's {@code SHA2(value, 256)}.
+     */
+    public static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.webapp.bankingportal.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between API amounts (decimal, major units) and ledger amounts
+ * (long, minor units). The ledger stores cents so balances and aggregates are
+ * exact integer arithmetic.
+ */
+public class MoneyUtil {
+
+    public static final int SCALE = 2;
+
+    private MoneyUtil() {
+    }
+
+    /**
+     * Converts a major-unit amount to minor units.
+     *
+     * @throws ArithmeticException If the amount has more than {@link #SCALE}
+     *                             decimal places or does not fit in a long.
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts a major-unit amount to minor units, rounding fractions of a
+     * minor unit in the given direction.
+     */
+    public static long toMinorUnits(BigDecimal amount, RoundingMode roundingMode) {
+        return amount.setScale(SCALE, roundingMode).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toMajorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static boolean hasValidScale(BigDecimal amount) {
+        return amount.stripTrailingZeros().scale() <= SCALE;
+    }
+
+}
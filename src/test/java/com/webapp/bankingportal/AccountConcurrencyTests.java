@@ -0,0 +1,215 @@
+package com.webapp.bankingportal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.dto.LedgerVerificationReport;
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.exception.InsufficientBalanceException;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.service.BalanceShardService;
+import com.webapp.bankingportal.service.LedgerJournalService;
+import com.webapp.bankingportal.util.MoneyUtil;
+
+/**
+ * Runs balance mutations from many threads at once. Each call must commit on
+ * its own, so these tests opt out of the per-test rollback transaction.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AccountConcurrencyTests extends BaseTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    BalanceShardService balanceShardService;
+
+    @Autowired
+    LedgerJournalService ledgerJournalService;
+
+    @Test
+    public void test_concurrent_transfers_conserve_total_balance() throws Exception {
+        int accountCount = 8;
+        int transferCount = 4000;
+        double initialBalance = 2000.0;
+        double transferAmount = 100.0;
+
+        List<Map<String, String>> accounts = new ArrayList<>();
+        for (int i = 0; i < accountCount; i++) {
+            accounts.add(createAccountWithInitialBalance(initialBalance));
+        }
+
+        // Net movement per account in units of transferAmount, counted only for committed transfers
+        AtomicLongArray netTransfers = new AtomicLongArray(accountCount);
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < transferCount; i++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int source = random.nextInt(accountCount);
+                    int target = (source + 1 + random.nextInt(accountCount - 1)) % accountCount;
+                    Map<String, String> sourceDetails = accounts.get(source);
+                    try {
+                        accountService.fundTransfer(sourceDetails.get("accountNumber"),
+                                accounts.get(target).get("accountNumber"), sourceDetails.get("pin"),
+                                BigDecimal.valueOf(transferAmount), null);
+                        netTransfers.decrementAndGet(source);
+                        netTransfers.incrementAndGet(target);
+                    } catch (InsufficientBalanceException e) {
+                        rejected.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Balances are stored in minor units, so conservation is checked exactly
+        long total = 0;
+        for (int i = 0; i < accountCount; i++) {
+            Account account = accountRepository.findByAccountNumber(accounts.get(i).get("accountNumber"));
+            long expected = MoneyUtil.toMinorUnits(
+                    BigDecimal.valueOf(initialBalance + netTransfers.get(i) * transferAmount));
+
+            Assertions.assertEquals(expected, account.getBalance());
+            Assertions.assertTrue(account.getBalance() >= 0);
+            total += account.getBalance();
+        }
+
+        Assertions.assertEquals(MoneyUtil.toMinorUnits(BigDecimal.valueOf(accountCount * initialBalance)), total);
+        Assertions.assertTrue(rejected.get() < transferCount);
+        Assertions.assertTrue(ledgerJournalService.verify(false).isBalanced());
+    }
+
+    @Test
+    public void test_concurrent_deposits_and_withdrawals_on_same_account() throws Exception {
+        int operations = 2000;
+        // Enough to cover every withdrawal even if all of them run before any deposit
+        double initialBalance = 100000.0;
+        double amount = 100.0;
+
+        Map<String, String> accountDetails = createAccountWithInitialBalance(initialBalance);
+        String accountNumber = accountDetails.get("accountNumber");
+        String pin = accountDetails.get("pin");
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < operations; i++) {
+                boolean deposit = i % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    if (deposit) {
+                        accountService.cashDeposit(accountNumber, pin, BigDecimal.valueOf(amount));
+                    } else {
+                        accountService.cashWithdrawal(accountNumber, pin, BigDecimal.valueOf(amount));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        Account account = accountRepository.findByAccountNumber(accountNumber);
+        Assertions.assertEquals(MoneyUtil.toMinorUnits(BigDecimal.valueOf(initialBalance)), account.getBalance());
+    }
+
+    @Test
+    public void test_concurrent_transfers_to_sharded_account_conserve_balance() throws Exception {
+        int senderCount = 8;
+        int transferCount = 2000;
+        double initialBalance = 100000.0;
+        double transferAmount = 100.0;
+
+        Map<String, String> merchant = createAccountWithInitialBalance(initialBalance);
+        String merchantAccountNumber = merchant.get("accountNumber");
+        balanceShardService.configureSharding(merchantAccountNumber, 8);
+
+        List<Map<String, String>> senders = new ArrayList<>();
+        for (int i = 0; i < senderCount; i++) {
+            senders.add(createAccountWithInitialBalance(initialBalance));
+        }
+
+        AtomicInteger merchantWithdrawals = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < transferCount; i++) {
+                int sender = i % senderCount;
+                boolean withdraw = i % 10 == 0;
+                futures.add(executor.submit(() -> {
+                    Map<String, String> senderDetails = senders.get(sender);
+                    accountService.fundTransfer(senderDetails.get("accountNumber"), merchantAccountNumber,
+                            senderDetails.get("pin"), BigDecimal.valueOf(transferAmount), null);
+                    // Debits from the sharded account settle shards under its lock
+                    if (withdraw) {
+                        accountService.cashWithdrawal(merchantAccountNumber, merchant.get("pin"),
+                                BigDecimal.valueOf(transferAmount));
+                        merchantWithdrawals.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long expected = MoneyUtil.toMinorUnits(BigDecimal.valueOf(
+                initialBalance + (transferCount - merchantWithdrawals.get()) * transferAmount));
+        Account account = accountRepository.findByAccountNumber(merchantAccountNumber);
+        Assertions.assertEquals(expected,
+                account.getBalance() + balanceShardService.getUnsettledBalance(account.getId()));
+
+        balanceShardService.consolidateAll();
+
+        account = accountRepository.findByAccountNumber(merchantAccountNumber);
+        Assertions.assertEquals(expected, account.getBalance());
+        Assertions.assertEquals(0L, balanceShardService.getUnsettledBalance(account.getId()));
+    }
+
+    @Test
+    public void test_verify_repairs_balance_drift_from_journal() {
+        Map<String, String> accountDetails = createAccountWithInitialBalance(1000.0);
+        String accountNumber = accountDetails.get("accountNumber");
+
+        Account account = accountRepository.findByAccountNumber(accountNumber);
+        account.setBalance(account.getBalance() + 5000);
+        accountRepository.save(account);
+
+        LedgerVerificationReport report = ledgerJournalService.verify(true);
+        Assertions.assertFalse(report.isBalanced());
+        Assertions.assertEquals(1, report.getRepaired());
+        Assertions.assertEquals(accountNumber, report.getMismatches().get(0).getAccountNumber());
+
+        account = accountRepository.findByAccountNumber(accountNumber);
+        Assertions.assertEquals(MoneyUtil.toMinorUnits(BigDecimal.valueOf(1000.0)), account.getBalance());
+        Assertions.assertTrue(ledgerJournalService.verify(false).isBalanced());
+    }
+
+}
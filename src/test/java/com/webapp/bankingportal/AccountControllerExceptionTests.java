@@ -0,0 +1,157 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.controller.AccountController;
+import com.webapp.bankingportal.controller.GlobalExceptionHandler;
+import com.webapp.bankingportal.dto.AmountRequest;
+import com.webapp.bankingportal.dto.FundTransferRequest;
+import com.webapp.bankingportal.dto.PinRequest;
+import com.webapp.bankingportal.dto.PinUpdateRequest;
+import com.webapp.bankingportal.exception.ServiceUnavailableException;
+import com.webapp.bankingportal.exception.UnauthorizedException;
+import com.webapp.bankingportal.repository.IdempotencyRecordRepository;
+import com.webapp.bankingportal.repository.IdempotencyRecordRepository.RecordState;
+import com.webapp.bankingportal.service.AccountService;
+import com.webapp.bankingportal.service.IdempotencyService;
+import com.webapp.bankingportal.service.IdempotencyServiceImpl;
+import com.webapp.bankingportal.service.TransactionService;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.JsonUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Exercises only the controller and exception handler: which failures reach
+ * the client as what status, and which of them the idempotency layer keeps.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AccountControllerExceptionTests {
+
+    private static final String ACCOUNT_NUMBER = "abc123";
+    private static final String BUSY = ApiMessages.PASSWORD_HASHING_BUSY_ERROR.getMessage();
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RecordState recordState;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyServiceImpl idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository,
+                transactionManager, "test-secret");
+        ReflectionTestUtils.setField(idempotencyService, "ttlSeconds", 86400L);
+        ReflectionTestUtils.setField(idempotencyService, "leaseSeconds", 60L);
+        when(recordState.getId()).thenReturn(1L);
+        when(idempotencyRecordRepository.reserve(anyString(), anyString(), anyString(), any(Date.class),
+                any(Date.class))).thenReturn(1);
+        when(idempotencyRecordRepository.findState(anyString(), anyString())).thenReturn(recordState);
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new AccountController(accountService, transactionService, idempotencyService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new User(ACCOUNT_NUMBER, "password", List.of()), null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void test_pin_endpoints_answer_503_when_hashing_pool_is_busy() throws Exception {
+        ServiceUnavailableException busy = new ServiceUnavailableException(BUSY);
+        doThrow(busy).when(accountService).createPin(anyString(), any(), any());
+        doThrow(busy).when(accountService).updatePin(anyString(), any(), any(), any());
+        doThrow(busy).when(accountService).cashDeposit(anyString(), any(), any());
+        doThrow(busy).when(accountService).cashWithdrawal(anyString(), any(), any());
+        doThrow(busy).when(accountService).fundTransfer(anyString(), any(), any(), any(), any());
+
+        BigDecimal amount = BigDecimal.valueOf(100);
+        expectServiceUnavailable(post("/api/account/pin/create", new PinRequest(ACCOUNT_NUMBER, "1234", "password")));
+        expectServiceUnavailable(post("/api/account/pin/update",
+                new PinUpdateRequest(ACCOUNT_NUMBER, "1234", "5678", "password")));
+        expectServiceUnavailable(post("/api/account/deposit", new AmountRequest(ACCOUNT_NUMBER, "1234", amount)));
+        expectServiceUnavailable(post("/api/account/withdraw", new AmountRequest(ACCOUNT_NUMBER, "1234", amount)));
+        expectServiceUnavailable(post("/api/account/fund-transfer",
+                new FundTransferRequest(ACCOUNT_NUMBER, "def456", amount, "1234", null)));
+    }
+
+    @Test
+    void test_deposit_unavailable_under_idempotency_key_releases_the_key() throws Exception {
+        doThrow(new ServiceUnavailableException(BUSY)).when(accountService).cashDeposit(anyString(), any(), any());
+
+        expectServiceUnavailable(post("/api/account/deposit",
+                new AmountRequest(ACCOUNT_NUMBER, "1234", BigDecimal.valueOf(100)))
+                .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "key-1"));
+
+        verify(idempotencyRecordRepository).deleteRecordById(1L);
+        verify(idempotencyRecordRepository, never()).complete(anyLong(), anyInt(), any(), any(Date.class));
+    }
+
+    @Test
+    void test_deposit_with_invalid_pin_is_still_a_recorded_400() throws Exception {
+        doThrow(new UnauthorizedException(ApiMessages.PIN_INVALID_ERROR.getMessage()))
+                .when(accountService).cashDeposit(anyString(), any(), any());
+
+        mockMvc.perform(post("/api/account/deposit", new AmountRequest(ACCOUNT_NUMBER, "0000", BigDecimal.valueOf(100)))
+                .header(IdempotencyService.IDEMPOTENCY_KEY_HEADER, "key-2"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message")
+                        .value(ApiMessages.PIN_INVALID_ERROR.getMessage()));
+
+        verify(idempotencyRecordRepository).complete(eq(1L), eq(400), anyString(), any(Date.class));
+    }
+
+    private void expectServiceUnavailable(MockHttpServletRequestBuilder request) throws Exception {
+        mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(MockMvcResultMatchers.content().string(BUSY));
+    }
+
+    private static MockHttpServletRequestBuilder post(String url, Object body) {
+        return MockMvcRequestBuilders.post(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(body));
+    }
+}
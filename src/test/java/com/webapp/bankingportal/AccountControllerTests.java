@@ -1,11 +1,14 @@
 package com.webapp.bankingportal;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import com.jayway.jsonpath.JsonPath;
 import com.webapp.bankingportal.dto.AmountRequest;
 import com.webapp.bankingportal.dto.FundTransferRequest;
 import com.webapp.bankingportal.dto.PinRequest;
@@ -13,7 +16,9 @@ import com.webapp.bankingportal.dto.PinUpdateRequest;
 import com.webapp.bankingportal.util.ApiMessages;
 import com.webapp.bankingportal.util.JsonUtil;
 
+import java.math.BigDecimal;
 import java.util.Map;
+import java.util.UUID;
 
 public class AccountControllerTests extends BaseTest {
 
@@ -308,7 +313,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> userDetails = createAndLoginUserWithPin();
 
         AmountRequest amountRequest = new AmountRequest(userDetails.get("accountNumber"), 
-                getRandomPin(), 100.0);
+                getRandomPin(), BigDecimal.valueOf(100.0));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/deposit")
@@ -325,7 +330,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> userDetails = createAndLoginUserWithPin();
 
         AmountRequest amountRequest = new AmountRequest(userDetails.get("accountNumber"), 
-                userDetails.get("pin"), -100.0);
+                userDetails.get("pin"), BigDecimal.valueOf(-100.0));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/deposit")
@@ -341,7 +346,7 @@ public class AccountControllerTests extends BaseTest {
     public void test_deposit_with_excessively_large_amount() throws Exception {
         Map<String, String> userDetails = createAndLoginUserWithPin();
         AmountRequest amountRequest = new AmountRequest(userDetails.get("accountNumber"),
-                userDetails.get("pin"), 1000000.0);
+                userDetails.get("pin"), BigDecimal.valueOf(1000000.0));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/deposit")
@@ -358,7 +363,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> userDetails = createAndLoginUserWithPin();
 
         AmountRequest amountRequest = new AmountRequest(userDetails.get("accountNumber"), 
-                null, 100.0);
+                null, BigDecimal.valueOf(100.0));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/deposit")
@@ -373,7 +378,7 @@ public class AccountControllerTests extends BaseTest {
     @Test
     public void test_deposit_with_unauthorized_access() throws Exception {
         AmountRequest amountRequest = new AmountRequest(getRandomAccountNumber(), 
-                getRandomPin(), 100.0);
+                getRandomPin(), BigDecimal.valueOf(100.0));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/deposit")
@@ -388,7 +393,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> userDetails = createAndLoginUserWithInitialBalance(amount);
 
         AmountRequest amountRequest = new AmountRequest(userDetails.get("accountNumber"), 
-                userDetails.get("pin"), amount);
+                userDetails.get("pin"), BigDecimal.valueOf(amount));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/withdraw")
@@ -405,7 +410,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> userDetails = createAndLoginUserWithPin();
 
         AmountRequest amountRequest = new AmountRequest(userDetails.get("accountNumber"), 
-                getRandomPin(), 100.0);
+                getRandomPin(), BigDecimal.valueOf(100.0));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/withdraw")
@@ -422,7 +427,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> userDetails = createAndLoginUserWithPin();
 
         AmountRequest amountRequest = new AmountRequest(userDetails.get("accountNumber"), 
-                userDetails.get("pin"), -100.0);
+                userDetails.get("pin"), BigDecimal.valueOf(-100.0));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/withdraw")
@@ -439,7 +444,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> userDetails = createAndLoginUserWithPin();
 
         AmountRequest amountRequest = new AmountRequest(userDetails.get("accountNumber"), 
-                userDetails.get("pin"), 0.0);
+                userDetails.get("pin"), BigDecimal.valueOf(0.0));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/withdraw")
@@ -457,7 +462,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> userDetails = createAndLoginUserWithInitialBalance(amount);
 
         AmountRequest amountRequest = new AmountRequest(userDetails.get("accountNumber"), 
-                userDetails.get("pin"), amount * 2);
+                userDetails.get("pin"), BigDecimal.valueOf(amount * 2));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/withdraw")
@@ -474,7 +479,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> userDetails = createAndLoginUserWithPin();
 
         AmountRequest amountRequest = new AmountRequest(userDetails.get("accountNumber"), 
-                null, 100.0);
+                null, BigDecimal.valueOf(100.0));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/withdraw")
@@ -489,7 +494,7 @@ public class AccountControllerTests extends BaseTest {
     @Test
     public void test_withdraw_with_unauthorized_access() throws Exception {
         AmountRequest amountRequest = new AmountRequest(getRandomAccountNumber(), 
-                getRandomPin(), 100.0);
+                getRandomPin(), BigDecimal.valueOf(100.0));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/withdraw")
@@ -506,7 +511,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> targetUserDetails = (Map<String, String>) createAndLoginUser();
 
         FundTransferRequest fundTransferRequest = new FundTransferRequest(userDetails.get("accountNumber"),
-                targetUserDetails.get("accountNumber"), amount, userDetails.get("pin"));
+                targetUserDetails.get("accountNumber"), BigDecimal.valueOf(amount), userDetails.get("pin"), null);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/fund-transfer")
@@ -524,7 +529,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> userDetails = createAndLoginUserWithInitialBalance(amount);
 
         FundTransferRequest fundTransferRequest = new FundTransferRequest(userDetails.get("accountNumber"),
-                userDetails.get("accountNumber"), amount, userDetails.get("pin"));
+                userDetails.get("accountNumber"), BigDecimal.valueOf(amount), userDetails.get("pin"), null);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/fund-transfer")
@@ -544,7 +549,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> targetUserDetails = (Map<String, String>) createAndLoginUser();
 
         FundTransferRequest fundTransferRequest = new FundTransferRequest(userDetails.get("accountNumber"),
-                targetUserDetails.get("accountNumber"), amount, getRandomPin());
+                targetUserDetails.get("accountNumber"), BigDecimal.valueOf(amount), getRandomPin(), null);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/fund-transfer")
@@ -562,7 +567,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> userDetails = createAndLoginUserWithInitialBalance(amount);
 
         FundTransferRequest fundTransferRequest = new FundTransferRequest(userDetails.get("accountNumber"), 
-                getRandomAccountNumber(), amount, userDetails.get("pin"));
+                getRandomAccountNumber(), BigDecimal.valueOf(amount), userDetails.get("pin"), null);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/fund-transfer")
@@ -574,6 +579,127 @@ public class AccountControllerTests extends BaseTest {
                         .string(ApiMessages.ACCOUNT_NOT_FOUND.getMessage()));
     }
 
+
+    @Test
+    public void test_bulk_transfer_with_json_lines() throws Exception {
+        Map<String, String> userDetails = createAndLoginUserWithInitialBalance(300.0);
+        Map<String, String> targetUserDetails = (Map<String, String>) createAndLoginUser();
+        String targetAccountNumber = targetUserDetails.get("accountNumber");
+
+        String body = "{\"targetAccountNumber\": \"" + targetAccountNumber + "\", \"amount\": 100}\n"
+                + "{\"targetAccountNumber\": \"" + getRandomAccountNumber() + "\", \"amount\": 100}\n"
+                + "not json\n"
+                + "{\"targetAccountNumber\": \"" + targetAccountNumber + "\", \"amount\": 1000}\n";
+
+        String response = mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/bulk-transfer")
+                .header("Authorization", "Bearer " + userDetails.get("token"))
+                .header("X-Account-Pin", userDetails.get("pin"))
+                .contentType("application/x-ndjson")
+                .content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = response.split("\n");
+        assertEquals(4, lines.length);
+        assertEquals(Boolean.TRUE, JsonPath.read(lines[0], "$.success"));
+        assertEquals(ApiMessages.ACCOUNT_NOT_FOUND.getMessage(), JsonPath.read(lines[1], "$.message"));
+        assertEquals(String.format(ApiMessages.BULK_TRANSFER_ROW_INVALID.getMessage(), "malformed JSON"),
+                JsonPath.read(lines[2], "$.message"));
+        assertEquals(ApiMessages.BALANCE_INSUFFICIENT_ERROR.getMessage(), JsonPath.read(lines[3], "$.message"));
+    }
+
+    @Test
+    public void test_bulk_transfer_with_csv() throws Exception {
+        Map<String, String> userDetails = createAndLoginUserWithInitialBalance(200.0);
+        Map<String, String> targetUserDetails = (Map<String, String>) createAndLoginUser();
+        String targetAccountNumber = targetUserDetails.get("accountNumber");
+
+        String body = "targetAccountNumber,amount,category\n"
+                + targetAccountNumber + ",100,Salary\n"
+                + userDetails.get("accountNumber") + ",100\n";
+
+        String response = mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/bulk-transfer")
+                .header("Authorization", "Bearer " + userDetails.get("token"))
+                .header("X-Account-Pin", userDetails.get("pin"))
+                .contentType("text/csv")
+                .content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = response.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(Boolean.TRUE, JsonPath.read(lines[0], "$.success"));
+        assertEquals(ApiMessages.CASH_TRANSFER_SAME_ACCOUNT_ERROR.getMessage(), JsonPath.read(lines[1], "$.message"));
+    }
+
+    @Test
+    public void test_bulk_transfer_with_invalid_pin() throws Exception {
+        Map<String, String> userDetails = createAndLoginUserWithInitialBalance(100.0);
+        Map<String, String> targetUserDetails = (Map<String, String>) createAndLoginUser();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/bulk-transfer")
+                .header("Authorization", "Bearer " + userDetails.get("token"))
+                .header("X-Account-Pin", getRandomPin())
+                .contentType("text/csv")
+                .content(targetUserDetails.get("accountNumber") + ",100\n"))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized())
+                .andExpect(MockMvcResultMatchers.content()
+                        .string(ApiMessages.PIN_INVALID_ERROR.getMessage()));
+    }
+
+    @Test
+    public void test_bulk_transfer_with_repeated_idempotency_key_replays_results() throws Exception {
+        Map<String, String> userDetails = createAndLoginUserWithInitialBalance(300.0);
+        Map<String, String> targetUserDetails = (Map<String, String>) createAndLoginUser();
+        String idempotencyKey = UUID.randomUUID().toString();
+        String body = targetUserDetails.get("accountNumber") + ",100\n"
+                + targetUserDetails.get("accountNumber") + ",50\n";
+
+        String response = mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/bulk-transfer")
+                .header("Authorization", "Bearer " + userDetails.get("token"))
+                .header("X-Account-Pin", userDetails.get("pin"))
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType("text/csv")
+                .content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist("Idempotent-Replayed"))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/bulk-transfer")
+                .header("Authorization", "Bearer " + userDetails.get("token"))
+                .header("X-Account-Pin", userDetails.get("pin"))
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType("text/csv")
+                .content(body))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("Idempotent-Replayed", "true"))
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andExpect(MockMvcResultMatchers.content().string(response));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/bulk-transfer")
+                .header("Authorization", "Bearer " + userDetails.get("token"))
+                .header("X-Account-Pin", userDetails.get("pin"))
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType("text/csv")
+                .content(targetUserDetails.get("accountNumber") + ",100\n"))
+                .andExpect(MockMvcResultMatchers.status().isUnprocessableEntity());
+
+        String transactions = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/account/transactions")
+                .header("Authorization", "Bearer " + userDetails.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // The initial deposit plus the two rows, applied once
+        assertEquals(3, (int) JsonPath.read(transactions, "$.length()"));
+    }
+
     @Test
     public void test_fund_transfer_with_insufficient_funds() throws Exception {
         double amount = 100.0;
@@ -582,7 +708,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> targetUserDetails = (Map<String, String>) createAndLoginUser();
 
         FundTransferRequest fundTransferRequest = new FundTransferRequest(userDetails.get("accountNumber"),
-                targetUserDetails.get("accountNumber"), amount * 2, userDetails.get("pin"));
+                targetUserDetails.get("accountNumber"), BigDecimal.valueOf(amount * 2), userDetails.get("pin"), null);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/fund-transfer")
@@ -602,7 +728,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> targetUserDetails = (Map<String, String>) createAndLoginUser();
 
         FundTransferRequest fundTransferRequest = new FundTransferRequest(userDetails.get("accountNumber"),
-                targetUserDetails.get("accountNumber"), -amount, userDetails.get("pin"));
+                targetUserDetails.get("accountNumber"), BigDecimal.valueOf(-amount), userDetails.get("pin"), null);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/fund-transfer")
@@ -622,7 +748,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> targetUserDetails = (Map<String, String>) createAndLoginUser();
 
         FundTransferRequest fundTransferRequest = new FundTransferRequest(userDetails.get("accountNumber"),
-                targetUserDetails.get("accountNumber"), 0.0, userDetails.get("pin"));
+                targetUserDetails.get("accountNumber"), BigDecimal.valueOf(0.0), userDetails.get("pin"), null);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/fund-transfer")
@@ -642,7 +768,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> targetUserDetails = (Map<String, String>) createAndLoginUser();
 
         FundTransferRequest fundTransferRequest = new FundTransferRequest(userDetails.get("accountNumber"),
-                targetUserDetails.get("accountNumber"), amount, null);
+                targetUserDetails.get("accountNumber"), BigDecimal.valueOf(amount), null, null);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/fund-transfer")
@@ -660,7 +786,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> userDetails = createAndLoginUserWithInitialBalance(amount);
 
         FundTransferRequest fundTransferRequest = new FundTransferRequest(userDetails.get("accountNumber"), 
-                null, amount, userDetails.get("pin"));
+                null, BigDecimal.valueOf(amount), userDetails.get("pin"), null);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/fund-transfer")
@@ -680,7 +806,7 @@ public class AccountControllerTests extends BaseTest {
         Map<String, String> targetUserDetails = (Map<String, String>) createAndLoginUser();
 
         FundTransferRequest fundTransferRequest = new FundTransferRequest(userDetails.get("accountNumber"),
-                targetUserDetails.get("accountNumber"), amount, userDetails.get("pin"));
+                targetUserDetails.get("accountNumber"), BigDecimal.valueOf(amount), userDetails.get("pin"), null);
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/fund-transfer")
@@ -689,6 +815,70 @@ public class AccountControllerTests extends BaseTest {
                 .andExpect(MockMvcResultMatchers.status().isUnauthorized());
     }
 
+    @Test
+    public void test_deposit_with_repeated_idempotency_key_replays_response() throws Exception {
+        Map<String, String> userDetails = createAndLoginUserWithInitialBalance(100.0);
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        AmountRequest amountRequest = new AmountRequest(userDetails.get("accountNumber"),
+                userDetails.get("pin"), BigDecimal.valueOf(100.0));
+
+        String response = mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/deposit")
+                .header("Authorization", "Bearer " + userDetails.get("token"))
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(amountRequest)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist("Idempotent-Replayed"))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/deposit")
+                .header("Authorization", "Bearer " + userDetails.get("token"))
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(amountRequest)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("Idempotent-Replayed", "true"))
+                .andExpect(MockMvcResultMatchers.content().json(response));
+
+        String transactions = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/account/transactions")
+                .header("Authorization", "Bearer " + userDetails.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // The initial deposit plus exactly one for the repeated key
+        assertEquals(2, (int) JsonPath.read(transactions, "$.length()"));
+    }
+
+    @Test
+    public void test_deposit_with_idempotency_key_reused_for_different_request() throws Exception {
+        Map<String, String> userDetails = createAndLoginUserWithInitialBalance(100.0);
+        String idempotencyKey = UUID.randomUUID().toString();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/deposit")
+                .header("Authorization", "Bearer " + userDetails.get("token"))
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(new AmountRequest(userDetails.get("accountNumber"),
+                        userDetails.get("pin"), BigDecimal.valueOf(100.0)))))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/account/deposit")
+                .header("Authorization", "Bearer " + userDetails.get("token"))
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(new AmountRequest(userDetails.get("accountNumber"),
+                        userDetails.get("pin"), BigDecimal.valueOf(200.0)))))
+                .andExpect(MockMvcResultMatchers.status().isUnprocessableEntity())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message")
+                        .value(ApiMessages.IDEMPOTENCY_KEY_REUSED.getMessage()));
+    }
+
     @Test
     public void test_transactions_with_authorized_access() throws Exception {
         double amount = 100.0;
@@ -2,6 +2,7 @@ package com.webapp.bankingportal;
 
 import jakarta.validation.ConstraintViolationException;
 
+import java.math.BigDecimal;
 import java.util.HashMap;
 
 import org.junit.jupiter.api.Assertions;
@@ -16,6 +17,7 @@ import com.webapp.bankingportal.exception.InvalidPinException;
 import com.webapp.bankingportal.exception.NotFoundException;
 import com.webapp.bankingportal.exception.UnauthorizedException;
 import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.util.MoneyUtil;
 
 public class AccountServiceTests extends BaseTest {
 
@@ -32,7 +34,7 @@ public class AccountServiceTests extends BaseTest {
         Assertions.assertNotNull(account);
         Assertions.assertNotNull(account.getAccountNumber());
         Assertions.assertEquals(user, account.getUser());
-        Assertions.assertEquals(0.0, account.getBalance());
+        Assertions.assertEquals(0L, account.getBalance());
     }
 
     @Test
@@ -231,13 +233,13 @@ public class AccountServiceTests extends BaseTest {
         com.webapp.bankingportal.entity.Account account = accountRepository
                 .findByAccountNumber(accountDetails.get("accountNumber"));
 
-        Assertions.assertEquals(balance, account.getBalance(), 0.01);
+        Assertions.assertEquals(balance, MoneyUtil.toMajorUnits(account.getBalance()).doubleValue(), 0.01);
     }
 
     @Test
     public void test_deposit_cash_with_invalid_account_number() {
         Assertions.assertThrows(NotFoundException.class, () -> {
-            accountService.cashDeposit(getRandomAccountNumber(), getRandomPin(), 50.0);
+            accountService.cashDeposit(getRandomAccountNumber(), getRandomPin(), BigDecimal.valueOf(50.0));
         });
     }
 
@@ -247,7 +249,7 @@ public class AccountServiceTests extends BaseTest {
                 passwordEncoder, userRepository, accountService);
 
         Assertions.assertThrows(UnauthorizedException.class, () -> {
-            accountService.cashDeposit(accountDetails.get("accountNumber"), getRandomPin(), 50.0);
+            accountService.cashDeposit(accountDetails.get("accountNumber"), getRandomPin(), BigDecimal.valueOf(50.0));
         });
     }
 
@@ -258,22 +260,22 @@ public class AccountServiceTests extends BaseTest {
 
         // Negative amount
         Assertions.assertThrows(InvalidAmountException.class, () -> {
-            accountService.cashDeposit(accountDetails.get("accountNumber"), accountDetails.get("pin"), -50.0);
+            accountService.cashDeposit(accountDetails.get("accountNumber"), accountDetails.get("pin"), BigDecimal.valueOf(-50.0));
         });
 
         // Zero amount
         Assertions.assertThrows(InvalidAmountException.class, () -> {
-            accountService.cashDeposit(accountDetails.get("accountNumber"), accountDetails.get("pin"), 0.0);
+            accountService.cashDeposit(accountDetails.get("accountNumber"), accountDetails.get("pin"), BigDecimal.valueOf(0.0));
         });
 
         // Amount not in multiples of 100
         Assertions.assertThrows(InvalidAmountException.class, () -> {
-            accountService.cashDeposit(accountDetails.get("accountNumber"), accountDetails.get("pin"), 50.0);
+            accountService.cashDeposit(accountDetails.get("accountNumber"), accountDetails.get("pin"), BigDecimal.valueOf(50.0));
         });
 
         // Amount greater than 100,000
         Assertions.assertThrows(InvalidAmountException.class, () -> {
-            accountService.cashDeposit(accountDetails.get("accountNumber"), accountDetails.get("pin"), 100001.0);
+            accountService.cashDeposit(accountDetails.get("accountNumber"), accountDetails.get("pin"), BigDecimal.valueOf(100001.0));
         });
     }
 
@@ -284,12 +286,12 @@ public class AccountServiceTests extends BaseTest {
                 balance);
 
         double withdrawalAmount = 500.0;
-        accountService.cashWithdrawal(accountDetails.get("accountNumber"), accountDetails.get("pin"), withdrawalAmount);
+        accountService.cashWithdrawal(accountDetails.get("accountNumber"), accountDetails.get("pin"), BigDecimal.valueOf(withdrawalAmount));
 
         com.webapp.bankingportal.entity.Account account = accountRepository
                 .findByAccountNumber(accountDetails.get("accountNumber"));
 
-        Assertions.assertEquals(balance - withdrawalAmount, account.getBalance(), 0.01);
+        Assertions.assertEquals(balance - withdrawalAmount, MoneyUtil.toMajorUnits(account.getBalance()).doubleValue(), 0.01);
     }
 
     @Test
@@ -298,7 +300,7 @@ public class AccountServiceTests extends BaseTest {
                 500.0);
 
         Assertions.assertThrows(InsufficientBalanceException.class, () -> {
-            accountService.cashWithdrawal(accountDetails.get("accountNumber"), accountDetails.get("pin"), 1000.0);
+            accountService.cashWithdrawal(accountDetails.get("accountNumber"), accountDetails.get("pin"), BigDecimal.valueOf(1000.0));
         });
     }
 
@@ -314,16 +316,16 @@ public class AccountServiceTests extends BaseTest {
 
         int transferAmount = 200;
         accountService.fundTransfer(sourceAccountDetails.get("accountNumber"),
-                targetAccountDetails.get("accountNumber"), sourceAccountDetails.get("pin"), transferAmount, null);
+                targetAccountDetails.get("accountNumber"), sourceAccountDetails.get("pin"), BigDecimal.valueOf(transferAmount), null);
 
         com.webapp.bankingportal.entity.Account sourceAccount = accountRepository
                 .findByAccountNumber(sourceAccountDetails.get("accountNumber"));
         com.webapp.bankingportal.entity.Account targetAccount = accountRepository
                 .findByAccountNumber(targetAccountDetails.get("accountNumber"));
 
-        Assertions.assertEquals(sourceAccountBalance - transferAmount, sourceAccount.getBalance(), 0.01);
+        Assertions.assertEquals(sourceAccountBalance - transferAmount, MoneyUtil.toMajorUnits(sourceAccount.getBalance()).doubleValue(), 0.01);
 
-        Assertions.assertEquals(targetAccountBalance + transferAmount, targetAccount.getBalance(), 0.01);
+        Assertions.assertEquals(targetAccountBalance + transferAmount, MoneyUtil.toMajorUnits(targetAccount.getBalance()).doubleValue(), 0.01);
     }
 
     @Test
@@ -333,7 +335,7 @@ public class AccountServiceTests extends BaseTest {
 
         Assertions.assertThrows(NotFoundException.class, () -> {
             accountService.fundTransfer(accountDetails.get("accountNumber"), getRandomAccountNumber(),
-                    accountDetails.get("pin"), 1000.0, null);
+                    accountDetails.get("pin"), BigDecimal.valueOf(1000.0), null);
         });
     }
 
@@ -346,7 +348,7 @@ public class AccountServiceTests extends BaseTest {
 
         Assertions.assertThrows(InsufficientBalanceException.class, () -> {
             accountService.fundTransfer(sourceAccountDetails.get("accountNumber"),
-                    targetAccountDetails.get("accountNumber"), sourceAccountDetails.get("pin"), 1000.0, null);
+                    targetAccountDetails.get("accountNumber"), sourceAccountDetails.get("pin"), BigDecimal.valueOf(1000.0), null);
         });
     }
 
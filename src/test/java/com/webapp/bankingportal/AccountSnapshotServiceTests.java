@@ -0,0 +1,109 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.dto.AccountSnapshot;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.UserRepository;
+import com.webapp.bankingportal.service.AccountSnapshotService;
+import com.webapp.bankingportal.service.AccountSnapshotServiceImpl;
+import com.webapp.bankingportal.service.CacheService;
+import com.webapp.bankingportal.type.CacheKeyType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountSnapshotServiceTests {
+
+    private static final String ACCOUNT_NUMBER = "a1b2c3";
+    private static final AccountSnapshot SNAPSHOT =
+            new AccountSnapshot(7L, ACCOUNT_NUMBER, "Savings", "NIT", "NIT001");
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CacheService cacheService;
+
+    private AccountSnapshotService accountSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        accountSnapshotService = new AccountSnapshotServiceImpl(accountRepository, userRepository, cacheService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void testFindAccount_OnCacheMiss_LoadsAndPopulatesCache() {
+        when(cacheService.get(CacheKeyType.ACCOUNT, AccountSnapshot.class, ACCOUNT_NUMBER)).thenReturn(Optional.empty());
+        when(accountRepository.findSnapshotByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(SNAPSHOT));
+
+        assertEquals(Optional.of(SNAPSHOT), accountSnapshotService.findAccount(ACCOUNT_NUMBER));
+
+        verify(cacheService).put(CacheKeyType.ACCOUNT, SNAPSHOT, ACCOUNT_NUMBER);
+    }
+
+    @Test
+    void testFindAccount_OnCacheHit_SkipsDatabase() {
+        when(cacheService.get(CacheKeyType.ACCOUNT, AccountSnapshot.class, ACCOUNT_NUMBER)).thenReturn(Optional.of(SNAPSHOT));
+
+        assertEquals(Optional.of(SNAPSHOT), accountSnapshotService.findAccount(ACCOUNT_NUMBER));
+
+        verifyNoInteractions(accountRepository);
+    }
+
+    @Test
+    void testFindAccount_WithMissingAccount_IsNotCached() {
+        when(cacheService.get(CacheKeyType.ACCOUNT, AccountSnapshot.class, ACCOUNT_NUMBER)).thenReturn(Optional.empty());
+        when(accountRepository.findSnapshotByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.empty());
+
+        assertTrue(accountSnapshotService.findAccount(ACCOUNT_NUMBER).isEmpty());
+
+        verify(cacheService, never()).put(any(), any(), any(String[].class));
+    }
+
+    @Test
+    void testFindAccount_WithinRequest_LoadsOnce() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(cacheService.get(CacheKeyType.ACCOUNT, AccountSnapshot.class, ACCOUNT_NUMBER)).thenReturn(Optional.of(SNAPSHOT));
+
+        accountSnapshotService.findAccount(ACCOUNT_NUMBER);
+        accountSnapshotService.findAccount(ACCOUNT_NUMBER);
+        accountSnapshotService.findAccount(ACCOUNT_NUMBER);
+
+        verify(cacheService, times(1)).get(CacheKeyType.ACCOUNT, AccountSnapshot.class, ACCOUNT_NUMBER);
+    }
+
+    @Test
+    void testEvictAccount_WithinRequest_ReloadsOnNextLookup() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        AccountSnapshot updated = new AccountSnapshot(7L, ACCOUNT_NUMBER, "Current", "NIT", "NIT001");
+        when(cacheService.get(CacheKeyType.ACCOUNT, AccountSnapshot.class, ACCOUNT_NUMBER))
+                .thenReturn(Optional.of(SNAPSHOT))
+                .thenReturn(Optional.empty());
+        when(accountRepository.findSnapshotByAccountNumber(ACCOUNT_NUMBER)).thenReturn(Optional.of(updated));
+
+        accountSnapshotService.findAccount(ACCOUNT_NUMBER);
+        accountSnapshotService.evictAccount(ACCOUNT_NUMBER);
+
+        assertEquals(Optional.of(updated), accountSnapshotService.findAccount(ACCOUNT_NUMBER));
+        verify(cacheService).delete(CacheKeyType.ACCOUNT, ACCOUNT_NUMBER);
+    }
+}
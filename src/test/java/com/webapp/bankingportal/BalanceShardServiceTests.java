@@ -0,0 +1,97 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.repository.AccountBalanceShardRepository;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.service.BalanceShardServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BalanceShardServiceTests {
+
+    @Mock
+    private AccountBalanceShardRepository shardRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BalanceShardServiceImpl balanceShardService;
+
+    private final Account merchant = account(1L);
+    private final Account shop = account(2L);
+
+    @BeforeEach
+    void setUp() {
+        balanceShardService = new BalanceShardServiceImpl(shardRepository, accountRepository, transactionManager);
+
+        when(accountRepository.findIdByAccountNumber("merchant")).thenReturn(1L);
+        when(accountRepository.findIdByAccountNumber("shop")).thenReturn(2L);
+        when(accountRepository.findByIdForUpdate(1L)).thenReturn(merchant);
+        when(accountRepository.findByIdForUpdate(2L)).thenReturn(shop);
+        when(shardRepository.findByAccountIdForUpdate(anyLong())).thenReturn(List.of());
+    }
+
+    @Test
+    void testApplyConfiguredSharding_SetsEachListedAccount() {
+        merchant.setBalanceShardCount(4);
+        ReflectionTestUtils.setField(balanceShardService, "configuredAccounts", " merchant=16, shop = 0 ,");
+
+        balanceShardService.applyConfiguredSharding();
+
+        assertEquals(16, merchant.getBalanceShardCount());
+        assertEquals(0, shop.getBalanceShardCount());
+        verify(accountRepository).save(merchant);
+        verify(accountRepository).save(shop);
+    }
+
+    @Test
+    void testApplyConfiguredSharding_SkipsUnknownAccount() {
+        when(accountRepository.findIdByAccountNumber("missing")).thenReturn(null);
+        ReflectionTestUtils.setField(balanceShardService, "configuredAccounts", "missing=8,merchant=8");
+
+        balanceShardService.applyConfiguredSharding();
+
+        assertEquals(8, merchant.getBalanceShardCount());
+    }
+
+    @Test
+    void testApplyConfiguredSharding_RejectsMalformedEntry() {
+        ReflectionTestUtils.setField(balanceShardService, "configuredAccounts", "merchant:8");
+
+        assertThrows(IllegalArgumentException.class, () -> balanceShardService.applyConfiguredSharding());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    void testApplyConfiguredSharding_NothingConfigured() {
+        ReflectionTestUtils.setField(balanceShardService, "configuredAccounts", "");
+
+        balanceShardService.applyConfiguredSharding();
+
+        verifyNoInteractions(accountRepository);
+    }
+
+    private static Account account(Long id) {
+        Account account = new Account();
+        account.setId(id);
+        return account;
+    }
+}
@@ -3,6 +3,7 @@ package com.webapp.bankingportal;
 import static org.springframework.security.core.userdetails.User.withUsername;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -190,7 +191,7 @@ public abstract class BaseTest {
 
     protected Map<String, String> createAndLoginUserWithInitialBalance(double amount) throws Exception {
         Map<String, String> userDetails = createAndLoginUserWithPin();
-        AmountRequest amountRequest = new AmountRequest(userDetails.get("accountNumber"), userDetails.get("pin"), amount);
+        AmountRequest amountRequest = new AmountRequest(userDetails.get("accountNumber"), userDetails.get("pin"), BigDecimal.valueOf(amount));
 
         mockMvc.perform(MockMvcRequestBuilders
                 .post("/api/account/deposit")
@@ -226,7 +227,7 @@ public abstract class BaseTest {
 
     protected Map<String, String> createAccountWithInitialBalance(double amount) {
         Map<String, String> accountDetails = createAccountWithPin(passwordEncoder, userRepository, accountService);
-        accountService.cashDeposit(accountDetails.get("accountNumber"), accountDetails.get("pin"), amount);
+        accountService.cashDeposit(accountDetails.get("accountNumber"), accountDetails.get("pin"), BigDecimal.valueOf(amount));
         return accountDetails;
     }
 
@@ -0,0 +1,33 @@
+package com.webapp.bankingportal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.webapp.bankingportal.type.CacheKeyType;
+
+/**
+ * Compares cache key construction through the precompiled
+ * {@link CacheKeyType} templates against the String.format path they
+ * replaced, timed with {@link MicroBenchmark}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CacheKeyTypeBenchmark {
+
+    @Test
+    void benchmarkKeyConstruction() throws Exception {
+        String accountNumber = "4f8a1c";
+        String email = "an.nguyen@example.com";
+
+        System.out.printf("%-32s %10s%n", "key", "ns/op");
+        report("ACCOUNT String.format",
+                () -> String.format(CacheKeyType.ACCOUNT.getKeyPattern(), accountNumber).length());
+        report("ACCOUNT template", () -> CacheKeyType.ACCOUNT.generateKey(accountNumber).length());
+        report("OTP String.format",
+                () -> String.format(CacheKeyType.OTP.getKeyPattern(), email, accountNumber).length());
+        report("OTP template", () -> CacheKeyType.OTP.generateKey(email, accountNumber).length());
+    }
+
+    private static void report(String name, MicroBenchmark.Operation keyBuilder) throws Exception {
+        System.out.printf("%-32s %10.1f%n", name, MicroBenchmark.nanosPerOp(keyBuilder));
+    }
+}
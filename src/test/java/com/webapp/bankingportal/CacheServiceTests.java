@@ -8,22 +8,28 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ValueOperations;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class CacheServiceTests {
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
+    private RedisTemplate<String, byte[]> redisTemplate;
 
     @Mock
-    private ValueOperations<String, Object> valueOperations;
+    private ValueOperations<String, byte[]> valueOperations;
 
     private CacheService cacheService;
 
@@ -32,6 +38,10 @@ class CacheServiceTests {
         cacheService = new CacheServiceImpl(redisTemplate);
     }
 
+    private static byte[] encode(CacheKeyType cacheKeyType, Object value) {
+        return cacheKeyType.getCacheValueType().getCodec().encode(value);
+    }
+
     @Test
     void testExists_WithIdempotencyKey_ReturnsTrue() {
         String userId = "user123";
@@ -39,7 +49,7 @@ class CacheServiceTests {
         String payloadHash = "payload123";
         String expectedKey = "IDPT:user123:/api/account/deposit:payload123";
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(expectedKey)).thenReturn("cached-response");
+        when(valueOperations.get(expectedKey)).thenReturn(encode(CacheKeyType.IDEMPOTENCY, "cached-response"));
 
         boolean exists = cacheService.exists(CacheKeyType.IDEMPOTENCY, userId, endpoint, payloadHash);
 
@@ -70,7 +80,7 @@ class CacheServiceTests {
         String expectedKey = "IDPT:user123:/api/account/deposit:payload123";
         String expectedValue = "test-value";
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(expectedKey)).thenReturn(expectedValue);
+        when(valueOperations.get(expectedKey)).thenReturn(encode(CacheKeyType.IDEMPOTENCY, expectedValue));
 
         Optional<String> value = cacheService.get(CacheKeyType.IDEMPOTENCY, userId, endpoint, payloadHash);
 
@@ -102,7 +112,7 @@ class CacheServiceTests {
         String expectedKey = "IDPT:user123:/api/account/deposit:payload123";
         String expectedValue = "test-value";
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(expectedKey)).thenReturn(expectedValue);
+        when(valueOperations.get(expectedKey)).thenReturn(encode(CacheKeyType.IDEMPOTENCY, expectedValue));
 
         Optional<String> value = cacheService.get(CacheKeyType.IDEMPOTENCY, String.class, userId, endpoint, payloadHash);
 
@@ -119,7 +129,7 @@ class CacheServiceTests {
         String expectedKey = "IDPT:user123:/api/account/deposit:payload123";
         Integer wrongTypeValue = 123;
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(expectedKey)).thenReturn(wrongTypeValue);
+        when(valueOperations.get(expectedKey)).thenReturn(encode(CacheKeyType.IDEMPOTENCY, wrongTypeValue));
 
         Optional<String> value = cacheService.get(CacheKeyType.IDEMPOTENCY, String.class, userId, endpoint, payloadHash);
 
@@ -138,7 +148,8 @@ class CacheServiceTests {
 
         cacheService.put(CacheKeyType.IDEMPOTENCY, value, userId, endpoint, payloadHash);
 
-        verify(valueOperations).set(expectedKey, value, 86400, java.util.concurrent.TimeUnit.SECONDS);
+        verify(valueOperations).set(eq(expectedKey), aryEq(encode(CacheKeyType.IDEMPOTENCY, value)), eq(86400L),
+                eq(java.util.concurrent.TimeUnit.SECONDS));
     }
 
     @Test
@@ -153,7 +164,8 @@ class CacheServiceTests {
 
         cacheService.put(CacheKeyType.IDEMPOTENCY, value, customTtl, userId, endpoint, payloadHash);
 
-        verify(valueOperations).set(expectedKey, value, customTtl, java.util.concurrent.TimeUnit.SECONDS);
+        verify(valueOperations).set(eq(expectedKey), aryEq(encode(CacheKeyType.IDEMPOTENCY, value)), eq(customTtl),
+                eq(java.util.concurrent.TimeUnit.SECONDS));
     }
 
     @Test
@@ -167,4 +179,93 @@ class CacheServiceTests {
 
         verify(redisTemplate).delete(expectedKey);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPut_WhenRedisFails_FallsBackToLocalCache() {
+        when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        cacheService.put(CacheKeyType.USER, "cached-user", "user123");
+        Optional<String> value = cacheService.get(CacheKeyType.USER, "user123");
+
+        assertTrue(value.isPresent());
+        assertEquals("cached-user", value.get());
+        assertTrue(cacheService.exists(CacheKeyType.USER, "user123"));
+        // After failing over, reads are served locally without going back to Redis
+        verify(redisTemplate, times(1)).opsForValue();
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    void testDelete_WhenRedisFails_StillRemovesLocalCopy() {
+        when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        cacheService.put(CacheKeyType.USER, "cached-user", "user123");
+        cacheService.delete(CacheKeyType.USER, "user123");
+
+        assertTrue(cacheService.get(CacheKeyType.USER, "user123").isEmpty());
+    }
+
+    @Test
+    void testGetAll_FetchesMissesWithSingleMultiGet() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("user:user1", "user:user2", "user:user3")))
+                .thenReturn(Arrays.asList(encode(CacheKeyType.USER, "first"), null, encode(CacheKeyType.USER, "third")));
+
+        Map<String, String> values = cacheService.getAll(CacheKeyType.USER, String.class,
+                List.of("user1", "user2", "user3"));
+
+        assertEquals(Map.of("user1", "first", "user3", "third"), values);
+        verify(valueOperations, times(1)).multiGet(anyCollection());
+        verify(valueOperations, never()).get(any());
+    }
+
+    @Test
+    void testGetAll_ServesRepeatedKeysFromNearCache() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("user:user1"))).thenReturn(List.of(encode(CacheKeyType.USER, "first")));
+
+        cacheService.getAll(CacheKeyType.USER, String.class, List.of("user1"));
+        Map<String, String> values = cacheService.getAll(CacheKeyType.USER, String.class, List.of("user1"));
+
+        assertEquals(Map.of("user1", "first"), values);
+        verify(valueOperations, times(1)).multiGet(anyCollection());
+    }
+
+    @Test
+    void testPutAll_WritesAllKeysInOnePipeline() {
+        cacheService.putAll(CacheKeyType.ACCOUNT, Map.of("1001", "a", "1002", "b"));
+
+        verify(redisTemplate, times(1)).executePipelined(any(SessionCallback.class));
+        assertEquals(Map.of("1001", "a", "1002", "b"),
+                cacheService.getAll(CacheKeyType.ACCOUNT, String.class, List.of("1001", "1002")));
+    }
+
+    @Test
+    void testDeleteAll_RemovesAllKeysInOnePipeline() {
+        cacheService.putAll(CacheKeyType.ACCOUNT, Map.of("1001", "a", "1002", "b"));
+        cacheService.deleteAll(CacheKeyType.ACCOUNT, List.of("1001", "1002"));
+
+        verify(redisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        assertTrue(cacheService.getAll(CacheKeyType.ACCOUNT, String.class, List.of("1001", "1002")).isEmpty());
+    }
+
+    @Test
+    void testGenerateKey_MatchesStringFormat() {
+        for (CacheKeyType cacheKeyType : CacheKeyType.values()) {
+            String[] arguments = { "user123", "login" };
+
+            assertEquals(String.format(cacheKeyType.getKeyPattern(), (Object[]) arguments),
+                    cacheKeyType.generateKey(arguments));
+            if (cacheKeyType.getArgumentCount() == 1) {
+                assertEquals(String.format(cacheKeyType.getKeyPattern(), "user123"),
+                        cacheKeyType.generateKey("user123"));
+            }
+        }
+    }
+
+    @Test
+    void testGenerateKey_WithTooFewArguments_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> CacheKeyType.OTP.generateKey("user123"));
+    }
+}
@@ -0,0 +1,71 @@
+package com.webapp.bankingportal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.webapp.bankingportal.dto.AmountRequest;
+import com.webapp.bankingportal.dto.UserResponse;
+import com.webapp.bankingportal.type.CacheValueType;
+import com.webapp.bankingportal.util.CacheValueCodec;
+
+/**
+ * Compares bytes per entry and encode/decode latency of the cache value
+ * codecs, timed with {@link MicroBenchmark}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CacheValueCodecBenchmark {
+
+    @Test
+    void benchmarkCodecs() throws Exception {
+        Map<String, Object> samples = new LinkedHashMap<>();
+        samples.put("login attempt counter", 3L);
+        samples.put("otp", "482913");
+        samples.put("amount request", new AmountRequest("4f8a1c", "1234", new BigDecimal("2500.00")));
+        samples.put("user snapshot", userSnapshot());
+        samples.put("statement (4 KB)", statement());
+
+        System.out.printf("%-24s %-7s %8s %12s %12s%n", "value", "codec", "bytes", "encode ns", "decode ns");
+        for (Map.Entry<String, Object> sample : samples.entrySet()) {
+            for (CacheValueType type : new CacheValueType[] { CacheValueType.JSON, CacheValueType.BINARY }) {
+                report(sample.getKey(), type, sample.getValue());
+            }
+        }
+    }
+
+    private static void report(String name, CacheValueType type, Object value) throws Exception {
+        CacheValueCodec codec = type.getCodec();
+        byte[] encoded = codec.encode(value);
+
+        double encodeNanos = MicroBenchmark.nanosPerOp(() -> codec.encode(value).length);
+        double decodeNanos = MicroBenchmark.nanosPerOp(() -> codec.decode(encoded).hashCode());
+        System.out.printf("%-24s %-7s %8d %12.0f %12.0f%n", name, type, encoded.length, encodeNanos, decodeNanos);
+    }
+
+    private static UserResponse userSnapshot() {
+        UserResponse user = new UserResponse();
+        user.setName("Nguyen Van An");
+        user.setEmail("an.nguyen@example.com");
+        user.setCountryCode("VN");
+        user.setPhoneNumber("+84901234567");
+        user.setAddress("12 Nguyen Hue, District 1, Ho Chi Minh City");
+        user.setAccountNumber("4f8a1c");
+        user.setIfscCode("NIT001");
+        user.setBranch("NIT");
+        user.setAccountType("Savings");
+        return user;
+    }
+
+    private static String statement() {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; lines.size() < 80; i++) {
+            lines.add("2024-05-" + (10 + i % 20) + ",CASH_TRANSFER,4f8a1c,9b2e7d," + (100 + i) + ".00,Groceries");
+        }
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,65 @@
+package com.webapp.bankingportal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.webapp.bankingportal.dto.AmountRequest;
+import com.webapp.bankingportal.type.CacheValueType;
+import com.webapp.bankingportal.util.CacheValueCodec;
+
+class CacheValueCodecTests {
+
+    private final CacheValueCodec binary = CacheValueType.BINARY.getCodec();
+
+    @Test
+    void testBinary_RoundTripsScalars() {
+        for (Object value : new Object[] { "hello", "", 0L, -1L, Long.MAX_VALUE, Long.MIN_VALUE, 42, -42,
+                Boolean.TRUE, Boolean.FALSE, new BigDecimal("-1234.56") }) {
+            assertEquals(value, binary.decode(binary.encode(value)));
+        }
+        assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) binary.decode(binary.encode(new byte[] { 1, 2, 3 })));
+    }
+
+    @Test
+    void testBinary_RoundTripsApplicationObjects() {
+        AmountRequest request = new AmountRequest("123456", "1234", new BigDecimal("100.50"));
+
+        assertEquals(request, binary.decode(binary.encode(request)));
+    }
+
+    @Test
+    void testBinary_DecodesUntrustedTypesAsPlainMaps() {
+        Object decoded = binary.decode(binary.encode(new java.util.TreeMap<>(Map.of("a", 1))));
+
+        assertEquals(Map.of("a", 1), decoded);
+    }
+
+    @Test
+    void testBinary_SmallValuesAreCompact() {
+        // Header, tag and a one-byte varint
+        assertEquals(3, binary.encode(7L).length);
+        assertEquals(3, binary.encode(-7).length);
+    }
+
+    @Test
+    void testBinary_CompressesLargeValues() {
+        String large = "0123456789".repeat(500);
+
+        byte[] encoded = binary.encode(large);
+
+        assertTrue(encoded.length < large.length() / 4);
+        assertEquals(large, binary.decode(encoded));
+    }
+
+    @Test
+    void testString_RoundTripsRawUtf8() {
+        CacheValueCodec string = CacheValueType.STRING.getCodec();
+
+        assertArrayEquals("123456".getBytes(), string.encode("123456"));
+        assertEquals("xin chào", string.decode(string.encode("xin chào")));
+    }
+}
@@ -1,5 +1,6 @@
 package com.webapp.bankingportal;
 
+import java.math.BigDecimal;
 import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.webapp.bankingportal.exception.NotFoundException;
+import com.webapp.bankingportal.service.BalanceShardService;
 import com.webapp.bankingportal.service.DashboardService;
 
 public class DashboardServiceTests extends BaseTest {
@@ -14,6 +16,9 @@ public class DashboardServiceTests extends BaseTest {
     @Autowired
     DashboardService dashboardService;
 
+    @Autowired
+    BalanceShardService balanceShardService;
+
     @Test
     public void test_get_user_details_with_valid_account_number() throws Exception {
         Map<String, String> userDetails = createAndLoginUser();
@@ -48,4 +53,20 @@ public class DashboardServiceTests extends BaseTest {
         });
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test_get_account_details_includes_unsettled_shard_credits() {
+        Map<String, String> merchant = createAccountWithInitialBalance(100);
+        Map<String, String> customer = createAccountWithInitialBalance(500);
+        balanceShardService.configureSharding(merchant.get("accountNumber"), 4);
+
+        accountService.fundTransfer(customer.get("accountNumber"), merchant.get("accountNumber"),
+                customer.get("pin"), BigDecimal.valueOf(250), null);
+
+        Assertions.assertEquals(new BigDecimal("350.00"),
+                dashboardService.getAccountDetails(merchant.get("accountNumber")).getBalance());
+        balanceShardService.consolidateAll();
+        Assertions.assertEquals(new BigDecimal("350.00"),
+                dashboardService.getAccountDetails(merchant.get("accountNumber")).getBalance());
+    }
+
+}
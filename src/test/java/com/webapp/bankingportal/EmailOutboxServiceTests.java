@@ -0,0 +1,126 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.dto.EmailMessage;
+import com.webapp.bankingportal.entity.OutboxEmail;
+import com.webapp.bankingportal.repository.OutboxEmailRepository;
+import com.webapp.bankingportal.service.EmailOutboxServiceImpl;
+import com.webapp.bankingportal.service.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EmailOutboxServiceTests {
+
+    private static final long BACKOFF_INITIAL_MS = 5000;
+
+    @Mock
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmailOutboxServiceImpl emailOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxService = new EmailOutboxServiceImpl(outboxEmailRepository, emailService, transactionManager);
+        ReflectionTestUtils.setField(emailOutboxService, "batchSize", 10);
+        ReflectionTestUtils.setField(emailOutboxService, "messagesPerConnection", 2);
+        ReflectionTestUtils.setField(emailOutboxService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(emailOutboxService, "backoffInitialMs", BACKOFF_INITIAL_MS);
+        ReflectionTestUtils.setField(emailOutboxService, "backoffMaxMs", 600_000L);
+        ReflectionTestUtils.setField(emailOutboxService, "leaseMs", 5_000L);
+    }
+
+    @Test
+    void testDispatchDue_MarksSentAndReschedulesFailuresWithBackoff() {
+        OutboxEmail delivered = claimed(1L, "a@example.com", 1);
+        OutboxEmail failed = claimed(2L, "b@example.com", 1);
+        when(outboxEmailRepository.lockDueIds(any(Date.class), eq(10))).thenReturn(List.of(1L, 2L));
+        when(outboxEmailRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(delivered, failed));
+        when(emailService.sendEmails(anyList())).thenReturn(CompletableFuture.completedFuture(
+                Arrays.asList(null, new MailSendException("mailbox unavailable"))));
+
+        long before = System.currentTimeMillis();
+        assertEquals(1, emailOutboxService.dispatchDue());
+
+        verify(outboxEmailRepository).lease(eq(List.of(1L, 2L)), any(Date.class));
+        verify(outboxEmailRepository).markSent(eq(List.of(1L)), any(Date.class));
+        ArgumentCaptor<Date> nextAttempt = ArgumentCaptor.forClass(Date.class);
+        verify(outboxEmailRepository).reschedule(eq(2L), nextAttempt.capture(), eq("mailbox unavailable"));
+        long delay = nextAttempt.getValue().getTime() - before;
+        assertTrue(delay >= BACKOFF_INITIAL_MS / 2 && delay <= BACKOFF_INITIAL_MS + 1000, "delay: " + delay);
+        verify(outboxEmailRepository, never()).markFailed(anyLong(), anyString());
+    }
+
+    @Test
+    void testDispatchDue_SendsChunksOverSeparateConnections() {
+        List<OutboxEmail> batch = List.of(claimed(1L, "a@example.com", 1), claimed(2L, "b@example.com", 1),
+                claimed(3L, "c@example.com", 1));
+        when(outboxEmailRepository.lockDueIds(any(Date.class), eq(10))).thenReturn(List.of(1L, 2L, 3L));
+        when(outboxEmailRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(batch);
+        when(emailService.sendEmails(anyList())).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                Arrays.asList(new Exception[invocation.<List<EmailMessage>>getArgument(0).size()])));
+
+        assertEquals(3, emailOutboxService.dispatchDue());
+
+        verify(emailService).sendEmails(List.of(new EmailMessage("a@example.com", "Subject", "Body", "Text"),
+                new EmailMessage("b@example.com", "Subject", "Body", "Text")));
+        verify(emailService).sendEmails(List.of(new EmailMessage("c@example.com", "Subject", "Body", "Text")));
+        verify(outboxEmailRepository).markSent(eq(List.of(1L, 2L, 3L)), any(Date.class));
+    }
+
+    @Test
+    void testDispatchDue_GivesUpAfterMaxAttempts() {
+        OutboxEmail failed = claimed(3L, "c@example.com", 3);
+        when(outboxEmailRepository.lockDueIds(any(Date.class), eq(10))).thenReturn(List.of(3L));
+        when(outboxEmailRepository.findAllById(List.of(3L))).thenReturn(List.of(failed));
+        when(emailService.sendEmails(anyList())).thenThrow(new IllegalStateException("executor saturated"));
+
+        assertEquals(0, emailOutboxService.dispatchDue());
+
+        verify(outboxEmailRepository).markFailed(3L, "executor saturated");
+        verify(outboxEmailRepository, never()).reschedule(anyLong(), any(Date.class), anyString());
+        verify(outboxEmailRepository, never()).markSent(anyList(), any(Date.class));
+    }
+
+    @Test
+    void testDispatchDue_WithNothingDue_SendsNothing() {
+        when(outboxEmailRepository.lockDueIds(any(Date.class), eq(10))).thenReturn(List.of());
+
+        assertEquals(0, emailOutboxService.dispatchDue());
+
+        verify(outboxEmailRepository, never()).lease(anyCollection(), any(Date.class));
+        verifyNoInteractions(emailService);
+    }
+
+    // Attempts already counts the current one: the claim increments it
+    private static OutboxEmail claimed(Long id, String recipient, int attempts) {
+        OutboxEmail email = new OutboxEmail(recipient, "Subject", "Body", "Text", new Date());
+        email.setId(id);
+        email.setAttempts(attempts);
+        return email;
+    }
+}
@@ -0,0 +1,63 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.dto.RenderedEmail;
+import com.webapp.bankingportal.service.EmailTemplateServiceImpl;
+import com.webapp.bankingportal.type.EmailTemplateType;
+import com.webapp.bankingportal.util.EmailTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateServiceTests {
+
+    private final EmailTemplateServiceImpl emailTemplateService = new EmailTemplateServiceImpl();
+
+    @Test
+    void testRender_EscapesValuesInHtmlOnly() {
+        RenderedEmail email = emailTemplateService.render(EmailTemplateType.LOGIN,
+                "<script>alert('x')</script> & Co", "2024-01-01 10:00:00", "Paris, France");
+
+        assertTrue(email.html().contains("Hi, &lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; Co,"));
+        assertFalse(email.html().contains("<script>"));
+        assertTrue(email.html().contains("Paris, France"));
+        assertTrue(email.text().contains("Hi, <script>alert('x')</script> & Co,"));
+        assertFalse(email.text().contains("<div"));
+    }
+
+    @Test
+    void testRender_OtpTemplateKeepsOtpHeading() {
+        RenderedEmail email = emailTemplateService.render(EmailTemplateType.OTP_LOGIN,
+                "Jane", "xxx456", "123456", "5");
+
+        assertTrue(email.html().matches("(?s).*<h2[^>]*>123456</h2>.*"));
+        assertTrue(email.html().contains("valid for 5 minutes"));
+        assertTrue(email.text().contains("123456"));
+        assertTrue(email.text().contains("xxx456"));
+    }
+
+    @Test
+    void testRender_RejectsWrongNumberOfValues() {
+        assertThrows(IllegalArgumentException.class,
+                () -> emailTemplateService.render(EmailTemplateType.LOGIN, "Jane"));
+    }
+
+    @Test
+    void testParse_RejectsUndeclaredAndUnclosedPlaceholders() {
+        assertThrows(IllegalArgumentException.class,
+                () -> EmailTemplate.parse("Hi, {{nmae}}", List.of("name"), true));
+        assertThrows(IllegalArgumentException.class,
+                () -> EmailTemplate.parse("Hi, {{name", List.of("name"), true));
+    }
+
+    @Test
+    void testRenderTo_FillsRepeatedAndNullPlaceholders() {
+        EmailTemplate template = EmailTemplate.parse("{{a}}-{{b}}-{{ a }}", List.of("a", "b"), false);
+        StringBuilder out = new StringBuilder();
+
+        template.renderTo(out, new String[] { "x", null });
+
+        assertEquals("x--x", out.toString());
+    }
+}
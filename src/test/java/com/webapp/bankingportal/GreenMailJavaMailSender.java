@@ -120,4 +120,16 @@ public class GreenMailJavaMailSender extends JavaMailSenderImpl {
         return greenMail.getReceivedMessagesForDomain(domain);
     }
 
+    // Emails leave through the outbox after the request returns, so tests wait for them
+    public static MimeMessage[] awaitReceivedMessagesForDomain(String domain, long timeoutMillis)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        MimeMessage[] messages = greenMail.getReceivedMessagesForDomain(domain);
+        while (messages.length == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            messages = greenMail.getReceivedMessagesForDomain(domain);
+        }
+        return messages;
+    }
+
 }
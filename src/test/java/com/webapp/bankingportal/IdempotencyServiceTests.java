@@ -0,0 +1,201 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.entity.IdempotencyStatus;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.repository.IdempotencyRecordRepository;
+import com.webapp.bankingportal.repository.IdempotencyRecordRepository.RecordState;
+import com.webapp.bankingportal.exception.LedgerOutcomeUnknownException;
+import com.webapp.bankingportal.service.IdempotencyService;
+import com.webapp.bankingportal.service.IdempotencyServiceImpl;
+import com.webapp.bankingportal.service.LedgerBatchExecutor;
+import com.webapp.bankingportal.service.LedgerBatchWriter;
+import com.webapp.bankingportal.util.HashUtil;
+import com.webapp.bankingportal.util.JsonUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class IdempotencyServiceTests {
+
+    private static final String ACCOUNT_NUMBER = "abc123";
+    private static final String KEY = "key-1";
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RecordState recordState;
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository, transactionManager,
+                "test-secret");
+        ReflectionTestUtils.setField(idempotencyService, "ttlSeconds", 86400L);
+        ReflectionTestUtils.setField(idempotencyService, "leaseSeconds", 60L);
+        ReflectionTestUtils.setField(idempotencyService, "waitTimeoutMs", 1000L);
+
+        when(recordState.getId()).thenReturn(1L);
+        when(recordState.getStatus()).thenReturn(IdempotencyStatus.IN_PROGRESS);
+        when(recordState.getExpiresAt()).thenReturn(new Date(System.currentTimeMillis() + 60_000));
+        when(idempotencyRecordRepository.reserve(eq(ACCOUNT_NUMBER), eq(KEY), anyString(), any(Date.class),
+                any(Date.class))).thenReturn(1);
+        when(idempotencyRecordRepository.findState(ACCOUNT_NUMBER, KEY)).thenReturn(recordState);
+    }
+
+    @Test
+    void testExecute_TransientFailureReleasesKeyAndRetrySucceeds() {
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<ResponseEntity<?>> action = () -> {
+            if (calls.incrementAndGet() == 1) {
+                throw new CannotAcquireLockException("Lock wait timeout exceeded");
+            }
+            return ResponseEntity.ok(Map.of("success", true));
+        };
+
+        assertThrows(CannotAcquireLockException.class, () -> execute(action));
+        verify(idempotencyRecordRepository).deleteRecordById(1L);
+        verify(idempotencyRecordRepository, never()).complete(anyLong(), anyInt(), any(), any(Date.class));
+
+        ResponseEntity<?> response = execute(action);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, calls.get());
+        verify(idempotencyRecordRepository).complete(eq(1L), eq(200), anyString(), any(Date.class));
+    }
+
+    @Test
+    void testExecute_BusinessRejectionIsRecorded() {
+        ResponseEntity<?> response = execute(() -> ResponseEntity.badRequest()
+                .body(Map.of("success", false, "message", "Insufficient balance")));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(idempotencyRecordRepository).complete(eq(1L), eq(400), contains("Insufficient balance"),
+                any(Date.class));
+        verify(idempotencyRecordRepository, never()).deleteRecordById(anyLong());
+    }
+
+    @Test
+    void testExecute_KeepsKeyWhenPostingCommitsAfterCallerStopsWaiting() throws Exception {
+        LedgerBatchWriter ledgerBatchWriter = mock(LedgerBatchWriter.class);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            written.countDown();
+            return null;
+        }).when(ledgerBatchWriter).write(anyList());
+        LedgerBatchExecutor ledgerBatchExecutor = new LedgerBatchExecutor(ledgerBatchWriter);
+        ReflectionTestUtils.setField(ledgerBatchExecutor, "enabled", true);
+        ReflectionTestUtils.setField(ledgerBatchExecutor, "windowMs", 1L);
+        ReflectionTestUtils.setField(ledgerBatchExecutor, "maxBatchSize", 1);
+        ReflectionTestUtils.setField(ledgerBatchExecutor, "submitTimeoutMs", 100L);
+        ReflectionTestUtils.setField(ledgerBatchExecutor, "resultTimeoutMs", 100L);
+        ledgerBatchExecutor.start();
+        AtomicReference<IdempotencyStatus> status = new AtomicReference<>(IdempotencyStatus.IN_PROGRESS);
+        when(recordState.getStatus()).thenAnswer(invocation -> status.get());
+        when(recordState.getResponseStatus()).thenReturn(409);
+        when(idempotencyRecordRepository.complete(eq(1L), eq(409), anyString(), any(Date.class)))
+                .thenAnswer(invocation -> {
+                    status.set(IdempotencyStatus.COMPLETED);
+                    return 1;
+                });
+        Supplier<ResponseEntity<?>> action = () -> {
+            ledgerBatchExecutor.execute(TransactionType.CASH_DEPOSIT, 1L, null, 0, 100_00L, null);
+            return ResponseEntity.ok().build();
+        };
+
+        try {
+            assertThrows(LedgerOutcomeUnknownException.class, () -> execute(action));
+            release.countDown();
+            assertTrue(written.await(5, TimeUnit.SECONDS));
+
+            String requestHash = reservedRequestHash();
+            when(idempotencyRecordRepository.reserve(eq(ACCOUNT_NUMBER), eq(KEY), anyString(), any(Date.class),
+                    any(Date.class))).thenReturn(0);
+            when(recordState.getRequestHash()).thenReturn(requestHash);
+            ResponseEntity<?> retry = execute(action);
+
+            assertEquals(HttpStatus.CONFLICT, retry.getStatusCode());
+            assertEquals("true", retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+            verify(ledgerBatchWriter, times(1)).write(anyList());
+            verify(idempotencyRecordRepository, never()).deleteRecordById(anyLong());
+        } finally {
+            release.countDown();
+            ledgerBatchExecutor.stop();
+        }
+    }
+
+    @Test
+    void testExecute_StoresKeyedHashOfRequest() {
+        ArgumentCaptor<String> requestHash = ArgumentCaptor.forClass(String.class);
+        Map<String, Object> request = Map.of("pin", "1234", "amount", 100);
+
+        idempotencyService.execute(ACCOUNT_NUMBER, KEY, "deposit", request, () -> ResponseEntity.ok().build());
+        new IdempotencyServiceImpl(idempotencyRecordRepository, transactionManager, "other-secret")
+                .execute(ACCOUNT_NUMBER, KEY, "deposit", request, () -> ResponseEntity.ok().build());
+
+        verify(idempotencyRecordRepository, times(2)).reserve(eq(ACCOUNT_NUMBER), eq(KEY), requestHash.capture(),
+                any(Date.class), any(Date.class));
+        String hash = requestHash.getAllValues().get(0);
+        assertEquals(64, hash.length());
+        assertNotEquals(HashUtil.sha256Hex("deposit\n" + JsonUtil.toJson(request)), hash);
+        assertNotEquals(requestHash.getAllValues().get(1), hash);
+    }
+
+    @Test
+    void testExecute_RenewsLeaseWhileActionRuns() {
+        ReflectionTestUtils.setField(idempotencyService, "leaseSeconds", 1L);
+
+        execute(() -> {
+            try {
+                Thread.sleep(800);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ResponseEntity.ok().build();
+        });
+
+        verify(idempotencyRecordRepository, atLeastOnce()).renewLease(eq(1L), any(Date.class));
+        verify(idempotencyRecordRepository).complete(eq(1L), eq(200), any(), any(Date.class));
+    }
+
+    private String reservedRequestHash() {
+        ArgumentCaptor<String> requestHash = ArgumentCaptor.forClass(String.class);
+        verify(idempotencyRecordRepository, atLeastOnce()).reserve(eq(ACCOUNT_NUMBER), eq(KEY),
+                requestHash.capture(), any(Date.class), any(Date.class));
+        return requestHash.getValue();
+    }
+
+    private ResponseEntity<?> execute(Supplier<ResponseEntity<?>> action) {
+        return idempotencyService.execute(ACCOUNT_NUMBER, KEY, "deposit", Map.of("amount", 100), action);
+    }
+}
@@ -0,0 +1,52 @@
+package com.webapp.bankingportal;
+
+import java.security.Key;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import com.webapp.bankingportal.security.JwtVerifier;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Measures the per-request cost of JWT verification: the previous path, which
+ * decoded the secret and built a key and a parser for every parse and parsed
+ * twice per request, against {@link JwtVerifier}, timed with
+ * {@link MicroBenchmark}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtVerificationBenchmark {
+
+    private static final String SECRET = "TVqX8nPj7wL2KtG5R9YcF1H3MzW6B4DvN8QaZsX0C7EjI5Og2UyV4bP9rT1W3L6KpX8nMj7wL2KtG5R9YcF1H3MzW6B4DvN8QaZsX0C7EjI5Og2UyV4bP9rT1W3L6K";
+    @Test
+    void benchmarkRequestVerification() throws Exception {
+        JwtVerifier jwtVerifier = new JwtVerifier(SECRET);
+        String token = Jwts.builder().setSubject("4f8a1c")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 86_400_000))
+                .signWith(jwtVerifier.getSigningKey(), SignatureAlgorithm.HS512).compact();
+
+        System.out.printf("%-40s %10s%n", "path", "ns/request");
+        report("key + parser per parse, parsed twice", () -> {
+            legacyClaims(token);
+            return legacyClaims(token).getSubject().length();
+        });
+        report("key + parser per parse, parsed once", () -> legacyClaims(token).getSubject().length());
+        report("JwtVerifier", () -> jwtVerifier.verify(token).subject().length());
+    }
+
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    private static void report(String name, MicroBenchmark.Operation verification) throws Exception {
+        System.out.printf("%-40s %10.1f%n", name, MicroBenchmark.nanosPerOp(verification));
+    }
+}
@@ -0,0 +1,68 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.exception.InvalidTokenException;
+import com.webapp.bankingportal.exception.TokenExpiredException;
+import com.webapp.bankingportal.security.JwtVerifier;
+import com.webapp.bankingportal.security.VerifiedToken;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtVerifierTests {
+
+    private static final String SECRET = "TVqX8nPj7wL2KtG5R9YcF1H3MzW6B4DvN8QaZsX0C7EjI5Og2UyV4bP9rT1W3L6KpX8nMj7wL2KtG5R9YcF1H3MzW6B4DvN8QaZsX0C7EjI5Og2UyV4bP9rT1W3L6K";
+
+    private final JwtVerifier jwtVerifier = new JwtVerifier(SECRET);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private String token(String subject, Date expiry) {
+        return Jwts.builder().setSubject(subject)
+                .setIssuedAt(new Date())
+                .setExpiration(expiry)
+                .signWith(jwtVerifier.getSigningKey(), SignatureAlgorithm.HS512).compact();
+    }
+
+    @Test
+    void testVerify_WithValidToken_ExposesClaims() throws InvalidTokenException {
+        Date expiry = new Date(System.currentTimeMillis() + 60_000);
+        VerifiedToken verifiedToken = jwtVerifier.verify(token("a1b2c3", expiry));
+
+        assertEquals("a1b2c3", verifiedToken.subject());
+        assertEquals(expiry.getTime() / 1000, verifiedToken.expiration().getTime() / 1000);
+        assertNotNull(verifiedToken.issuedAt());
+    }
+
+    @Test
+    void testVerify_WithExpiredToken_ThrowsTokenExpired() {
+        String token = token("a1b2c3", new Date(System.currentTimeMillis() - 1000));
+
+        assertThrows(TokenExpiredException.class, () -> jwtVerifier.verify(token));
+    }
+
+    @Test
+    void testVerify_WithinRequest_ParsesOnce() throws InvalidTokenException {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        String token = token("a1b2c3", new Date(System.currentTimeMillis() + 60_000));
+
+        assertSame(jwtVerifier.verify(token), jwtVerifier.verify(token));
+    }
+
+    @Test
+    void testVerify_OutsideRequest_ParsesEachTime() throws InvalidTokenException {
+        String token = token("a1b2c3", new Date(System.currentTimeMillis() + 60_000));
+
+        assertNotSame(jwtVerifier.verify(token), jwtVerifier.verify(token));
+    }
+}
@@ -0,0 +1,112 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.exception.LedgerOutcomeUnknownException;
+import com.webapp.bankingportal.exception.ServiceUnavailableException;
+import com.webapp.bankingportal.service.LedgerBatchExecutor;
+import com.webapp.bankingportal.service.LedgerBatchWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LedgerBatchExecutorTests {
+
+    @Mock
+    private LedgerBatchWriter ledgerBatchWriter;
+
+    private LedgerBatchExecutor ledgerBatchExecutor;
+
+    @BeforeEach
+    void setUp() {
+        ledgerBatchExecutor = new LedgerBatchExecutor(ledgerBatchWriter);
+        ReflectionTestUtils.setField(ledgerBatchExecutor, "enabled", true);
+        ReflectionTestUtils.setField(ledgerBatchExecutor, "windowMs", 1L);
+        ReflectionTestUtils.setField(ledgerBatchExecutor, "maxBatchSize", 1);
+        ReflectionTestUtils.setField(ledgerBatchExecutor, "submitTimeoutMs", 100L);
+        ReflectionTestUtils.setField(ledgerBatchExecutor, "resultTimeoutMs", 200L);
+        ledgerBatchExecutor.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ledgerBatchExecutor.stop();
+    }
+
+    @Test
+    void testExecute_WorkerSurvivesErrorFromWriter() {
+        doThrow(new AssertionError("driver bug")).doNothing().when(ledgerBatchWriter).write(anyList());
+
+        assertThrows(IllegalStateException.class, this::deposit);
+        assertDoesNotThrow(this::deposit);
+        verify(ledgerBatchWriter, times(2)).write(anyList());
+    }
+
+    @Test
+    void testExecute_GivesUpOnPostingNotPickedUpInTime() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(ledgerBatchWriter).write(anyList());
+
+        // Occupies the worker, so the next posting stays queued
+        CompletableFuture<Void> first = CompletableFuture.runAsync(this::deposit);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ServiceUnavailableException.class, this::deposit);
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        // The abandoned posting is skipped rather than written after its caller was told it failed
+        Thread.sleep(100);
+        verify(ledgerBatchWriter, times(1)).write(anyList());
+    }
+
+    @Test
+    void testExecute_PostingCommitsAfterCallerStopsWaiting() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            written.countDown();
+            return null;
+        }).when(ledgerBatchWriter).write(anyList());
+
+        // The worker claimed the posting, so the caller cannot be told it failed
+        assertThrows(LedgerOutcomeUnknownException.class, this::deposit);
+
+        release.countDown();
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        verify(ledgerBatchWriter, times(1)).write(anyList());
+    }
+
+    @Test
+    void testExecute_FailsFastOnceStopped() throws Exception {
+        ledgerBatchExecutor.stop();
+
+        assertThrows(IllegalStateException.class, this::deposit);
+        verifyNoInteractions(ledgerBatchWriter);
+    }
+
+    private void deposit() {
+        ledgerBatchExecutor.execute(TransactionType.CASH_DEPOSIT, 1L, null, 0, 100_00L, null);
+    }
+}
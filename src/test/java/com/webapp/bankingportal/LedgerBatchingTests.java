@@ -0,0 +1,129 @@
+package com.webapp.bankingportal;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.exception.InsufficientBalanceException;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.service.LedgerJournalService;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.MoneyUtil;
+
+/**
+ * Runs ledger writes through the group-commit executor. Batches commit on the
+ * executor's own thread, so these tests opt out of the per-test rollback
+ * transaction.
+ */
+@TestPropertySource(properties = "ledger.batching.enabled=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class LedgerBatchingTests extends BaseTest {
+
+    private static final int THREADS = 32;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    LedgerJournalService ledgerJournalService;
+
+    @Test
+    public void test_batched_transfers_conserve_total_balance() throws Exception {
+        int accountCount = 8;
+        int transferCount = 2000;
+        double initialBalance = 2000.0;
+        double transferAmount = 100.0;
+
+        List<Map<String, String>> accounts = new ArrayList<>();
+        for (int i = 0; i < accountCount; i++) {
+            accounts.add(createAccountWithInitialBalance(initialBalance));
+        }
+
+        AtomicLongArray netTransfers = new AtomicLongArray(accountCount);
+        AtomicInteger rejected = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < transferCount; i++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int source = random.nextInt(accountCount);
+                    int target = (source + 1 + random.nextInt(accountCount - 1)) % accountCount;
+                    Map<String, String> sourceDetails = accounts.get(source);
+                    try {
+                        accountService.fundTransfer(sourceDetails.get("accountNumber"),
+                                accounts.get(target).get("accountNumber"), sourceDetails.get("pin"),
+                                BigDecimal.valueOf(transferAmount), null);
+                        netTransfers.decrementAndGet(source);
+                        netTransfers.incrementAndGet(target);
+                    } catch (InsufficientBalanceException e) {
+                        rejected.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        long total = 0;
+        for (int i = 0; i < accountCount; i++) {
+            Account account = accountRepository.findByAccountNumber(accounts.get(i).get("accountNumber"));
+            long expected = MoneyUtil.toMinorUnits(
+                    BigDecimal.valueOf(initialBalance + netTransfers.get(i) * transferAmount));
+
+            Assertions.assertEquals(expected, account.getBalance());
+            total += account.getBalance();
+        }
+
+        Assertions.assertEquals(MoneyUtil.toMinorUnits(BigDecimal.valueOf(accountCount * initialBalance)), total);
+        Assertions.assertTrue(rejected.get() < transferCount);
+        Assertions.assertTrue(ledgerJournalService.verify(false).isBalanced());
+    }
+
+    @Test
+    public void test_batched_withdrawal_with_insufficient_balance_fails_alone() throws Exception {
+        Map<String, String> poor = createAccountWithInitialBalance(100.0);
+        Map<String, String> rich = createAccountWithInitialBalance(1000.0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> failing = executor.submit(() -> accountService.cashWithdrawal(poor.get("accountNumber"),
+                    poor.get("pin"), BigDecimal.valueOf(200.0)));
+            Future<?> succeeding = executor.submit(() -> accountService.cashWithdrawal(rich.get("accountNumber"),
+                    rich.get("pin"), BigDecimal.valueOf(200.0)));
+
+            succeeding.get();
+            Exception exception = Assertions.assertThrows(Exception.class, failing::get);
+            Assertions.assertInstanceOf(InsufficientBalanceException.class, exception.getCause());
+            Assertions.assertEquals(ApiMessages.BALANCE_INSUFFICIENT_ERROR.getMessage(),
+                    exception.getCause().getMessage());
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(MoneyUtil.toMinorUnits(BigDecimal.valueOf(100.0)),
+                accountRepository.findByAccountNumber(poor.get("accountNumber")).getBalance());
+        Assertions.assertEquals(MoneyUtil.toMinorUnits(BigDecimal.valueOf(800.0)),
+                accountRepository.findByAccountNumber(rich.get("accountNumber")).getBalance());
+    }
+
+}
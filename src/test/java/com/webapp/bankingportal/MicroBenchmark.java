@@ -0,0 +1,70 @@
+package com.webapp.bankingportal;
+
+import java.util.Arrays;
+
+/**
+ * Timing loop shared by the opt-in benchmarks in this package. JMH is not on
+ * the build path, so each operation is run for a few warm-up rounds and then
+ * timed over several more, and the median round is reported. The numbers are
+ * indicative: good for comparing paths measured in the same run, not as
+ * absolute costs. The benchmarks only run when asked for, e.g.
+ * {@code mvn test -Dtest=CacheKeyTypeBenchmark -Dbenchmark=true}.
+ */
+final class MicroBenchmark {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+    private static final long ROUND_NANOS = 500_000_000L;
+    private static final int MAX_BATCH = 1 << 16;
+
+    // Keeps the JIT from discarding the measured work
+    private static volatile long blackhole;
+
+    /**
+     * One call of the code being measured. Returns a value derived from its
+     * result, which is folded into a sink so the work cannot be optimised away.
+     */
+    @FunctionalInterface
+    interface Operation {
+        long run() throws Exception;
+    }
+
+    private MicroBenchmark() {
+    }
+
+    /**
+     * Median time of one call to {@code operation}, in nanoseconds.
+     */
+    static double nanosPerOp(Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round(operation);
+        }
+
+        double[] rounds = new double[MEASURED_ROUNDS];
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            rounds[i] = round(operation);
+        }
+        Arrays.sort(rounds);
+        return rounds[MEASURED_ROUNDS / 2];
+    }
+
+    private static double round(Operation operation) throws Exception {
+        long sink = 0;
+        long operations = 0;
+        // Batches grow so that reading the clock is a negligible part of the round
+        int batch = 1;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int i = 0; i < batch; i++) {
+                sink += operation.run();
+            }
+            operations += batch;
+            batch = Math.min(batch * 2, MAX_BATCH);
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < ROUND_NANOS);
+
+        blackhole = sink;
+        return (double) elapsed / operations;
+    }
+}
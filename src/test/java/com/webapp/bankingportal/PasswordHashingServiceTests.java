@@ -0,0 +1,68 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.exception.ServiceUnavailableException;
+import com.webapp.bankingportal.service.PasswordHashingServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testEncodeAndMatches_RecordLatencyPerOperation() {
+        PasswordHashingServiceImpl service = new PasswordHashingServiceImpl(meterRegistry, 2, 4, 5000, 4, 4, 0);
+        try {
+            String encoded = service.encode("secret");
+
+            assertTrue(service.matches("secret", encoded));
+            assertFalse(service.matches("wrong", encoded));
+            assertEquals(1, meterRegistry.get("security.hashing.duration").tag("operation", "encode").timer().count());
+            assertEquals(2, meterRegistry.get("security.hashing.duration").tag("operation", "matches").timer().count());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testUpgradeEncoding_OnlyForHashesBelowCurrentStrength() {
+        PasswordHashingServiceImpl service = new PasswordHashingServiceImpl(meterRegistry, 1, 4, 5000, 5, 5, 0);
+        try {
+            String weak = new BCryptPasswordEncoder(4).encode("secret");
+
+            assertEquals(5, service.getStrength());
+            assertTrue(service.matches("secret", weak));
+            assertTrue(service.upgradeEncoding(weak));
+            assertFalse(service.upgradeEncoding(service.encode("secret")));
+        } finally {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void testEncode_WhenPoolAndQueueAreFull_RejectsImmediately() throws Exception {
+        // One thread busy, one hash queued: the next caller has nowhere to go
+        PasswordHashingServiceImpl service = new PasswordHashingServiceImpl(meterRegistry, 1, 1, 30000, 14, 14, 0);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            callers.submit(() -> service.encode("first"));
+            callers.submit(() -> service.encode("second"));
+            while (meterRegistry.get("security.hashing.queue.depth").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+
+            assertThrows(ServiceUnavailableException.class, () -> service.encode("third"));
+            assertEquals(1, meterRegistry.get("security.hashing.rejected").counter().count());
+        } finally {
+            callers.shutdownNow();
+            service.shutdown();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.webapp.bankingportal;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.webapp.bankingportal.service.PooledJavaMailSender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PooledJavaMailSenderTests {
+
+    private GreenMail greenMail;
+    private SimpleMeterRegistry meterRegistry;
+    private PooledJavaMailSender mailSender;
+
+    @BeforeEach
+    void setUp() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+        meterRegistry = new SimpleMeterRegistry();
+        mailSender = new PooledJavaMailSender(meterRegistry, 2, 1000, 60_000);
+        mailSender.setHost(greenMail.getSmtp().getBindTo());
+        mailSender.setPort(greenMail.getSmtp().getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        mailSender.close();
+        greenMail.stop();
+    }
+
+    @Test
+    void testSend_ReusesConnectionAcrossCallsAndBatches() throws Exception {
+        mailSender.send(message("a@example.com"));
+        mailSender.send(message("b@example.com"), message("c@example.com"), message("d@example.com"));
+
+        assertEquals(4, greenMail.getReceivedMessages().length);
+        assertEquals(1, connections("opened"));
+        assertEquals(1, connections("reused"));
+        assertEquals(4, meterRegistry.timer("mail.smtp.send", "outcome", "success").count());
+    }
+
+    @Test
+    void testSend_ReconnectsWhenPooledConnectionWasDropped() throws Exception {
+        mailSender.send(message("a@example.com"));
+
+        // Restart the server on the same port, dropping the pooled connection
+        int port = greenMail.getSmtp().getPort();
+        greenMail.stop();
+        greenMail = new GreenMail(new ServerSetup(port, ServerSetupTest.SMTP.getBindAddress(), ServerSetup.PROTOCOL_SMTP));
+        greenMail.start();
+
+        mailSender.send(message("b@example.com"));
+
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        assertEquals(2, connections("opened"));
+        assertEquals(1, connections("discarded"));
+        assertEquals(0, meterRegistry.timer("mail.smtp.send", "outcome", "failure").count());
+    }
+
+    private MimeMessage message(String to) throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message);
+        helper.setFrom("noreply@example.com");
+        helper.setTo(to);
+        helper.setSubject("Subject");
+        helper.setText("Body");
+        return message;
+    }
+
+    private double connections(String event) {
+        return meterRegistry.counter("mail.smtp.connections", "event", event).count();
+    }
+}
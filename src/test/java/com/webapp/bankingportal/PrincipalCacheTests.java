@@ -0,0 +1,52 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.security.PrincipalCache;
+import com.webapp.bankingportal.security.VerifiedToken;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTests {
+
+    private static final String ACCOUNT_NUMBER = "a1b2c3";
+    private static final VerifiedToken VERIFIED_TOKEN =
+            new VerifiedToken("token", Jwts.claims().setSubject(ACCOUNT_NUMBER));
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Test
+    void testGetPrincipal_WhenDisabled_BuildsFromClaimsWithoutLookup() {
+        PrincipalCache principalCache = new PrincipalCache(userDetailsService, false, 30);
+
+        UserDetails principal = principalCache.getPrincipal(VERIFIED_TOKEN);
+
+        assertEquals(ACCOUNT_NUMBER, principal.getUsername());
+        assertInstanceOf(User.class, principal);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void testGetPrincipal_WhenEnabled_LoadsOnceUntilEvicted() {
+        PrincipalCache principalCache = new PrincipalCache(userDetailsService, true, 30);
+        UserDetails loaded = User.withUsername(ACCOUNT_NUMBER).password("hash").authorities("USER").build();
+        when(userDetailsService.loadUserByUsername(ACCOUNT_NUMBER)).thenReturn(loaded);
+
+        assertSame(loaded, principalCache.getPrincipal(VERIFIED_TOKEN));
+        assertSame(loaded, principalCache.getPrincipal(VERIFIED_TOKEN));
+        verify(userDetailsService, times(1)).loadUserByUsername(ACCOUNT_NUMBER);
+
+        principalCache.evict(ACCOUNT_NUMBER);
+        principalCache.getPrincipal(VERIFIED_TOKEN);
+        verify(userDetailsService, times(2)).loadUserByUsername(ACCOUNT_NUMBER);
+    }
+}
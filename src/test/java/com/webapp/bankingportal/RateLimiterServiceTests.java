@@ -0,0 +1,100 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.service.RateLimiterService;
+import com.webapp.bankingportal.service.RateLimiterServiceImpl;
+import com.webapp.bankingportal.type.CacheKeyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class RateLimiterServiceTests {
+
+    private static final String ACCOUNT_NUMBER = "a1b2c3";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private RateLimiterServiceImpl rateLimiterService;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiterService = new RateLimiterServiceImpl(redisTemplate);
+    }
+
+    @Test
+    void testTryAcquire_UsesScriptResultFromRedis() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("login:attempt:" + ACCOUNT_NUMBER)),
+                eq("5"), eq("900000"), any()))
+                .thenReturn(List.of(1L, 4L, 0L))
+                .thenReturn(List.of(0L, 0L, 61_000L));
+
+        RateLimiterService.Decision allowed = rateLimiterService.tryAcquire(CacheKeyType.LOGIN_ATTEMPT, ACCOUNT_NUMBER, 5);
+        RateLimiterService.Decision rejected = rateLimiterService.tryAcquire(CacheKeyType.LOGIN_ATTEMPT, ACCOUNT_NUMBER, 5);
+
+        assertTrue(allowed.allowed());
+        assertEquals(4, allowed.remaining());
+        assertFalse(rejected.allowed());
+        assertEquals(2, rejected.retryAfterMinutes());
+    }
+
+    @Test
+    void testTryAcquire_WhenRedisFails_EnforcesLimitLocally() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(rateLimiterService.tryAcquire(CacheKeyType.OTP_GENERATION_ATTEMPT, ACCOUNT_NUMBER, 2).allowed());
+        assertTrue(rateLimiterService.tryAcquire(CacheKeyType.OTP_GENERATION_ATTEMPT, ACCOUNT_NUMBER, 2).allowed());
+
+        RateLimiterService.Decision rejected =
+                rateLimiterService.tryAcquire(CacheKeyType.OTP_GENERATION_ATTEMPT, ACCOUNT_NUMBER, 2);
+        assertFalse(rejected.allowed());
+        assertTrue(rejected.retryAfterMillis() > 0);
+        assertEquals(15, rejected.retryAfterMinutes());
+
+        // Limits are per subject
+        assertTrue(rateLimiterService.tryAcquire(CacheKeyType.OTP_GENERATION_ATTEMPT, "d4e5f6", 2).allowed());
+    }
+
+    @Test
+    void testReset_ClearsLocalAndSharedAttempts() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        rateLimiterService.tryAcquire(CacheKeyType.LOGIN_ATTEMPT, ACCOUNT_NUMBER, 1);
+        assertFalse(rateLimiterService.tryAcquire(CacheKeyType.LOGIN_ATTEMPT, ACCOUNT_NUMBER, 1).allowed());
+
+        rateLimiterService.reset(CacheKeyType.LOGIN_ATTEMPT, ACCOUNT_NUMBER);
+
+        assertTrue(rateLimiterService.tryAcquire(CacheKeyType.LOGIN_ATTEMPT, ACCOUNT_NUMBER, 1).allowed());
+    }
+
+    @Test
+    void testCheckRedisHealth_SwitchesBackToRedisAfterRecovery() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(List.of(1L, 0L, 0L));
+
+        rateLimiterService.tryAcquire(CacheKeyType.LOGIN_ATTEMPT, ACCOUNT_NUMBER, 1);
+        // Still local-only: the failed attempt used the in-memory window
+        assertFalse(rateLimiterService.tryAcquire(CacheKeyType.LOGIN_ATTEMPT, ACCOUNT_NUMBER, 1).allowed());
+
+        rateLimiterService.checkRedisHealth();
+
+        assertTrue(rateLimiterService.tryAcquire(CacheKeyType.LOGIN_ATTEMPT, ACCOUNT_NUMBER, 1).allowed());
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), any(), any(), any());
+    }
+}
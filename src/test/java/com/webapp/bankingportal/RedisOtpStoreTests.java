@@ -0,0 +1,105 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.service.JpaOtpStore;
+import com.webapp.bankingportal.service.RedisOtpStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisOtpStoreTests {
+
+    private static final String ACCOUNT_NUMBER = "a1b2c3";
+    private static final String KEY = "otp:" + ACCOUNT_NUMBER + ":active";
+    private static final List<String> KEYS = List.of(KEY, "otp:fallback");
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private JpaOtpStore jpaOtpStore;
+
+    private RedisOtpStore redisOtpStore;
+
+    @BeforeEach
+    void setUp() {
+        redisOtpStore = new RedisOtpStore(redisTemplate, jpaOtpStore);
+    }
+
+    @Test
+    void testIssue_ReturnsOtpActiveInRedis() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS), eq("654321"), eq("300000"), eq("0")))
+                .thenReturn("123456");
+
+        assertEquals("123456", redisOtpStore.issue(ACCOUNT_NUMBER, "654321", TTL));
+        verifyNoInteractions(jpaOtpStore);
+    }
+
+    @Test
+    void testConsume_MissWithoutOutage_DoesNotQueryDatabase() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS), eq("123456"), eq("0"))).thenReturn(0L);
+
+        assertFalse(redisOtpStore.consume(ACCOUNT_NUMBER, "123456", TTL));
+        verifyNoInteractions(jpaOtpStore);
+    }
+
+    @Test
+    void testConsume_MissWhileAnotherNodesFallbackMarkerIsSet_QueriesDatabase() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS), eq("123456"), eq("0"))).thenReturn(2L);
+        when(jpaOtpStore.consume(ACCOUNT_NUMBER, "123456", TTL)).thenReturn(true);
+
+        assertTrue(redisOtpStore.consume(ACCOUNT_NUMBER, "123456", TTL));
+    }
+
+    @Test
+    void testConsume_AfterOutage_PublishesFallbackMarkerForRemainingTtl() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS), eq("654321"), eq("300000"), eq("0")))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(jpaOtpStore.issue(ACCOUNT_NUMBER, "654321", TTL)).thenReturn("654321");
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS), eq("111111"), anyString())).thenReturn(0L);
+
+        redisOtpStore.issue(ACCOUNT_NUMBER, "654321", TTL);
+        redisOtpStore.consume(ACCOUNT_NUMBER, "111111", TTL);
+
+        ArgumentCaptor<String> remaining = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).execute(any(RedisScript.class), eq(KEYS), eq("111111"), remaining.capture());
+        long remainingMillis = Long.parseLong(remaining.getValue());
+        assertTrue(remainingMillis > 0 && remainingMillis <= TTL.toMillis());
+    }
+
+    @Test
+    void testConsume_FallbackWindowExpires_StopsQueryingDatabase() {
+        ReflectionTestUtils.setField(redisOtpStore, "fallbackUntil", System.currentTimeMillis() - 1);
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS), eq("123456"), eq("0"))).thenReturn(0L);
+
+        assertFalse(redisOtpStore.consume(ACCOUNT_NUMBER, "123456", TTL));
+        verifyNoInteractions(jpaOtpStore);
+    }
+
+    @Test
+    void testConsume_AfterOutage_FindsOtpIssuedToDatabase() {
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS), eq("654321"), eq("300000"), eq("0")))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(jpaOtpStore.issue(ACCOUNT_NUMBER, "654321", TTL)).thenReturn("654321");
+        when(redisTemplate.execute(any(RedisScript.class), eq(KEYS), eq("654321"), anyString())).thenReturn(0L);
+        when(jpaOtpStore.consume(ACCOUNT_NUMBER, "654321", TTL)).thenReturn(true);
+
+        assertEquals("654321", redisOtpStore.issue(ACCOUNT_NUMBER, "654321", TTL));
+        assertTrue(redisOtpStore.consume(ACCOUNT_NUMBER, "654321", TTL));
+    }
+}
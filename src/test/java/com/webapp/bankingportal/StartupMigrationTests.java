@@ -0,0 +1,114 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.config.TokenHashMigration;
+import com.webapp.bankingportal.service.DatabaseLockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class StartupMigrationTests {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DatabaseLockService databaseLockService;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    private TokenHashMigration tokenHashMigration;
+
+    @BeforeEach
+    void setUp() {
+        tokenHashMigration = new TokenHashMigration(jdbcTemplate, databaseLockService, entityManagerFactory);
+        ReflectionTestUtils.setField(tokenHashMigration, "lockTimeoutSeconds", 600L);
+
+        when(databaseLockService.runExclusively(anyString(), anyLong(), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return true;
+        });
+    }
+
+    @Test
+    void testMigrate_NoOpOnceColumnIsGone() {
+        tokenColumnExists(0);
+        tokenHashIndexExists(1);
+
+        tokenHashMigration.migrate();
+
+        verifyNoInteractions(databaseLockService);
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void testMigrate_RunsUnderLock() {
+        tokenColumnExists(1, 1);
+        tokenHashIndexExists(0);
+
+        tokenHashMigration.migrate();
+
+        verify(databaseLockService).runExclusively(anyString(), eq(600L), any(Runnable.class));
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).update("UPDATE token SET token_hash = SHA2(token, 256) WHERE token IS NOT NULL");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE token ADD CONSTRAINT uk_token_hash UNIQUE (token_hash)");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE token DROP COLUMN token");
+    }
+
+    @Test
+    void testMigrate_CreatesMissingIndexOnceColumnIsGone() {
+        tokenColumnExists(0);
+        tokenHashIndexExists(0);
+
+        tokenHashMigration.migrate();
+
+        verify(jdbcTemplate).update("DELETE FROM token WHERE token_hash = ''");
+        verify(jdbcTemplate).execute("ALTER TABLE token ADD CONSTRAINT uk_token_hash UNIQUE (token_hash)");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE token DROP COLUMN token");
+    }
+
+    @Test
+    void testMigrate_SkipsWhenAnotherNodeMigratedWhileWaiting() {
+        tokenColumnExists(1, 0);
+        tokenHashIndexExists(1);
+
+        tokenHashMigration.migrate();
+
+        verify(jdbcTemplate, never()).update(anyString());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void testMigrate_FailsStartupWhenLockNeverFrees() {
+        tokenColumnExists(1);
+        when(databaseLockService.runExclusively(anyString(), anyLong(), any(Runnable.class))).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> tokenHashMigration.migrate());
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    private void tokenColumnExists(Integer first, Integer... next) {
+        when(jdbcTemplate.queryForObject(contains("information_schema.columns"), eq(Integer.class), eq("token"),
+                eq("token"))).thenReturn(first, next);
+    }
+
+    private void tokenHashIndexExists(Integer exists) {
+        when(jdbcTemplate.queryForObject(contains("information_schema.statistics"), eq(Integer.class), eq("token"),
+                eq("uk_token_hash"))).thenReturn(exists);
+    }
+}
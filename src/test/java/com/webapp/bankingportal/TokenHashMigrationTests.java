@@ -0,0 +1,83 @@
+package com.webapp.bankingportal;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.config.TokenHashMigration;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.TokenRepository;
+import com.webapp.bankingportal.util.HashUtil;
+
+/**
+ * Runs the token hash migration against the real schema, put back into the
+ * state the schema update leaves a table with existing sessions in: the
+ * legacy token column next to a NOT NULL token_hash holding '', and no
+ * unique index on it.
+ */
+// DDL commits implicitly in MySQL, so this cannot run inside the usual rolled-back test transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TokenHashMigrationTests extends BaseTest {
+
+    @Autowired
+    TokenHashMigration tokenHashMigration;
+
+    @Autowired
+    TokenRepository tokenRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private final List<String> tokens = List.of(
+            "legacy-token-" + getRandomAccountNumber(), "legacy-token-" + getRandomAccountNumber());
+
+    @AfterEach
+    public void tearDown() {
+        for (String token : tokens) {
+            tokenRepository.deleteByToken(token);
+        }
+    }
+
+    @Test
+    public void test_migration_hashes_existing_sessions_and_restores_index() {
+        String accountNumber = createAccount().get("accountNumber");
+        Long accountId = accountRepository.findByAccountNumber(accountNumber).getId();
+
+        jdbcTemplate.execute("ALTER TABLE token DROP INDEX uk_token_hash");
+        jdbcTemplate.execute("ALTER TABLE token ADD COLUMN token VARCHAR(512) NULL");
+        Timestamp expiry = new Timestamp(System.currentTimeMillis() + 3_600_000);
+        for (String token : tokens) {
+            jdbcTemplate.update("INSERT INTO token (token, token_hash, created_at, expiry_at, account_id) "
+                    + "VALUES (?, '', ?, ?, ?)", token, new Timestamp(System.currentTimeMillis()), expiry, accountId);
+        }
+
+        tokenHashMigration.migrate();
+
+        for (String token : tokens) {
+            Assertions.assertNotNull(tokenRepository.findByToken(token));
+            Assertions.assertEquals(HashUtil.sha256Hex(token), tokenRepository.findByToken(token).getTokenHash());
+        }
+        Assertions.assertEquals(0, count("SELECT COUNT(*) FROM information_schema.columns "
+                + "WHERE table_schema = DATABASE() AND table_name = 'token' AND column_name = 'token'"));
+        Map<String, Object> index = jdbcTemplate.queryForMap("SELECT non_unique, column_name "
+                + "FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = 'token' AND index_name = 'uk_token_hash'");
+        Assertions.assertEquals(0, ((Number) index.get("non_unique")).intValue());
+        Assertions.assertEquals("token_hash", index.get("column_name"));
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
@@ -0,0 +1,122 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.service.TokenRevocationService;
+import com.webapp.bankingportal.service.TokenRevocationServiceImpl;
+import com.webapp.bankingportal.util.BloomFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TokenRevocationServiceTests {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        tokenRevocationService = new TokenRevocationServiceImpl(redisTemplate, 1000);
+    }
+
+    private static Date inOneHour() {
+        return new Date(System.currentTimeMillis() + 3_600_000);
+    }
+
+    @Test
+    void testRevoke_MarksOnlyThatTokenRevoked() {
+        String tokenId = UUID.randomUUID().toString();
+
+        tokenRevocationService.revoke(tokenId, inOneHour());
+
+        assertTrue(tokenRevocationService.isRevoked(tokenId));
+        assertFalse(tokenRevocationService.isRevoked(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void testRevoke_StoresAndPublishesToRedis() {
+        String tokenId = UUID.randomUUID().toString();
+        Date expiresAt = inOneHour();
+
+        tokenRevocationService.revoke(tokenId, expiresAt);
+
+        verify(zSetOperations).add(anyString(), eq(tokenId), eq((double) expiresAt.getTime()));
+        verify(redisTemplate).convertAndSend(TokenRevocationServiceImpl.REVOCATION_CHANNEL,
+                tokenId + ":" + expiresAt.getTime());
+    }
+
+    @Test
+    void testRevoke_WhenRedisDown_AppliesLocallyAndRetriesOnRefresh() {
+        String tokenId = UUID.randomUUID().toString();
+        when(zSetOperations.add(anyString(), eq(tokenId), anyDouble()))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"))
+                .thenReturn(true);
+
+        tokenRevocationService.revoke(tokenId, inOneHour());
+        assertTrue(tokenRevocationService.isRevoked(tokenId));
+
+        ((TokenRevocationServiceImpl) tokenRevocationService).refresh();
+        verify(zSetOperations, times(2)).add(anyString(), eq(tokenId), anyDouble());
+    }
+
+    @Test
+    void testRevoke_WithExpiredToken_IsIgnored() {
+        String tokenId = UUID.randomUUID().toString();
+
+        tokenRevocationService.revoke(tokenId, new Date(System.currentTimeMillis() - 1000));
+
+        assertFalse(tokenRevocationService.isRevoked(tokenId));
+        verify(zSetOperations, never()).add(anyString(), anyString(), anyDouble());
+    }
+
+    @Test
+    void testOnMessage_AppliesRevocationFromOtherNode() {
+        String tokenId = UUID.randomUUID().toString();
+        String body = tokenId + ":" + inOneHour().getTime();
+
+        ((TokenRevocationServiceImpl) tokenRevocationService).onMessage(new DefaultMessage(
+                TokenRevocationServiceImpl.REVOCATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertTrue(tokenRevocationService.isRevoked(tokenId));
+    }
+
+    @Test
+    void testBloomFilter_HasNoFalseNegatives() {
+        BloomFilter bloomFilter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            bloomFilter.put("token-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(bloomFilter.mightContain("token-" + i));
+            if (bloomFilter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -1,14 +1,18 @@
 package com.webapp.bankingportal;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.webapp.bankingportal.entity.Token;
 import com.webapp.bankingportal.exception.InvalidTokenException;
+import com.webapp.bankingportal.repository.AccountRepository;
 import com.webapp.bankingportal.repository.TokenRepository;
 import com.webapp.bankingportal.util.ApiMessages;
 
@@ -21,6 +25,9 @@ public class TokenServiceTests extends BaseTest {
     @Autowired
     TokenRepository tokenRepository;
 
+    @Autowired
+    AccountRepository accountRepository;
+
     @Test
     public void test_validate_token_with_valid_token() throws Exception {
         String token = createAndLoginUser().get("token");
@@ -37,6 +44,16 @@ public class TokenServiceTests extends BaseTest {
                 ApiMessages.TOKEN_NOT_FOUND_ERROR.getMessage());
     }
 
+    @Test
+    public void test_validate_token_with_revoked_token() throws Exception {
+        String token = createAndLoginUser().get("token");
+        tokenService.invalidateToken(token);
+
+        Assertions.assertThrows(InvalidTokenException.class,
+                () -> tokenService.validateToken(token),
+                ApiMessages.TOKEN_REVOKED_ERROR.getMessage());
+    }
+
     @Test
     public void test_invalidate_token_with_valid_token() throws Exception {
         String token = createAndLoginUser().get("token");
@@ -78,6 +95,40 @@ public class TokenServiceTests extends BaseTest {
         Assertions.assertNull(tokenRepository.findByToken(token));
     }
 
+    @Test
+    public void test_issue_token_beyond_limit_evicts_oldest_session() throws Exception {
+        String accountNumber = createAccount().get("accountNumber");
+        org.springframework.security.core.userdetails.UserDetails userDetails = tokenService.loadUserByUsername(accountNumber);
+
+        // token.max-per-account defaults to 5
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            tokens.add(tokenService.issueToken(userDetails));
+        }
+
+        Assertions.assertNull(tokenRepository.findByToken(tokens.get(0)));
+        Assertions.assertThrows(InvalidTokenException.class,
+                () -> tokenService.validateToken(tokens.get(0)),
+                ApiMessages.TOKEN_REVOKED_ERROR.getMessage());
+        for (String token : tokens.subList(1, 6)) {
+            Assertions.assertNotNull(tokenRepository.findByToken(token));
+            tokenService.validateToken(token);
+        }
+    }
+
+    @Test
+    public void test_purge_expired_tokens() throws Exception {
+        String accountNumber = createAccount().get("accountNumber");
+        Token expired = tokenRepository.save(new Token("0".repeat(64), null,
+                new Date(System.currentTimeMillis() - 1000), accountRepository.findByAccountNumber(accountNumber)));
+        String token = generateToken(accountNumber, getRandomPassword());
+        tokenService.saveToken(token);
+
+        Assertions.assertTrue(tokenService.purgeExpiredTokens() >= 1);
+        Assertions.assertFalse(tokenRepository.existsById(expired.getId()));
+        Assertions.assertNotNull(tokenRepository.findByToken(token));
+    }
+
     @Test
     public void test_get_username_from_token_with_valid_token() throws Exception {
         java.util.HashMap<String, String> userDetails = (HashMap<String, String>) createAndLoginUser();
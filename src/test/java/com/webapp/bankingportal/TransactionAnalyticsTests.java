@@ -0,0 +1,329 @@
+package com.webapp.bankingportal;
+
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.webapp.bankingportal.dto.ChartDataDTO;
+import com.webapp.bankingportal.dto.ExpenseStatisticsDTO;
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.TransactionRepository;
+import com.webapp.bankingportal.service.TransactionRollupService;
+import com.webapp.bankingportal.service.TransactionService;
+import com.webapp.bankingportal.util.MoneyUtil;
+
+/**
+ * Checks the rollup-backed analytics against the aggregation the service used
+ * to do in memory over the raw history, ported here as the reference.
+ */
+public class TransactionAnalyticsTests extends BaseTest {
+
+    private static final int PAST_YEAR = 2023;
+    private static final int CURRENT_YEAR = Year.now().getValue();
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Autowired
+    TransactionRollupService transactionRollupService;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    private String account;
+    private String other;
+
+    @BeforeEach
+    public void setUp() {
+        Map<String, String> accountDetails = createAccountWithInitialBalance(5000);
+        Map<String, String> otherDetails = createAccountWithInitialBalance(5000);
+        account = accountDetails.get("accountNumber");
+        other = otherDetails.get("accountNumber");
+
+        transfer(accountDetails, other, 100, "Food");
+        transfer(accountDetails, other, 250, "Food");
+        transfer(otherDetails, account, 400, "Food");
+        transfer(accountDetails, other, 75.25, "Rent");
+        transfer(otherDetails, account, 60, null);
+        accountService.cashWithdrawal(account, accountDetails.get("pin"), BigDecimal.valueOf(30));
+        accountService.cashDeposit(account, accountDetails.get("pin"), BigDecimal.valueOf(45.50));
+        transfer(accountDetails, other, 20, "Food");
+
+        // Spread the history over two days of one month, two other months and the current day
+        List<Transaction> history = history(account);
+        redate(history.get(1), LocalDate.of(PAST_YEAR, 2, 15));
+        redate(history.get(2), LocalDate.of(PAST_YEAR, 2, 14));
+        redate(history.get(3), LocalDate.of(PAST_YEAR, 2, 14));
+        redate(history.get(4), LocalDate.of(PAST_YEAR, 7, 1));
+        redate(history.get(5), LocalDate.of(PAST_YEAR, 7, 1));
+        redate(history.get(6), LocalDate.of(PAST_YEAR, 12, 31));
+
+        transactionRollupService.rebuildAccount(accountRepository.findByAccountNumber(account).getId());
+        transactionRollupService.rebuildAccount(accountRepository.findByAccountNumber(other).getId());
+    }
+
+    @Test
+    public void test_chart_data_matches_in_memory_aggregation() {
+        for (String accountNumber : List.of(account, other)) {
+            assertChartData(accountNumber, null, null);
+            assertChartData(accountNumber, PAST_YEAR, null);
+            assertChartData(accountNumber, PAST_YEAR, "February");
+            assertChartData(accountNumber, null, "july");
+            assertChartData(accountNumber, CURRENT_YEAR, null);
+        }
+    }
+
+    @Test
+    public void test_chart_data_is_empty_for_empty_ranges() {
+        Assertions.assertTrue(chartData(account, PAST_YEAR, "March").isEmpty());
+        Assertions.assertTrue(chartData(account, 2019, null).isEmpty());
+        Assertions.assertTrue(chartData(account, null, "Smarch").isEmpty());
+        Assertions.assertTrue(chartData("missing", null, null).isEmpty());
+    }
+
+    @Test
+    public void test_chart_data_counts_transfers_in_both_directions() {
+        // February 14th: one transfer sent by the account and one it received
+        ChartDataDTO day = chartData(account, PAST_YEAR, "February").get(0);
+        Assertions.assertEquals("2023-02-14", day.getDate());
+        Assertions.assertEquals(MoneyUtil.toMajorUnits(250_00 + 400_00), day.getTransfer());
+        Assertions.assertEquals(MoneyUtil.toMajorUnits(0), day.getDeposit());
+    }
+
+    @Test
+    public void test_monthly_summary_matches_in_memory_aggregation() {
+        for (String accountNumber : List.of(account, other)) {
+            for (int year : List.of(PAST_YEAR, CURRENT_YEAR, 2019)) {
+                Assertions.assertEquals(expectedMonthlySummary(accountNumber, year),
+                        transactionService.getMonthlySummary(accountNumber, year).get("amounts"));
+            }
+        }
+    }
+
+    @Test
+    public void test_available_years_match_history() {
+        List<Integer> expected = history(account).stream()
+                .map(transaction -> calendar(transaction.getTransactionDate()).get(Calendar.YEAR))
+                .distinct()
+                .sorted(Comparator.reverseOrder())
+                .toList();
+
+        Assertions.assertEquals(expected, transactionService.getAvailableYears(account));
+        Assertions.assertTrue(transactionService.getAvailableYears("missing").isEmpty());
+    }
+
+    @Test
+    public void test_expense_statistics_match_in_memory_aggregation() {
+        for (String accountNumber : List.of(account, other)) {
+            for (int year : List.of(PAST_YEAR, CURRENT_YEAR)) {
+                ExpenseStatisticsDTO expected = expectedExpenseStatistics(accountNumber, year);
+                ExpenseStatisticsDTO actual = transactionService.getExpenseStatistics(accountNumber, year);
+
+                Assertions.assertEquals(expected.getTotalDeposits(), actual.getTotalDeposits());
+                Assertions.assertEquals(expected.getTotalWithdrawals(), actual.getTotalWithdrawals());
+                Assertions.assertEquals(expected.getNetBalance(), actual.getNetBalance());
+                Assertions.assertEquals(expected.getCategoryData(), actual.getCategoryData());
+                Assertions.assertEquals(dailySummary(expected), dailySummary(actual));
+            }
+        }
+    }
+
+    @Test
+    public void test_expense_statistics_group_outgoing_transfers_by_category() {
+        ExpenseStatisticsDTO statistics = transactionService.getExpenseStatistics(account, PAST_YEAR);
+
+        // Incoming transfers are never the receiver's expense; uncategorised ones are left out entirely
+        Assertions.assertEquals(Map.of("Food", MoneyUtil.toMajorUnits(100_00 + 250_00),
+                "Rent", MoneyUtil.toMajorUnits(75_25)), statistics.getCategoryData());
+        Assertions.assertEquals(MoneyUtil.toMajorUnits(0), statistics.getTotalDeposits());
+        Assertions.assertEquals(MoneyUtil.toMajorUnits(100_00 + 250_00 + 75_25), statistics.getTotalWithdrawals());
+
+        ExpenseStatisticsDTO received = transactionService.getExpenseStatistics(other, PAST_YEAR);
+        Assertions.assertEquals(Map.of("Food", MoneyUtil.toMajorUnits(400_00)), received.getCategoryData());
+    }
+
+    @Test
+    public void test_expense_statistics_are_empty_for_a_year_without_history() {
+        ExpenseStatisticsDTO statistics = transactionService.getExpenseStatistics(account, 2019);
+
+        Assertions.assertEquals(MoneyUtil.toMajorUnits(0), statistics.getTotalDeposits());
+        Assertions.assertEquals(MoneyUtil.toMajorUnits(0), statistics.getTotalWithdrawals());
+        Assertions.assertTrue(statistics.getCategoryData().isEmpty());
+        Assertions.assertTrue(statistics.getDailyData().isEmpty());
+        Assertions.assertEquals(12, statistics.getMonthlyData().size());
+    }
+
+    private void assertChartData(String accountNumber, Integer year, String month) {
+        Assertions.assertEquals(expectedChartData(accountNumber, year, month),
+                chartSummary(chartData(accountNumber, year, month)), accountNumber + " " + year + " " + month);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ChartDataDTO> chartData(String accountNumber, Integer year, String month) {
+        return (List<ChartDataDTO>) transactionService.getTransactionChartData(accountNumber, year, month).get("data");
+    }
+
+    private static Map<String, List<BigDecimal>> chartSummary(List<ChartDataDTO> chartData) {
+        Map<String, List<BigDecimal>> summary = new TreeMap<>();
+        for (ChartDataDTO day : chartData) {
+            summary.put(day.getDate(), List.of(day.getDeposit(), day.getWithdrawal(), day.getTransfer(),
+                    day.getCredit()));
+        }
+        return summary;
+    }
+
+    private static Map<String, List<Object>> dailySummary(ExpenseStatisticsDTO statistics) {
+        Map<String, List<Object>> summary = new TreeMap<>();
+        for (ExpenseStatisticsDTO.DailyExpenseData day : statistics.getDailyData()) {
+            summary.put(day.getDate(), List.of(day.getDeposits(), day.getWithdrawals(), day.getCategoryData()));
+        }
+        return summary;
+    }
+
+    // The reference implementations below follow the former in-memory aggregation over raw history
+
+    private Map<String, List<BigDecimal>> expectedChartData(String accountNumber, Integer year, String month) {
+        Map<String, long[]> totals = new TreeMap<>();
+        for (Transaction transaction : history(accountNumber)) {
+            Calendar cal = calendar(transaction.getTransactionDate());
+            if (year != null && cal.get(Calendar.YEAR) != year) {
+                continue;
+            }
+            if (month != null && !new SimpleDateFormat("MMMM", Locale.ENGLISH)
+                    .format(transaction.getTransactionDate()).equalsIgnoreCase(month.trim())) {
+                continue;
+            }
+
+            long[] day = totals.computeIfAbsent(dateKey(transaction.getTransactionDate()), key -> new long[4]);
+            day[transaction.getTransactionType().ordinal()] += transaction.getAmount();
+        }
+
+        Map<String, List<BigDecimal>> expected = new TreeMap<>();
+        totals.forEach((date, day) -> expected.put(date, List.of(
+                MoneyUtil.toMajorUnits(day[TransactionType.CASH_DEPOSIT.ordinal()]),
+                MoneyUtil.toMajorUnits(day[TransactionType.CASH_WITHDRAWAL.ordinal()]),
+                MoneyUtil.toMajorUnits(day[TransactionType.CASH_TRANSFER.ordinal()]),
+                MoneyUtil.toMajorUnits(day[TransactionType.CASH_CREDIT.ordinal()]))));
+        return expected;
+    }
+
+    private List<BigDecimal> expectedMonthlySummary(String accountNumber, int year) {
+        long[] totals = new long[12];
+        for (Transaction transaction : history(accountNumber)) {
+            Calendar cal = calendar(transaction.getTransactionDate());
+            if (cal.get(Calendar.YEAR) == year) {
+                totals[cal.get(Calendar.MONTH)] += transaction.getAmount();
+            }
+        }
+
+        List<BigDecimal> expected = new ArrayList<>();
+        for (long total : totals) {
+            expected.add(MoneyUtil.toMajorUnits(total));
+        }
+        return expected;
+    }
+
+    private ExpenseStatisticsDTO expectedExpenseStatistics(String accountNumber, int year) {
+        long deposits = 0;
+        long withdrawals = 0;
+        Map<String, Long> categories = new HashMap<>();
+        Map<String, long[]> days = new TreeMap<>();
+        Map<String, Map<String, Long>> dayCategories = new HashMap<>();
+
+        for (Transaction transaction : history(accountNumber)) {
+            if (calendar(transaction.getTransactionDate()).get(Calendar.YEAR) != year
+                    || transaction.getCategory() == null || transaction.getCategory().trim().isEmpty()) {
+                continue;
+            }
+
+            boolean isDeposit = transaction.getTransactionType() == TransactionType.CASH_DEPOSIT;
+            boolean isExpense = transaction.getTransactionType() == TransactionType.CASH_WITHDRAWAL
+                    || (transaction.getTransactionType() == TransactionType.CASH_TRANSFER
+                            && accountNumber.equals(transaction.getSourceAccount().getAccountNumber()));
+            if (!isDeposit && !isExpense) {
+                continue;
+            }
+
+            long amount = transaction.getAmount();
+            String date = dateKey(transaction.getTransactionDate());
+            long[] day = days.computeIfAbsent(date, key -> new long[2]);
+            if (isDeposit) {
+                deposits += amount;
+                day[0] += amount;
+            } else {
+                withdrawals += amount;
+                day[1] += amount;
+            }
+            categories.merge(transaction.getCategory(), amount, Long::sum);
+            dayCategories.computeIfAbsent(date, key -> new HashMap<>())
+                    .merge(transaction.getCategory(), amount, Long::sum);
+        }
+
+        ExpenseStatisticsDTO expected = new ExpenseStatisticsDTO(MoneyUtil.toMajorUnits(deposits),
+                MoneyUtil.toMajorUnits(withdrawals), MoneyUtil.toMajorUnits(deposits - withdrawals));
+        expected.setCategoryData(toMajorUnits(categories));
+        List<ExpenseStatisticsDTO.DailyExpenseData> dailyData = new ArrayList<>();
+        days.forEach((date, day) -> {
+            ExpenseStatisticsDTO.DailyExpenseData dailyExpense = new ExpenseStatisticsDTO.DailyExpenseData(date,
+                    MoneyUtil.toMajorUnits(day[0]), MoneyUtil.toMajorUnits(day[1]));
+            dailyExpense.setCategoryData(toMajorUnits(dayCategories.get(date)));
+            dailyData.add(dailyExpense);
+        });
+        expected.setDailyData(dailyData);
+        return expected;
+    }
+
+    private static Map<String, BigDecimal> toMajorUnits(Map<String, Long> amounts) {
+        Map<String, BigDecimal> converted = new HashMap<>();
+        amounts.forEach((key, amount) -> converted.put(key, MoneyUtil.toMajorUnits(amount)));
+        return converted;
+    }
+
+    private List<Transaction> history(String accountNumber) {
+        List<Transaction> history = new ArrayList<>(transactionRepository
+                .findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(accountNumber, accountNumber));
+        history.sort(Comparator.comparing(Transaction::getId));
+        return history;
+    }
+
+    private void redate(Transaction transaction, LocalDate day) {
+        transaction.setTransactionDate(Date.from(day.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant()));
+        transactionRepository.save(transaction);
+    }
+
+    private void transfer(Map<String, String> source, String targetAccountNumber, double amount, String category) {
+        accountService.fundTransfer(source.get("accountNumber"), targetAccountNumber, source.get("pin"),
+                BigDecimal.valueOf(amount), category);
+    }
+
+    private static Calendar calendar(Date date) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(date);
+        return cal;
+    }
+
+    private static String dateKey(Date date) {
+        return new SimpleDateFormat("yyyy-MM-dd").format(date);
+    }
+}
@@ -0,0 +1,89 @@
+package com.webapp.bankingportal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.webapp.bankingportal.dto.TransactionFilter;
+import com.webapp.bankingportal.dto.TransactionPageDTO;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.service.TransactionService;
+
+public class TransactionPageTests extends BaseTest {
+
+    private static final TransactionFilter NO_FILTER = new TransactionFilter(null, null, null, null, null, null);
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Test
+    public void test_pages_merge_sent_and_received_transactions_newest_first() {
+        Map<String, String> account = createAccountWithInitialBalance(5000);
+        Map<String, String> other = createAccountWithInitialBalance(5000);
+        transfer(account, other, 100, "Food");
+        transfer(other, account, 200, "Rent");
+        transfer(account, other, 300, "Food");
+        accountService.cashWithdrawal(account.get("accountNumber"), account.get("pin"), BigDecimal.valueOf(400));
+        transfer(other, account, 500, "Salary");
+
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionPageDTO page = transactionService.getTransactionsPage(account.get("accountNumber"), NO_FILTER,
+                    cursor, 2);
+            Assertions.assertTrue(page.getTransactions().size() <= 2);
+            page.getTransactions().forEach(transaction -> paged.add(transaction.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // The initial deposit plus five postings, each exactly once, newest (highest id) first
+        Assertions.assertEquals(6, paged.size());
+        Assertions.assertEquals(paged.stream().sorted(Comparator.reverseOrder()).toList(), paged);
+        Assertions.assertEquals(6, new HashSet<>(paged).size());
+    }
+
+    @Test
+    public void test_page_filters_by_type_category_amount_and_date() {
+        Map<String, String> account = createAccountWithInitialBalance(5000);
+        Map<String, String> other = createAccountWithInitialBalance(5000);
+        transfer(account, other, 100, "Food");
+        transfer(other, account, 200, "Food");
+        transfer(account, other, 300, "Rent");
+        accountService.cashWithdrawal(account.get("accountNumber"), account.get("pin"), BigDecimal.valueOf(400));
+
+        Assertions.assertEquals(List.of(300L, 200L, 100L),
+                amounts(account, new TransactionFilter(TransactionType.CASH_TRANSFER, null, null, null, null, null)));
+        Assertions.assertEquals(List.of(200L, 100L),
+                amounts(account, new TransactionFilter(null, "Food", null, null, null, null)));
+        Assertions.assertEquals(List.of(400L, 300L, 200L),
+                amounts(account, new TransactionFilter(null, null, new BigDecimal("150.50"), new BigDecimal("400"),
+                        null, null)));
+
+        LocalDate today = LocalDate.now();
+        Assertions.assertEquals(5, amounts(account, new TransactionFilter(null, null, null, null, today, today)).size());
+        Assertions.assertTrue(amounts(account, new TransactionFilter(null, null, null, null, today.plusDays(1), null))
+                .isEmpty());
+        Assertions.assertTrue(amounts(account, new TransactionFilter(null, null, null, null, null, today.minusDays(1)))
+                .isEmpty());
+    }
+
+    private void transfer(Map<String, String> source, Map<String, String> target, double amount, String category) {
+        accountService.fundTransfer(source.get("accountNumber"), target.get("accountNumber"), source.get("pin"),
+                BigDecimal.valueOf(amount), category);
+    }
+
+    private List<Long> amounts(Map<String, String> account, TransactionFilter filter) {
+        return transactionService.getTransactionsPage(account.get("accountNumber"), filter, null, 100)
+                .getTransactions().stream()
+                .map(transaction -> transaction.getAmount().longValue())
+                .toList();
+    }
+}
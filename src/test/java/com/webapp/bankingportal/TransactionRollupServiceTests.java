@@ -0,0 +1,190 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.Transaction;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.BackfillProgressRepository;
+import com.webapp.bankingportal.repository.TransactionDailyRollupRepository;
+import com.webapp.bankingportal.repository.TransactionDailyRollupRepository.HistoryTotal;
+import com.webapp.bankingportal.service.DatabaseLockService;
+import com.webapp.bankingportal.service.TransactionRollupServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TransactionRollupServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+
+    @Mock
+    private TransactionDailyRollupRepository rollupRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private BackfillProgressRepository backfillProgressRepository;
+
+    @Mock
+    private DatabaseLockService databaseLockService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionRollupServiceImpl transactionRollupService;
+
+    @BeforeEach
+    void setUp() {
+        transactionRollupService = new TransactionRollupServiceImpl(rollupRepository, accountRepository,
+                backfillProgressRepository, databaseLockService, transactionManager);
+        ReflectionTestUtils.setField(transactionRollupService, "backfillOnStartup", true);
+
+        when(databaseLockService.runExclusively(anyString(), anyLong(), any(Runnable.class))).thenAnswer(invocation -> {
+            invocation.<Runnable>getArgument(2).run();
+            return true;
+        });
+    }
+
+    @Test
+    void testRecordTransactions_SumsTransactionsSharingARollupRow() {
+        transactionRollupService.recordTransactions(List.of(
+                transaction(1L, null, TransactionType.CASH_WITHDRAWAL, 100, null),
+                transaction(1L, null, TransactionType.CASH_WITHDRAWAL, 250, null),
+                transaction(1L, null, TransactionType.CASH_DEPOSIT, 400, null)));
+
+        verify(rollupRepository).addTransactions(1L, DAY, "CASH_WITHDRAWAL", "", false, 350L, 2L);
+        verify(rollupRepository).addTransactions(1L, DAY, "CASH_DEPOSIT", "", false, 400L, 1L);
+        verifyNoMoreInteractions(rollupRepository);
+    }
+
+    @Test
+    void testRecordTransaction_CountsTransferOnBothSides() {
+        transactionRollupService.recordTransaction(transaction(1L, 2L, TransactionType.CASH_TRANSFER, 500, "Food"));
+
+        verify(rollupRepository).addTransactions(1L, DAY, "CASH_TRANSFER", "Food", false, 500L, 1L);
+        verify(rollupRepository).addTransactions(2L, DAY, "CASH_TRANSFER", "Food", true, 500L, 1L);
+    }
+
+    @Test
+    void testRebuildAccount_LocksBeforeReadingHistory() {
+        HistoryTotal sent = historyTotal(TransactionType.CASH_TRANSFER, "Rent", 1200, 2);
+        HistoryTotal received = historyTotal(TransactionType.CASH_TRANSFER, "", 300, 1);
+        when(rollupRepository.sumOutgoingHistory(1L)).thenReturn(List.of(sent));
+        when(rollupRepository.sumIncomingHistory(1L)).thenReturn(List.of(received));
+
+        transactionRollupService.rebuildAccount(1L);
+
+        InOrder inOrder = inOrder(accountRepository, rollupRepository);
+        inOrder.verify(accountRepository).findByIdForUpdate(1L);
+        inOrder.verify(rollupRepository).lockByAccountId(1L);
+        inOrder.verify(rollupRepository).sumOutgoingHistory(1L);
+        inOrder.verify(rollupRepository).deleteByAccountId(1L);
+        inOrder.verify(rollupRepository).addTransactions(1L, DAY, "CASH_TRANSFER", "Rent", false, 1200L, 2L);
+        inOrder.verify(rollupRepository).addTransactions(1L, DAY, "CASH_TRANSFER", "", true, 300L, 1L);
+    }
+
+    @Test
+    void testBackfillIfIncomplete_RebuildsEveryAccountUnderLock() {
+        when(backfillProgressRepository.findLastIdByName(anyString())).thenReturn(0L);
+        when(accountRepository.findIdsAfter(0L)).thenReturn(List.of(1L, 2L));
+
+        transactionRollupService.backfillIfIncomplete();
+
+        verify(databaseLockService).runExclusively(anyString(), eq(0L), any(Runnable.class));
+        InOrder inOrder = inOrder(rollupRepository, backfillProgressRepository);
+        inOrder.verify(backfillProgressRepository).start(anyString(), any(Date.class));
+        inOrder.verify(rollupRepository).deleteByAccountId(1L);
+        inOrder.verify(backfillProgressRepository).advance(anyString(), eq(1L), any(Date.class));
+        inOrder.verify(rollupRepository).deleteByAccountId(2L);
+        inOrder.verify(backfillProgressRepository).advance(anyString(), eq(2L), any(Date.class));
+        inOrder.verify(backfillProgressRepository).complete(anyString(), any(Date.class));
+    }
+
+    @Test
+    void testBackfillIfIncomplete_ResumesAfterLastRebuiltAccount() {
+        when(backfillProgressRepository.findLastIdByName(anyString())).thenReturn(1L);
+        when(accountRepository.findIdsAfter(1L)).thenReturn(List.of(2L));
+
+        transactionRollupService.backfillIfIncomplete();
+
+        verify(rollupRepository, never()).deleteByAccountId(1L);
+        verify(rollupRepository).deleteByAccountId(2L);
+        verify(backfillProgressRepository).complete(anyString(), any(Date.class));
+    }
+
+    @Test
+    void testBackfillIfIncomplete_SkipsWhenAnotherNodeHoldsTheLock() {
+        when(databaseLockService.runExclusively(anyString(), anyLong(), any(Runnable.class))).thenReturn(false);
+
+        transactionRollupService.backfillIfIncomplete();
+
+        verify(accountRepository, never()).findIdsAfter(anyLong());
+        verify(backfillProgressRepository, never()).complete(anyString(), any(Date.class));
+    }
+
+    @Test
+    void testBackfillIfIncomplete_SkipsOnceCompleted() {
+        when(backfillProgressRepository.findCompletedByName(anyString())).thenReturn(true);
+
+        transactionRollupService.backfillIfIncomplete();
+        transactionRollupService.scheduledBackfill();
+
+        verify(backfillProgressRepository, times(1)).findCompletedByName(anyString());
+        verifyNoInteractions(databaseLockService, rollupRepository);
+    }
+
+    @Test
+    void testBackfillIfIncomplete_DisabledByProperty() {
+        ReflectionTestUtils.setField(transactionRollupService, "backfillOnStartup", false);
+
+        transactionRollupService.backfillIfIncomplete();
+
+        verifyNoInteractions(databaseLockService, rollupRepository, backfillProgressRepository);
+    }
+
+    private static Transaction transaction(Long sourceId, Long targetId, TransactionType type, long amount,
+            String category) {
+        Transaction transaction = new Transaction();
+        transaction.setSourceAccount(account(sourceId));
+        transaction.setTargetAccount(targetId != null ? account(targetId) : null);
+        transaction.setTransactionType(type);
+        transaction.setAmount(amount);
+        transaction.setCategory(category);
+        transaction.setTransactionDate(Date.from(DAY.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant()));
+        return transaction;
+    }
+
+    private static Account account(Long id) {
+        Account account = new Account();
+        account.setId(id);
+        return account;
+    }
+
+    private static HistoryTotal historyTotal(TransactionType type, String category, long total, long count) {
+        HistoryTotal historyTotal = mock(HistoryTotal.class);
+        when(historyTotal.getRollupDate()).thenReturn(DAY);
+        when(historyTotal.getTransactionType()).thenReturn(type);
+        when(historyTotal.getCategory()).thenReturn(category);
+        when(historyTotal.getTotal()).thenReturn(total);
+        when(historyTotal.getTransactionCount()).thenReturn(count);
+        return historyTotal;
+    }
+}
@@ -0,0 +1,160 @@
+package com.webapp.bankingportal;
+
+import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.dto.TransactionFilter;
+import com.webapp.bankingportal.dto.TransactionPageDTO;
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.TransactionDailyRollupRepository;
+import com.webapp.bankingportal.repository.TransactionRepository;
+import com.webapp.bankingportal.service.EmailService;
+import com.webapp.bankingportal.service.TransactionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TransactionServiceTests {
+
+    private static final String ACCOUNT_NUMBER = "abc123";
+    private static final long ACCOUNT_ID = 7L;
+    private static final TransactionFilter NO_FILTER = new TransactionFilter(null, null, null, null, null, null);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionDailyRollupRepository rollupRepository;
+
+    private TransactionServiceImpl transactionService;
+
+    // Newest first, as the repository returns them; ids 4 and 3 share a timestamp
+    private final List<TransactionDTO> history = List.of(
+            transaction(6L, 6000), transaction(5L, 5000), transaction(4L, 4000),
+            transaction(3L, 4000), transaction(2L, 2000), transaction(1L, 1000));
+
+    @BeforeEach
+    void setUp() {
+        transactionService = new TransactionServiceImpl(transactionRepository, emailService, accountRepository,
+                rollupRepository);
+
+        Account account = new Account();
+        account.setId(ACCOUNT_ID);
+        account.setAccountNumber(ACCOUNT_NUMBER);
+        when(accountRepository.findByAccountNumber(ACCOUNT_NUMBER)).thenReturn(account);
+
+        // Keyset semantics of the repository: strictly older than (afterDate, afterId), at most limit rows
+        when(transactionRepository.findPage(eq(ACCOUNT_ID), any(TransactionFilter.class), any(), any(), anyInt()))
+                .thenAnswer(invocation -> {
+                    Date afterDate = invocation.getArgument(2);
+                    Long afterId = invocation.getArgument(3);
+                    int limit = invocation.getArgument(4);
+                    List<TransactionDTO> page = new ArrayList<>();
+                    for (TransactionDTO transaction : history) {
+                        long date = transaction.getTransactionDate().getTime();
+                        if (afterDate == null || date < afterDate.getTime()
+                                || (date == afterDate.getTime() && transaction.getId() < afterId)) {
+                            page.add(transaction);
+                        }
+                    }
+                    return page.subList(0, Math.min(limit, page.size()));
+                });
+    }
+
+    @Test
+    void testGetTransactionsPage_PagesThroughHistoryWithoutGapsOrDuplicates() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            TransactionPageDTO page = transactionService.getTransactionsPage(ACCOUNT_NUMBER, NO_FILTER, cursor, 2);
+            page.getTransactions().forEach(transaction -> seen.add(transaction.getId()));
+            assertEquals(page.getNextCursor() != null, page.isHasMore());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of(6L, 5L, 4L, 3L, 2L, 1L), seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void testGetTransactionsPage_CursorEncodesLastRowPosition() {
+        TransactionPageDTO page = transactionService.getTransactionsPage(ACCOUNT_NUMBER, NO_FILTER, null, 3);
+
+        String position = new String(Base64.getUrlDecoder().decode(page.getNextCursor()), StandardCharsets.US_ASCII);
+        assertEquals("4000:4", position);
+
+        transactionService.getTransactionsPage(ACCOUNT_NUMBER, NO_FILTER, page.getNextCursor(), 3);
+        verify(transactionRepository).findPage(ACCOUNT_ID, NO_FILTER, new Date(4000), 4L, 4);
+    }
+
+    @Test
+    void testGetTransactionsPage_RejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.getTransactionsPage(ACCOUNT_NUMBER, NO_FILTER, "not a cursor", 2));
+        String missingId = Base64.getUrlEncoder().encodeToString("4000".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.getTransactionsPage(ACCOUNT_NUMBER, NO_FILTER, missingId, 2));
+    }
+
+    @Test
+    void testGetTransactionsPage_CapsPageSize() {
+        TransactionPageDTO page = transactionService.getTransactionsPage(ACCOUNT_NUMBER, NO_FILTER, null, 1000);
+
+        assertEquals(6, page.getTransactions().size());
+        assertNull(page.getNextCursor());
+        verify(transactionRepository).findPage(ACCOUNT_ID, NO_FILTER, null, null, 101);
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.getTransactionsPage(ACCOUNT_NUMBER, NO_FILTER, null, 0));
+    }
+
+    @Test
+    void testGetTransactionsPage_PassesFilterToRepository() {
+        TransactionFilter filter = new TransactionFilter(TransactionType.CASH_TRANSFER, "Food",
+                new BigDecimal("10.00"), new BigDecimal("500.00"), LocalDate.of(2024, 1, 1),
+                LocalDate.of(2024, 1, 31));
+
+        transactionService.getTransactionsPage(ACCOUNT_NUMBER, filter, null, 20);
+
+        verify(transactionRepository).findPage(ACCOUNT_ID, filter, null, null, 21);
+    }
+
+    @Test
+    void testGetTransactionsPage_UnknownAccountIsEmpty() {
+        TransactionPageDTO page = transactionService.getTransactionsPage("missing", NO_FILTER, null, 20);
+
+        assertTrue(page.getTransactions().isEmpty());
+        assertFalse(page.isHasMore());
+        verify(transactionRepository, never()).findPage(anyLong(), any(), any(), any(), anyInt());
+    }
+
+    private static TransactionDTO transaction(Long id, long dateMillis) {
+        return new TransactionDTO(id, BigDecimal.valueOf(100), TransactionType.CASH_DEPOSIT, new Date(dateMillis),
+                ACCOUNT_NUMBER, "N/A");
+    }
+}
@@ -499,7 +499,7 @@ public class UserControllerTests extends BaseTest {
                 .andExpect(MockMvcResultMatchers.content()
                         .string(String.format(ApiMessages.OTP_SENT_SUCCESS.getMessage(), user.getEmail())));
 
-        jakarta.mail.internet.MimeMessage[] receivedMessages = GreenMailJavaMailSender.getReceivedMessagesForDomain(user.getEmail());
+        jakarta.mail.internet.MimeMessage[] receivedMessages = GreenMailJavaMailSender.awaitReceivedMessagesForDomain(user.getEmail(), 10_000);
         OtpVerificationRequest otpVerificationRequest = new OtpVerificationRequest(accountNumber, getOtpFromEmail(receivedMessages[0]));
 
         org.springframework.test.web.servlet.MvcResult loginResult = mockMvc.perform(MockMvcRequestBuilders